@@ -0,0 +1,59 @@
+package com.myapp.booking.configurations;
+
+import com.myapp.booking.repositories.CommentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * comments gained active_marker, added as NULL, so reviews written before it do not take
+ * part in uk_comment_post_user_active. Marks the newest active review of each (post, user);
+ * older duplicates from the check-then-insert race stay active but unmarked, and are logged.
+ * Once every active review is marked this is a single read that finds nothing.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CommentActiveMarkerBackfill implements CommandLineRunner {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final CommentRepository commentRepository;
+
+    @Override
+    @Transactional
+    public void run(String... args) {
+        List<Object[]> unmarked = commentRepository.findUnmarkedActive();
+        if (unmarked.isEmpty()) {
+            return;
+        }
+
+        // Newest first: the first row seen for a (post, user) is the one to keep
+        Set<String> seen = new HashSet<>();
+        List<Long> toMark = new ArrayList<>();
+        int duplicates = 0;
+        for (Object[] row : unmarked) {
+            if (seen.add(row[1] + ":" + row[2])) {
+                toMark.add((Long) row[0]);
+            } else {
+                duplicates++;
+            }
+        }
+
+        int marked = 0;
+        for (int from = 0; from < toMark.size(); from += BATCH_SIZE) {
+            marked += commentRepository.markActive(toMark.subList(from, Math.min(from + BATCH_SIZE, toMark.size())));
+        }
+        log.info("✅ Marked {} active reviews for uk_comment_post_user_active", marked);
+        if (duplicates > 0) {
+            log.warn("⚠️ {} older duplicate active reviews left unmarked", duplicates);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.myapp.booking.configurations;
+
+import com.myapp.booking.repositories.CommentRepository;
+import com.myapp.booking.utils.WilsonScore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * comments gained a helpful_score column, added as 0 for existing rows. Scores the
+ * comments that already have helpful votes so the "most helpful" ordering includes them;
+ * once every voted comment is scored this is a single read that finds nothing.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CommentHelpfulScoreBackfill implements CommandLineRunner {
+
+    private final CommentRepository commentRepository;
+
+    @Override
+    @Transactional
+    public void run(String... args) {
+        List<Object[]> unscored = commentRepository.findUnscoredHelpfulCounts();
+        for (Object[] row : unscored) {
+            long count = ((Number) row[1]).longValue();
+            commentRepository.setHelpfulScore((Long) row[0], WilsonScore.lowerBound(count, count));
+        }
+        if (!unscored.isEmpty()) {
+            log.info("✅ Computed helpful_score for {} comments", unscored.size());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.myapp.booking.configurations;
+
+import com.myapp.booking.repositories.CommentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * is_verified_booking used to be written as false for every review. Badges the existing
+ * reviews whose author has a completed booking at the venue; new reviews and completions
+ * keep the flag current from then on, so later runs update nothing.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CommentVerifiedBookingBackfill implements CommandLineRunner {
+
+    private final CommentRepository commentRepository;
+
+    @Override
+    @Transactional
+    public void run(String... args) {
+        int badged = commentRepository.markAllVerifiedBookings();
+        if (badged > 0) {
+            log.info("✅ Marked {} reviews as verified bookings", badged);
+        }
+    }
+}
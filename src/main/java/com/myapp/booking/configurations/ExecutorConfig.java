@@ -0,0 +1,33 @@
+package com.myapp.booking.configurations;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Fan-out pool for the venue detail endpoint. Bounded on both threads and queue so a
+     * burst cannot take more database connections than the pool size; when it is full a
+     * part is rejected at once and left out of the response, rather than run on the request
+     * thread without its timeout.
+     */
+    @Bean(name = "venueDetailExecutor")
+    public ThreadPoolTaskExecutor venueDetailExecutor(
+            @Value("${app.venue-detail.pool-size:8}") int poolSize,
+            @Value("${app.venue-detail.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("venue-detail-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
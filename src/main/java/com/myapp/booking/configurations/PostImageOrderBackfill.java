@@ -0,0 +1,54 @@
+package com.myapp.booking.configurations;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * post_images gained an image_order column. Rows written before it exist without a
+ * usable position (NULL, or the 0 MySQL fills in when the column is added), which
+ * Hibernate cannot map back to a list. Renumbers those posts 0..n-1; once every post is
+ * numbered this is a single grouped read.
+ *
+ * The unordered collection never stored a gallery order, so the one users saw cannot be
+ * recovered: positions already assigned are kept, and the rest follow by URL, so every
+ * run numbers a post the same way.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostImageOrderBackfill implements CommandLineRunner {
+
+    private static final String FIND_UNORDERED_POSTS =
+            "SELECT post_id FROM post_images GROUP BY post_id " +
+            "HAVING COUNT(*) <> COUNT(DISTINCT image_order) OR MAX(image_order) <> COUNT(*) - 1";
+
+    private static final String FIND_IMAGES =
+            "SELECT image_url FROM post_images WHERE post_id = ? " +
+            "ORDER BY CASE WHEN image_order IS NULL THEN 1 ELSE 0 END, image_order, image_url";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void run(String... args) {
+        // No catch: a failure rolls the renumbering back rather than leaving half-rewritten galleries
+        List<Long> postIds = jdbcTemplate.queryForList(FIND_UNORDERED_POSTS, Long.class);
+        for (Long postId : postIds) {
+            List<String> images = jdbcTemplate.queryForList(FIND_IMAGES, String.class, postId);
+            jdbcTemplate.update("DELETE FROM post_images WHERE post_id = ?", postId);
+            for (int i = 0; i < images.size(); i++) {
+                jdbcTemplate.update("INSERT INTO post_images (post_id, image_order, image_url) VALUES (?, ?, ?)",
+                        postId, i, images.get(i));
+            }
+        }
+        if (!postIds.isEmpty()) {
+            log.info("✅ Numbered image_order for {} posts", postIds.size());
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.myapp.booking.controllers;
 
 import com.myapp.booking.dtos.responses.ApiResponse;
 import com.myapp.booking.dtos.responses.UserResponse;
+import com.myapp.booking.services.PostCardService;
 import com.myapp.booking.services.interfaces.IAdminService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -18,6 +19,7 @@ import java.util.Map;
 @PreAuthorize("hasRole('ADMIN')")
 public class AdminController {
     private final IAdminService adminService;
+    private final PostCardService postCardService;
 
     /**
      * Dashboard statistics
@@ -88,4 +90,13 @@ public class AdminController {
         adminService.changeUserRole(id, role);
         return ResponseEntity.ok(ApiResponse.success(null, "Thay đổi vai trò thành công"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Rebuild the post_cards read model from the posts table
+     */
+    @PostMapping("/post-cards/rebuild")
+    public ResponseEntity<ApiResponse<Integer>> rebuildPostCards() {
+        int rebuilt = postCardService.rebuildAll();
+        return ResponseEntity.ok(ApiResponse.success(rebuilt, "Rebuilt " + rebuilt + " post cards"));
+    }
+}
@@ -1,12 +1,15 @@
 package com.myapp.booking.controllers;
 
+import com.myapp.booking.dtos.requests.BookingQuoteRequest;
 import com.myapp.booking.dtos.requests.BookingRequest;
 import com.myapp.booking.dtos.responses.ApiResponse;
+import com.myapp.booking.dtos.responses.BookingQuoteResponse;
 import com.myapp.booking.dtos.responses.BookingResponse;
 import com.myapp.booking.dtos.responses.VendorBookingStatsResponse;
 import com.myapp.booking.repositories.BookingRepository;
 import com.myapp.booking.security.CurrentUser;
 import com.myapp.booking.security.UserPrincipal;
+import com.myapp.booking.services.BookingQuoteService;
 import com.myapp.booking.services.BookingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,6 +35,7 @@ import java.time.format.DateTimeParseException;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingQuoteService bookingQuoteService;
     private final BookingRepository bookingRepository;
 
     /**
@@ -55,6 +59,22 @@ public class BookingController {
                 .body(ApiResponse.success(booking, "Booking created successfully"));
     }
 
+    /**
+     * Price a booking without creating it (same calculation as create)
+     * POST /api/bookings/quote
+     */
+    @PostMapping("/quote")
+    @PreAuthorize("hasAnyRole('USER', 'VENDOR', 'ADMIN')")
+    public ResponseEntity<ApiResponse<BookingQuoteResponse>> quoteBooking(
+            @Valid @RequestBody BookingQuoteRequest request) {
+
+        log.info("POST /api/bookings/quote - post: {}, menu: {}", request.getPostId(), request.getMenuId());
+
+        BookingQuoteResponse quote = bookingQuoteService.quote(request);
+
+        return ResponseEntity.ok(ApiResponse.success(quote, "Booking quoted successfully"));
+    }
+
     /**
      * Get current user's bookings
      * GET /api/bookings/user/my-bookings
@@ -4,9 +4,15 @@ package com.myapp.booking.controllers;
 import com.myapp.booking.configurations.SecurityUtils;
 import com.myapp.booking.dtos.requests.CreateCommentRequest;
 import com.myapp.booking.dtos.responses.ApiResponse;
+import com.myapp.booking.dtos.responses.CommentFeedResponse;
+import com.myapp.booking.dtos.responses.CommentHelpfulResponse;
 import com.myapp.booking.dtos.responses.CommentResponse;
+import com.myapp.booking.dtos.responses.CommentSearchResponse;
 import com.myapp.booking.dtos.responses.CommentsPageResponse;
+import com.myapp.booking.security.UserPrincipal;
+import com.myapp.booking.services.CommentHelpfulService;
 import com.myapp.booking.services.CommentService;
+import com.myapp.booking.services.CommentStatisticsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -30,6 +36,8 @@ import java.math.BigDecimal;
 public class CommentController {
 
     private final CommentService commentService;
+    private final CommentHelpfulService commentHelpfulService;
+    private final CommentStatisticsService commentStatisticsService;
 
     @PostMapping(consumes = {MediaType.MULTIPART_FORM_DATA_VALUE, MediaType.APPLICATION_JSON_VALUE})
     @PreAuthorize("hasAnyRole('USER', 'VENDOR', 'ADMIN')")
@@ -51,6 +59,11 @@ public class CommentController {
 
         Long userId = SecurityUtils.getUserId(authentication);
         CommentResponse response = commentService.createComment(request, postId, userId);
+        // The author is the caller: their name and email come from the token, not another query
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            response.setUserName(principal.getFullName());
+            response.setUserEmail(principal.getEmail());
+        }
 
         log.info("✅ Comment created successfully with ID: {}", response.getId());
 
@@ -68,12 +81,15 @@ public class CommentController {
             @PathVariable Long postId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "createdAt") String sortBy) {
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "false") boolean verifiedOnly,
+            Authentication authentication) {
 
         log.info("📋 GET /api/posts/{}/comments - Get comments", postId);
-        log.info("Page: {}, Size: {}, Sort: {}", page, size, sortBy);
+        log.info("Page: {}, Size: {}, Sort: {}, Verified only: {}", page, size, sortBy, verifiedOnly);
 
-        CommentsPageResponse response = commentService.getCommentsByPost(postId, page, size, sortBy);
+        CommentsPageResponse response = commentService.getCommentsByPost(postId, page, size, sortBy, verifiedOnly);
+        commentHelpfulService.markHelpfulByMe(response.getComments(), currentUserIdOrNull(authentication));
 
         log.info("✅ Found {} comments", response.getTotalElements());
 
@@ -81,6 +97,45 @@ public class CommentController {
                 ApiResponse.success(response, "Comments retrieved successfully"));
     }
 
+    @GetMapping("/feed")
+    @Operation(summary = "Comments feed",
+            description = "Cursor-paginated comments for infinite scroll. sortBy: createdAt, rating, helpful; "
+                    + "verifiedOnly keeps reviews by guests with a completed booking")
+    public ResponseEntity<ApiResponse<CommentFeedResponse>> getCommentFeed(
+            @PathVariable Long postId,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean verifiedOnly,
+            Authentication authentication) {
+
+        log.info("📋 GET /api/posts/{}/comments/feed - sortBy: {}, size: {}, verifiedOnly: {}",
+                postId, sortBy, size, verifiedOnly);
+
+        CommentFeedResponse response = commentService.getCommentFeed(postId, sortBy, cursor, size, verifiedOnly);
+        commentHelpfulService.markHelpfulByMe(response.getItems(), currentUserIdOrNull(authentication));
+
+        return ResponseEntity.ok(ApiResponse.success(response, "Comments retrieved successfully"));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search comments",
+            description = "Reviews containing every word of q (case and accents ignored), most relevant first")
+    public ResponseEntity<ApiResponse<CommentSearchResponse>> searchComments(
+            @PathVariable Long postId,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            Authentication authentication) {
+
+        log.info("🔎 GET /api/posts/{}/comments/search - q: '{}', page: {}, size: {}", postId, q, page, size);
+
+        CommentSearchResponse response = commentService.searchComments(postId, q, page, size);
+        commentHelpfulService.markHelpfulByMe(response.getItems(), currentUserIdOrNull(authentication));
+
+        return ResponseEntity.ok(ApiResponse.success(response, "Comments retrieved successfully"));
+    }
+
     // ═══════════════════════════════════════════════════════════════
     // GET COMMENT BY ID
     // ═══════════════════════════════════════════════════════════════
@@ -101,6 +156,76 @@ public class CommentController {
                 ApiResponse.success(response, "Comment retrieved successfully"));
     }
 
+    // ═══════════════════════════════════════════════════════════════
+    // UPDATE / DELETE COMMENT
+    // ═══════════════════════════════════════════════════════════════
+
+    @PutMapping("/{commentId}")
+    @PreAuthorize("hasAnyRole('USER', 'VENDOR', 'ADMIN')")
+    @Operation(summary = "Update comment", description = "Edit the content and/or rating of your comment")
+    public ResponseEntity<ApiResponse<CommentResponse>> updateComment(
+            @PathVariable Long postId,
+            @PathVariable Long commentId,
+            @RequestParam(value = "content", required = false) String content,
+            @RequestParam(value = "rating", required = false) BigDecimal rating,
+            Authentication authentication) {
+
+        log.info("✏️ PUT /api/posts/{}/comments/{} - Update comment", postId, commentId);
+
+        Long userId = SecurityUtils.getUserId(authentication);
+        CommentResponse response = commentService.updateComment(postId, commentId, content, rating, userId);
+
+        return ResponseEntity.ok(ApiResponse.success(response, "Comment updated successfully"));
+    }
+
+    @DeleteMapping("/{commentId}")
+    @PreAuthorize("hasAnyRole('USER', 'VENDOR', 'ADMIN')")
+    @Operation(summary = "Delete comment", description = "Deactivate your comment (admins can deactivate any)")
+    public ResponseEntity<ApiResponse<Void>> deleteComment(
+            @PathVariable Long postId,
+            @PathVariable Long commentId,
+            Authentication authentication) {
+
+        log.info("🗑️ DELETE /api/posts/{}/comments/{} - Delete comment", postId, commentId);
+
+        Long userId = SecurityUtils.getUserId(authentication);
+        commentService.deactivateComment(postId, commentId, userId, SecurityUtils.isAdmin(authentication));
+
+        return ResponseEntity.ok(ApiResponse.success(null, "Comment deleted successfully"));
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // HELPFUL VOTES
+    // ═══════════════════════════════════════════════════════════════
+
+    @PostMapping("/{commentId}/helpful")
+    @PreAuthorize("hasAnyRole('USER', 'VENDOR', 'ADMIN')")
+    @Operation(summary = "Mark comment helpful", description = "Idempotent: repeated calls count one vote")
+    public ResponseEntity<ApiResponse<CommentHelpfulResponse>> markHelpful(
+            @PathVariable Long postId,
+            @PathVariable Long commentId,
+            Authentication authentication) {
+
+        Long userId = SecurityUtils.getUserId(authentication);
+        CommentHelpfulResponse response = commentHelpfulService.markAsHelpful(postId, commentId, userId);
+
+        return ResponseEntity.ok(ApiResponse.success(response, "Comment marked as helpful"));
+    }
+
+    @DeleteMapping("/{commentId}/helpful")
+    @PreAuthorize("hasAnyRole('USER', 'VENDOR', 'ADMIN')")
+    @Operation(summary = "Unmark comment helpful", description = "Idempotent: removing a missing vote changes nothing")
+    public ResponseEntity<ApiResponse<CommentHelpfulResponse>> unmarkHelpful(
+            @PathVariable Long postId,
+            @PathVariable Long commentId,
+            Authentication authentication) {
+
+        Long userId = SecurityUtils.getUserId(authentication);
+        CommentHelpfulResponse response = commentHelpfulService.unmarkAsHelpful(postId, commentId, userId);
+
+        return ResponseEntity.ok(ApiResponse.success(response, "Comment unmarked as helpful"));
+    }
+
     // ═══════════════════════════════════════════════════════════════
     // GET COMMENT STATISTICS
     // ═══════════════════════════════════════════════════════════════
@@ -112,11 +237,17 @@ public class CommentController {
 
         log.info("📊 GET /api/posts/{}/comments/statistics", postId);
 
-        CommentsPageResponse response = commentService.getCommentsByPost(postId, 0, 1, "createdAt");
+        CommentsPageResponse.RatingDistribution distribution = commentStatisticsService.getStatistics(postId).getRatingDistribution();
 
         log.info("✅ Statistics retrieved");
 
         return ResponseEntity.ok(
-                ApiResponse.success(response.getRatingDistribution(), "Statistics retrieved successfully"));
+                ApiResponse.success(distribution, "Statistics retrieved successfully"));
+    }
+
+    private static Long currentUserIdOrNull(Authentication authentication) {
+        return authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                ? principal.getId()
+                : null;
     }
 }
@@ -0,0 +1,48 @@
+package com.myapp.booking.controllers;
+
+import com.myapp.booking.security.UserPrincipal;
+import com.myapp.booking.services.HomeSnapshotService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/home")
+@RequiredArgsConstructor
+@Tag(name = "Home", description = "Home screen sections")
+public class HomeController {
+
+    private final HomeSnapshotService homeSnapshotService;
+
+    // Personalized copies exist (likedByMe): cache privately and revalidate with the ETag every time
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    @GetMapping
+    @Operation(summary = "Get home screen", description = "Latest, popular, trending and top-rated venues from a precomputed snapshot")
+    public ResponseEntity<byte[]> getHome(Authentication authentication, WebRequest request) {
+        HomeSnapshotService.Rendered home = homeSnapshotService.render(currentUserIdOrNull(authentication));
+        if (request.checkNotModified(home.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(home.etag()).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(home.etag())
+                .cacheControl(REVALIDATE)
+                .body(home.body());
+    }
+
+    private static Long currentUserIdOrNull(Authentication authentication) {
+        return authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                ? principal.getId()
+                : null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.myapp.booking.controllers;
 
+import com.myapp.booking.dtos.requests.post.BatchPostRequest;
 import com.myapp.booking.dtos.requests.post.CreatePostRequest;
 import com.myapp.booking.dtos.requests.post.UpdatePostRequest;
 import com.myapp.booking.models.Post;
@@ -7,22 +8,36 @@ import com.myapp.booking.dtos.responses.post.PostResponse;
 import com.myapp.booking.dtos.responses.post.PostStatisticsResponse;
 import com.myapp.booking.dtos.responses.VendorStatisticsResponse;
 import com.myapp.booking.dtos.responses.post.PostListResponse;
+import com.myapp.booking.dtos.responses.post.PostLikeResponse;
+import com.myapp.booking.dtos.responses.post.PostFeedResponse;
+import com.myapp.booking.dtos.responses.post.PostBatchResponse;
+import com.myapp.booking.dtos.responses.post.VenueDetailResponse;
+import com.myapp.booking.security.UserPrincipal;
+import com.myapp.booking.services.PostBatchService;
+import com.myapp.booking.services.PostETagService;
+import com.myapp.booking.services.PostLikeService;
+import com.myapp.booking.services.SimilarVenueService;
+import com.myapp.booking.services.UniqueVisitorService;
+import com.myapp.booking.services.VenueDetailService;
 import com.myapp.booking.services.interfaces.IPostService;
 import com.myapp.booking.dtos.responses.ApiResponse;
 import com.myapp.booking.configurations.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.MediaType;
@@ -33,6 +48,7 @@ import java.util.*;
 import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 
 @Slf4j
 @RestController
@@ -42,6 +58,14 @@ import java.math.BigDecimal;
 public class PostController {
 
     private final IPostService postService;
+    private final PostLikeService postLikeService;
+    private final PostETagService postETagService;
+    private final VenueDetailService venueDetailService;
+    private final SimilarVenueService similarVenueService;
+    private final PostBatchService postBatchService;
+
+    // Responses are per-user (likedByMe): cache privately and revalidate with the ETag every time
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("hasAnyRole('ADMIN', 'VENDOR')")
@@ -220,13 +244,66 @@ public class PostController {
 
     @GetMapping("/{postId}")
     @Operation(summary = "Get post by ID", description = "Get detailed information about a post")
-    public ResponseEntity<ApiResponse<PostResponse>> getPostById(@PathVariable Long postId) {
+    public ResponseEntity<ApiResponse<PostResponse>> getPostById(
+            @PathVariable Long postId,
+            Authentication authentication,
+            HttpServletRequest request,
+            WebRequest webRequest) {
+        Long userId = currentUserIdOrNull(authentication);
+
+        // Revalidation: answered from a version lookup, the post itself is never loaded
+        Optional<String> etag = postETagService.detailETag(postId, userId);
+        if (etag.isPresent() && webRequest.checkNotModified(etag.get())) {
+            recordView(postId, userId, request);
+            return notModified(etag.get());
+        }
+
         PostResponse response = postService.getPostById(postId);
+        response.setLikedByMe(postLikeService.isLikedBy(postId, userId));
+        recordView(postId, userId, request);
+
+        return withETag(etag.orElse(null), ApiResponse.success(response,"Post retrieved successfully"));
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Get posts by IDs", description = "Get up to 100 posts in request order; unknown IDs are reported as missing")
+    public ResponseEntity<ApiResponse<PostBatchResponse>> getPostsByIds(
+            @Valid @RequestBody BatchPostRequest request,
+            Authentication authentication) {
+
+        PostBatchResponse response = postBatchService.getPosts(request.getIds(), currentUserIdOrNull(authentication));
+
+        return ResponseEntity.ok(ApiResponse.success(response, "Posts retrieved successfully"));
+    }
 
-        // Increment view count asynchronously
-        postService.incrementViewCount(postId);
+    @GetMapping("/{postId}/detail")
+    @Operation(summary = "Get venue detail",
+            description = "Post, menus, latest comments, rating summary and 14-day availability in one call")
+    public ResponseEntity<ApiResponse<VenueDetailResponse>> getVenueDetail(
+            @PathVariable Long postId,
+            Authentication authentication,
+            HttpServletRequest request) {
+        Long userId = currentUserIdOrNull(authentication);
+
+        VenueDetailResponse response = venueDetailService.getVenueDetail(postId, userId);
+        recordView(postId, userId, request);
+
+        // Complete responses may be reused by the client as long as the server keeps them;
+        // partial ones must be refetched
+        CacheControl cacheControl = response.getMissingParts().isEmpty()
+                ? CacheControl.maxAge(Duration.ofMillis(venueDetailService.getCacheTtlMs())).cachePrivate()
+                : CacheControl.noStore();
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(ApiResponse.success(response, "Venue detail retrieved successfully"));
+    }
 
-        return ResponseEntity.ok(ApiResponse.success(response,"Post retrieved successfully"));
+    // Buffered view count + unique-visitor sketch (user id, or IP + User-Agent for guests).
+    // The remote address already reflects X-Forwarded-For from trusted proxies only
+    // (server.forward-headers-strategy); the raw header is client-controlled
+    private void recordView(Long postId, Long userId, HttpServletRequest request) {
+        postService.incrementViewCount(postId,
+                UniqueVisitorService.visitorKey(userId, request.getRemoteAddr(), request.getHeader("User-Agent")));
     }
 
     @GetMapping
@@ -235,15 +312,47 @@ public class PostController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            Authentication authentication,
+            WebRequest webRequest) {
 
         Sort sort = sortDir.equalsIgnoreCase("asc")
                 ? Sort.by(sortBy).ascending()
                 : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
+        Long userId = currentUserIdOrNull(authentication);
+
+        String etag = postETagService.publishedListETag(pageable, userId);
+        if (webRequest.checkNotModified(etag)) {
+            return notModified(etag);
+        }
 
         Page<PostListResponse> posts = postService.getPublishedPosts(pageable);
-        return ResponseEntity.ok(ApiResponse.success(posts,"Posts retrieved successfully"));
+        postLikeService.markLikedByMe(posts.getContent(), userId);
+        return withETag(etag, ApiResponse.success(posts,"Posts retrieved successfully"));
+    }
+
+    @GetMapping("/feed")
+    @Operation(summary = "Published posts feed",
+            description = "Cursor-paginated feed for infinite scroll. sortBy: createdAt, price, capacity, rating")
+    public ResponseEntity<ApiResponse<PostFeedResponse>> getFeed(
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication,
+            WebRequest webRequest) {
+
+        Long userId = currentUserIdOrNull(authentication);
+        String etag = postETagService.feedETag(sortBy, sortDir, cursor, size, userId);
+        if (webRequest.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+
+        PostFeedResponse feed = postService.getFeed(sortBy, sortDir, cursor, size);
+        postLikeService.markLikedByMe(feed.getItems(), userId);
+
+        return withETag(etag, ApiResponse.success(feed, "Feed retrieved successfully"));
     }
 
     @GetMapping("/my-posts")
@@ -271,12 +380,22 @@ public class PostController {
     public ResponseEntity<ApiResponse<Page<PostListResponse>>> getPostsByVendor(
             @PathVariable Long vendorId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            Authentication authentication,
+            WebRequest webRequest) {
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        Long userId = currentUserIdOrNull(authentication);
+
+        String etag = postETagService.vendorListETag(vendorId, pageable, userId);
+        if (webRequest.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+
         Page<PostListResponse> posts = postService.getPostsByVendor(vendorId, pageable);
+        postLikeService.markLikedByMe(posts.getContent(), userId);
 
-        return ResponseEntity.ok(ApiResponse.success(posts,"Vendor posts retrieved successfully"));
+        return withETag(etag, ApiResponse.success(posts,"Vendor posts retrieved successfully"));
     }
 
     @GetMapping("/search")
@@ -284,12 +403,22 @@ public class PostController {
     public ResponseEntity<ApiResponse<Page<PostListResponse>>> searchPosts(
             @RequestParam String keyword,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            Authentication authentication,
+            WebRequest webRequest) {
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        Long userId = currentUserIdOrNull(authentication);
+
+        String etag = postETagService.searchETag(keyword, pageable, userId);
+        if (webRequest.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+
         Page<PostListResponse> posts = postService.searchPosts(keyword, pageable);
+        postLikeService.markLikedByMe(posts.getContent(), userId);
 
-        return ResponseEntity.ok(ApiResponse.success(posts,"Search results retrieved successfully"));
+        return withETag(etag, ApiResponse.success(posts,"Search results retrieved successfully"));
     }
 
 //    @GetMapping("/filter/price")
@@ -332,17 +461,78 @@ public class PostController {
 //        return ResponseEntity.ok(ApiResponse.success(posts,"Filtered posts retrieved successfully"));
 //    }
 //
-//    @GetMapping("/popular")
-//    @Operation(summary = "Get popular posts", description = "Get posts sorted by view count")
-//    public ResponseEntity<ApiResponse<Page<PostListResponse>>> getPopularPosts(
-//            @RequestParam(defaultValue = "0") int page,
-//            @RequestParam(defaultValue = "10") int size) {
-//
-//        Pageable pageable = PageRequest.of(page, size);
-//        Page<PostListResponse> posts = postService.getPopularPosts(pageable);
-//
-//        return ResponseEntity.ok(ApiResponse.success(posts,"Popular posts retrieved successfully"));
-//    }
+    @GetMapping("/popular")
+    @Operation(summary = "Get popular posts", description = "Get the most viewed posts")
+    public ResponseEntity<ApiResponse<List<PostListResponse>>> getPopularPosts(
+            @RequestParam(defaultValue = "10") int limit,
+            Authentication authentication) {
+
+        List<PostListResponse> posts = postService.getPopularPosts(limit);
+        postLikeService.markLikedByMe(posts, currentUserIdOrNull(authentication));
+
+        return ResponseEntity.ok(ApiResponse.success(posts,"Popular posts retrieved successfully"));
+    }
+
+    @GetMapping("/{postId}/similar")
+    @Operation(summary = "Get similar venues", description = "Nearest venues by price, capacity, style, amenities, location and rating")
+    public ResponseEntity<ApiResponse<List<PostListResponse>>> getSimilarVenues(
+            @PathVariable Long postId,
+            @RequestParam(defaultValue = "10") int limit,
+            Authentication authentication) {
+
+        List<PostListResponse> posts = similarVenueService.getSimilar(postId, limit);
+        postLikeService.markLikedByMe(posts, currentUserIdOrNull(authentication));
+
+        return ResponseEntity.ok(ApiResponse.success(posts, "Similar venues retrieved successfully"));
+    }
+
+    @GetMapping("/trending")
+    @Operation(summary = "Get trending posts", description = "Get posts ranked by recent, time-decayed activity")
+    public ResponseEntity<ApiResponse<List<PostListResponse>>> getTrendingPosts(
+            @RequestParam(defaultValue = "10") int limit,
+            Authentication authentication) {
+
+        List<PostListResponse> posts = postService.getTrendingPosts(limit);
+        postLikeService.markLikedByMe(posts, currentUserIdOrNull(authentication));
+
+        return ResponseEntity.ok(ApiResponse.success(posts,"Trending posts retrieved successfully"));
+    }
+
+    @PutMapping("/{postId}/like")
+    @Operation(summary = "Like post", description = "Like a post (idempotent)")
+    public ResponseEntity<ApiResponse<PostLikeResponse>> likePost(
+            @PathVariable Long postId,
+            Authentication authentication) {
+
+        Long userId = SecurityUtils.getUserId(authentication);
+        PostLikeResponse response = postLikeService.like(postId, userId);
+
+        return ResponseEntity.ok(ApiResponse.success(response, "Post liked successfully"));
+    }
+
+    @DeleteMapping("/{postId}/like")
+    @Operation(summary = "Unlike post", description = "Remove a like from a post (idempotent)")
+    public ResponseEntity<ApiResponse<PostLikeResponse>> unlikePost(
+            @PathVariable Long postId,
+            Authentication authentication) {
+
+        Long userId = SecurityUtils.getUserId(authentication);
+        PostLikeResponse response = postLikeService.unlike(postId, userId);
+
+        return ResponseEntity.ok(ApiResponse.success(response, "Post unliked successfully"));
+    }
+
+    @PostMapping("/{postId}/like/toggle")
+    @Operation(summary = "Toggle like", description = "Like the post if not liked yet, otherwise unlike it")
+    public ResponseEntity<ApiResponse<PostLikeResponse>> toggleLike(
+            @PathVariable Long postId,
+            Authentication authentication) {
+
+        Long userId = SecurityUtils.getUserId(authentication);
+        PostLikeResponse response = postLikeService.toggle(postId, userId);
+
+        return ResponseEntity.ok(ApiResponse.success(response, "Like toggled successfully"));
+    }
 
     @PatchMapping("/{postId}/status")
     @PreAuthorize("hasAnyRole('ADMIN', 'VENDOR')")
@@ -382,4 +572,23 @@ public class PostController {
 
         return ResponseEntity.ok(ApiResponse.success(stats,"Vendor statistics retrieved successfully"));
     }
-}
\ No newline at end of file
+
+    // Logged-in user id, or null for guests / non-user principals
+    private static Long currentUserIdOrNull(Authentication authentication) {
+        return authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                ? principal.getId()
+                : null;
+    }
+
+    private static <T> ResponseEntity<ApiResponse<T>> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+    }
+
+    private static <T> ResponseEntity<ApiResponse<T>> withETag(String etag, ApiResponse<T> body) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(REVALIDATE);
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        return builder.body(body);
+    }
+}
@@ -0,0 +1,39 @@
+package com.myapp.booking.dtos.requests;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingQuoteRequest {
+
+    @NotNull(message = "Post ID is required")
+    @JsonAlias({"venueId"})
+    private Long postId;
+
+    // Optional: without a menu the venue price is charged per guest
+    private Long menuId;
+
+    @Min(value = 1, message = "Number of tables must be at least 1")
+    private Integer numberOfTables;
+
+    @JsonAlias({"number_of_guests", "guestCount"})
+    @Min(value = 1, message = "Number of guests must be at least 1")
+    private Integer numberOfGuests;
+
+    @DecimalMin(value = "0.0", message = "Deposit amount must be non-negative")
+    @Digits(integer = 13, fraction = 2, message = "Invalid deposit amount format")
+    private BigDecimal depositAmount;
+
+    @DecimalMin(value = "0.0", message = "Discount amount must be non-negative")
+    @Digits(integer = 13, fraction = 2, message = "Invalid discount amount format")
+    private BigDecimal discountAmount;
+}
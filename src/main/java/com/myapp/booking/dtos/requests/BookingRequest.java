@@ -50,7 +50,13 @@ public class BookingRequest {
     @JsonAlias({"numberOfGuests", "number_of_guests", "guestCount"})
     private Integer numberOfGuests;
 
-    // Optional: if null, service will use post.price
+    // Optional: with a menu the booking is priced per table instead of per guest
+    private Long menuId;
+
+    @Min(value = 1, message = "Number of tables must be at least 1")
+    private Integer numberOfTables;
+
+    // Optional: if null, service will use post.price; ignored when a menu is chosen
     @DecimalMin(value = "0.0", message = "Unit price must be positive")
     private Double unitPrice;
 
@@ -0,0 +1,21 @@
+package com.myapp.booking.dtos.requests.post;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchPostRequest {
+
+    @NotEmpty(message = "Danh sách ID không được để trống")
+    @Size(max = 100, message = "Tối đa 100 ID mỗi lần")
+    private List<Long> ids;
+}
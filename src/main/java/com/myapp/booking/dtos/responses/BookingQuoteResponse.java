@@ -0,0 +1,44 @@
+package com.myapp.booking.dtos.responses;
+
+import com.myapp.booking.services.PricingSnapshot;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingQuoteResponse {
+
+    private Long postId;
+    private Long menuId;
+    private Integer numberOfGuests;
+    private Integer numberOfTables;
+    private BigDecimal unitPrice; // Per table with a menu, per guest without
+    private BigDecimal totalAmount;
+    private BigDecimal discountAmount;
+    private BigDecimal finalAmount;
+    private BigDecimal depositAmount;
+    private BigDecimal remainingAmount; // Due after the deposit
+    private String currency;
+
+    public static BookingQuoteResponse from(PricingSnapshot pricing, PricingSnapshot.Quote quote) {
+        return BookingQuoteResponse.builder()
+                .postId(pricing.getPostId())
+                .menuId(quote.menuId())
+                .numberOfGuests(quote.numberOfGuests())
+                .numberOfTables(quote.numberOfTables())
+                .unitPrice(PricingSnapshot.toAmount(quote.unitPriceMinor()))
+                .totalAmount(PricingSnapshot.toAmount(quote.totalMinor()))
+                .discountAmount(PricingSnapshot.toAmount(quote.discountMinor()))
+                .finalAmount(PricingSnapshot.toAmount(quote.finalMinor()))
+                .depositAmount(PricingSnapshot.toAmount(quote.depositMinor()))
+                .remainingAmount(PricingSnapshot.toAmount(quote.remainingMinor()))
+                .currency(pricing.getCurrency())
+                .build();
+    }
+}
@@ -59,6 +59,11 @@ public class BookingResponse {
 
     // Convert from Entity to DTO
     public static BookingResponse fromEntity(Booking booking) {
+        return fromEntity(booking, booking.getSpecialRequests(), booking.getNotes());
+    }
+
+    // Same, with the lazy free-text fields supplied by the caller (pages load them in bulk)
+    public static BookingResponse fromEntity(Booking booking, String specialRequests, String notes) {
         // Ensure venueId is set - fallback to postId if null (for legacy bookings)
         Long venueId = booking.getVenueId() != null ? booking.getVenueId() : booking.getPostId();
         
@@ -86,8 +91,8 @@ public class BookingResponse {
                 .finalAmount(booking.getFinalAmount())
                 .currency(booking.getCurrency())
                 .additionalServices(booking.getAdditionalServices())
-                .specialRequests(booking.getSpecialRequests())
-                .notes(booking.getNotes())
+                .specialRequests(specialRequests)
+                .notes(notes)
                 .status(booking.getStatus())
                 .cancelledBy(booking.getCancelledBy())
                 .cancelledAt(booking.getCancelledAt())
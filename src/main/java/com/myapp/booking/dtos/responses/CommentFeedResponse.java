@@ -0,0 +1,22 @@
+package com.myapp.booking.dtos.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One slice of a post's reviews. Pass {@code nextCursor} back to get the following
+ * slice; it is null once there are no more reviews.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CommentFeedResponse {
+    private List<CommentResponse> items;
+    private String nextCursor;
+    private Boolean hasMore;
+}
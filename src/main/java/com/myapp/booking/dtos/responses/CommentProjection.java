@@ -0,0 +1,35 @@
+package com.myapp.booking.dtos.responses;
+
+import com.myapp.booking.models.Comment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Constructor projection used by the comment page queries in {@code CommentRepository}.
+ * Holds the comment columns with the author joined in, so a page never materializes
+ * {@link Comment} entities or their lazy user and post. Images stay as the stored JSON
+ * text and are only parsed when a comment actually has some.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentProjection {
+
+    private Long id;
+    private String content;
+    private BigDecimal rating;
+    private String imagesJson;
+    private Integer helpfulCount;
+    private Double helpfulScore;
+    private Boolean isVerifiedBooking;
+    private Long userId;
+    private String userName;
+    private String userEmail;
+    private String userAvatar;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
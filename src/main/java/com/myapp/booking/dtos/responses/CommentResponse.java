@@ -21,6 +21,8 @@ public class CommentResponse {
     private List<String> images;
     private Integer helpfulCount;
     private Boolean isVerifiedBooking;
+    // Only filled for an authenticated caller on list endpoints
+    private Boolean markedHelpfulByMe;
 
     // User info
     private Long userId;
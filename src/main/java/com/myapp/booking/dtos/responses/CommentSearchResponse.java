@@ -0,0 +1,23 @@
+package com.myapp.booking.dtos.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a post's reviews matching a search, most relevant first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CommentSearchResponse {
+    private String query;
+    private List<CommentResponse> items;
+    private Integer currentPage;
+    private Long totalHits;
+    private Boolean hasNext;
+}
@@ -0,0 +1,19 @@
+package com.myapp.booking.dtos.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingSummaryResponse {
+
+    private BigDecimal averageRating;
+    private Long totalComments;
+    private CommentsPageResponse.RatingDistribution ratingDistribution;
+}
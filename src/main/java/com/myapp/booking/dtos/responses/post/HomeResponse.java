@@ -0,0 +1,22 @@
+package com.myapp.booking.dtos.responses.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Every section of the home screen in one payload.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class HomeResponse {
+    private List<PostListResponse> latest;
+    private List<PostListResponse> popular;
+    private List<PostListResponse> trending;
+    private List<PostListResponse> topRated;
+}
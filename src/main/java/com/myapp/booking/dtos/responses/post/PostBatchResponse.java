@@ -0,0 +1,21 @@
+package com.myapp.booking.dtos.responses.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Posts in the order their ids were requested; ids that do not exist (or were deleted)
+ * are listed in {@code missingIds} instead.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostBatchResponse {
+    private List<PostResponse> posts;
+    private List<Long> missingIds;
+}
@@ -0,0 +1,38 @@
+package com.myapp.booking.dtos.responses.post;
+
+import com.myapp.booking.models.Post;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Constructor projection used by the listing queries in {@code PostRepository}.
+ * Holds only the scalar columns a list card needs, with the vendor name and
+ * avatar joined in, so listing never materializes full {@link Post} entities.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostCardProjection {
+
+    private Long id;
+    private String title;
+    private String description;
+    private String location;
+    private BigDecimal price;
+    private Integer capacity;
+    private String style;
+    private Post.PostStatus status;
+    private Long viewCount;
+    private Long likeCount;
+    private Long commentCount;
+    private Long bookingCount;
+    private BigDecimal rating;
+    private String vendorName;
+    private String vendorAvatar;
+    private LocalDateTime createdAt;
+    private LocalDateTime publishedAt;
+}
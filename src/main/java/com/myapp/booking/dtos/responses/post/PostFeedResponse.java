@@ -0,0 +1,22 @@
+package com.myapp.booking.dtos.responses.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One slice of the infinite-scroll feed. Pass {@code nextCursor} back to get the
+ * following slice; it is null once the feed is exhausted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostFeedResponse {
+    private List<PostListResponse> items;
+    private String nextCursor;
+    private Boolean hasMore;
+}
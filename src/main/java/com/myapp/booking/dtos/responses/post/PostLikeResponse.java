@@ -0,0 +1,16 @@
+package com.myapp.booking.dtos.responses.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostLikeResponse {
+    private Long postId;
+    private Boolean liked;
+    private Long likeCount;
+}
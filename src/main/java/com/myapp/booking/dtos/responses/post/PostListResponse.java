@@ -2,9 +2,11 @@ package com.myapp.booking.dtos.responses.post;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.myapp.booking.models.Post;
+import com.myapp.booking.models.PostCard;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -12,7 +14,7 @@ import java.util.stream.Collectors;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class PostListResponse {
 
     private Long id;
@@ -31,6 +33,11 @@ public class PostListResponse {
     private Long likeCount;
     private Long commentCount;
     private Long bookingCount;
+    private BigDecimal rating;
+    private Boolean likedByMe;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate nextAvailableDate;
 
     private String vendorName;
     private String vendorAvatar;
@@ -69,6 +76,61 @@ public class PostListResponse {
                 .collect(Collectors.toList());
     }
 
+    public static PostListResponse fromReadModel(PostCard card) {
+        List<String> convertedImages = convertImageUrls(card.getImages());
+
+        return PostListResponse.builder()
+                .id(card.getPostId())
+                .title(card.getTitle())
+                .description(card.getDescription())
+                .location(card.getLocation())
+                .price(card.getPrice())
+                .capacity(card.getCapacity())
+                .style(card.getStyle())
+                .thumbnailImage(convertImageUrl(card.getThumbnailImage()))
+                .imageCount(card.getImageCount())
+                .images(convertedImages)
+                .status(card.getStatus().name())
+                .viewCount(card.getViewCount())
+                .likeCount(card.getLikeCount())
+                .commentCount(card.getCommentCount())
+                .bookingCount(card.getBookingCount())
+                .rating(card.getRating())
+                .nextAvailableDate(card.getNextAvailableDate())
+                .vendorName(card.getVendorName())
+                .vendorAvatar(card.getVendorAvatar())
+                .createdAt(card.getCreatedAt())
+                .publishedAt(card.getPublishedAt())
+                .build();
+    }
+
+    public static PostListResponse fromCard(PostCardProjection card, List<String> images) {
+        List<String> convertedImages = convertImageUrls(images);
+
+        return PostListResponse.builder()
+                .id(card.getId())
+                .title(card.getTitle())
+                .description(card.getDescription())
+                .location(card.getLocation())
+                .price(card.getPrice())
+                .capacity(card.getCapacity())
+                .style(card.getStyle())
+                .thumbnailImage(convertedImages.isEmpty() ? null : convertedImages.get(0))
+                .imageCount(convertedImages.size())
+                .images(convertedImages)
+                .status(card.getStatus().name())
+                .viewCount(card.getViewCount())
+                .likeCount(card.getLikeCount())
+                .commentCount(card.getCommentCount())
+                .bookingCount(card.getBookingCount())
+                .rating(card.getRating())
+                .vendorName(card.getVendorName())
+                .vendorAvatar(card.getVendorAvatar())
+                .createdAt(card.getCreatedAt())
+                .publishedAt(card.getPublishedAt())
+                .build();
+    }
+
     public static PostListResponse fromEntity(Post post) {
         List<String> convertedImages = convertImageUrls(post.getImages());
 
@@ -88,6 +150,7 @@ public class PostListResponse {
                 .likeCount(post.getLikeCount())
                 .commentCount(post.getCommentCount())
                 .bookingCount(post.getBookingCount())
+                .rating(post.getRating())
                 .vendorName(post.getVendor().getFullName())
                 .vendorAvatar(post.getVendor().getAvatarUrl())
                 .createdAt(post.getCreatedAt())
@@ -9,6 +9,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -16,7 +17,7 @@ import java.util.stream.Collectors;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class PostResponse {
 
     private Long id;
@@ -36,6 +37,7 @@ public class PostResponse {
     private Long likeCount;
     private Long commentCount;
     private Long bookingCount;
+    private Boolean likedByMe;
 
     // Vendor info
     private VendorInfo vendor;
@@ -85,17 +87,23 @@ public class PostResponse {
 
     // Static factory method
     public static PostResponse fromEntity(Post post) {
+        return fromEntity(post, post.getContent());
+    }
+
+    // For callers that loaded the lazy content for many posts at once
+    public static PostResponse fromEntity(Post post, String content) {
         return PostResponse.builder()
                 .id(post.getId())
                 .title(post.getTitle())
                 .description(post.getDescription())
-                .content(post.getContent())
+                .content(content)
                 .location(post.getLocation())
                 .price(post.getPrice())
                 .capacity(post.getCapacity())
                 .style(post.getStyle())
                 .images(convertImageUrls(post.getImages()))
-                .amenities(post.getAmenities())
+                // Copied so the set is loaded here, not while serializing outside the session
+                .amenities(post.getAmenities() != null ? new HashSet<>(post.getAmenities()) : null)
                 .allowComments(post.getAllowComments())
                 .enableNotifications(post.getEnableNotifications())
                 .status(post.getStatus().name())
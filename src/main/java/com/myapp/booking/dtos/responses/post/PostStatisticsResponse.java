@@ -15,4 +15,5 @@ public class PostStatisticsResponse {
     private Long likeCount;
     private Long commentCount;
     private Long bookingCount;
-}
\ No newline at end of file
+    private UniqueVisitorCounts uniqueVisitors;
+}
@@ -0,0 +1,20 @@
+package com.myapp.booking.dtos.responses.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estimated distinct visitors of a post (HyperLogLog, ~1.6% error).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UniqueVisitorCounts {
+    private Long today;
+    private Long last7Days;
+    private Long last30Days;
+    private Long allTime;
+}
@@ -0,0 +1,31 @@
+package com.myapp.booking.dtos.responses.post;
+
+import com.myapp.booking.dtos.responses.CommentResponse;
+import com.myapp.booking.dtos.responses.MenuResponse;
+import com.myapp.booking.dtos.responses.RatingSummaryResponse;
+import com.myapp.booking.dtos.responses.SlotAvailabilityResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Everything the venue screen needs in one response. A part that failed or timed out is
+ * null and listed in {@code missingParts}; the client can fetch it from its own endpoint.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VenueDetailResponse {
+
+    private PostResponse post;
+    private List<MenuResponse> menus;
+    private List<CommentResponse> latestComments;
+    private RatingSummaryResponse rating;
+    private List<SlotAvailabilityResponse> availability;
+    private Boolean likedByMe;
+    private List<String> missingParts;
+}
@@ -0,0 +1,43 @@
+package com.myapp.booking.enums;
+
+import com.myapp.booking.exceptions.BadRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Orderings allowed on a post's reviews, always highest first. Each one is backed by a
+ * composite index (post_id, is_active, column, id) on {@code comments}.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum CommentSort {
+    CREATED_AT("createdAt", LocalDateTime::parse),
+    RATING("rating", BigDecimal::new),
+    HELPFUL("helpfulScore", Double::valueOf);
+
+    private final String field;
+    private final Function<String, Object> parser;
+
+    /**
+     * Resolve a {@code sortBy} request parameter ("helpful" is accepted for HELPFUL).
+     */
+    public static CommentSort fromField(String field) {
+        if ("helpful".equalsIgnoreCase(field)) {
+            return HELPFUL;
+        }
+        return Arrays.stream(values())
+                .filter(sort -> sort.getField().equalsIgnoreCase(field))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException(
+                        "Unsupported sortBy '" + field + "'. Allowed: createdAt, rating, helpful"));
+    }
+
+    public Object parseValue(String raw) {
+        return parser.apply(raw);
+    }
+}
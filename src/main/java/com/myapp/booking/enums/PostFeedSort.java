@@ -0,0 +1,43 @@
+package com.myapp.booking.enums;
+
+import com.myapp.booking.exceptions.BadRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Orderings allowed on the post feed. Each one is backed by a composite index
+ * (status, is_active, is_deleted, column, id) on {@code posts}.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum PostFeedSort {
+    CREATED_AT("createdAt", false, LocalDateTime::parse),
+    PRICE("price", false, BigDecimal::new),
+    CAPACITY("capacity", true, Integer::valueOf),
+    RATING("rating", true, BigDecimal::new);
+
+    private final String field;
+    // Nullable columns: rows without a value are left out of the feed (keyset needs a total order)
+    private final boolean nullable;
+    private final Function<String, Object> parser;
+
+    /**
+     * Resolve a {@code sortBy} request parameter.
+     */
+    public static PostFeedSort fromField(String field) {
+        return Arrays.stream(values())
+                .filter(sort -> sort.getField().equalsIgnoreCase(field))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException(
+                        "Unsupported sortBy '" + field + "'. Allowed: createdAt, price, capacity, rating"));
+    }
+
+    public Object parseValue(String raw) {
+        return parser.apply(raw);
+    }
+}
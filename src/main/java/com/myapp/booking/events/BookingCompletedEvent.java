@@ -0,0 +1,18 @@
+package com.myapp.booking.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A booking moved to COMPLETED: its user has now stayed at the venue (post).
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BookingCompletedEvent {
+
+    private final Long bookingId;
+    private final Long userId;
+    private final Long postId;
+}
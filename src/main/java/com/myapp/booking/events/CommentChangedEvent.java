@@ -0,0 +1,19 @@
+package com.myapp.booking.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A review was written, edited or deactivated. {@code content} is the text now shown,
+ * or null once the review is no longer active.
+ */
+@Getter
+@ToString(exclude = "content")
+@AllArgsConstructor
+public class CommentChangedEvent {
+
+    private final Long postId;
+    private final Long commentId;
+    private final String content;
+}
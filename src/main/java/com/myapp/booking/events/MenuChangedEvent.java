@@ -0,0 +1,17 @@
+package com.myapp.booking.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A menu of the post was created, edited or deleted.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class MenuChangedEvent {
+
+    private final Long postId;
+    private final Long menuId;
+}
@@ -0,0 +1,26 @@
+package com.myapp.booking.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published by the write services whenever something a post card shows has changed.
+ * Listeners run after the surrounding transaction commits.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class PostChangedEvent {
+
+    private final Long postId;
+    private final ChangeType changeType;
+
+    public enum ChangeType {
+        CONTENT,    // title, price, images, status...
+        COUNTERS,   // like / comment / booking counters
+        BOOKINGS,   // slot occupancy changed (next free date)
+        REVIEWS,    // comment created / edited / deactivated
+        DELETED
+    }
+}
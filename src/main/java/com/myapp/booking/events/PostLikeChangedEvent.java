@@ -0,0 +1,18 @@
+package com.myapp.booking.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A user liked or unliked a post. Only published when the like store actually changed.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class PostLikeChangedEvent {
+
+    private final Long postId;
+    private final Long userId;
+    private final boolean liked;
+}
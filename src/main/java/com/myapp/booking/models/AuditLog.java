@@ -3,6 +3,7 @@ package com.myapp.booking.models;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.LazyGroup;
 
 import java.time.LocalDateTime;
 
@@ -19,8 +20,8 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@ToString(exclude = {"user"})
-@EqualsAndHashCode(exclude = {"user"})
+@ToString(exclude = {"user", "oldValues", "newValues", "userAgent"})
+@EqualsAndHashCode(exclude = {"user", "oldValues", "newValues", "userAgent"})
 public class AuditLog {
 
     @Id
@@ -40,15 +41,22 @@ public class AuditLog {
     @Column(name = "record_id")
     private Long recordId;
 
+    // Change payloads are only read when an entry is inspected
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("payload")
     @Column(name = "old_values", columnDefinition = "LONGTEXT")
     private String oldValues; // JSON
 
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("payload")
     @Column(name = "new_values", columnDefinition = "LONGTEXT")
     private String newValues; // JSON
 
     @Column(name = "ip_address", length = 45)
     private String ipAddress;
 
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("payload")
     @Column(name = "user_agent", columnDefinition = "TEXT")
     private String userAgent;
 
@@ -2,6 +2,7 @@ package com.myapp.booking.models;
 
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.LazyGroup;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import jakarta.persistence.*;
@@ -105,9 +106,18 @@ public class Booking {
     @Column(name = "additional_services", columnDefinition = "TEXT")
     private String additionalServices;
 
+    // Free-text fields, only needed when a booking is shown: loaded together on first access
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("requests")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Column(name = "special_requests", columnDefinition = "TEXT")
     private String specialRequests;
 
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("requests")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Column(name = "notes", columnDefinition = "TEXT")
     private String notes;
 
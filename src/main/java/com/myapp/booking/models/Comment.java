@@ -2,6 +2,7 @@ package com.myapp.booking.models;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -17,7 +18,15 @@ import java.util.List;
                 @Index(name = "idx_comment_post", columnList = "post_id"),
                 @Index(name = "idx_comment_user", columnList = "user_id"),
                 @Index(name = "idx_comment_rating", columnList = "rating"),
-                @Index(name = "idx_comment_active", columnList = "is_active")
+                @Index(name = "idx_comment_active", columnList = "is_active"),
+                // Keyset paging of a post's reviews, one per CommentSort
+                @Index(name = "idx_comment_post_created", columnList = "post_id, is_active, created_at, id"),
+                @Index(name = "idx_comment_post_rating", columnList = "post_id, is_active, rating, id"),
+                @Index(name = "idx_comment_post_helpful", columnList = "post_id, is_active, helpful_score, id")
+        },
+        uniqueConstraints = {
+                // One active review per user per post; see activeMarker
+                @UniqueConstraint(name = "uk_comment_post_user_active", columnNames = {"post_id", "user_id", "active_marker"})
         }
 )
 @Data
@@ -52,10 +61,21 @@ public class Comment {
     @Builder.Default
     private Integer helpfulCount = 0;
 
+    // Wilson lower bound of the helpful votes, rewritten whenever helpfulCount changes
+    @Column(name = "helpful_score", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Double helpfulScore = 0.0;
+
     @Column(name = "is_active")
     @Builder.Default
     private Boolean isActive = true;
 
+    // TRUE while the review is active, NULL once deactivated. Unique keys ignore NULLs, so
+    // uk_comment_post_user_active allows one active review and any number of removed ones
+    @Column(name = "active_marker")
+    private Boolean activeMarker;
+
     // ═══════════════════════════════════════════════════════════════
     // RELATIONSHIPS
     // ═══════════════════════════════════════════════════════════════
@@ -0,0 +1,32 @@
+package com.myapp.booking.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ownership of a scheduled job that must run on one instance at a time. The owner renews
+ * the lease on every run; another instance takes the job over only once it has expired.
+ */
+@Entity
+@Table(name = "job_leases")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLease {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "owner", nullable = false, length = 64)
+    private String owner;
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "last_run_at")
+    private LocalDateTime lastRunAt;
+}
@@ -14,7 +14,8 @@ import java.util.List;
 @Table(
         name = "menus",
         indexes = {
-                @Index(name = "idx_menus_post", columnList = "id"),
+                // Active menus of a post (idx_menus_post covered only the primary key)
+                @Index(name = "idx_menus_post_active", columnList = "post_id, is_active"),
                 @Index(name = "idx_menus_vendor", columnList = "vendor_id"),
                 @Index(name = "idx_menus_active", columnList = "is_active")
         }
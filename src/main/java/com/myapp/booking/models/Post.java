@@ -2,7 +2,10 @@ package com.myapp.booking.models;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.LazyGroup;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -13,7 +16,17 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "posts")
+@Table(
+        name = "posts",
+        indexes = {
+                @Index(name = "idx_posts_trending", columnList = "status, is_active, is_deleted, trending_score"),
+                @Index(name = "idx_posts_popular", columnList = "status, is_active, is_deleted, view_count"),
+                @Index(name = "idx_posts_feed_created", columnList = "status, is_active, is_deleted, created_at, id"),
+                @Index(name = "idx_posts_feed_price", columnList = "status, is_active, is_deleted, price, id"),
+                @Index(name = "idx_posts_feed_capacity", columnList = "status, is_active, is_deleted, capacity, id"),
+                @Index(name = "idx_posts_feed_rating", columnList = "status, is_active, is_deleted, rating, id")
+        }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -31,6 +44,12 @@ public class Post {
     @Column(name = "description", nullable = false, length = 200)
     private String description;
 
+    // Long text columns live in a lazy fetch group: listings, booking checks and counter
+    // updates load the post without them; the first access loads both in one select
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("text")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Column(name = "content", columnDefinition = "LONGTEXT")
     private String content;
 
@@ -54,10 +73,53 @@ public class Post {
     @Builder.Default
     private Boolean isAvailable = true;
 
-    @Column(name = "rating", precision = 2, scale = 1)
+    // Average of active comment ratings, kept in step with the aggregates below
+    @Column(name = "rating", precision = 2, scale = 1, updatable = false)
     @Builder.Default
     private BigDecimal rating = BigDecimal.ZERO;
 
+    // Rating aggregates over active comments, written only by PostRepository.applyRatingDelta
+    // and the reconciliation job (never by entity saves)
+    @Column(name = "rating_sum", nullable = false, precision = 12, scale = 1, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private BigDecimal ratingSum = BigDecimal.ZERO;
+
+    @Column(name = "rating_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long ratingCount = 0L;
+
+    // Histogram by whole star: star4 counts ratings 4.0-4.9
+    @Column(name = "star1", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long star1 = 0L;
+
+    @Column(name = "star2", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long star2 = 0L;
+
+    @Column(name = "star3", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long star3 = 0L;
+
+    @Column(name = "star4", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long star4 = 0L;
+
+    @Column(name = "star5", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long star5 = 0L;
+
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("text")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Column(name = "working_days", columnDefinition = "LONGTEXT")
     private String workingDays; // JSON array of working days
 
@@ -66,9 +128,13 @@ public class Post {
     private Integer availableSlots = 4; // 4 slots per day (default)
 
     // ✅ Quan hệ OneToMany với post_images
+    // Indexed by image_order so Hibernate updates, inserts and deletes single positions
+    // instead of recreating the whole collection; mutate it in place (see ListSync)
     @ElementCollection
     @CollectionTable(name = "post_images", joinColumns = @JoinColumn(name = "post_id"))
+    @OrderColumn(name = "image_order")
     @Column(name = "image_url")
+    @BatchSize(size = 100)
     @Builder.Default
     private List<String> images = new ArrayList<>();
 
@@ -76,6 +142,7 @@ public class Post {
     @ElementCollection
     @CollectionTable(name = "post_amenities", joinColumns = @JoinColumn(name = "post_id"))
     @Column(name = "amenity")
+    @BatchSize(size = 100)
     @Builder.Default
     private Set<String> amenities = new HashSet<>();
 
@@ -92,22 +159,29 @@ public class Post {
     @Builder.Default
     private PostStatus status = PostStatus.PENDING;
 
-    @Column(name = "view_count", nullable = false)
+    // Counters, written only by the atomic PostRepository updates and the ViewCountBuffer
+    // flush (never by entity saves)
+    @Column(name = "view_count", nullable = false, updatable = false)
     @Builder.Default
     private Long viewCount = 0L;
 
-    @Column(name = "like_count", nullable = false)
+    @Column(name = "like_count", nullable = false, updatable = false)
     @Builder.Default
     private Long likeCount = 0L;
 
-    @Column(name = "comment_count", nullable = false)
+    @Column(name = "comment_count", nullable = false, updatable = false)
     @Builder.Default
     private Long commentCount = 0L;
 
-    @Column(name = "booking_count", nullable = false)
+    @Column(name = "booking_count", nullable = false, updatable = false)
     @Builder.Default
     private Long bookingCount = 0L;
 
+    // Time-decayed activity score, written only by TrendingService (never by entity saves)
+    @Column(name = "trending_score", nullable = false, updatable = false)
+    @Builder.Default
+    private Double trendingScore = 0.0;
+
     // ✅ Quan hệ ManyToOne với User (Vendor)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "vendor_id", nullable = false)
@@ -0,0 +1,109 @@
+package com.myapp.booking.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Denormalized read model behind the listing and search pages. One row per post,
+ * holding exactly what {@code PostListResponse} renders, so listing is a single
+ * indexed scan of this table. Rows are rewritten by {@code PostCardProjector}.
+ */
+@Entity
+@Table(
+        name = "post_cards",
+        indexes = {
+                @Index(name = "idx_post_cards_listing", columnList = "status, is_active, is_deleted, created_at"),
+                @Index(name = "idx_post_cards_vendor", columnList = "vendor_id, is_deleted")
+        }
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostCard {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "title", nullable = false, length = 100)
+    private String title;
+
+    @Column(name = "description", length = 200)
+    private String description;
+
+    @Column(name = "location", length = 255)
+    private String location;
+
+    @Column(name = "price", precision = 15, scale = 2)
+    private BigDecimal price;
+
+    @Column(name = "capacity")
+    private Integer capacity;
+
+    @Column(name = "style", length = 50)
+    private String style;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20)
+    private Post.PostStatus status;
+
+    @Column(name = "is_active", nullable = false)
+    private Boolean isActive;
+
+    @Column(name = "is_deleted", nullable = false)
+    private Boolean isDeleted;
+
+    @Column(name = "thumbnail_image", length = 255)
+    private String thumbnailImage;
+
+    @Column(name = "image_count")
+    private Integer imageCount;
+
+    @Column(name = "images", columnDefinition = "TEXT")
+    @Convert(converter = com.myapp.booking.configurations.JsonListConverter.class)
+    @Builder.Default
+    private List<String> images = new ArrayList<>();
+
+    @Column(name = "vendor_id")
+    private Long vendorId;
+
+    @Column(name = "vendor_name", length = 100)
+    private String vendorName;
+
+    @Column(name = "vendor_avatar", length = 255)
+    private String vendorAvatar;
+
+    @Column(name = "view_count")
+    private Long viewCount;
+
+    @Column(name = "like_count")
+    private Long likeCount;
+
+    @Column(name = "comment_count")
+    private Long commentCount;
+
+    @Column(name = "booking_count")
+    private Long bookingCount;
+
+    @Column(name = "rating", precision = 2, scale = 1)
+    private BigDecimal rating;
+
+    @Column(name = "next_available_date")
+    private LocalDate nextAvailableDate;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @Column(name = "refreshed_at")
+    private LocalDateTime refreshedAt;
+}
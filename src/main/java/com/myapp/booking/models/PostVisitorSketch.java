@@ -0,0 +1,44 @@
+package com.myapp.booking.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Serialized HyperLogLog of the distinct visitors of one post on one day. Each post also
+ * has one all-time row, the union of all its days, stored under visit_date 1970-01-01.
+ */
+@Entity
+@Table(
+        name = "post_visitor_sketches",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_post_visitor_day", columnNames = {"post_id", "visit_date"})
+        }
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(exclude = "registers")
+public class PostVisitorSketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Column(name = "visit_date", nullable = false)
+    private LocalDate visitDate;
+
+    @Column(name = "registers", nullable = false, length = 4096)
+    private byte[] registers;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -70,6 +71,37 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             @Param("excludedStatuses") List<String> excludedStatuses
     );
 
+    // Active bookings per (post, date) for a batch of posts: rows of [postId, bookingDate, count]
+    @Query("SELECT b.postId, b.bookingDate, COUNT(b) FROM Booking b WHERE b.postId IN :postIds " +
+            "AND b.bookingDate BETWEEN :fromDate AND :toDate " +
+            "AND b.status NOT IN ('CANCELLED') AND b.deletedAt IS NULL " +
+            "GROUP BY b.postId, b.bookingDate")
+    List<Object[]> countActiveByPostIdsGroupByDate(
+            @Param("postIds") Collection<Long> postIds,
+            @Param("fromDate") java.sql.Date fromDate,
+            @Param("toDate") java.sql.Date toDate
+    );
+
+    // Booked slots of a post in a date range: rows of [bookingDate, slotIndex]
+    @Query("SELECT b.bookingDate, b.slotIndex FROM Booking b WHERE b.postId = :postId " +
+            "AND b.bookingDate BETWEEN :fromDate AND :toDate " +
+            "AND b.status NOT IN ('CANCELLED') AND b.deletedAt IS NULL")
+    List<Object[]> findActiveSlotsInRange(
+            @Param("postId") Long postId,
+            @Param("fromDate") java.sql.Date fromDate,
+            @Param("toDate") java.sql.Date toDate
+    );
+
+    // [id, specialRequests, notes] for a page of bookings; the two columns are lazy on the entity
+    @Query("SELECT b.id, b.specialRequests, b.notes FROM Booking b WHERE b.id IN :ids")
+    List<Object[]> findRequestTextByIds(@Param("ids") java.util.Collection<Long> ids);
+
+    // Distinct [userId, postId] pairs with a completed stay, for the verified-review index
+    @Query("SELECT DISTINCT b.userId, b.postId FROM Booking b WHERE b.status = 'COMPLETED'")
+    List<Object[]> findCompletedUserPostPairs();
+
+    boolean existsByUserIdAndPostIdAndStatus(Long userId, Long postId, String status);
+
     // Count bookings by status for a user
     long countByUserIdAndStatus(Long userId, String status);
 
@@ -0,0 +1,54 @@
+package com.myapp.booking.repositories;
+
+import com.myapp.booking.dtos.responses.CommentProjection;
+import com.myapp.booking.enums.CommentSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Keyset pagination over a post's active reviews, highest first. Each page is a range
+ * scan of the sort's (post_id, is_active, column, id) index starting right after the
+ * previous page's last (value, id), without a count query.
+ */
+@Repository
+public class CommentFeedRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * @param verifiedOnly only reviews by authors with a completed booking at the venue
+     * @param afterValue sort value of the last review already served, or null for the first page
+     * @param afterId    id of the last review already served, or null for the first page
+     * @param limit      maximum rows to return
+     */
+    public List<CommentProjection> findPage(Long postId, CommentSort sort, boolean verifiedOnly,
+                                            Object afterValue, Long afterId, int limit) {
+        // Field names come from the CommentSort whitelist only, never from the request
+        String field = "c." + sort.getField();
+
+        StringBuilder jpql = new StringBuilder(CommentRepository.PROJECTION_SELECT)
+                .append("WHERE ").append(CommentRepository.ACTIVE_ON_POST);
+        if (verifiedOnly) {
+            jpql.append(CommentRepository.VERIFIED_ONLY);
+        }
+        if (afterId != null) {
+            // (value, id) strictly before the cursor; the leading "<=" gives the index a range bound
+            jpql.append(" AND ").append(field).append(" <= :afterValue")
+                    .append(" AND (").append(field).append(" < :afterValue OR c.id < :afterId)");
+        }
+        jpql.append(" ORDER BY ").append(field).append(" DESC, c.id DESC");
+
+        TypedQuery<CommentProjection> query = entityManager.createQuery(jpql.toString(), CommentProjection.class)
+                .setParameter("postId", postId);
+        if (afterId != null) {
+            query.setParameter("afterValue", afterValue);
+            query.setParameter("afterId", afterId);
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -2,16 +2,28 @@ package com.myapp.booking.repositories;
 
 import com.myapp.booking.models.CommentHelpful;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CommentHelpfulRepository extends JpaRepository<CommentHelpful, Long> {
 
+    // Insert the vote unless it already exists (uk_comment_user); returns 1 if inserted, 0 if it was there
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO comment_helpful (comment_id, user_id, created_at) " +
+            "VALUES (:commentId, :userId, NOW())", nativeQuery = true)
+    int insertIgnore(@Param("commentId") Long commentId, @Param("userId") Long userId);
+
+    // Which of a page's comments the user marked helpful, in one lookup on uk_comment_user
+    @Query("SELECT h.comment.id FROM CommentHelpful h WHERE h.user.id = :userId AND h.comment.id IN :commentIds")
+    List<Long> findMarkedCommentIds(@Param("userId") Long userId, @Param("commentIds") Collection<Long> commentIds);
+
     // Check if user marked comment as helpful
     boolean existsByCommentIdAndUserId(Long commentId, Long userId);
 
@@ -27,7 +39,9 @@ public interface CommentHelpfulRepository extends JpaRepository<CommentHelpful,
     // Find all helpful marks for a comment
     List<CommentHelpful> findByCommentId(Long commentId);
 
-    // Delete by comment and user
-    void deleteByCommentIdAndUserId(Long commentId, Long userId);
+    // Returns 1 if a vote was removed, 0 if there was none
+    @Modifying
+    @Query("DELETE FROM CommentHelpful h WHERE h.comment.id = :commentId AND h.user.id = :userId")
+    int deleteByCommentIdAndUserId(@Param("commentId") Long commentId, @Param("userId") Long userId);
 }
 
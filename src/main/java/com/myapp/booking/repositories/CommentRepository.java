@@ -1,14 +1,17 @@
 package com.myapp.booking.repositories;
 
+import com.myapp.booking.dtos.responses.CommentProjection;
 import com.myapp.booking.models.Comment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,9 +23,38 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     List<Comment> findByPostIdAndIsActiveTrue(Long postId);
 
+    // Comment rows with the author joined; shared with the keyset queries in CommentFeedRepository
+    String PROJECTION_SELECT = "SELECT new com.myapp.booking.dtos.responses.CommentProjection(" +
+            "c.id, c.content, c.rating, CAST(c.images AS String), c.helpfulCount, c.helpfulScore, " +
+            "c.isVerifiedBooking, u.id, u.fullName, u.email, u.avatarUrl, c.createdAt, c.updatedAt) " +
+            "FROM Comment c JOIN c.user u ";
+
+    String ACTIVE_ON_POST = "c.post.id = :postId AND c.isActive = true";
+
+    // Comment page as one projection query (plus the count query)
+    @Query(value = PROJECTION_SELECT + "WHERE " + ACTIVE_ON_POST,
+            countQuery = "SELECT COUNT(c) FROM Comment c WHERE c.post.id = :postId AND c.isActive = true")
+    Page<CommentProjection> findPageByPostId(@Param("postId") Long postId, Pageable pageable);
+
+    String VERIFIED_ONLY = " AND c.isVerifiedBooking = true";
+
+    @Query(value = PROJECTION_SELECT + "WHERE " + ACTIVE_ON_POST + VERIFIED_ONLY,
+            countQuery = "SELECT COUNT(c) FROM Comment c WHERE c.post.id = :postId AND c.isActive = true" + VERIFIED_ONLY)
+    Page<CommentProjection> findVerifiedPageByPostId(@Param("postId") Long postId, Pageable pageable);
+
+    // Rows of a search page, in any order (the caller restores the ranking)
+    @Query(PROJECTION_SELECT + "WHERE c.id IN :ids AND c.isActive = true")
+    List<CommentProjection> findProjectionsByIds(@Param("ids") Collection<Long> ids);
+
+    // [id, content] of a post's active reviews, to build its search index
+    @Query("SELECT c.id, c.content FROM Comment c WHERE " + ACTIVE_ON_POST)
+    List<Object[]> findActiveContentByPostId(@Param("postId") Long postId);
+
     // Find comment by ID
     Optional<Comment> findByIdAndIsActiveTrue(Long id);
 
+    boolean existsByIdAndPostIdAndIsActiveTrue(Long id, Long postId);
+
     // Check if user already commented on post
     boolean existsByPostIdAndUserIdAndIsActiveTrue(Long postId, Long userId);
 
@@ -32,14 +64,78 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     // Count comments for post
     Long countByPostIdAndIsActiveTrue(Long postId);
 
-    // Calculate average rating
-    @Query("SELECT AVG(c.rating) FROM Comment c WHERE c.post.id = :postId AND c.isActive = true")
-    BigDecimal calculateAverageRating(@Param("postId") Long postId);
+    // Rating aggregates recomputed from active comments (reconciliation only):
+    // [postId, SUM(rating), COUNT, star1..star5], star n counting ratings n.0-n.9
+    String RATING_AGGREGATES_SELECT = "SELECT c.post.id, SUM(c.rating), COUNT(c), " +
+            "SUM(CASE WHEN c.rating < 2 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN c.rating >= 2 AND c.rating < 3 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN c.rating >= 3 AND c.rating < 4 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN c.rating >= 4 AND c.rating < 5 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN c.rating >= 5 THEN 1 ELSE 0 END) " +
+            "FROM Comment c WHERE c.isActive = true ";
+
+    @Query(RATING_AGGREGATES_SELECT + "GROUP BY c.post.id")
+    List<Object[]> computeRatingAggregates();
+
+    @Query(RATING_AGGREGATES_SELECT + "AND c.post.id = :postId GROUP BY c.post.id")
+    List<Object[]> computeRatingAggregates(@Param("postId") Long postId);
 
-    // Get rating distribution
-    @Query("SELECT c.rating, COUNT(c) FROM Comment c WHERE c.post.id = :postId AND c.isActive = true GROUP BY c.rating")
-    List<Object[]> getRatingDistribution(@Param("postId") Long postId);
+    // Conditional writes: a concurrent edit or deactivation makes these return 0 instead of
+    // letting two callers adjust the post aggregates for the same old value
+    @Modifying
+    @Query("UPDATE Comment c SET c.rating = :newRating, c.content = :content, c.updatedAt = LOCAL_DATETIME " +
+            "WHERE c.id = :commentId AND c.isActive = true AND c.rating = :oldRating")
+    int updateIfRatingUnchanged(@Param("commentId") Long commentId,
+                                @Param("oldRating") BigDecimal oldRating,
+                                @Param("newRating") BigDecimal newRating,
+                                @Param("content") String content);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.isActive = false, c.activeMarker = null, c.updatedAt = LOCAL_DATETIME " +
+            "WHERE c.id = :commentId AND c.isActive = true")
+    int deactivate(@Param("commentId") Long commentId);
 
     // Get comments by user
     Page<Comment> findByUserIdAndIsActiveTrue(Long userId, Pageable pageable);
+
+    // Atomic helpful counter updates (no entity load), return rows updated
+    @Modifying
+    @Query("UPDATE Comment c SET c.helpfulCount = COALESCE(c.helpfulCount, 0) + 1 WHERE c.id = :commentId")
+    int incrementHelpfulCount(@Param("commentId") Long commentId);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.helpfulCount = c.helpfulCount - 1 WHERE c.id = :commentId AND c.helpfulCount > 0")
+    int decrementHelpfulCount(@Param("commentId") Long commentId);
+
+    @Query("SELECT c.helpfulCount FROM Comment c WHERE c.id = :commentId")
+    Optional<Integer> findHelpfulCount(@Param("commentId") Long commentId);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.helpfulScore = :score WHERE c.id = :commentId")
+    int setHelpfulScore(@Param("commentId") Long commentId, @Param("score") double score);
+
+    // Badge the author's active review once their booking at the venue completes
+    @Modifying
+    @Query("UPDATE Comment c SET c.isVerifiedBooking = true " +
+            "WHERE c.user.id = :userId AND c.post.id = :postId AND c.isActive = true AND c.isVerifiedBooking = false")
+    int markVerifiedBooking(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    // Badge every review whose author has a completed booking at the venue but no badge yet
+    @Modifying
+    @Query("UPDATE Comment c SET c.isVerifiedBooking = true WHERE c.isVerifiedBooking = false AND EXISTS (" +
+            "SELECT 1 FROM Booking b WHERE b.userId = c.user.id AND b.postId = c.post.id AND b.status = 'COMPLETED')")
+    int markAllVerifiedBookings();
+
+    // [id, postId, userId] of active reviews written before active_marker existed, newest first
+    @Query("SELECT c.id, c.post.id, c.user.id FROM Comment c WHERE c.isActive = true AND c.activeMarker IS NULL " +
+            "ORDER BY c.id DESC")
+    List<Object[]> findUnmarkedActive();
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.activeMarker = true WHERE c.id IN :ids AND c.isActive = true AND c.activeMarker IS NULL")
+    int markActive(@Param("ids") Collection<Long> ids);
+
+    // [id, helpfulCount] of comments whose score was never computed (written before the column existed)
+    @Query("SELECT c.id, c.helpfulCount FROM Comment c WHERE c.helpfulCount > 0 AND c.helpfulScore = 0")
+    List<Object[]> findUnscoredHelpfulCounts();
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.myapp.booking.repositories;
+
+import com.myapp.booking.models.JobLease;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    // Row lock held for the whole job run, so instances whose schedules coincide queue up
+    // and then see the lease the first one renewed
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM JobLease l WHERE l.name = :name")
+    Optional<JobLease> findByNameForUpdate(@Param("name") String name);
+}
@@ -16,6 +16,23 @@ public interface MenuRepository extends JpaRepository<Menu, Long> {
     // ✅ Find all active menus by post ID
     List<Menu> findByPostIdAndIsActiveTrue(Long postId);
 
+    // Active menus of a post with post, vendor (and its eager role) and items in one query
+    @Query("SELECT DISTINCT m FROM Menu m JOIN FETCH m.post JOIN FETCH m.vendor v JOIN FETCH v.role LEFT JOIN FETCH m.items " +
+            "WHERE m.post.id = :postId AND m.isActive = true ORDER BY m.id")
+    List<Menu> findActiveWithDetailsByPostId(@Param("postId") Long postId);
+
+    @Query("SELECT DISTINCT m FROM Menu m JOIN FETCH m.post JOIN FETCH m.vendor v JOIN FETCH v.role LEFT JOIN FETCH m.items " +
+            "WHERE m.vendor.id = :vendorId AND m.isActive = true ORDER BY m.id")
+    List<Menu> findActiveWithDetailsByVendorId(@Param("vendorId") Long vendorId);
+
+    @Query("SELECT m FROM Menu m JOIN FETCH m.post JOIN FETCH m.vendor v JOIN FETCH v.role LEFT JOIN FETCH m.items " +
+            "WHERE m.id = :id AND m.isActive = true")
+    Optional<Menu> findActiveWithDetailsById(@Param("id") Long id);
+
+    // Prices only (id, price, guestsPerTable): avoids loading each menu's items
+    @Query("SELECT m.id, m.price, m.guestsPerTable FROM Menu m WHERE m.post.id = :postId AND m.isActive = true")
+    List<Object[]> findActivePricesByPostId(@Param("postId") Long postId);
+
     // ✅ Find active menu by ID
     Optional<Menu> findByIdAndIsActiveTrue(Long id);
 
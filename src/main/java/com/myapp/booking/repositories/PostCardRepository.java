@@ -0,0 +1,38 @@
+package com.myapp.booking.repositories;
+
+import com.myapp.booking.models.PostCard;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PostCardRepository extends JpaRepository<PostCard, Long> {
+
+    @Query("SELECT c.postId FROM PostCard c")
+    List<Long> findAllPostIds();
+
+    // Published, active, not deleted cards (listing page)
+    @Query("SELECT c FROM PostCard c WHERE c.status = 'PUBLISHED' AND c.isActive = true AND c.isDeleted = false")
+    Page<PostCard> findListable(Pageable pageable);
+
+    @Query("SELECT c FROM PostCard c WHERE c.status = 'PUBLISHED' AND c.isActive = true AND c.isDeleted = false")
+    List<PostCard> findAllListable();
+
+    // [max refreshedAt, count] of the listable cards; changes whenever any listed card is refreshed
+    @Query("SELECT MAX(c.refreshedAt), COUNT(c) FROM PostCard c " +
+            "WHERE c.status = 'PUBLISHED' AND c.isActive = true AND c.isDeleted = false")
+    List<Object[]> findListableWatermark();
+
+    // Keyword search over the listable cards
+    @Query("SELECT c FROM PostCard c WHERE " +
+            "(LOWER(c.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(c.description) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(c.location) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
+            "c.status = 'PUBLISHED' AND c.isActive = true AND c.isDeleted = false")
+    Page<PostCard> searchListable(@Param("keyword") String keyword, Pageable pageable);
+}
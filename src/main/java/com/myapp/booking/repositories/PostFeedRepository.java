@@ -0,0 +1,56 @@
+package com.myapp.booking.repositories;
+
+import com.myapp.booking.dtos.responses.post.PostCardProjection;
+import com.myapp.booking.enums.PostFeedSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Keyset ("seek") pagination over published posts. Each page is a range scan of the
+ * sort's composite index starting right after the previous page's last (value, id),
+ * so page 500 costs the same as page 1 and no count query is ever issued.
+ */
+@Repository
+public class PostFeedRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * @param afterValue sort value of the last row already served, or null for the first page
+     * @param afterId    id of the last row already served, or null for the first page
+     * @param limit      maximum rows to return
+     */
+    public List<PostCardProjection> findFeedPage(PostFeedSort sort, boolean ascending,
+                                                 Object afterValue, Long afterId, int limit) {
+        // Field names come from the PostFeedSort whitelist only, never from the request
+        String field = "p." + sort.getField();
+        String direction = ascending ? "ASC" : "DESC";
+        String seek = ascending ? ">" : "<";
+
+        StringBuilder jpql = new StringBuilder(PostRepository.CARD_SELECT)
+                .append("WHERE ").append(PostRepository.PUBLISHED);
+        if (sort.isNullable()) {
+            jpql.append(" AND ").append(field).append(" IS NOT NULL");
+        }
+        if (afterId != null) {
+            // (value, id) strictly after the cursor; the leading "<=" / ">=" gives the index a range bound
+            jpql.append(" AND ").append(field).append(' ').append(seek).append("= :afterValue")
+                    .append(" AND (").append(field).append(' ').append(seek).append(" :afterValue")
+                    .append(" OR p.id ").append(seek).append(" :afterId)");
+        }
+        jpql.append(" ORDER BY ").append(field).append(' ').append(direction)
+                .append(", p.id ").append(direction);
+
+        TypedQuery<PostCardProjection> query = entityManager.createQuery(jpql.toString(), PostCardProjection.class);
+        if (afterId != null) {
+            query.setParameter("afterValue", afterValue);
+            query.setParameter("afterId", afterId);
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,31 @@
+package com.myapp.booking.repositories;
+
+import com.myapp.booking.models.PostLike;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
+
+    // Insert the like unless it already exists (uk_post_like_user); returns 1 if inserted, 0 if it was there
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO post_likes (post_id, user_id, created_at) VALUES (:postId, :userId, NOW())",
+            nativeQuery = true)
+    int insertIgnore(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    // Returns 1 if a like was removed, 0 if there was none
+    @Modifying
+    @Query("DELETE FROM PostLike l WHERE l.post.id = :postId AND l.user.id = :userId")
+    int deleteByPostIdAndUserId(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    boolean existsByPostIdAndUserId(Long postId, Long userId);
+
+    // All posts a user liked, served by idx_post_likes_user
+    @Query("SELECT l.post.id FROM PostLike l WHERE l.user.id = :userId")
+    List<Long> findPostIdsByUserId(@Param("userId") Long userId);
+}
@@ -1,15 +1,21 @@
 package com.myapp.booking.repositories;
 
+import com.myapp.booking.dtos.responses.post.PostCardProjection;
 import com.myapp.booking.models.Post;
 import com.myapp.booking.models.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,6 +40,24 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     // Find by id and not deleted
     Optional<Post> findByIdAndIsDeletedFalse(Long id);
 
+    // (price, capacity, currency, isActive, status) of a live post, for booking quotes
+    @Query("SELECT p.price, p.capacity, p.currency, p.isActive, p.status FROM Post p " +
+            "WHERE p.id = :id AND p.isDeleted = false")
+    List<Object[]> findPricingById(@Param("id") Long id);
+
+    // Batch detail: posts with their vendor (and its eager role) in one IN query; images
+    // and amenities then load through @BatchSize, one query each for the whole batch
+    @Query("SELECT p FROM Post p JOIN FETCH p.vendor v JOIN FETCH v.role WHERE p.id IN :ids AND p.isDeleted = false")
+    List<Post> findAllWithVendorByIdIn(@Param("ids") Collection<Long> ids);
+
+    // As above, deleted posts included (read model rebuilds keep their cards flagged)
+    @Query("SELECT p FROM Post p JOIN FETCH p.vendor v JOIN FETCH v.role WHERE p.id IN :ids")
+    List<Post> findAllForCardsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Lazy content for a batch of posts: rows of [postId, content]
+    @Query("SELECT p.id, p.content FROM Post p WHERE p.id IN :ids")
+    List<Object[]> findContentByIds(@Param("ids") Collection<Long> ids);
+
     // Search posts
     @Query("SELECT p FROM Post p WHERE " +
             "(LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
@@ -71,6 +95,218 @@ public interface PostRepository extends JpaRepository<Post, Long> {
             "ORDER BY p.bookingCount DESC, p.likeCount DESC")
     Page<Post> findTrendingPosts(Pageable pageable);
 
+    // ═══════════════════════════════════════════════════════════════
+    // LIST CARDS (constructor projection, no entity loading)
+    // ═══════════════════════════════════════════════════════════════
+
+    String CARD_SELECT = "SELECT new com.myapp.booking.dtos.responses.post.PostCardProjection(" +
+            "p.id, p.title, p.description, p.location, p.price, p.capacity, p.style, p.status, " +
+            "p.viewCount, p.likeCount, p.commentCount, p.bookingCount, p.rating, " +
+            "v.fullName, v.avatarUrl, p.createdAt, p.publishedAt) " +
+            "FROM Post p JOIN p.vendor v ";
+
+    // Same FROM as CARD_SELECT so page totals count exactly the rows a page can return
+    String CARD_COUNT = "SELECT COUNT(p) FROM Post p JOIN p.vendor v ";
+
+    String PUBLISHED = "p.status = 'PUBLISHED' AND p.isActive = true AND p.isDeleted = false";
+
+    @Query(value = CARD_SELECT,
+            countQuery = CARD_COUNT)
+    Page<PostCardProjection> findAllCards(Pageable pageable);
+
+    @Query(value = CARD_SELECT + "WHERE " + PUBLISHED,
+            countQuery = CARD_COUNT + "WHERE " + PUBLISHED)
+    Page<PostCardProjection> findPublishedCards(Pageable pageable);
+
+    @Query(value = CARD_SELECT + "WHERE v.id = :vendorId AND p.isDeleted = false",
+            countQuery = CARD_COUNT + "WHERE v.id = :vendorId AND p.isDeleted = false")
+    Page<PostCardProjection> findCardsByVendorId(@Param("vendorId") Long vendorId, Pageable pageable);
+
+    @Query(value = CARD_SELECT + "WHERE p.status = :status AND p.isDeleted = false",
+            countQuery = CARD_COUNT + "WHERE p.status = :status AND p.isDeleted = false")
+    Page<PostCardProjection> findCardsByStatus(@Param("status") Post.PostStatus status, Pageable pageable);
+
+    @Query(value = CARD_SELECT + "WHERE " +
+            "(LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(p.description) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(p.location) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " + PUBLISHED,
+            countQuery = CARD_COUNT + "WHERE " +
+                    "(LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+                    "LOWER(p.description) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+                    "LOWER(p.location) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " + PUBLISHED)
+    Page<PostCardProjection> searchCards(@Param("keyword") String keyword, Pageable pageable);
+
+    @Query(value = CARD_SELECT + "WHERE p.price BETWEEN :minPrice AND :maxPrice AND " + PUBLISHED,
+            countQuery = CARD_COUNT + "WHERE p.price BETWEEN :minPrice AND :maxPrice AND " + PUBLISHED)
+    Page<PostCardProjection> findCardsByPriceRange(@Param("minPrice") BigDecimal minPrice,
+                                                   @Param("maxPrice") BigDecimal maxPrice,
+                                                   Pageable pageable);
+
+    @Query(value = CARD_SELECT + "WHERE p.capacity >= :minCapacity AND " + PUBLISHED,
+            countQuery = CARD_COUNT + "WHERE p.capacity >= :minCapacity AND " + PUBLISHED)
+    Page<PostCardProjection> findCardsByMinCapacity(@Param("minCapacity") Integer minCapacity, Pageable pageable);
+
+    @Query(value = CARD_SELECT + "WHERE p.style = :style AND " + PUBLISHED,
+            countQuery = CARD_COUNT + "WHERE p.style = :style AND " + PUBLISHED)
+    Page<PostCardProjection> findCardsByStyle(@Param("style") String style, Pageable pageable);
+
+    // Top-k lists: no count query, served by idx_posts_popular / idx_posts_trending
+    @Query(CARD_SELECT + "WHERE " + PUBLISHED + " ORDER BY p.viewCount DESC, p.id DESC")
+    List<PostCardProjection> findPopularCards(Pageable limit);
+
+    @Query(CARD_SELECT + "WHERE " + PUBLISHED + " ORDER BY p.trendingScore DESC, p.id DESC")
+    List<PostCardProjection> findTrendingCards(Pageable limit);
+
+    // Served by idx_posts_feed_created / idx_posts_feed_rating
+    @Query(CARD_SELECT + "WHERE " + PUBLISHED + " ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostCardProjection> findLatestCards(Pageable limit);
+
+    @Query(CARD_SELECT + "WHERE " + PUBLISHED + " ORDER BY p.rating DESC, p.id DESC")
+    List<PostCardProjection> findTopRatedCards(Pageable limit);
+
+    // Image filenames for a whole page of cards in one query: rows of [postId, imageUrl] in gallery order
+    @Query("SELECT p.id, i FROM Post p JOIN p.images i WHERE p.id IN :postIds ORDER BY p.id, INDEX(i)")
+    List<Object[]> findImagesByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // All post ids (read model rebuilds)
+    @Query("SELECT p.id FROM Post p ORDER BY p.id")
+    List<Long> findAllIds();
+
+    // [postId, amenity] pairs of all published posts (similar-venue index build)
+    @Query("SELECT p.id, a FROM Post p JOIN p.amenities a " +
+            "WHERE p.status = 'PUBLISHED' AND p.isActive = true AND p.isDeleted = false")
+    List<Object[]> findPublishedAmenities();
+
+    @Query("SELECT a FROM Post p JOIN p.amenities a WHERE p.id = :postId")
+    List<String> findAmenitiesByPostId(@Param("postId") Long postId);
+
+    // ═══════════════════════════════════════════════════════════════
+    // VERSION LOOKUPS (conditional GET)
+    // ═══════════════════════════════════════════════════════════════
+
+    // [updatedAt, likeCount, commentCount, bookingCount, vendor updatedAt] of one post; empty if missing or deleted
+    @Query("SELECT p.updatedAt, p.likeCount, p.commentCount, p.bookingCount, v.updatedAt FROM Post p JOIN p.vendor v " +
+            "WHERE p.id = :postId AND p.isDeleted = false")
+    List<Object[]> findDetailVersion(@Param("postId") Long postId);
+
+    // For writes the post row does not see (menus live in their own table), so detail ETags
+    // and list watermarks built on updated_at still move
+    @Modifying
+    @Query("UPDATE Post p SET p.updatedAt = :now WHERE p.id = :postId")
+    int touchUpdatedAt(@Param("postId") Long postId, @Param("now") LocalDateTime now);
+
+    // [max updatedAt, count, counter sum] over the published posts
+    @Query("SELECT MAX(p.updatedAt), COUNT(p), SUM(p.likeCount + p.commentCount + p.bookingCount) " +
+            "FROM Post p WHERE " + PUBLISHED)
+    List<Object[]> findPublishedWatermark();
+
+    // [max updatedAt, count, counter sum] over a vendor's posts
+    @Query("SELECT MAX(p.updatedAt), COUNT(p), SUM(p.likeCount + p.commentCount + p.bookingCount) " +
+            "FROM Post p WHERE p.vendor.id = :vendorId AND p.isDeleted = false")
+    List<Object[]> findVendorWatermark(@Param("vendorId") Long vendorId);
+
+    // Current like counter without loading the post
+    @Query("SELECT p.likeCount FROM Post p WHERE p.id = :postId")
+    Long findLikeCountById(@Param("postId") Long postId);
+
+    boolean existsByIdAndIsDeletedFalse(Long id);
+
+    // ═══════════════════════════════════════════════════════════════
+    // ATOMIC COUNTERS
+    // Single-column relative updates; the Post row is never loaded or rewritten,
+    // so concurrent writers cannot lose increments. Each returns the rows updated.
+    // ═══════════════════════════════════════════════════════════════
+
+    @Modifying
+    @Query("UPDATE Post p SET p.bookingCount = COALESCE(p.bookingCount, 0) + 1 WHERE p.id = :postId")
+    int incrementBookingCount(@Param("postId") Long postId);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = COALESCE(p.commentCount, 0) + 1 WHERE p.id = :postId")
+    int incrementCommentCount(@Param("postId") Long postId);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount - 1 WHERE p.id = :postId AND p.commentCount > 0")
+    int decrementCommentCount(@Param("postId") Long postId);
+
+    // Adds/removes ratings in the aggregates in one statement; every rating is one active
+    // comment, so the comment count moves by the same delta. rating is assigned first so it
+    // is computed from the old sum and count on MySQL too, which applies SET clauses left to right
+    @Modifying
+    @Query("UPDATE Post p SET " +
+            "p.rating = CASE WHEN p.ratingCount + :countDelta > 0 " +
+            "THEN ROUND((p.ratingSum + :sumDelta) / (p.ratingCount + :countDelta), 1) ELSE 0 END, " +
+            "p.ratingSum = p.ratingSum + :sumDelta, p.ratingCount = p.ratingCount + :countDelta, " +
+            "p.star1 = p.star1 + :star1, p.star2 = p.star2 + :star2, p.star3 = p.star3 + :star3, " +
+            "p.star4 = p.star4 + :star4, p.star5 = p.star5 + :star5, " +
+            "p.commentCount = CASE WHEN COALESCE(p.commentCount, 0) + :countDelta > 0 " +
+            "THEN COALESCE(p.commentCount, 0) + :countDelta ELSE 0 END, p.updatedAt = LOCAL_DATETIME " +
+            "WHERE p.id = :postId")
+    int applyRatingDelta(@Param("postId") Long postId,
+                         @Param("sumDelta") BigDecimal sumDelta,
+                         @Param("countDelta") long countDelta,
+                         @Param("star1") long star1,
+                         @Param("star2") long star2,
+                         @Param("star3") long star3,
+                         @Param("star4") long star4,
+                         @Param("star5") long star5);
+
+    // [ratingSum, ratingCount, star1..star5] of one post; empty if it does not exist
+    @Query("SELECT p.ratingSum, p.ratingCount, p.star1, p.star2, p.star3, p.star4, p.star5 FROM Post p WHERE p.id = :postId")
+    List<Object[]> findRatingAggregates(@Param("postId") Long postId);
+
+    // Stored aggregates of every post that has any: rows of [id, ratingSum, ratingCount, star1..star5]
+    @Query("SELECT p.id, p.ratingSum, p.ratingCount, p.star1, p.star2, p.star3, p.star4, p.star5 " +
+            "FROM Post p WHERE p.ratingCount <> 0 OR p.ratingSum <> 0 " +
+            "OR p.star1 <> 0 OR p.star2 <> 0 OR p.star3 <> 0 OR p.star4 <> 0 OR p.star5 <> 0")
+    List<Object[]> findNonZeroRatingAggregates();
+
+    // Row lock held while the reconciliation recomputes one post, so rating deltas from
+    // concurrent comment writes queue behind it instead of being overwritten
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Post p WHERE p.id = :postId")
+    Optional<Post> findByIdForUpdate(@Param("postId") Long postId);
+
+    // Overwrites the aggregates with recomputed values (reconciliation only)
+    @Modifying
+    @Query("UPDATE Post p SET " +
+            "p.rating = CASE WHEN :count > 0 THEN ROUND(:sum / :count, 1) ELSE 0 END, " +
+            "p.ratingSum = :sum, p.ratingCount = :count, p.star1 = :star1, p.star2 = :star2, " +
+            "p.star3 = :star3, p.star4 = :star4, p.star5 = :star5 WHERE p.id = :postId")
+    int setRatingAggregates(@Param("postId") Long postId,
+                            @Param("sum") BigDecimal sum,
+                            @Param("count") long count,
+                            @Param("star1") long star1,
+                            @Param("star2") long star2,
+                            @Param("star3") long star3,
+                            @Param("star4") long star4,
+                            @Param("star5") long star5);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.likeCount = COALESCE(p.likeCount, 0) + 1 WHERE p.id = :postId")
+    int incrementLikeCount(@Param("postId") Long postId);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.likeCount = p.likeCount - 1 WHERE p.id = :postId AND p.likeCount > 0")
+    int decrementLikeCount(@Param("postId") Long postId);
+
+    // ═══════════════════════════════════════════════════════════════
+    // TRENDING
+    // ═══════════════════════════════════════════════════════════════
+
+    // Counter snapshot of listable posts: rows of [id, viewCount, likeCount, commentCount, bookingCount]
+    @Query("SELECT p.id, p.viewCount, p.likeCount, p.commentCount, p.bookingCount FROM Post p WHERE " + PUBLISHED)
+    List<Object[]> findPublishedCounters();
+
+    @Modifying
+    @Query("UPDATE Post p SET p.trendingScore = p.trendingScore * :factor WHERE p.trendingScore > 0")
+    int decayTrendingScores(@Param("factor") double factor);
+
+    // Snap negligible scores to zero so the trending index tail stays clean
+    @Modifying
+    @Query("UPDATE Post p SET p.trendingScore = 0 WHERE p.trendingScore > 0 AND p.trendingScore < :floor")
+    int clearNegligibleTrendingScores(@Param("floor") double floor);
+
     // Count by vendor
     Long countByVendorAndIsDeletedFalse(User vendor);
 
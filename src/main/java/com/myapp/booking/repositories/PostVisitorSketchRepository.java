@@ -0,0 +1,19 @@
+package com.myapp.booking.repositories;
+
+import com.myapp.booking.models.PostVisitorSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PostVisitorSketchRepository extends JpaRepository<PostVisitorSketch, Long> {
+
+    Optional<PostVisitorSketch> findByPostIdAndVisitDate(Long postId, LocalDate visitDate);
+
+    List<PostVisitorSketch> findByPostIdAndVisitDateGreaterThanEqual(Long postId, LocalDate fromDate);
+
+    List<PostVisitorSketch> findByPostId(Long postId);
+}
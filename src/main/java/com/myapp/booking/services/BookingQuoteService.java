@@ -0,0 +1,109 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.dtos.requests.BookingQuoteRequest;
+import com.myapp.booking.dtos.responses.BookingQuoteResponse;
+import com.myapp.booking.events.MenuChangedEvent;
+import com.myapp.booking.events.PostChangedEvent;
+import com.myapp.booking.exceptions.ResourceNotFoundException;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.repositories.MenuRepository;
+import com.myapp.booking.repositories.PostRepository;
+import com.myapp.booking.utils.LoadingLruCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Prices bookings from a per-post {@link PricingSnapshot}: venue price, capacity and active
+ * menu prices, read with two narrow queries.
+ *
+ * The quote endpoint reads cached snapshots of the most recently quoted posts, dropped after
+ * commit on menu writes ({@link MenuChangedEvent}) and post edits, status changes or deletion
+ * ({@link PostChangedEvent}); a quote may therefore trail a price change by one request.
+ * {@link BookingService#createBooking} prices with the same rules from {@link #loadSnapshot},
+ * read inside its transaction, so a stored amount never comes from a stale snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingQuoteService {
+
+    private final PostRepository postRepository;
+    private final MenuRepository menuRepository;
+
+    @Value("${app.booking-quote.cache-size:2000}")
+    private int maxPosts = 2000;
+
+    private final LoadingLruCache<Long, PricingSnapshot> snapshots = new LoadingLruCache<>(() -> maxPosts);
+
+    public BookingQuoteResponse quote(BookingQuoteRequest request) {
+        PricingSnapshot pricing = getSnapshot(request.getPostId());
+        PricingSnapshot.Quote quote = pricing.quote(request.getMenuId(), request.getNumberOfTables(),
+                request.getNumberOfGuests(), null, minor(request.getDiscountAmount()), minor(request.getDepositAmount()));
+        return BookingQuoteResponse.from(pricing, quote);
+    }
+
+    /**
+     * @throws ResourceNotFoundException when the post does not exist or is deleted
+     */
+    public PricingSnapshot getSnapshot(Long postId) {
+        return snapshots.get(postId, this::loadSnapshot);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        evict(event.getPostId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getChangeType() == PostChangedEvent.ChangeType.CONTENT
+                || event.getChangeType() == PostChangedEvent.ChangeType.DELETED) {
+            evict(event.getPostId());
+        }
+    }
+
+    public void evict(Long postId) {
+        snapshots.invalidate(postId);
+    }
+
+    static long minor(BigDecimal amount) {
+        return amount != null ? PricingSnapshot.toMinor(amount) : 0;
+    }
+
+    /**
+     * Current prices straight from the database, bypassing (and not filling) the cache.
+     *
+     * @throws ResourceNotFoundException when the post does not exist or is deleted
+     */
+    public PricingSnapshot loadSnapshot(Long postId) {
+        List<Object[]> rows = postRepository.findPricingById(postId);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Venue not found");
+        }
+        Object[] post = rows.get(0);
+        boolean bookable = Boolean.TRUE.equals(post[3]) && post[4] == Post.PostStatus.PUBLISHED;
+
+        List<Object[]> menus = menuRepository.findActivePricesByPostId(postId);
+        long[] menuIds = new long[menus.size()];
+        long[] prices = new long[menus.size()];
+        int[] guestsPerTable = new int[menus.size()];
+        for (int i = 0; i < menus.size(); i++) {
+            Object[] menu = menus.get(i);
+            menuIds[i] = (Long) menu[0];
+            prices[i] = PricingSnapshot.toMinor((BigDecimal) menu[1]);
+            // Column default; menus written through the API always carry 1..20
+            guestsPerTable[i] = menu[2] != null ? Math.max(1, (Integer) menu[2]) : 10;
+        }
+
+        log.debug("💰 Pricing snapshot loaded for post {} with {} menus", postId, menuIds.length);
+        return new PricingSnapshot(postId, (String) post[2], (BigDecimal) post[0], (Integer) post[1], bookable,
+                menuIds, prices, guestsPerTable);
+    }
+}
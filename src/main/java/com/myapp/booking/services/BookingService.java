@@ -4,6 +4,8 @@ import com.myapp.booking.dtos.requests.BookingRequest;
 import com.myapp.booking.dtos.responses.BookingResponse;
 import com.myapp.booking.dtos.responses.VendorBookingStatsResponse;
 import com.myapp.booking.enums.TimeSlot;
+import com.myapp.booking.events.BookingCompletedEvent;
+import com.myapp.booking.events.PostChangedEvent;
 import com.myapp.booking.exceptions.BadRequestException;
 import com.myapp.booking.exceptions.ResourceNotFoundException;
 import com.myapp.booking.exceptions.UnauthorizedException;
@@ -16,16 +18,22 @@ import com.myapp.booking.security.UserPrincipal;
 import com.myapp.booking.services.interfaces.IBookingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.sql.Date;
 import java.sql.Time;
+import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -36,6 +44,8 @@ public class BookingService implements IBookingService {
     private final BookingRepository bookingRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final BookingQuoteService bookingQuoteService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create new booking - supports both legacy time-based and new slot-based requests
@@ -129,33 +139,18 @@ public class BookingService implements IBookingService {
                     timeSlot.getDisplayText()));
         }
 
-        // Unit price fallback to post.price if null
-        Double unitPrice = request.getUnitPrice();
-        if (unitPrice == null) {
-            unitPrice = venue.getPrice() != null ? venue.getPrice().doubleValue() : 0.0;
-        }
-        if (unitPrice <= 0) {
-            throw new BadRequestException("Unit price must be positive");
-        }
-
-        // Validate guest count does not exceed venue capacity
-        if (request.getNumberOfGuests() != null && venue.getCapacity() != null
-                && request.getNumberOfGuests() > venue.getCapacity()) {
-            log.error("❌ Guest count validation failed - requested: {}, venue capacity: {}",
-                    request.getNumberOfGuests(), venue.getCapacity());
-            throw new BadRequestException(String.format(
-                    "Guest count (%d) exceeds venue capacity (%d)",
-                    request.getNumberOfGuests(), venue.getCapacity()));
-        }
+        // Priced by the quote rules (per table with a menu, otherwise request unit price,
+        // fallback post.price, per guest; capacity checked there too) on prices read in this
+        // transaction: the quote cache may not have seen a menu edit yet
+        PricingSnapshot pricing = bookingQuoteService.loadSnapshot(venue.getId());
+        PricingSnapshot.Quote quote = pricing.quote(request.getMenuId(), request.getNumberOfTables(),
+                request.getNumberOfGuests(), minorOrNull(request.getUnitPrice()),
+                minor(request.getDiscountAmount()), minor(request.getDepositAmount()));
 
-        // Calculate total amount - use actual guest count from request
-        int guests = request.getNumberOfGuests() != null ? request.getNumberOfGuests() : 1;
-        double totalAmount = unitPrice * guests;
-        double discount = request.getDiscountAmount() != null ? request.getDiscountAmount() : 0.0;
-        double finalAmount = totalAmount - discount;
-
-        log.info("💰 Price calculation - guests: {}, unitPrice: {}, totalAmount: {}, discount: {}, finalAmount: {}",
-                guests, unitPrice, totalAmount, discount, finalAmount);
+        log.info("💰 Price calculation - menu: {}, tables: {}, guests: {}, unitPrice: {}, totalAmount: {}, discount: {}, finalAmount: {}",
+                quote.menuId(), quote.numberOfTables(), quote.numberOfGuests(),
+                PricingSnapshot.toAmount(quote.unitPriceMinor()), PricingSnapshot.toAmount(quote.totalMinor()),
+                PricingSnapshot.toAmount(quote.discountMinor()), PricingSnapshot.toAmount(quote.finalMinor()));
 
         // Create booking entity
         Booking booking = new Booking();
@@ -171,12 +166,15 @@ public class BookingService implements IBookingService {
         booking.setEndTime(endTime);
         booking.setSlotIndex(slotIndex != null ? slotIndex : 0); // Ensure slotIndex is never null
         booking.setDurationHours(2.0); // Fixed 2-hour slots
-        booking.setNumberOfGuests(request.getNumberOfGuests());
-        booking.setUnitPrice(unitPrice);
-        booking.setTotalAmount(totalAmount);
-        booking.setDepositAmount(request.getDepositAmount());
-        booking.setDiscountAmount(discount);
-        booking.setFinalAmount(finalAmount);
+        booking.setMenuId(quote.menuId());
+        booking.setNumberOfTables(quote.numberOfTables());
+        booking.setNumberOfGuests(quote.numberOfGuests());
+        booking.setUnitPrice(PricingSnapshot.toAmount(quote.unitPriceMinor()).doubleValue());
+        booking.setTotalAmount(PricingSnapshot.toAmount(quote.totalMinor()).doubleValue());
+        booking.setDepositAmount(PricingSnapshot.toAmount(quote.depositMinor()).doubleValue());
+        booking.setDiscountAmount(PricingSnapshot.toAmount(quote.discountMinor()).doubleValue());
+        booking.setFinalAmount(PricingSnapshot.toAmount(quote.finalMinor()).doubleValue());
+        booking.setCurrency(pricing.getCurrency());
         booking.setAdditionalServices(request.getAdditionalServices());
         booking.setSpecialRequests(request.getSpecialRequests());
         booking.setStatus("PENDING");
@@ -194,8 +192,8 @@ public class BookingService implements IBookingService {
         log.info("   - Saved specialRequests: '{}'", savedBooking.getSpecialRequests());
 
         // Increment booking count in Post
-        venue.incrementBookingCount();
-        postRepository.save(venue);
+        postRepository.incrementBookingCount(venue.getId());
+        eventPublisher.publishEvent(new PostChangedEvent(venue.getId(), PostChangedEvent.ChangeType.BOOKINGS));
 
         log.info("Booking created successfully: {} for slot {}",
                 savedBooking.getId(), timeSlot.getDisplayText());
@@ -203,6 +201,15 @@ public class BookingService implements IBookingService {
         return BookingResponse.fromEntity(savedBooking);
     }
 
+    // Request amounts are doubles; BigDecimal.valueOf keeps their shortest decimal form
+    private static long minor(Double amount) {
+        return amount != null ? PricingSnapshot.toMinor(BigDecimal.valueOf(amount)) : 0;
+    }
+
+    private static Long minorOrNull(Double amount) {
+        return amount != null ? minor(amount) : null;
+    }
+
     /**
      * Parse time from legacy request format
      */
@@ -296,8 +303,10 @@ public class BookingService implements IBookingService {
 
         Page<Booking> bookings = bookingRepository.findByUserId(userId, pageable);
 
+        Map<Long, Object[]> requestText = loadRequestText(bookings);
+
         return bookings.map(booking -> {
-            BookingResponse response = BookingResponse.fromEntity(booking);
+            BookingResponse response = toListResponse(booking, requestText);
 
             // Enrich with venue details
             postRepository.findByIdAndIsDeletedFalse(booking.getPostId())
@@ -376,6 +385,7 @@ public class BookingService implements IBookingService {
         booking.setCancelledBy(currentUser.getId());
         booking.setCancelledAt(LocalDateTime.now());
         Booking cancelledBooking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(new PostChangedEvent(booking.getPostId(), PostChangedEvent.ChangeType.BOOKINGS));
 
         log.info("Booking cancelled successfully: {}", bookingId);
 
@@ -396,8 +406,10 @@ public class BookingService implements IBookingService {
 
         Page<Booking> bookings = bookingRepository.findByVendorId(vendorId, pageable);
 
+        Map<Long, Object[]> requestText = loadRequestText(bookings);
+
         return bookings.map(booking -> {
-            BookingResponse response = BookingResponse.fromEntity(booking);
+            BookingResponse response = toListResponse(booking, requestText);
 
             // Enrich with venue details
             postRepository.findByIdAndIsDeletedFalse(booking.getPostId())
@@ -496,6 +508,7 @@ public class BookingService implements IBookingService {
         booking.setStatus("COMPLETED");
         booking.setCompletedAt(LocalDateTime.now());
         Booking completedBooking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(new BookingCompletedEvent(bookingId, booking.getUserId(), booking.getPostId()));
 
         log.info("Booking completed successfully: {}", bookingId);
 
@@ -525,6 +538,7 @@ public class BookingService implements IBookingService {
         // Soft delete
         booking.setDeletedAt(LocalDateTime.now());
         bookingRepository.save(booking);
+        eventPublisher.publishEvent(new PostChangedEvent(booking.getPostId(), PostChangedEvent.ChangeType.BOOKINGS));
 
         log.info("Booking deleted successfully: {}", id);
     }
@@ -538,8 +552,10 @@ public class BookingService implements IBookingService {
 
         Page<Booking> bookings = bookingRepository.findByVendorIdAndStatus(vendorId, status, pageable);
 
+        Map<Long, Object[]> requestText = loadRequestText(bookings);
+
         return bookings.map(booking -> {
-            BookingResponse response = BookingResponse.fromEntity(booking);
+            BookingResponse response = toListResponse(booking, requestText);
 
             // Enrich with venue details
             postRepository.findByIdAndIsDeletedFalse(booking.getPostId())
@@ -614,6 +630,29 @@ public class BookingService implements IBookingService {
         return isTimeSlotAvailable(venueId, requestedDate);
     }
 
+    /**
+     * specialRequests / notes are lazy on the entity: fetch them for the whole page in one
+     * query instead of one select per row.
+     */
+    private Map<Long, Object[]> loadRequestText(Page<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> ids = bookings.getContent().stream().map(Booking::getId).toList();
+        Map<Long, Object[]> text = new HashMap<>(ids.size() * 2);
+        for (Object[] row : bookingRepository.findRequestTextByIds(ids)) {
+            text.put((Long) row[0], row);
+        }
+        return text;
+    }
+
+    private static BookingResponse toListResponse(Booking booking, Map<Long, Object[]> requestText) {
+        Object[] text = requestText.get(booking.getId());
+        return text != null
+                ? BookingResponse.fromEntity(booking, (String) text[1], (String) text[2])
+                : BookingResponse.fromEntity(booking);
+    }
+
     /**
      * Helper method to check if user is admin
      */
@@ -679,6 +718,7 @@ public class BookingService implements IBookingService {
         booking.setCancellationReason(reason);
 
         Booking rejected = bookingRepository.save(booking);
+        eventPublisher.publishEvent(new PostChangedEvent(booking.getPostId(), PostChangedEvent.ChangeType.BOOKINGS));
         return BookingResponse.fromEntity(rejected);
     }
 
@@ -691,27 +731,54 @@ public class BookingService implements IBookingService {
 
         log.info("Getting slot availability for post: {} on date: {}", postId, bookingDate);
 
-        // Get the post
+        // A one-day calendar: the same query, and so the same notion of a taken slot
+        // (not cancelled, not soft-deleted), as the venue screen's availability
+        return getSlotAvailabilityRange(postId, bookingDate.toLocalDate(), 1).get(0);
+    }
+
+    /**
+     * Slot availability for {@code days} consecutive dates starting at {@code fromDate},
+     * read with one post lookup and one range query instead of one call per date.
+     */
+    @Transactional(readOnly = true)
+    public List<com.myapp.booking.dtos.responses.SlotAvailabilityResponse> getSlotAvailabilityRange(
+            Long postId,
+            LocalDate fromDate,
+            int days) {
+
         Post venue = postRepository.findByIdAndIsDeletedFalse(postId)
                 .orElseThrow(() -> new ResourceNotFoundException("Venue not found"));
 
+        LocalDate toDate = fromDate.plusDays(days - 1L);
+        Map<LocalDate, List<Integer>> bookedByDate = new HashMap<>();
+        for (Object[] row : bookingRepository.findActiveSlotsInRange(
+                postId, java.sql.Date.valueOf(fromDate), java.sql.Date.valueOf(toDate))) {
+            bookedByDate.computeIfAbsent(((java.sql.Date) row[0]).toLocalDate(), d -> new ArrayList<>())
+                    .add((Integer) row[1]);
+        }
+
+        List<com.myapp.booking.dtos.responses.SlotAvailabilityResponse> calendar = new ArrayList<>(days);
+        for (LocalDate date = fromDate; !date.isAfter(toDate); date = date.plusDays(1)) {
+            calendar.add(buildSlotAvailability(venue, java.sql.Date.valueOf(date),
+                    bookedByDate.getOrDefault(date, List.of())));
+        }
+        return calendar;
+    }
+
+    private com.myapp.booking.dtos.responses.SlotAvailabilityResponse buildSlotAvailability(
+            Post venue,
+            java.sql.Date bookingDate,
+            List<Integer> bookedSlotIndexes) {
+
         // Get total available slots for this post (default: 4)
         Integer totalSlots = venue.getAvailableSlots() != null ? venue.getAvailableSlots() : 4;
 
-        // Get existing bookings for this date to determine which slots are taken
-        List<Booking> existingBookings = bookingRepository.findByPostIdAndBookingDateAndStatusNotIn(
-                postId,
-                bookingDate,
-                java.util.List.of("CANCELLED")
-        );
-
         // Build slot info for all 4 time slots (0-3)
         java.util.List<com.myapp.booking.dtos.responses.SlotAvailabilityResponse.SlotInfo> slots = new java.util.ArrayList<>();
 
         for (com.myapp.booking.enums.TimeSlot timeSlot : com.myapp.booking.enums.TimeSlot.values()) {
             // Check if this slot is already booked
-            boolean isBooked = existingBookings.stream()
-                    .anyMatch(b -> b.getSlotIndex() != null && b.getSlotIndex().equals(timeSlot.getIndex()));
+            boolean isBooked = bookedSlotIndexes.contains(timeSlot.getIndex());
 
             slots.add(com.myapp.booking.dtos.responses.SlotAvailabilityResponse.SlotInfo.builder()
                     .slotIndex(timeSlot.getIndex())
@@ -724,11 +791,11 @@ public class BookingService implements IBookingService {
         }
 
         // Count how many slots are actually booked
-        long bookedCount = existingBookings.size();
+        long bookedCount = bookedSlotIndexes.size();
         Integer availableSlots = totalSlots - (int) bookedCount;
 
         return com.myapp.booking.dtos.responses.SlotAvailabilityResponse.builder()
-                .postId(postId)
+                .postId(venue.getId())
                 .postTitle(venue.getTitle())
                 .bookingDate(bookingDate.toString())
                 .totalSlots(totalSlots)
@@ -1,14 +1,22 @@
 package com.myapp.booking.services;
 
-import com.myapp.booking.models.CommentHelpful;
-import com.myapp.booking.models.Comment;
-import com.myapp.booking.models.User;
+import com.myapp.booking.dtos.responses.CommentHelpfulResponse;
+import com.myapp.booking.dtos.responses.CommentResponse;
+import com.myapp.booking.exceptions.ResourceNotFoundException;
 import com.myapp.booking.repositories.CommentHelpfulRepository;
 import com.myapp.booking.repositories.CommentRepository;
+import com.myapp.booking.utils.WilsonScore;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CommentHelpfulService {
@@ -17,44 +25,61 @@ public class CommentHelpfulService {
     private final CommentRepository commentRepository;
 
     /**
-     * Mark comment as helpful
+     * Mark comment as helpful. Idempotent: concurrent or repeated clicks keep one vote
+     * (uk_comment_user) and count it once.
      */
     @Transactional
-    public void markAsHelpful(Long commentId, User user) {
-        Comment comment = commentRepository.findById(commentId)
-                .orElseThrow(() -> new RuntimeException("Comment not found"));
-
-        if (!commentHelpfulRepository.existsByCommentIdAndUserId(commentId, user.getId())) {
-            CommentHelpful helpful = CommentHelpful.builder()
-                    .comment(comment)
-                    .user(user)
-                    .build();
-
-            commentHelpfulRepository.save(helpful);
+    public CommentHelpfulResponse markAsHelpful(Long postId, Long commentId, Long userId) {
+        ensureCommentExists(postId, commentId);
 
-            // Update helpful count
-            comment.incrementHelpfulCount();
-            commentRepository.save(comment);
+        if (commentHelpfulRepository.insertIgnore(commentId, userId) == 1) {
+            commentRepository.incrementHelpfulCount(commentId);
+            refreshHelpfulScore(commentId);
+            log.info("👍 User {} marked comment {} helpful", userId, commentId);
         }
+        return buildResponse(commentId, true);
     }
 
     /**
-     * Unmark comment as helpful
+     * Unmark comment as helpful. Idempotent: unmarking a comment that is not marked changes nothing.
      */
     @Transactional
-    public void unmarkAsHelpful(Long commentId, User user) {
-        Comment comment = commentRepository.findById(commentId)
-                .orElseThrow(() -> new RuntimeException("Comment not found"));
+    public CommentHelpfulResponse unmarkAsHelpful(Long postId, Long commentId, Long userId) {
+        ensureCommentExists(postId, commentId);
 
-        if (commentHelpfulRepository.existsByCommentIdAndUserId(commentId, user.getId())) {
-            commentHelpfulRepository.deleteByCommentIdAndUserId(commentId, user.getId());
+        if (commentHelpfulRepository.deleteByCommentIdAndUserId(commentId, userId) == 1) {
+            commentRepository.decrementHelpfulCount(commentId);
+            refreshHelpfulScore(commentId);
+            log.info("👎 User {} unmarked comment {} helpful", userId, commentId);
+        }
+        return buildResponse(commentId, false);
+    }
 
-            // Update helpful count
-            comment.decrementHelpfulCount();
-            commentRepository.save(comment);
+    /**
+     * Fill {@code markedHelpfulByMe} for a page of comments with one query.
+     */
+    @Transactional(readOnly = true)
+    public void markHelpfulByMe(List<CommentResponse> comments, Long userId) {
+        if (userId == null || comments == null || comments.isEmpty()) {
+            return;
+        }
+        Set<Long> marked = findMarked(comments.stream().map(CommentResponse::getId).toList(), userId);
+        for (CommentResponse comment : comments) {
+            comment.setMarkedHelpfulByMe(marked.contains(comment.getId()));
         }
     }
 
+    /**
+     * @return the subset of {@code commentIds} the user marked helpful
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> findMarked(Collection<Long> commentIds, Long userId) {
+        if (userId == null || commentIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(commentHelpfulRepository.findMarkedCommentIds(userId, commentIds));
+    }
+
     /**
      * Check if user marked comment as helpful
      */
@@ -68,5 +93,29 @@ public class CommentHelpfulService {
     public long getHelpfulCount(Long commentId) {
         return commentHelpfulRepository.countByCommentId(commentId);
     }
-}
 
+    private void ensureCommentExists(Long postId, Long commentId) {
+        if (!commentRepository.existsByIdAndPostIdAndIsActiveTrue(commentId, postId)) {
+            throw new ResourceNotFoundException("Comment not found or inactive with id: " + commentId);
+        }
+    }
+
+    /**
+     * Rewrite the ranking score from the count just updated. The counter UPDATE holds the
+     * comment's row lock until commit, so concurrent votes recompute one after another.
+     * Only "helpful" votes exist, so every vote cast is a positive one.
+     */
+    private void refreshHelpfulScore(Long commentId) {
+        commentRepository.findHelpfulCount(commentId).ifPresent(count ->
+                commentRepository.setHelpfulScore(commentId, WilsonScore.lowerBound(count, count)));
+    }
+
+    private CommentHelpfulResponse buildResponse(Long commentId, boolean marked) {
+        Integer count = commentRepository.findHelpfulCount(commentId).orElse(0);
+        return CommentHelpfulResponse.builder()
+                .commentId(commentId)
+                .helpfulCount(count.longValue())
+                .isMarkedByCurrentUser(marked)
+                .build();
+    }
+}
@@ -1,20 +1,35 @@
 
 package com.myapp.booking.services;
 
+import com.myapp.booking.configurations.JsonListConverter;
 import com.myapp.booking.dtos.requests.CreateCommentRequest;
+import com.myapp.booking.dtos.responses.CommentFeedResponse;
+import com.myapp.booking.dtos.responses.CommentProjection;
 import com.myapp.booking.dtos.responses.CommentResponse;
+import com.myapp.booking.dtos.responses.CommentSearchResponse;
 import com.myapp.booking.dtos.responses.CommentsPageResponse;
+import com.myapp.booking.dtos.responses.RatingSummaryResponse;
+import com.myapp.booking.enums.CommentSort;
+import com.myapp.booking.events.BookingCompletedEvent;
+import com.myapp.booking.events.CommentChangedEvent;
+import com.myapp.booking.events.PostChangedEvent;
 import com.myapp.booking.exceptions.BadRequestException;
 import com.myapp.booking.exceptions.ResourceNotFoundException;
+import com.myapp.booking.exceptions.UnauthorizedException;
 import com.myapp.booking.models.Comment;
-import com.myapp.booking.models.Post;
-import com.myapp.booking.models.User;
+import com.myapp.booking.repositories.CommentFeedRepository;
 import com.myapp.booking.repositories.CommentRepository;
 import com.myapp.booking.repositories.PostRepository;
 import com.myapp.booking.repositories.UserRepository;
+import com.myapp.booking.utils.CommentCursor;
+import com.myapp.booking.utils.InvertedIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -30,9 +45,11 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -40,9 +57,18 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CommentService {
 
+    private static final JsonListConverter IMAGES_CONVERTER = new JsonListConverter();
+    private static final int MAX_FEED_SIZE = 50;
+    private static final int MAX_SEARCH_SIZE = 50;
+
     private final CommentRepository commentRepository;
+    private final CommentFeedRepository commentFeedRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final CommentStatisticsService commentStatisticsService;
+    private final VerifiedBookingIndex verifiedBookingIndex;
+    private final ReviewSearchService reviewSearchService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${file.upload-dir:uploads}")
     private String uploadDir;
@@ -66,44 +92,107 @@ public class CommentService {
         // Validate
         validateCreateCommentRequest(request);
 
-        // Check post exists
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + postId));
-
-        // Check user exists
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        // ✅ Check if user already commented (only 1 comment per user per post)
-        if (commentRepository.existsByPostIdAndUserIdAndIsActiveTrue(postId, userId)) {
-            throw new BadRequestException("You have already commented on this post");
-        }
-
-
-        // TODO: Check if user has booking for this post
-        Boolean isVerifiedBooking = false; // Implement booking check logic
+        // Verified when the author has a completed booking at this venue (in-memory lookup)
+        Boolean isVerifiedBooking = verifiedBookingIndex.hasCompletedBooking(userId, postId);
 
         // Create comment
         Comment comment = Comment.builder()
                 .content(request.getContent())
                 .rating(request.getRating())
                 .isVerifiedBooking(isVerifiedBooking)
-                .post(post)
-                .user(user)
+                // References only: the foreign keys check that post and user exist
+                .post(postRepository.getReferenceById(postId))
+                .user(userRepository.getReferenceById(userId))
                 .isActive(true)
+                .activeMarker(true)
                 .build();
 
-        Comment savedComment = commentRepository.save(comment);
+        // ✅ Only 1 active comment per user per post, enforced by uk_comment_post_user_active
+        Comment savedComment;
+        try {
+            savedComment = commentRepository.save(comment);
+        } catch (DataIntegrityViolationException e) {
+            if (violates(e, "uk_comment_post_user_active")) {
+                throw new BadRequestException("You have already commented on this post");
+            }
+            if (violatesForeignKey(e, "post_id")) {
+                throw new ResourceNotFoundException("Post not found with id: " + postId);
+            }
+            if (violatesForeignKey(e, "user_id")) {
+                throw new ResourceNotFoundException("User not found with id: " + userId);
+            }
+            throw e;
+        }
 
-        // Update post comment count
-        post.incrementCommentCount();
-        postRepository.save(post);
+        // Update post comment count and rating aggregates (one statement)
+        applyRatingChange(postId, null, savedComment.getRating());
+        eventPublisher.publishEvent(new PostChangedEvent(postId, PostChangedEvent.ChangeType.REVIEWS));
+        eventPublisher.publishEvent(new CommentChangedEvent(postId, savedComment.getId(), savedComment.getContent()));
 
         log.info("✅ Comment created successfully with ID: {}", savedComment.getId());
         log.info("═══════════════════════════════════════");
 
-        return mapToResponse(savedComment);
+        return mapCreatedToResponse(savedComment, postId, userId);
+    }
+    // ═══════════════════════════════════════════════════════════════
+    // UPDATE / DEACTIVATE COMMENT
+    // ═══════════════════════════════════════════════════════════════
+
+    @Transactional
+    public CommentResponse updateComment(Long postId, Long commentId, String content, BigDecimal rating, Long userId) {
+        log.info("✏️ Updating comment {} on post {} by user {}", commentId, postId, userId);
+
+        Comment comment = findActiveComment(postId, commentId);
+        if (!comment.getUser().getId().equals(userId)) {
+            throw new UnauthorizedException("You can only edit your own comment");
+        }
+
+        String newContent = content != null ? content : comment.getContent();
+        BigDecimal newRating = rating != null ? rating : comment.getRating();
+        validateCreateCommentRequest(CreateCommentRequest.builder().content(newContent).rating(newRating).build());
+
+        // Written with a condition on the old rating, so the aggregates move exactly once per change
+        BigDecimal oldRating = comment.getRating();
+        if (commentRepository.updateIfRatingUnchanged(commentId, oldRating, newRating, newContent) == 0) {
+            throw new BadRequestException("Comment was changed or removed meanwhile, please reload and retry");
+        }
+        if (oldRating.compareTo(newRating) != 0) {
+            applyRatingChange(postId, oldRating, newRating);
+        }
+        eventPublisher.publishEvent(new PostChangedEvent(postId, PostChangedEvent.ChangeType.REVIEWS));
+        eventPublisher.publishEvent(new CommentChangedEvent(postId, commentId, newContent));
+
+        // The bulk update bypassed the loaded entity: answer with the values just written
+        CommentResponse response = mapToResponse(comment);
+        response.setContent(newContent);
+        response.setRating(newRating);
+        response.setFormattedRating(formatRating(newRating));
+        response.setUpdatedAt(LocalDateTime.now());
+
+        log.info("✅ Comment {} updated", commentId);
+        return response;
+    }
+
+    @Transactional
+    public void deactivateComment(Long postId, Long commentId, Long userId, boolean isAdmin) {
+        log.info("🗑️ Deactivating comment {} on post {} by user {}", commentId, postId, userId);
+
+        Comment comment = findActiveComment(postId, commentId);
+        if (!isAdmin && !comment.getUser().getId().equals(userId)) {
+            throw new UnauthorizedException("You can only delete your own comment");
+        }
+
+        // Only the caller that actually flips is_active adjusts the counters
+        if (commentRepository.deactivate(commentId) == 0) {
+            throw new ResourceNotFoundException("Comment not found or inactive with id: " + commentId);
+        }
+        applyRatingChange(postId, comment.getRating(), null);
+        eventPublisher.publishEvent(new PostChangedEvent(postId, PostChangedEvent.ChangeType.REVIEWS));
+        eventPublisher.publishEvent(new CommentChangedEvent(postId, commentId, null));
+
+        log.info("✅ Comment {} deactivated", commentId);
     }
+
     // ═══════════════════════════════════════════════════════════════
     // GET COMMENTS
     // ═══════════════════════════════════════════════════════════════
@@ -113,45 +202,159 @@ public class CommentService {
             Long postId,
             int page,
             int size,
-            String sortBy
+            String sortBy,
+            boolean verifiedOnly
     ) {
         log.info("📋 Getting comments for post: {}", postId);
 
-        if (!postRepository.existsById(postId)) {
-            throw new ResourceNotFoundException("Post not found with id: " + postId);
-        }
+        RatingSummaryResponse summary = commentStatisticsService.getStatistics(postId);
 
         // Create pageable
-        Sort sort = sortBy.equals("rating")
-                ? Sort.by(Sort.Direction.DESC, "rating", "createdAt")
-                : Sort.by(Sort.Direction.DESC, "createdAt");
+        Sort sort = switch (sortBy) {
+            case "rating" -> Sort.by(Sort.Direction.DESC, "rating", "createdAt");
+            case "helpful" -> Sort.by(Sort.Direction.DESC, "helpfulScore", "id");
+            default -> Sort.by(Sort.Direction.DESC, "createdAt");
+        };
 
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        // Get comments
-        Page<Comment> commentsPage = commentRepository.findByPostIdAndIsActiveTrue(postId, pageable);
-
-        // Get statistics
-        BigDecimal averageRating = commentRepository.calculateAverageRating(postId);
-        Long totalComments = commentRepository.countByPostIdAndIsActiveTrue(postId);
-        CommentsPageResponse.RatingDistribution distribution = getRatingDistribution(postId);
+        // Get comments (one projection query, authors joined)
+        Page<CommentProjection> commentsPage = verifiedOnly
+                ? commentRepository.findVerifiedPageByPostId(postId, pageable)
+                : commentRepository.findPageByPostId(postId, pageable);
 
         log.info("✅ Found {} comments for post {}", commentsPage.getTotalElements(), postId);
 
         return CommentsPageResponse.builder()
                 .comments(commentsPage.getContent().stream()
-                        .map(this::mapToResponse)
+                        .map(row -> mapToResponse(row, postId))
                         .collect(Collectors.toList()))
                 .currentPage(page)
                 .totalPages(commentsPage.getTotalPages())
                 .totalElements(commentsPage.getTotalElements())
                 .hasNext(commentsPage.hasNext())
-                .averageRating(averageRating != null ? averageRating : BigDecimal.ZERO)
-                .totalComments(totalComments)
-                .ratingDistribution(distribution)
+                .averageRating(summary.getAverageRating())
+                .totalComments(summary.getTotalComments())
+                .ratingDistribution(summary.getRatingDistribution())
+                .build();
+    }
+
+    /**
+     * Cursor-paginated reviews (sortBy: createdAt, rating, helpful). Every slice is an
+     * index range scan, so deep slices cost the same as the first.
+     */
+    @Transactional(readOnly = true)
+    public CommentFeedResponse getCommentFeed(Long postId, String sortBy, String cursor, int size,
+                                              boolean verifiedOnly) {
+        CommentSort sort = CommentSort.fromField(sortBy);
+        int limit = Math.max(1, Math.min(size, MAX_FEED_SIZE));
+
+        Object afterValue = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            CommentCursor after = CommentCursor.decode(cursor);
+            after.requireOrdering(postId, sort);
+            afterValue = after.getLastValue();
+            afterId = after.getLastId();
+        }
+
+        // Fetch one extra row to learn whether another slice exists, instead of counting
+        List<CommentProjection> rows = commentFeedRepository.findPage(postId, sort, verifiedOnly, afterValue, afterId,
+                limit + 1);
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            CommentProjection last = rows.get(rows.size() - 1);
+            nextCursor = new CommentCursor(postId, sort, feedValue(sort, last), last.getId()).encode();
+        }
+
+        return CommentFeedResponse.builder()
+                .items(rows.stream().map(row -> mapToResponse(row, postId)).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
                 .build();
     }
 
+    /**
+     * Reviews of a post containing every word of {@code query} (case and accents ignored),
+     * most relevant first. Ranking runs in memory; only the page's rows are read.
+     */
+    @Transactional(readOnly = true)
+    public CommentSearchResponse searchComments(Long postId, String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query is required");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_SEARCH_SIZE));
+        // In long: page * size overflows an int for a client-chosen page; past the end is empty
+        long offset = (long) Math.max(0, page) * limit;
+
+        InvertedIndex.Hits hits = reviewSearchService.search(postId, query,
+                (int) Math.min(offset, Integer.MAX_VALUE), limit);
+
+        List<Long> ids = hits.hits().stream().map(InvertedIndex.Hit::docId).toList();
+        Map<Long, CommentProjection> rows = ids.isEmpty() ? Map.of()
+                : commentRepository.findProjectionsByIds(ids).stream()
+                        .collect(Collectors.toMap(CommentProjection::getId, row -> row));
+
+        log.info("🔎 Search '{}' on post {}: {} hits", query, postId, hits.total());
+
+        return CommentSearchResponse.builder()
+                .query(query)
+                .items(ids.stream()
+                        .map(rows::get)
+                        .filter(Objects::nonNull)
+                        .map(row -> mapToResponse(row, postId))
+                        .collect(Collectors.toList()))
+                .currentPage(Math.max(0, page))
+                .totalHits((long) hits.total())
+                .hasNext(offset + limit < hits.total())
+                .build();
+    }
+
+    private static Object feedValue(CommentSort sort, CommentProjection row) {
+        return switch (sort) {
+            case CREATED_AT -> row.getCreatedAt();
+            case RATING -> row.getRating();
+            case HELPFUL -> row.getHelpfulScore();
+        };
+    }
+
+    /**
+     * Newest comments only, without the rating statistics (the venue detail
+     * endpoint fetches those separately and in parallel).
+     */
+    @Transactional(readOnly = true)
+    public List<CommentResponse> getLatestComments(Long postId, int size) {
+        if (!postRepository.existsById(postId)) {
+            throw new ResourceNotFoundException("Post not found with id: " + postId);
+        }
+
+        Pageable pageable = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+        return commentRepository.findPageByPostId(postId, pageable).getContent().stream()
+                .map(row -> mapToResponse(row, postId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Badges the author's existing review when a booking completes. Runs inside the
+     * completing transaction, so the badge and the booking status commit together.
+     */
+    @EventListener
+    @Transactional
+    public void onBookingCompleted(BookingCompletedEvent event) {
+        if (commentRepository.markVerifiedBooking(event.getUserId(), event.getPostId()) > 0) {
+            log.info("✅ Review by user {} on post {} marked as verified booking", event.getUserId(), event.getPostId());
+        }
+    }
+
+    public RatingSummaryResponse getRatingSummary(Long postId) {
+        return commentStatisticsService.getStatistics(postId);
+    }
+
     @Transactional(readOnly = true)
     public CommentResponse getCommentById(Long commentId) {
         log.info("🔍 Getting comment by ID: {}", commentId);
@@ -192,23 +395,40 @@ public class CommentService {
         log.debug("✅ Validation passed");
     }
 
-    private CommentsPageResponse.RatingDistribution getRatingDistribution(Long postId) {
-        List<Object[]> distribution = commentRepository.getRatingDistribution(postId);
+    private Comment findActiveComment(Long postId, Long commentId) {
+        Comment comment = commentRepository.findByIdAndIsActiveTrue(commentId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Comment not found or inactive with id: " + commentId));
+        if (!comment.getPost().getId().equals(postId)) {
+            throw new ResourceNotFoundException("Comment not found or inactive with id: " + commentId);
+        }
+        return comment;
+    }
 
-        Map<Integer, Long> map = new HashMap<>();
-        for (Object[] row : distribution) {
-            BigDecimal rating = (BigDecimal) row[0];
-            Long count = (Long) row[1];
-            map.put(rating.intValue(), count);
+    /**
+     * Moves one rating out of ({@code removed}) and/or into ({@code added}) the post's
+     * aggregates, and the comment count with it, with a single UPDATE.
+     */
+    private void applyRatingChange(Long postId, BigDecimal removed, BigDecimal added) {
+        long[] stars = new long[6];
+        BigDecimal sum = BigDecimal.ZERO;
+        long count = 0;
+        if (removed != null) {
+            stars[starOf(removed)]--;
+            sum = sum.subtract(removed);
+            count--;
+        }
+        if (added != null) {
+            stars[starOf(added)]++;
+            sum = sum.add(added);
+            count++;
         }
+        postRepository.applyRatingDelta(postId, sum, count, stars[1], stars[2], stars[3], stars[4], stars[5]);
+    }
 
-        return CommentsPageResponse.RatingDistribution.builder()
-                .star5(map.getOrDefault(5, 0L))
-                .star4(map.getOrDefault(4, 0L))
-                .star3(map.getOrDefault(3, 0L))
-                .star2(map.getOrDefault(2, 0L))
-                .star1(map.getOrDefault(1, 0L))
-                .build();
+    // Whole-star bucket, 4.5 counts as 4 (same as the reconciliation query)
+    private static int starOf(BigDecimal rating) {
+        return Math.max(1, Math.min(5, rating.intValue()));
     }
 
     private CommentResponse mapToResponse(Comment comment) {
@@ -235,6 +455,80 @@ public class CommentService {
                 .build();
     }
 
+    // Post and user are unloaded references here; the caller knows who wrote it and where
+    private CommentResponse mapCreatedToResponse(Comment comment, Long postId, Long userId) {
+        return CommentResponse.builder()
+                .id(comment.getId())
+                .content(comment.getContent())
+                .rating(comment.getRating())
+                .helpfulCount(comment.getHelpfulCount())
+                .isVerifiedBooking(comment.getIsVerifiedBooking())
+                .userId(userId)
+                .postId(postId)
+                .createdAt(comment.getCreatedAt())
+                .updatedAt(comment.getUpdatedAt())
+                .formattedDate(formatDate(comment.getCreatedAt()))
+                .formattedRating(formatRating(comment.getRating()))
+                .build();
+    }
+
+    private static boolean violates(DataIntegrityViolationException e, String constraint) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(constraint)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The foreign keys carry generated names, so they are told apart by the column the
+    // driver's message reports (MySQL: FOREIGN KEY (`post_id`), H2: FOREIGN KEY(POST_ID))
+    private static boolean violatesForeignKey(DataIntegrityViolationException e, String column) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && sql.getMessage() != null) {
+                // Not just contains(column): H2 appends the failed INSERT, which names every column
+                if (Pattern.compile("foreign key\\s*\\(\\W*" + column + "\\W*\\)")
+                        .matcher(sql.getMessage().toLowerCase(Locale.ROOT)).find()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Same page for every row, so the post title is left out
+    private CommentResponse mapToResponse(CommentProjection row, Long postId) {
+        return CommentResponse.builder()
+                .id(row.getId())
+                .content(row.getContent())
+                .rating(row.getRating())
+                .images(parseImages(row.getImagesJson()))
+                .helpfulCount(row.getHelpfulCount())
+                .isVerifiedBooking(row.getIsVerifiedBooking())
+                // User info
+                .userId(row.getUserId())
+                .userName(row.getUserName())
+                .userEmail(row.getUserEmail())
+                .userAvatar(row.getUserAvatar())
+                .postId(postId)
+                // Timestamps
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                // Formatted
+                .formattedDate(formatDate(row.getCreatedAt()))
+                .formattedRating(formatRating(row.getRating()))
+                .build();
+    }
+
+    // Most comments have no images: skip the JSON parser for the empty forms
+    private static List<String> parseImages(String json) {
+        if (json == null || json.isBlank() || json.equals("[]")) {
+            return new ArrayList<>();
+        }
+        return IMAGES_CONVERTER.convertToEntityAttribute(json);
+    }
+
     private String formatDate(LocalDateTime dateTime) {
         if (dateTime == null) return "";
 
@@ -0,0 +1,89 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.dtos.responses.CommentsPageResponse;
+import com.myapp.booking.dtos.responses.RatingSummaryResponse;
+import com.myapp.booking.events.PostChangedEvent;
+import com.myapp.booking.exceptions.ResourceNotFoundException;
+import com.myapp.booking.repositories.PostRepository;
+import com.myapp.booking.utils.LoadingLruCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Rating average and star distribution per post, read from the aggregates stored on
+ * the post and kept for the most recently requested posts.
+ *
+ * Every comment write publishes a REVIEWS event; the entry is dropped once that write
+ * commits, and a load that raced with it is not stored ({@link LoadingLruCache}).
+ */
+@Service
+@RequiredArgsConstructor
+public class CommentStatisticsService {
+
+    private final PostRepository postRepository;
+
+    @Value("${app.comment-stats.cache-size:5000}")
+    private int maxPosts = 5000;
+
+    private final LoadingLruCache<Long, Stats> byPost = new LoadingLruCache<>(() -> maxPosts);
+
+    public RatingSummaryResponse getStatistics(Long postId) {
+        return byPost.get(postId, this::load).toResponse();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getChangeType() == PostChangedEvent.ChangeType.REVIEWS
+                || event.getChangeType() == PostChangedEvent.ChangeType.DELETED) {
+            evict(event.getPostId());
+        }
+    }
+
+    public void evict(Long postId) {
+        byPost.invalidate(postId);
+    }
+
+    int cachedPosts() {
+        return byPost.size();
+    }
+
+    private Stats load(Long postId) {
+        List<Object[]> rows = postRepository.findRatingAggregates(postId);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Post not found with id: " + postId);
+        }
+        // row: [ratingSum, ratingCount, star1..star5]
+        Object[] row = rows.get(0);
+        BigDecimal sum = (BigDecimal) row[0];
+        long count = (Long) row[1];
+        return new Stats(
+                count > 0 ? sum.divide(BigDecimal.valueOf(count), 1, RoundingMode.HALF_UP) : BigDecimal.ZERO,
+                count, (Long) row[2], (Long) row[3], (Long) row[4], (Long) row[5], (Long) row[6]);
+    }
+
+    // Responses are mutable DTOs, so each caller gets its own built from the cached values
+    private record Stats(BigDecimal average, long total, long star1, long star2, long star3, long star4,
+                         long star5) {
+
+        RatingSummaryResponse toResponse() {
+            return RatingSummaryResponse.builder()
+                    .averageRating(average)
+                    .totalComments(total)
+                    .ratingDistribution(CommentsPageResponse.RatingDistribution.builder()
+                            .star5(star5)
+                            .star4(star4)
+                            .star3(star3)
+                            .star2(star2)
+                            .star1(star1)
+                            .build())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.myapp.booking.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myapp.booking.dtos.responses.ApiResponse;
+import com.myapp.booking.dtos.responses.post.HomeResponse;
+import com.myapp.booking.dtos.responses.post.PostListResponse;
+import com.myapp.booking.events.PostChangedEvent;
+import com.myapp.booking.services.interfaces.IPostService;
+import com.myapp.booking.utils.SortedLongSet;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * The home screen (latest, popular, trending, top rated) as one precomputed response.
+ *
+ * The four sections are queried and serialized to JSON bytes once per rebuild; requests
+ * are answered from those bytes and their ETag without touching the database. Post
+ * changes only mark the snapshot dirty, and a scheduled check rebuilds it when dirty or
+ * older than the max age (view counts and trending scores change without events), so a
+ * burst of writes costs one rebuild.
+ *
+ * Signed-in users who liked a post in the snapshot get a copy with likedByMe set from
+ * {@link LikedPostsCache}; everyone else gets the shared bytes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HomeSnapshotService {
+
+    private final IPostService postService;
+    private final LikedPostsCache likedPostsCache;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.home.section-size:10}")
+    private int sectionSize = 10;
+
+    @Value("${app.home.max-age-ms:300000}")
+    private long maxAgeMs = 300_000;
+
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(HomeResponse home, byte[] body, String etag, Set<Long> postIds, long builtAt) {
+    }
+
+    /**
+     * A serialized home response and its strong ETag.
+     */
+    public record Rendered(byte[] body, String etag, boolean personalized) {
+    }
+
+    public Rendered render(Long userId) {
+        Snapshot current = snapshot != null ? snapshot : rebuildNow();
+        if (userId == null) {
+            return new Rendered(current.body(), current.etag(), false);
+        }
+        SortedLongSet liked = likedPostsCache.likedPostIds(userId);
+        Set<Long> likedShown = new TreeSet<>();
+        for (Long postId : current.postIds()) {
+            if (liked.contains(postId)) {
+                likedShown.add(postId);
+            }
+        }
+        if (likedShown.isEmpty()) {
+            return new Rendered(current.body(), current.etag(), false);
+        }
+        HomeResponse home = current.home().toBuilder()
+                .latest(personalize(current.home().getLatest(), likedShown))
+                .popular(personalize(current.home().getPopular(), likedShown))
+                .trending(personalize(current.home().getTrending(), likedShown))
+                .topRated(personalize(current.home().getTopRated(), likedShown))
+                .build();
+        byte[] body = serialize(ApiResponse.success(home, "Home retrieved successfully"));
+        return new Rendered(body, etag((current.etag() + likedShown).getBytes(StandardCharsets.UTF_8)), true);
+    }
+
+    /**
+     * Rebuild now if posts changed since the last build or the snapshot is older than the max age.
+     *
+     * @return whether a rebuild ran
+     */
+    public boolean refreshIfStale() {
+        Snapshot current = snapshot;
+        if (current != null && !dirty.get() && System.currentTimeMillis() - current.builtAt() < maxAgeMs) {
+            return false;
+        }
+        rebuildNow();
+        return true;
+    }
+
+    public void rebuild() {
+        rebuildNow();
+    }
+
+    private synchronized Snapshot rebuildNow() {
+        long start = System.currentTimeMillis();
+        // Cleared before reading: a change committed during the build marks it dirty again
+        dirty.set(false);
+
+        HomeResponse home = HomeResponse.builder()
+                .latest(shared(postService.getLatestPosts(sectionSize)))
+                .popular(shared(postService.getPopularPosts(sectionSize)))
+                .trending(shared(postService.getTrendingPosts(sectionSize)))
+                .topRated(shared(postService.getTopRatedPosts(sectionSize)))
+                .build();
+        Set<Long> postIds = new TreeSet<>();
+        Stream.of(home.getLatest(), home.getPopular(), home.getTrending(), home.getTopRated())
+                .flatMap(List::stream)
+                .forEach(card -> postIds.add(card.getId()));
+
+        // Tagged by the sections only (the envelope carries a timestamp); an unchanged
+        // rebuild keeps the previous bytes so clients keep getting 304s
+        String etag = etag(serialize(home));
+        Snapshot previous = snapshot;
+        if (previous != null && previous.etag().equals(etag)) {
+            snapshot = new Snapshot(previous.home(), previous.body(), etag, previous.postIds(), System.currentTimeMillis());
+            return snapshot;
+        }
+        byte[] body = serialize(ApiResponse.success(home, "Home retrieved successfully"));
+        snapshot = new Snapshot(home, body, etag, postIds, System.currentTimeMillis());
+        log.info("🏠 Home snapshot rebuilt: {} venues, {} bytes in {} ms",
+                postIds.size(), body.length, System.currentTimeMillis() - start);
+        return snapshot;
+    }
+
+    @Scheduled(fixedDelayString = "${app.home.refresh-interval-ms:10000}",
+            initialDelayString = "${app.home.refresh-interval-ms:10000}")
+    public void scheduledRefresh() {
+        try {
+            refreshIfStale();
+        } catch (Exception e) {
+            log.error("❌ Failed to rebuild home snapshot: {}", e.getMessage(), e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        dirty.set(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("❌ Failed to build home snapshot: {}", e.getMessage(), e);
+        }
+    }
+
+    // The shared bytes are what a user with no liked venue in the snapshot should see
+    private static List<PostListResponse> shared(List<PostListResponse> cards) {
+        cards.forEach(card -> card.setLikedByMe(false));
+        return cards;
+    }
+
+    private static List<PostListResponse> personalize(List<PostListResponse> cards, Set<Long> liked) {
+        List<PostListResponse> copies = new ArrayList<>(cards.size());
+        for (PostListResponse card : cards) {
+            copies.add(card.toBuilder().likedByMe(liked.contains(card.getId())).build());
+        }
+        return copies;
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize home snapshot", e);
+        }
+    }
+
+    private static String etag(byte[] content) {
+        return "\"" + DigestUtils.md5DigestAsHex(content) + "\"";
+    }
+}
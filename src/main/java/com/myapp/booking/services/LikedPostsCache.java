@@ -0,0 +1,48 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.events.PostLikeChangedEvent;
+import com.myapp.booking.repositories.PostLikeRepository;
+import com.myapp.booking.utils.LoadingLruCache;
+import com.myapp.booking.utils.SortedLongSet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Per-user set of liked post ids, kept for the most recently active users so list
+ * endpoints can answer "liked by me" for a whole page from memory.
+ *
+ * Entries are loaded with one indexed query on first use and patched in place after
+ * each committed like/unlike; least recently used users are dropped past the limit.
+ */
+@Component
+@RequiredArgsConstructor
+public class LikedPostsCache {
+
+    private final PostLikeRepository postLikeRepository;
+
+    @Value("${app.liked-posts.cache-size:10000}")
+    private int maxUsers;
+
+    // Zero means unbounded here. A set loaded across a like change may predate that like (the
+    // patch found no entry to apply to), so it is returned but not stored
+    private final LoadingLruCache<Long, SortedLongSet> byUser =
+            new LoadingLruCache<>(() -> maxUsers > 0 ? maxUsers : Integer.MAX_VALUE);
+
+    public SortedLongSet likedPostIds(Long userId) {
+        return byUser.get(userId, id -> SortedLongSet.of(postLikeRepository.findPostIdsByUserId(id)));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLikeChanged(PostLikeChangedEvent event) {
+        byUser.update(event.getUserId(), current -> event.isLiked()
+                ? current.with(event.getPostId())
+                : current.without(event.getPostId()));
+    }
+
+    public void evict(Long userId) {
+        byUser.invalidate(userId);
+    }
+}
@@ -0,0 +1,66 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.dtos.responses.MenuResponse;
+import com.myapp.booking.events.MenuChangedEvent;
+import com.myapp.booking.events.PostChangedEvent;
+import com.myapp.booking.utils.LoadingLruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Mapped active menus per post, kept for the most recently viewed posts so the menu list
+ * is served without touching the database.
+ *
+ * Menu writes publish a {@link MenuChangedEvent} and post edits (title) or deletion a
+ * {@link PostChangedEvent}; the post's entry is dropped once that write commits. A load
+ * that started before an eviction is returned to its caller but not stored.
+ */
+@Component
+public class MenuCatalogCache {
+
+    @Value("${app.menu-catalog.cache-size:2000}")
+    private int maxPosts = 2000;
+
+    private final LoadingLruCache<Long, List<MenuResponse>> byPost = new LoadingLruCache<>(() -> maxPosts);
+
+    /**
+     * @param loader reads and maps the post's active menus on a miss
+     * @return copies of the cached responses, safe for the caller to modify
+     */
+    public List<MenuResponse> getMenus(Long postId, Function<Long, List<MenuResponse>> loader) {
+        return byPost.get(postId, id -> List.copyOf(loader.apply(id))).stream()
+                .map(MenuCatalogCache::copy)
+                .toList();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        evict(event.getPostId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getChangeType() == PostChangedEvent.ChangeType.CONTENT
+                || event.getChangeType() == PostChangedEvent.ChangeType.DELETED) {
+            evict(event.getPostId());
+        }
+    }
+
+    public void evict(Long postId) {
+        byPost.invalidate(postId);
+    }
+
+    int cachedPosts() {
+        return byPost.size();
+    }
+
+    // Responses are mutable DTOs; items is an unmodifiable copy and can be shared
+    private static MenuResponse copy(MenuResponse menu) {
+        return menu.toBuilder().build();
+    }
+}
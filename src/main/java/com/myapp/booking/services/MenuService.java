@@ -3,6 +3,7 @@ package com.myapp.booking.services;
 import com.myapp.booking.dtos.requests.CreateMenuRequest;
 import com.myapp.booking.dtos.requests.UpdateMenuRequest;
 import com.myapp.booking.dtos.responses.MenuResponse;
+import com.myapp.booking.events.MenuChangedEvent;
 import com.myapp.booking.exceptions.BadRequestException;
 import com.myapp.booking.exceptions.ForbiddenException;
 import com.myapp.booking.exceptions.ResourceNotFoundException;
@@ -15,12 +16,16 @@ import com.myapp.booking.repositories.PostRepository;
 import com.myapp.booking.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.DecimalFormat;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -32,6 +37,8 @@ public class MenuService {
     private final MenuRepository menuRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final MenuCatalogCache menuCatalogCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ═══════════════════════════════════════════════════════════════
     // CREATE MENU
@@ -86,6 +93,8 @@ public class MenuService {
                 .build();
 
         Menu savedMenu = menuRepository.save(menu);
+        postRepository.touchUpdatedAt(postId, LocalDateTime.now());
+        eventPublisher.publishEvent(new MenuChangedEvent(postId, savedMenu.getId()));
 
         log.info("✅ Menu created successfully with ID: {}", savedMenu.getId());
         log.info("Price per person: {}", savedMenu.getPricePerPerson());
@@ -167,6 +176,8 @@ public class MenuService {
         }
 
         Menu updatedMenu = menuRepository.save(menu);
+        postRepository.touchUpdatedAt(menu.getPost().getId(), LocalDateTime.now());
+        eventPublisher.publishEvent(new MenuChangedEvent(menu.getPost().getId(), menuId));
 
         log.info("✅ Menu updated successfully");
         log.info("New price per person: {}", updatedMenu.getPricePerPerson());
@@ -179,18 +190,26 @@ public class MenuService {
     // GET MENUS
     // ═══════════════════════════════════════════════════════════════
 
-    @Transactional(readOnly = true)
+    /**
+     * Served from {@link MenuCatalogCache}; not transactional, so a cached post takes no
+     * connection at all.
+     */
     public List<MenuResponse> getMenusByPost(Long postId) {
         log.info("📋 Getting menus for post: {}", postId);
 
-        if (!postRepository.existsById(postId)) {
-            throw new ResourceNotFoundException("Post not found with id: " + postId);
-        }
-
-        List<Menu> menus = menuRepository.findByPostIdAndIsActiveTrue(postId);
+        List<MenuResponse> menus = menuCatalogCache.getMenus(postId, this::loadMenusByPost);
 
         log.info("✅ Found {} active menus for post {}", menus.size(), postId);
 
+        return menus;
+    }
+
+    // One fetch-join query; the existence check only runs when the post has no active menus
+    private List<MenuResponse> loadMenusByPost(Long postId) {
+        List<Menu> menus = menuRepository.findActiveWithDetailsByPostId(postId);
+        if (menus.isEmpty() && !postRepository.existsById(postId)) {
+            throw new ResourceNotFoundException("Post not found with id: " + postId);
+        }
         return menus.stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
@@ -200,7 +219,7 @@ public class MenuService {
     public MenuResponse getMenuById(Long menuId) {
         log.info("🔍 Getting menu by ID: {}", menuId);
 
-        Menu menu = menuRepository.findByIdAndIsActiveTrue(menuId)
+        Menu menu = menuRepository.findActiveWithDetailsById(menuId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Menu not found or inactive with id: " + menuId));
 
@@ -217,7 +236,7 @@ public class MenuService {
             throw new ResourceNotFoundException("Vendor not found with id: " + vendorId);
         }
 
-        List<Menu> menus = menuRepository.findByVendorIdAndIsActiveTrue(vendorId);
+        List<Menu> menus = menuRepository.findActiveWithDetailsByVendorId(vendorId);
 
         log.info("✅ Found {} active menus for vendor {}", menus.size(), vendorId);
 
@@ -257,6 +276,8 @@ public class MenuService {
         // Soft delete
         menu.setIsActive(false);
         menuRepository.save(menu);
+        postRepository.touchUpdatedAt(menu.getPost().getId(), LocalDateTime.now());
+        eventPublisher.publishEvent(new MenuChangedEvent(menu.getPost().getId(), menuId));
 
         log.info("✅ Menu soft deleted successfully");
         log.info("Menu name: {}", menu.getName());
@@ -324,7 +345,8 @@ public class MenuService {
                 .guestsPerTable(menu.getGuestsPerTable())
                 .pricePerPerson(pricePerPerson)
                 // Items
-                .items(menu.getItems())
+                // Detached copy: the response may outlive the session (MenuCatalogCache)
+                .items(menu.getItems() != null ? Collections.unmodifiableList(new ArrayList<>(menu.getItems())) : List.of())
                 .itemCount(menu.getItems() != null ? menu.getItems().size() : 0)
                 .isActive(menu.getIsActive())
                 // Post info
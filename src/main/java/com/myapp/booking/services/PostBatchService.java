@@ -0,0 +1,88 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.dtos.responses.post.PostBatchResponse;
+import com.myapp.booking.dtos.responses.post.PostResponse;
+import com.myapp.booking.exceptions.BadRequestException;
+import com.myapp.booking.services.interfaces.IPostService;
+import com.myapp.booking.utils.SortedLongSet;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Post details for a list of ids (favorites, recently viewed, comparison) in one call.
+ *
+ * Posts still held by the venue-detail cache are reused; the rest load together through
+ * {@link IPostService#getPostsByIds}, a fixed handful of queries however many ids are asked for.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostBatchService {
+
+    // Matches @BatchSize on Post's collections, so images and amenities stay one query each
+    public static final int MAX_BATCH_IDS = 100;
+
+    private final IPostService postService;
+    private final VenueDetailService venueDetailService;
+    private final LikedPostsCache likedPostsCache;
+
+    public PostBatchResponse getPosts(List<Long> ids, Long userId) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("At least one post ID is required");
+        }
+        // Duplicates are served once, at their first position
+        Set<Long> requested = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id == null) {
+                throw new BadRequestException("Post IDs must not be null");
+            }
+            requested.add(id);
+        }
+        if (requested.size() > MAX_BATCH_IDS) {
+            throw new BadRequestException("At most " + MAX_BATCH_IDS + " post IDs per request");
+        }
+
+        Map<Long, PostResponse> found = new HashMap<>();
+        List<Long> toLoad = new ArrayList<>();
+        for (Long id : requested) {
+            Optional<PostResponse> cached = venueDetailService.cachedPost(id);
+            if (cached.isPresent()) {
+                found.put(id, cached.get());
+            } else {
+                toLoad.add(id);
+            }
+        }
+        for (PostResponse post : postService.getPostsByIds(toLoad)) {
+            found.put(post.getId(), post);
+        }
+
+        SortedLongSet liked = userId != null ? likedPostsCache.likedPostIds(userId) : SortedLongSet.empty();
+        List<PostResponse> posts = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            PostResponse post = found.get(id);
+            if (post == null) {
+                missingIds.add(id);
+                continue;
+            }
+            post.setLikedByMe(liked.contains(id));
+            posts.add(post);
+        }
+
+        log.info("📦 Batch of {} posts: {} from cache, {} loaded, {} missing",
+                requested.size(), requested.size() - toLoad.size(), toLoad.size() - missingIds.size(), missingIds.size());
+        return PostBatchResponse.builder()
+                .posts(posts)
+                .missingIds(missingIds)
+                .build();
+    }
+}
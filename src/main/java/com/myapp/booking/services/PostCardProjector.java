@@ -0,0 +1,53 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.events.PostChangedEvent;
+import com.myapp.booking.repositories.PostCardRepository;
+import com.myapp.booking.repositories.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps {@code post_cards} in sync with the write model. Refreshes run after the
+ * originating transaction commits, so a failed write never leaks into the read model
+ * and a failed refresh never fails the write (the nightly rebuild repairs it).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostCardProjector {
+
+    private final PostCardService postCardService;
+    private final PostCardRepository postCardRepository;
+    private final PostRepository postRepository;
+
+    // Ahead of listeners that read the refreshed card (similar-venue index)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        try {
+            postCardService.refresh(event.getPostId());
+        } catch (Exception e) {
+            log.error("❌ Failed to refresh post card {} after {}: {}",
+                    event.getPostId(), event.getChangeType(), e.getMessage(), e);
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedIfEmpty() {
+        try {
+            if (postCardRepository.count() == 0 && postRepository.count() > 0) {
+                postCardService.rebuildAll();
+            }
+        } catch (Exception e) {
+            log.error("❌ Failed to seed post_cards read model: {}", e.getMessage(), e);
+        }
+    }
+}
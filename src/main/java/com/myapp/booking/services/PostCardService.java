@@ -0,0 +1,205 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.dtos.responses.post.PostListResponse;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.models.PostCard;
+import com.myapp.booking.repositories.BookingRepository;
+import com.myapp.booking.repositories.PostCardRepository;
+import com.myapp.booking.repositories.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maintains and serves the {@code post_cards} read model.
+ */
+@Slf4j
+@Service
+public class PostCardService {
+
+    private static final int NEXT_FREE_DATE_HORIZON_DAYS = 90;
+    private static final int REBUILD_BATCH_SIZE = 100;
+
+    private final PostCardRepository postCardRepository;
+    private final PostRepository postRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public PostCardService(PostCardRepository postCardRepository,
+                           PostRepository postRepository,
+                           BookingRepository bookingRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.postCardRepository = postCardRepository;
+        this.postRepository = postRepository;
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // READ SIDE
+    // ═══════════════════════════════════════════════════════════════
+
+    @Transactional(readOnly = true)
+    public Page<PostListResponse> getListableCards(Pageable pageable) {
+        return postCardRepository.findListable(pageable)
+                .map(PostListResponse::fromReadModel);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<PostListResponse> searchListableCards(String keyword, Pageable pageable) {
+        return postCardRepository.searchListable(keyword, pageable)
+                .map(PostListResponse::fromReadModel);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // WRITE SIDE
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * Recompute the card of a single post from the source tables.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void refresh(Long postId) {
+        List<PostCard> cards = buildCards(List.of(postId));
+        if (cards.isEmpty()) {
+            postCardRepository.deleteById(postId);
+            log.info("🗂️ Removed post card for missing post {}", postId);
+            return;
+        }
+        postCardRepository.saveAll(cards);
+    }
+
+    /**
+     * Full rebuild of the read model from the posts table. Each batch runs in its own
+     * transaction, so the persistence context never holds more than one batch of posts
+     * and the caller needs no transaction (the scheduler thread has none).
+     */
+    public int rebuildAll() {
+        log.info("🗂️ Rebuilding post_cards read model...");
+        long start = System.currentTimeMillis();
+
+        List<Long> postIds = postRepository.findAllIds();
+        for (int from = 0; from < postIds.size(); from += REBUILD_BATCH_SIZE) {
+            List<Long> batch = postIds.subList(from, Math.min(from + REBUILD_BATCH_SIZE, postIds.size()));
+            transactionTemplate.executeWithoutResult(status -> postCardRepository.saveAll(buildCards(batch)));
+        }
+
+        // Drop cards whose post no longer exists
+        Set<Long> existingIds = new HashSet<>(postIds);
+        List<Long> orphanIds = postCardRepository.findAllPostIds().stream()
+                .filter(id -> !existingIds.contains(id))
+                .toList();
+        if (!orphanIds.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> postCardRepository.deleteAllById(orphanIds));
+        }
+
+        log.info("✅ Rebuilt {} post cards in {} ms", postIds.size(), System.currentTimeMillis() - start);
+        return postIds.size();
+    }
+
+    /**
+     * The next free date moves forward every day even without writes, so the whole
+     * read model is rebuilt nightly.
+     */
+    @Scheduled(cron = "${app.post-cards.rebuild-cron:0 5 0 * * *}")
+    public void scheduledRebuild() {
+        try {
+            rebuildAll();
+        } catch (Exception e) {
+            log.error("❌ Failed to rebuild post_cards read model: {}", e.getMessage(), e);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // HELPERS
+    // ═══════════════════════════════════════════════════════════════
+
+    // A fixed number of statements per batch: posts with vendors, images (@BatchSize), bookings
+    private List<PostCard> buildCards(Collection<Long> postIds) {
+        List<Post> posts = postRepository.findAllForCardsByIdIn(postIds);
+        if (posts.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Map<LocalDate, Long>> bookedByPost = loadBookedSlots(posts);
+        List<PostCard> cards = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            cards.add(buildCard(post, bookedByPost.getOrDefault(post.getId(), Map.of())));
+        }
+        return cards;
+    }
+
+    private PostCard buildCard(Post post, Map<LocalDate, Long> bookedByDate) {
+        List<String> images = post.getImages() != null ? new ArrayList<>(post.getImages()) : new ArrayList<>();
+
+        return PostCard.builder()
+                .postId(post.getId())
+                .title(post.getTitle())
+                .description(post.getDescription())
+                .location(post.getLocation())
+                .price(post.getPrice())
+                .capacity(post.getCapacity())
+                .style(post.getStyle())
+                .status(post.getStatus())
+                .isActive(post.getIsActive())
+                .isDeleted(post.getIsDeleted())
+                .thumbnailImage(images.isEmpty() ? null : images.get(0))
+                .imageCount(images.size())
+                .images(images)
+                .vendorId(post.getVendor().getId())
+                .vendorName(post.getVendor().getFullName())
+                .vendorAvatar(post.getVendor().getAvatarUrl())
+                .viewCount(post.getViewCount())
+                .likeCount(post.getLikeCount())
+                .commentCount(post.getCommentCount())
+                .bookingCount(post.getBookingCount())
+                .rating(post.getRating())
+                .nextAvailableDate(findNextAvailableDate(post, bookedByDate))
+                .createdAt(post.getCreatedAt())
+                .publishedAt(post.getPublishedAt())
+                .refreshedAt(LocalDateTime.now())
+                .build();
+    }
+
+    // postId -> (date -> active bookings) over the horizon, one grouped query for all posts
+    private Map<Long, Map<LocalDate, Long>> loadBookedSlots(List<Post> posts) {
+        LocalDate today = LocalDate.now();
+        List<Long> postIds = posts.stream().map(Post::getId).toList();
+        Map<Long, Map<LocalDate, Long>> bookedByPost = new HashMap<>();
+        for (Object[] row : bookingRepository.countActiveByPostIdsGroupByDate(
+                postIds, Date.valueOf(today), Date.valueOf(today.plusDays(NEXT_FREE_DATE_HORIZON_DAYS)))) {
+            bookedByPost.computeIfAbsent((Long) row[0], id -> new HashMap<>())
+                    .put(((Date) row[1]).toLocalDate(), (Long) row[2]);
+        }
+        return bookedByPost;
+    }
+
+    private LocalDate findNextAvailableDate(Post post, Map<LocalDate, Long> bookedByDate) {
+        int totalSlots = post.getAvailableSlots() != null ? post.getAvailableSlots() : 4;
+        LocalDate today = LocalDate.now();
+        LocalDate horizon = today.plusDays(NEXT_FREE_DATE_HORIZON_DAYS);
+
+        for (LocalDate date = today; !date.isAfter(horizon); date = date.plusDays(1)) {
+            if (bookedByDate.getOrDefault(date, 0L) < totalSlots) {
+                return date;
+            }
+        }
+        return null;
+    }
+}
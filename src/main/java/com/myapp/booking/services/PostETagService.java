@@ -0,0 +1,89 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.repositories.PostCardRepository;
+import com.myapp.booking.repositories.PostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * Strong ETags for post endpoints, computed from small version queries so a 304 can be
+ * answered without loading or serializing any post.
+ *
+ * Tags rest on posts.updated_at, which gallery edits and menu writes bump explicitly since
+ * neither dirties the posts row on its own.
+ *
+ * View counts are deliberately not part of any tag: every detail request increments them,
+ * so including them would make every tag single-use. Clients revalidating with a 304 keep
+ * a view count that may trail by a few views.
+ */
+@Service
+@RequiredArgsConstructor
+public class PostETagService {
+
+    private final PostRepository postRepository;
+    private final PostCardRepository postCardRepository;
+    private final LikedPostsCache likedPostsCache;
+
+    /**
+     * @return the tag of the post detail, or empty if the post does not exist (let the normal path 404)
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> detailETag(Long postId, Long userId) {
+        List<Object[]> rows = postRepository.findDetailVersion(postId);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] version = rows.get(0);
+        boolean liked = userId != null && likedPostsCache.likedPostIds(userId).contains(postId);
+        return Optional.of(tag("detail", postId, version[0], version[1], version[2], version[3], version[4], liked));
+    }
+
+    @Transactional(readOnly = true)
+    public String publishedListETag(Pageable pageable, Long userId) {
+        Object[] watermark = first(postCardRepository.findListableWatermark());
+        return tag("published", pageable, watermark[0], watermark[1], likesVersion(userId));
+    }
+
+    @Transactional(readOnly = true)
+    public String searchETag(String keyword, Pageable pageable, Long userId) {
+        Object[] watermark = first(postCardRepository.findListableWatermark());
+        return tag("search", keyword, pageable, watermark[0], watermark[1], likesVersion(userId));
+    }
+
+    @Transactional(readOnly = true)
+    public String vendorListETag(Long vendorId, Pageable pageable, Long userId) {
+        Object[] watermark = first(postRepository.findVendorWatermark(vendorId));
+        return tag("vendor", vendorId, pageable, watermark[0], watermark[1], watermark[2], likesVersion(userId));
+    }
+
+    @Transactional(readOnly = true)
+    public String feedETag(String sortBy, String sortDir, String cursor, int size, Long userId) {
+        Object[] watermark = first(postRepository.findPublishedWatermark());
+        return tag("feed", sortBy, sortDir, cursor, size, watermark[0], watermark[1], watermark[2], likesVersion(userId));
+    }
+
+    // likedByMe is part of every list item, so the user's like set is part of the version
+    private Object likesVersion(Long userId) {
+        return userId != null ? likedPostsCache.likedPostIds(userId).hashCode() : "guest";
+    }
+
+    private static Object[] first(List<Object[]> rows) {
+        return rows.isEmpty() ? new Object[3] : rows.get(0);
+    }
+
+    private static String tag(Object... parts) {
+        StringJoiner joined = new StringJoiner("|");
+        for (Object part : parts) {
+            joined.add(String.valueOf(part));
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(joined.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -0,0 +1,102 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.dtos.responses.post.PostLikeResponse;
+import com.myapp.booking.dtos.responses.post.PostListResponse;
+import com.myapp.booking.events.PostChangedEvent;
+import com.myapp.booking.events.PostLikeChangedEvent;
+import com.myapp.booking.exceptions.ResourceNotFoundException;
+import com.myapp.booking.repositories.PostLikeRepository;
+import com.myapp.booking.repositories.PostRepository;
+import com.myapp.booking.utils.SortedLongSet;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostLikeService {
+
+    private final PostLikeRepository postLikeRepository;
+    private final PostRepository postRepository;
+    private final LikedPostsCache likedPostsCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Like a post. Idempotent: liking twice keeps one like and counts it once.
+     */
+    @Transactional
+    public PostLikeResponse like(Long postId, Long userId) {
+        ensurePostExists(postId);
+
+        if (postLikeRepository.insertIgnore(postId, userId) == 1) {
+            postRepository.incrementLikeCount(postId);
+            publishChange(postId, userId, true);
+            log.info("❤️ User {} liked post {}", userId, postId);
+        }
+        return buildResponse(postId, true);
+    }
+
+    /**
+     * Remove a like. Idempotent: unliking a post that is not liked changes nothing.
+     */
+    @Transactional
+    public PostLikeResponse unlike(Long postId, Long userId) {
+        ensurePostExists(postId);
+
+        if (postLikeRepository.deleteByPostIdAndUserId(postId, userId) == 1) {
+            postRepository.decrementLikeCount(postId);
+            publishChange(postId, userId, false);
+            log.info("💔 User {} unliked post {}", userId, postId);
+        }
+        return buildResponse(postId, false);
+    }
+
+    @Transactional
+    public PostLikeResponse toggle(Long postId, Long userId) {
+        return postLikeRepository.existsByPostIdAndUserId(postId, userId)
+                ? unlike(postId, userId)
+                : like(postId, userId);
+    }
+
+    public boolean isLikedBy(Long postId, Long userId) {
+        return userId != null && likedPostsCache.likedPostIds(userId).contains(postId);
+    }
+
+    /**
+     * Fill {@code likedByMe} for a page of cards from the user's cached like set.
+     */
+    public void markLikedByMe(Collection<PostListResponse> posts, Long userId) {
+        if (userId == null || posts.isEmpty()) {
+            return;
+        }
+        SortedLongSet liked = likedPostsCache.likedPostIds(userId);
+        for (PostListResponse post : posts) {
+            post.setLikedByMe(liked.contains(post.getId()));
+        }
+    }
+
+    private void ensurePostExists(Long postId) {
+        if (!postRepository.existsByIdAndIsDeletedFalse(postId)) {
+            throw new ResourceNotFoundException("Post not found");
+        }
+    }
+
+    private void publishChange(Long postId, Long userId, boolean liked) {
+        eventPublisher.publishEvent(new PostLikeChangedEvent(postId, userId, liked));
+        eventPublisher.publishEvent(new PostChangedEvent(postId, PostChangedEvent.ChangeType.COUNTERS));
+    }
+
+    private PostLikeResponse buildResponse(Long postId, boolean liked) {
+        Long likeCount = postRepository.findLikeCountById(postId);
+        return PostLikeResponse.builder()
+                .postId(postId)
+                .liked(liked)
+                .likeCount(likeCount != null ? likeCount : 0L)
+                .build();
+    }
+}
@@ -4,18 +4,27 @@ import com.myapp.booking.dtos.requests.post.CreatePostRequest;
 import com.myapp.booking.dtos.requests.post.UpdatePostRequest;
 import com.myapp.booking.models.Post;
 import com.myapp.booking.models.User;
+import com.myapp.booking.dtos.responses.post.PostCardProjection;
+import com.myapp.booking.dtos.responses.post.PostFeedResponse;
 import com.myapp.booking.dtos.responses.post.PostResponse;
 import com.myapp.booking.dtos.responses.post.PostListResponse;
 import com.myapp.booking.dtos.responses.post.PostStatisticsResponse;
 import com.myapp.booking.dtos.responses.VendorStatisticsResponse;
+import com.myapp.booking.enums.PostFeedSort;
+import com.myapp.booking.events.PostChangedEvent;
 import com.myapp.booking.exceptions.ResourceNotFoundException;
 import com.myapp.booking.exceptions.UnauthorizedException;
+import com.myapp.booking.repositories.PostFeedRepository;
 import com.myapp.booking.repositories.PostRepository;
 import com.myapp.booking.repositories.UserRepository;
 import com.myapp.booking.services.interfaces.IPostService;
+import com.myapp.booking.utils.FeedCursor;
+import com.myapp.booking.utils.ListSync;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,9 +35,15 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import org.springframework.web.multipart.MultipartFile;
 
 @Service
@@ -36,8 +51,18 @@ import org.springframework.web.multipart.MultipartFile;
 @Slf4j
 public class PostService implements IPostService {
 
+    private static final int MAX_TOP_LIMIT = 50;
+    private static final int MAX_FEED_SIZE = 50;
+    private static final String UPLOADS_PREFIX = "/uploads/";
+
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final PostCardService postCardService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ViewCountBuffer viewCountBuffer;
+    private final UniqueVisitorService uniqueVisitorService;
+    private final PostLikeService postLikeService;
+    private final PostFeedRepository postFeedRepository;
 
     @Value("${file.upload-dir:uploads}")
     private String uploadDir;
@@ -74,6 +99,7 @@ public class PostService implements IPostService {
                 .build();
 
         Post savedPost = postRepository.save(post);
+        eventPublisher.publishEvent(new PostChangedEvent(savedPost.getId(), PostChangedEvent.ChangeType.CONTENT));
         return PostResponse.fromEntity(savedPost);
     }
 
@@ -127,36 +153,53 @@ public class PostService implements IPostService {
             post.setEnableNotifications(request.getEnableNotifications());
         }
 
-        // Handle images update
-        List<String> finalImages = new ArrayList<>();
-
-        // Keep existing images if provided
-        if (request.getExistingImages() != null && !request.getExistingImages().isEmpty()) {
-            finalImages.addAll(request.getExistingImages());
-            log.info("✅ Keeping {} existing images", request.getExistingImages().size());
-        }
+        // Handle images update. Nothing sent for images means "unchanged": the collection
+        // is not even loaded, so a title-only edit issues no post_images statements
+        boolean keepsImages = request.getExistingImages() != null && !request.getExistingImages().isEmpty();
+        boolean addsImages = newImages != null && !newImages.isEmpty();
+        if (keepsImages || addsImages) {
+            List<String> finalImages = new ArrayList<>();
+
+            // Keep existing images if provided
+            if (keepsImages) {
+                request.getExistingImages().forEach(image -> finalImages.add(toStoredImageName(image)));
+                log.info("✅ Keeping {} existing images", request.getExistingImages().size());
+            }
 
-        // Upload and add new images if provided
-        if (newImages != null && !newImages.isEmpty()) {
-            log.info("📤 Uploading {} new images...", newImages.size());
-            List<String> uploadedImages = uploadImages(newImages);
-            finalImages.addAll(uploadedImages);
-            log.info("✅ Uploaded {} new images", uploadedImages.size());
-        }
+            // Upload and add new images if provided
+            if (addsImages) {
+                log.info("📤 Uploading {} new images...", newImages.size());
+                List<String> uploadedImages = uploadImages(newImages);
+                finalImages.addAll(uploadedImages);
+                log.info("✅ Uploaded {} new images", uploadedImages.size());
+            }
 
-        // Update images list
-        if (!finalImages.isEmpty()) {
-            post.setImages(finalImages);
-            log.info("📸 Total images after update: {}", finalImages.size());
+            // Update images list in place so only the changed positions are written
+            if (!finalImages.isEmpty()) {
+                if (ListSync.syncInPlace(post.getImages(), finalImages)) {
+                    // A gallery-only edit leaves the posts row clean; bump updated_at so ETags move
+                    post.setUpdatedAt(LocalDateTime.now());
+                    log.info("📸 Total images after update: {}", finalImages.size());
+                } else {
+                    log.info("📸 Images unchanged");
+                }
+            }
         }
 
         Post updatedPost = postRepository.save(post);
+        eventPublisher.publishEvent(new PostChangedEvent(postId, PostChangedEvent.ChangeType.CONTENT));
         log.info("✅ Post updated successfully: {}", postId);
         log.info("═══════════════════════════════════════");
 
         return PostResponse.fromEntity(updatedPost);
     }
 
+    // Responses expose stored filenames as /uploads/<name>; clients echo those back as
+    // existing images, so strip the prefix to compare and store the bare filename again
+    private static String toStoredImageName(String image) {
+        return image != null && image.startsWith(UPLOADS_PREFIX) ? image.substring(UPLOADS_PREFIX.length()) : image;
+    }
+
     // Helper method to upload images
     private List<String> uploadImages(List<MultipartFile> images) {
         List<String> imageUrls = new ArrayList<>();
@@ -220,6 +263,7 @@ public class PostService implements IPostService {
         post.setIsDeleted(true);
         post.setIsActive(false);
         postRepository.save(post);
+        eventPublisher.publishEvent(new PostChangedEvent(postId, PostChangedEvent.ChangeType.DELETED));
 
         log.info("Post deleted successfully: {}", postId);
     }
@@ -232,23 +276,94 @@ public class PostService implements IPostService {
         Post post = postRepository.findByIdAndIsDeletedFalse(postId)
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
 
-        return PostResponse.fromEntity(post);
+        PostResponse response = PostResponse.fromEntity(post);
+        // Include views that are still sitting in the write-behind buffer
+        response.setViewCount((response.getViewCount() != null ? response.getViewCount() : 0L)
+                + viewCountBuffer.pendingFor(postId));
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostResponse> getPostsByIds(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Post> posts = postRepository.findAllWithVendorByIdIn(postIds);
+        Map<Long, String> contents = new HashMap<>();
+        if (!posts.isEmpty()) {
+            for (Object[] row : postRepository.findContentByIds(postIds)) {
+                contents.put((Long) row[0], (String) row[1]);
+            }
+        }
+
+        List<PostResponse> responses = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            PostResponse response = PostResponse.fromEntity(post, contents.get(post.getId()));
+            response.setViewCount((response.getViewCount() != null ? response.getViewCount() : 0L)
+                    + viewCountBuffer.pendingFor(post.getId()));
+            responses.add(response);
+        }
+        return responses;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<PostListResponse> getAllPosts(Pageable pageable) {
         log.info("Getting all posts");
-        return postRepository.findAll(pageable)
-                .map(PostListResponse::fromEntity);
+        return toCardPage(postRepository.findAllCards(pageable));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<PostListResponse> getPublishedPosts(Pageable pageable) {
         log.info("Getting published posts");
-        return postRepository.findAllPublishedPosts(pageable)
-                .map(PostListResponse::fromEntity);
+        return postCardService.getListableCards(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PostFeedResponse getFeed(String sortBy, String sortDir, String cursor, int size) {
+        PostFeedSort sort = PostFeedSort.fromField(sortBy);
+        boolean ascending = "asc".equalsIgnoreCase(sortDir);
+        int limit = Math.max(1, Math.min(size, MAX_FEED_SIZE));
+
+        Object afterValue = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            FeedCursor after = FeedCursor.decode(cursor);
+            after.requireOrdering(sort, ascending);
+            afterValue = after.getLastValue();
+            afterId = after.getLastId();
+        }
+
+        // Fetch one extra row to learn whether another slice exists, instead of counting
+        List<PostCardProjection> cards = postFeedRepository.findFeedPage(sort, ascending, afterValue, afterId, limit + 1);
+        boolean hasMore = cards.size() > limit;
+        if (hasMore) {
+            cards = cards.subList(0, limit);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            PostCardProjection last = cards.get(cards.size() - 1);
+            nextCursor = new FeedCursor(sort, ascending, feedValue(sort, last), last.getId()).encode();
+        }
+
+        return PostFeedResponse.builder()
+                .items(toCards(cards))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private static Object feedValue(PostFeedSort sort, PostCardProjection card) {
+        return switch (sort) {
+            case CREATED_AT -> card.getCreatedAt();
+            case PRICE -> card.getPrice();
+            case CAPACITY -> card.getCapacity();
+            case RATING -> card.getRating();
+        };
     }
 
     @Override
@@ -256,11 +371,11 @@ public class PostService implements IPostService {
     public Page<PostListResponse> getPostsByVendor(Long vendorId, Pageable pageable) {
         log.info("Getting posts by vendor: {}", vendorId);
 
-        User vendor = userRepository.findById(vendorId)
-                .orElseThrow(() -> new ResourceNotFoundException("Vendor not found"));
+        if (!userRepository.existsById(vendorId)) {
+            throw new ResourceNotFoundException("Vendor not found");
+        }
 
-        return postRepository.findByVendorAndIsDeletedFalse(vendor, pageable)
-                .map(PostListResponse::fromEntity);
+        return toCardPage(postRepository.findCardsByVendorId(vendorId, pageable));
     }
 
     @Override
@@ -273,78 +388,117 @@ public class PostService implements IPostService {
     @Transactional(readOnly = true)
     public Page<PostListResponse> getPostsByStatus(Post.PostStatus status, Pageable pageable) {
         log.info("Getting posts by status: {}", status);
-        return postRepository.findByStatusAndIsDeletedFalse(status, pageable)
-                .map(PostListResponse::fromEntity);
+        return toCardPage(postRepository.findCardsByStatus(status, pageable));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<PostListResponse> searchPosts(String keyword, Pageable pageable) {
         log.info("Searching posts with keyword: {}", keyword);
-        return postRepository.searchPosts(keyword, pageable)
-                .map(PostListResponse::fromEntity);
+        return postCardService.searchListableCards(keyword, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<PostListResponse> filterByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
         log.info("Filtering posts by price range: {} - {}", minPrice, maxPrice);
-        return postRepository.findByPriceRange(minPrice, maxPrice, pageable)
-                .map(PostListResponse::fromEntity);
+        return toCardPage(postRepository.findCardsByPriceRange(minPrice, maxPrice, pageable));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<PostListResponse> filterByCapacity(Integer minCapacity, Pageable pageable) {
         log.info("Filtering posts by capacity: {}", minCapacity);
-        return postRepository.findByMinCapacity(minCapacity, pageable)
-                .map(PostListResponse::fromEntity);
+        return toCardPage(postRepository.findCardsByMinCapacity(minCapacity, pageable));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<PostListResponse> filterByStyle(String style, Pageable pageable) {
         log.info("Filtering posts by style: {}", style);
-        return postRepository.findByStyleAndStatusAndIsDeletedFalse(style, Post.PostStatus.PUBLISHED, pageable)
-                .map(PostListResponse::fromEntity);
+        return toCardPage(postRepository.findCardsByStyle(style, pageable));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<PostListResponse> getPopularPosts(Pageable pageable) {
-        log.info("Getting popular posts");
-        return postRepository.findPopularPosts(pageable)
-                .map(PostListResponse::fromEntity);
+    public List<PostListResponse> getPopularPosts(int limit) {
+        log.info("Getting top {} popular posts", limit);
+        return toCards(postRepository.findPopularCards(PageRequest.of(0, clampTopLimit(limit))));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<PostListResponse> getTrendingPosts(Pageable pageable) {
-        log.info("Getting trending posts");
-        return postRepository.findTrendingPosts(pageable)
-                .map(PostListResponse::fromEntity);
+    public List<PostListResponse> getTrendingPosts(int limit) {
+        log.info("Getting top {} trending posts", limit);
+        return toCards(postRepository.findTrendingCards(PageRequest.of(0, clampTopLimit(limit))));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostListResponse> getLatestPosts(int limit) {
+        log.info("Getting {} latest posts", limit);
+        return toCards(postRepository.findLatestCards(PageRequest.of(0, clampTopLimit(limit))));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostListResponse> getTopRatedPosts(int limit) {
+        log.info("Getting top {} rated posts", limit);
+        return toCards(postRepository.findTopRatedCards(PageRequest.of(0, clampTopLimit(limit))));
+    }
+
+    private static int clampTopLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_TOP_LIMIT));
+    }
+
+    /**
+     * Maps a page of card projections to list responses. Images for the whole
+     * page are fetched with a single IN query, so a page always costs the card
+     * query, its count query and at most one image query.
+     */
+    private Page<PostListResponse> toCardPage(Page<PostCardProjection> cards) {
+        Map<Long, List<String>> imagesByPost = loadImages(cards.getContent());
+        return cards.map(card -> PostListResponse.fromCard(card,
+                imagesByPost.getOrDefault(card.getId(), Collections.emptyList())));
+    }
+
+    private List<PostListResponse> toCards(List<PostCardProjection> cards) {
+        Map<Long, List<String>> imagesByPost = loadImages(cards);
+        return cards.stream()
+                .map(card -> PostListResponse.fromCard(card,
+                        imagesByPost.getOrDefault(card.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, List<String>> loadImages(List<PostCardProjection> cards) {
+        Map<Long, List<String>> imagesByPost = new HashMap<>();
+        if (!cards.isEmpty()) {
+            List<Long> postIds = cards.stream()
+                    .map(PostCardProjection::getId)
+                    .collect(Collectors.toList());
+            for (Object[] row : postRepository.findImagesByPostIds(postIds)) {
+                imagesByPost.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+            }
+        }
+        return imagesByPost;
     }
 
     @Override
-    @Transactional
     public void incrementViewCount(Long postId) {
-        Post post = postRepository.findByIdAndIsDeletedFalse(postId)
-                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
+        // Buffered; ViewCountBuffer writes the increments back in batches
+        viewCountBuffer.increment(postId);
+    }
 
-        post.incrementViewCount();
-        postRepository.save(post);
+    @Override
+    public void incrementViewCount(Long postId, String visitorKey) {
+        incrementViewCount(postId);
+        uniqueVisitorService.recordVisit(postId, visitorKey);
     }
 
     @Override
     @Transactional
     public void toggleLike(Long postId, Long userId) {
-        Post post = postRepository.findByIdAndIsDeletedFalse(postId)
-                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
-
-        // TODO: Implement like/unlike logic with a separate PostLike entity
-        // For now, just increment/decrement like count
-        post.incrementLikeCount();
-        postRepository.save(post);
+        postLikeService.toggle(postId, userId);
     }
 
     @Override
@@ -361,6 +515,7 @@ public class PostService implements IPostService {
 
         post.setStatus(status);
         Post updatedPost = postRepository.save(post);
+        eventPublisher.publishEvent(new PostChangedEvent(postId, PostChangedEvent.ChangeType.CONTENT));
 
         return PostResponse.fromEntity(updatedPost);
     }
@@ -377,10 +532,12 @@ public class PostService implements IPostService {
 
         return PostStatisticsResponse.builder()
                 .postId(postId)
-                .viewCount(post.getViewCount())
+                .viewCount((post.getViewCount() != null ? post.getViewCount() : 0L)
+                        + viewCountBuffer.pendingFor(postId))
                 .likeCount(post.getLikeCount())
                 .commentCount(post.getCommentCount())
                 .bookingCount(post.getBookingCount())
+                .uniqueVisitors(uniqueVisitorService.getCounts(postId))
                 .build();
     }
 
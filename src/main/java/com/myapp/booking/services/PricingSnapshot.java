@@ -0,0 +1,165 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.exceptions.BadRequestException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * Immutable prices of one post: the venue price per guest and its active menus (price per
+ * table and guests per table). Amounts are held as long minor units (hundredths, the scale
+ * of the price columns) so quoting is exact and allocation-free apart from the result.
+ *
+ * Built by {@link BookingQuoteService} and shared between threads without locking.
+ */
+public final class PricingSnapshot {
+
+    private static final int MINOR_DIGITS = 2;
+
+    private final Long postId;
+    private final String currency;
+    private final long venuePriceMinor;
+    private final Integer capacity;
+    private final boolean bookable;
+
+    // Sorted by id, parallel arrays
+    private final long[] menuIds;
+    private final long[] menuPricesMinor;
+    private final int[] guestsPerTable;
+
+    public PricingSnapshot(Long postId, String currency, BigDecimal venuePrice, Integer capacity, boolean bookable,
+                           long[] menuIds, long[] menuPricesMinor, int[] guestsPerTable) {
+        this.postId = postId;
+        this.currency = currency != null ? currency : "VND";
+        this.venuePriceMinor = venuePrice != null ? toMinor(venuePrice) : 0;
+        this.capacity = capacity;
+        this.bookable = bookable;
+
+        Integer[] order = new Integer[menuIds.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(menuIds[a], menuIds[b]));
+        this.menuIds = new long[order.length];
+        this.menuPricesMinor = new long[order.length];
+        this.guestsPerTable = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            this.menuIds[i] = menuIds[order[i]];
+            this.menuPricesMinor[i] = menuPricesMinor[order[i]];
+            this.guestsPerTable[i] = guestsPerTable[order[i]];
+        }
+    }
+
+    /**
+     * A priced booking, every amount in minor units.
+     *
+     * @param unitPriceMinor price per table with a menu, per guest without
+     */
+    public record Quote(Long menuId, int numberOfGuests, Integer numberOfTables, long unitPriceMinor,
+                        long totalMinor, long discountMinor, long finalMinor, long depositMinor) {
+
+        public long remainingMinor() {
+            return finalMinor - depositMinor;
+        }
+    }
+
+    /**
+     * With a menu the booking is priced per table: tables default to enough for the guests,
+     * and guests to a full set of tables. Without one it is the venue price (or the
+     * caller's unit price) per guest, as bookings were priced before menus.
+     *
+     * @param unitPriceMinor per-guest price used only without a menu; null for the venue price
+     * @throws BadRequestException when the request cannot be priced
+     */
+    public Quote quote(Long menuId, Integer numberOfTables, Integer numberOfGuests,
+                       Long unitPriceMinor, long discountMinor, long depositMinor) {
+        if (!bookable) {
+            throw new BadRequestException("Venue is not available for booking");
+        }
+        if (numberOfTables != null && numberOfTables < 1) {
+            throw new BadRequestException("Number of tables must be at least 1");
+        }
+        if (numberOfGuests != null && numberOfGuests < 1) {
+            throw new BadRequestException("Number of guests must be at least 1");
+        }
+        if (discountMinor < 0 || depositMinor < 0) {
+            throw new BadRequestException("Deposit and discount amounts must be non-negative");
+        }
+
+        int guests;
+        Integer tables = numberOfTables;
+        long unit;
+        long total;
+        try {
+            if (menuId != null) {
+                int menu = Arrays.binarySearch(menuIds, menuId);
+                if (menu < 0) {
+                    throw new BadRequestException("Menu " + menuId + " is not available for this venue");
+                }
+                int perTable = guestsPerTable[menu];
+                if (tables == null && numberOfGuests == null) {
+                    throw new BadRequestException("Number of guests or number of tables is required with a menu");
+                }
+                guests = numberOfGuests != null ? numberOfGuests : Math.multiplyExact(tables, perTable);
+                if (tables == null) {
+                    tables = (int) ((guests + (long) perTable - 1) / perTable);
+                } else if ((long) tables * perTable < guests) {
+                    throw new BadRequestException(String.format(
+                            "%d tables seat only %d guests with this menu", tables, (long) tables * perTable));
+                }
+                unit = menuPricesMinor[menu];
+                total = Math.multiplyExact(unit, tables);
+            } else {
+                guests = numberOfGuests != null ? numberOfGuests : 1;
+                unit = unitPriceMinor != null ? unitPriceMinor : venuePriceMinor;
+                if (unit <= 0) {
+                    throw new BadRequestException("Unit price must be positive");
+                }
+                total = Math.multiplyExact(unit, guests);
+            }
+        } catch (ArithmeticException e) {
+            throw new BadRequestException("Booking amount is too large");
+        }
+
+        if (capacity != null && guests > capacity) {
+            throw new BadRequestException(String.format(
+                    "Guest count (%d) exceeds venue capacity (%d)", guests, capacity));
+        }
+        if (discountMinor > total) {
+            throw new BadRequestException("Discount amount cannot exceed the total amount");
+        }
+        long finalMinor = total - discountMinor;
+        if (depositMinor > finalMinor) {
+            throw new BadRequestException("Deposit amount cannot exceed the final amount");
+        }
+        return new Quote(menuId, guests, tables, unit, total, discountMinor, finalMinor, depositMinor);
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public int menuCount() {
+        return menuIds.length;
+    }
+
+    /**
+     * @throws BadRequestException when the amount does not fit a long in minor units
+     */
+    public static long toMinor(BigDecimal amount) {
+        try {
+            return amount.setScale(MINOR_DIGITS, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new BadRequestException("Amount is too large: " + amount);
+        }
+    }
+
+    public static BigDecimal toAmount(long minor) {
+        return BigDecimal.valueOf(minor, MINOR_DIGITS);
+    }
+}
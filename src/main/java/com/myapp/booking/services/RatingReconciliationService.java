@@ -0,0 +1,146 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.events.PostChangedEvent;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.repositories.CommentRepository;
+import com.myapp.booking.repositories.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Checks the rating aggregates stored on posts (sum, count, star histogram) against the
+ * active comments and repairs any drift.
+ *
+ * A full grouped scan finds suspect posts; each suspect is then recomputed in its own
+ * short transaction holding the post row lock, so a comment written concurrently is
+ * either already counted or applies its delta after the repair, never lost under it.
+ * Runs at startup (the columns start at zero for existing comments) and nightly.
+ */
+@Slf4j
+@Service
+public class RatingReconciliationService {
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public RatingReconciliationService(PostRepository postRepository,
+                                       CommentRepository commentRepository,
+                                       ApplicationEventPublisher eventPublisher,
+                                       PlatformTransactionManager transactionManager) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @return number of posts whose aggregates were repaired
+     */
+    public int reconcile() {
+        long start = System.currentTimeMillis();
+        Map<Long, long[]> actual = new HashMap<>();
+        Map<Long, BigDecimal> actualSums = new HashMap<>();
+        for (Object[] row : commentRepository.computeRatingAggregates()) {
+            actual.put((Long) row[0], counts(row, 2));
+            actualSums.put((Long) row[0], (BigDecimal) row[1]);
+        }
+
+        Set<Long> suspects = new HashSet<>();
+        Set<Long> stored = new HashSet<>();
+        for (Object[] row : postRepository.findNonZeroRatingAggregates()) {
+            Long postId = (Long) row[0];
+            stored.add(postId);
+            if (!matches(actualSums.get(postId), actual.get(postId), (BigDecimal) row[1], counts(row, 2))) {
+                suspects.add(postId);
+            }
+        }
+        for (Long postId : actual.keySet()) {
+            if (!stored.contains(postId)) {
+                suspects.add(postId);
+            }
+        }
+
+        int repaired = 0;
+        for (Long postId : suspects) {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> reconcilePost(postId)))) {
+                repaired++;
+            }
+        }
+        if (repaired > 0) {
+            log.warn("⚠️ Rating aggregates repaired for {} posts ({} suspects) in {} ms",
+                    repaired, suspects.size(), System.currentTimeMillis() - start);
+        } else {
+            log.info("✅ Rating aggregates verified in {} ms", System.currentTimeMillis() - start);
+        }
+        return repaired;
+    }
+
+    private boolean reconcilePost(Long postId) {
+        Post post = postRepository.findByIdForUpdate(postId).orElse(null);
+        if (post == null) {
+            return false;
+        }
+        BigDecimal sum = BigDecimal.ZERO;
+        long[] counts = new long[6];
+        for (Object[] row : commentRepository.computeRatingAggregates(postId)) {
+            sum = (BigDecimal) row[1];
+            counts = counts(row, 2);
+        }
+        long[] storedCounts = {post.getRatingCount(), post.getStar1(), post.getStar2(), post.getStar3(),
+                post.getStar4(), post.getStar5()};
+        if (matches(sum, counts, post.getRatingSum(), storedCounts)) {
+            return false;
+        }
+        log.warn("⚠️ Post {} rating aggregates drifted: stored sum {} counts {}, actual sum {} counts {}",
+                postId, post.getRatingSum(), Arrays.toString(storedCounts), sum, Arrays.toString(counts));
+        postRepository.setRatingAggregates(postId, sum, counts[0],
+                counts[1], counts[2], counts[3], counts[4], counts[5]);
+        eventPublisher.publishEvent(new PostChangedEvent(postId, PostChangedEvent.ChangeType.REVIEWS));
+        return true;
+    }
+
+    @Scheduled(cron = "${app.ratings.reconcile-cron:0 40 0 * * *}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("❌ Failed to reconcile rating aggregates: {}", e.getMessage(), e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        scheduledReconcile();
+    }
+
+    // [count, star1..star5] from row[from..from+5]
+    private static long[] counts(Object[] row, int from) {
+        long[] counts = new long[6];
+        for (int i = 0; i < 6; i++) {
+            counts[i] = row[from + i] != null ? ((Number) row[from + i]).longValue() : 0L;
+        }
+        return counts;
+    }
+
+    private static boolean matches(BigDecimal actualSum, long[] actualCounts, BigDecimal storedSum, long[] storedCounts) {
+        BigDecimal a = actualSum != null ? actualSum : BigDecimal.ZERO;
+        BigDecimal s = storedSum != null ? storedSum : BigDecimal.ZERO;
+        return a.compareTo(s) == 0 && Arrays.equals(Objects.requireNonNullElse(actualCounts, new long[6]), storedCounts);
+    }
+}
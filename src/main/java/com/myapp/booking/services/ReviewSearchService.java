@@ -0,0 +1,86 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.events.CommentChangedEvent;
+import com.myapp.booking.events.PostChangedEvent;
+import com.myapp.booking.exceptions.ResourceNotFoundException;
+import com.myapp.booking.repositories.CommentRepository;
+import com.myapp.booking.repositories.PostRepository;
+import com.myapp.booking.utils.InvertedIndex;
+import com.myapp.booking.utils.LoadingLruCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Full-text search inside one post's active reviews. Each searched post gets an
+ * {@link InvertedIndex} built from one query on first use; committed review writes are
+ * applied to it in place, and least recently searched posts are dropped past the limit.
+ *
+ * A build that started before a review write is used for that search but not kept, so
+ * the write cannot be lost from the stored index.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReviewSearchService {
+
+    private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+
+    @Value("${app.review-search.cache-size:500}")
+    private int maxPosts = 500;
+
+    private final LoadingLruCache<Long, InvertedIndex> byPost = new LoadingLruCache<>(() -> maxPosts);
+
+    /**
+     * @param offset hits to skip
+     * @param limit  hits to return
+     */
+    public InvertedIndex.Hits search(Long postId, String query, int offset, int limit) {
+        return byPost.get(postId, this::build).search(query, offset, limit);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        InvertedIndex index = byPost.changed(event.getPostId());
+        if (index == null) {
+            return;
+        }
+        if (event.getContent() != null) {
+            index.put(event.getCommentId(), event.getContent());
+        } else {
+            index.remove(event.getCommentId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getChangeType() == PostChangedEvent.ChangeType.DELETED) {
+            byPost.invalidate(event.getPostId());
+        }
+    }
+
+    int indexedPosts() {
+        return byPost.size();
+    }
+
+    private InvertedIndex build(Long postId) {
+        if (!postRepository.existsById(postId)) {
+            throw new ResourceNotFoundException("Post not found with id: " + postId);
+        }
+        long start = System.currentTimeMillis();
+        List<Object[]> rows = commentRepository.findActiveContentByPostId(postId);
+        InvertedIndex built = new InvertedIndex();
+        for (Object[] row : rows) {
+            built.put((Long) row[0], (String) row[1]);
+        }
+        log.info("🔎 Review search index for post {} built: {} reviews in {} ms", postId, rows.size(),
+                System.currentTimeMillis() - start);
+        return built;
+    }
+}
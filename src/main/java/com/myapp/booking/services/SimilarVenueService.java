@@ -0,0 +1,184 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.dtos.responses.post.PostListResponse;
+import com.myapp.booking.events.PostChangedEvent;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.models.PostCard;
+import com.myapp.booking.repositories.PostCardRepository;
+import com.myapp.booking.repositories.PostRepository;
+import com.myapp.booking.utils.NearestNeighbourIndex;
+import com.myapp.booking.utils.VenueFeatures;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * "Similar venues" served from memory.
+ *
+ * Every listable post is encoded with {@link VenueFeatures} and its nearest neighbours are
+ * precomputed in a {@link NearestNeighbourIndex}, so a request is a map lookup with no
+ * database access. The index is built at startup and nightly from {@code post_cards},
+ * and patched per post on {@link PostChangedEvent}: counter and booking changes only
+ * replace the card shown, everything else re-encodes the post and re-ranks. Posts changed
+ * while a rebuild is reading are refreshed again once it has swapped in, so the rebuild's
+ * older snapshot does not undo their patches.
+ */
+@Slf4j
+@Service
+public class SimilarVenueService {
+
+    public static final int MAX_SIMILAR = 20;
+
+    private final PostCardRepository postCardRepository;
+    private final PostRepository postRepository;
+    private final TransactionTemplate readOnly;
+
+    private final NearestNeighbourIndex<PostListResponse> index = new NearestNeighbourIndex<>(MAX_SIMILAR);
+
+    // Guarded by itself: posts changed while a rebuild is in flight
+    private final Set<Long> changedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+
+    public SimilarVenueService(PostCardRepository postCardRepository,
+                               PostRepository postRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.postCardRepository = postCardRepository;
+        this.postRepository = postRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    /**
+     * @return up to {@code limit} nearest venues; empty if the post is not listed
+     */
+    public List<PostListResponse> getSimilar(Long postId, int limit) {
+        int clamped = Math.max(1, Math.min(limit, MAX_SIMILAR));
+        // Callers personalize the cards (likedByMe): hand out copies of the shared snapshots
+        return index.nearest(postId, clamped).stream()
+                .map(card -> card.toBuilder().build())
+                .toList();
+    }
+
+    public int rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (changedDuringRebuild) {
+            rebuilding = true;
+            changedDuringRebuild.clear();
+        }
+        int size;
+        try {
+            size = readOnly.execute(status -> buildIndex());
+        } finally {
+            List<Long> replay;
+            synchronized (changedDuringRebuild) {
+                rebuilding = false;
+                replay = new ArrayList<>(changedDuringRebuild);
+                changedDuringRebuild.clear();
+            }
+            replay.forEach(postId -> refresh(postId, true));
+        }
+
+        log.info("🧭 Similar-venue index built: {} venues in {} ms", size, System.currentTimeMillis() - start);
+        return size;
+    }
+
+    public void refresh(Long postId, boolean rerank) {
+        readOnly.executeWithoutResult(status -> patch(postId, rerank));
+    }
+
+    // Runs after PostCardProjector has refreshed the card
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        try {
+            synchronized (changedDuringRebuild) {
+                if (rebuilding) {
+                    changedDuringRebuild.add(event.getPostId());
+                }
+            }
+            PostChangedEvent.ChangeType type = event.getChangeType();
+            refresh(event.getPostId(),
+                    type != PostChangedEvent.ChangeType.COUNTERS && type != PostChangedEvent.ChangeType.BOOKINGS);
+        } catch (Exception e) {
+            log.error("❌ Failed to update similar-venue index for post {}: {}", event.getPostId(), e.getMessage(), e);
+        }
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("❌ Failed to build similar-venue index: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Picks up the nightly post_cards rebuild (next free dates).
+     */
+    @Scheduled(cron = "${app.similar-venues.rebuild-cron:0 20 0 * * *}")
+    public void scheduledRebuild() {
+        buildOnStartup();
+    }
+
+    private int buildIndex() {
+        Map<Long, List<String>> amenities = new HashMap<>();
+        for (Object[] row : postRepository.findPublishedAmenities()) {
+            amenities.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+
+        List<PostCard> cards = postCardRepository.findAllListable();
+        List<NearestNeighbourIndex.Item<PostListResponse>> items = new ArrayList<>(cards.size());
+        for (PostCard card : cards) {
+            items.add(new NearestNeighbourIndex.Item<>(card.getPostId(),
+                    encode(card, amenities.getOrDefault(card.getPostId(), List.of())),
+                    PostListResponse.fromReadModel(card)));
+        }
+        index.rebuild(items);
+        return items.size();
+    }
+
+    private void patch(Long postId, boolean rerank) {
+        PostCard card = postCardRepository.findById(postId)
+                .filter(SimilarVenueService::isListable)
+                .orElse(null);
+        if (card == null) {
+            index.remove(postId);
+            return;
+        }
+        if (!rerank && index.contains(postId)) {
+            index.updatePayload(postId, PostListResponse.fromReadModel(card));
+            return;
+        }
+        index.upsert(postId, encode(card, postRepository.findAmenitiesByPostId(postId)),
+                PostListResponse.fromReadModel(card));
+    }
+
+    private static float[] encode(PostCard card, Collection<String> amenities) {
+        return VenueFeatures.encode(card.getPrice(), card.getCapacity(), card.getStyle(),
+                amenities, card.getLocation(), card.getRating());
+    }
+
+    private static boolean isListable(PostCard card) {
+        return card.getStatus() == Post.PostStatus.PUBLISHED
+                && Boolean.TRUE.equals(card.getIsActive())
+                && !Boolean.TRUE.equals(card.getIsDeleted());
+    }
+}
@@ -0,0 +1,156 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.models.JobLease;
+import com.myapp.booking.repositories.JobLeaseRepository;
+import com.myapp.booking.repositories.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Background trending engine.
+ *
+ * Every run decays all stored scores by {@code exp(-ln2 * elapsed / halfLife)} and adds
+ * the weighted activity (views, likes, comments, bookings) each post gained since the
+ * previous run, measured as the growth of its counters. The result lives in the indexed
+ * {@code posts.trending_score} column, so the trending endpoint is a plain top-k index read.
+ *
+ * Runs on one instance at a time: each run takes the {@code trending} row of
+ * {@code job_leases} with a row lock and proceeds only if this instance owns the lease or
+ * it has expired, so scores are decayed and topped up once per interval however many
+ * instances are deployed. The owner renews the lease on every run and keeps the counter
+ * baselines in memory. The first run on a new owner (startup, or takeover after the previous
+ * owner stopped renewing) only records them; activity since the previous owner's last run
+ * is not scored. Decay always covers the time since the last run by any instance.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrendingService {
+
+    private static final double VIEW_WEIGHT = 0.2;
+    private static final double LIKE_WEIGHT = 3.0;
+    private static final double COMMENT_WEIGHT = 5.0;
+    private static final double BOOKING_WEIGHT = 10.0;
+    private static final double SCORE_FLOOR = 0.01;
+
+    private static final String ADD_SCORE = "UPDATE posts SET trending_score = trending_score + ? WHERE id = ?";
+
+    static final String JOB_NAME = "trending";
+
+    private final PostRepository postRepository;
+    private final JobLeaseRepository jobLeaseRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.trending.half-life-hours:48}")
+    private double halfLifeHours;
+
+    // Three missed runs at the default interval before another instance takes over
+    @Value("${app.trending.lease-ms:2700000}")
+    private long leaseMs = 2_700_000;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // postId -> [views, likes, comments, bookings] at this instance's previous run
+    private Map<Long, long[]> baselines = new HashMap<>();
+
+    @Scheduled(fixedDelayString = "${app.trending.refresh-interval-ms:900000}",
+            initialDelayString = "${app.trending.initial-delay-ms:60000}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.error("❌ Failed to refresh trending scores: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Decay the stored scores and add the activity since the previous run.
+     *
+     * @return number of posts whose score grew; 0 when another instance holds the lease
+     */
+    @Transactional
+    public synchronized int refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        JobLease lease = jobLeaseRepository.findByNameForUpdate(JOB_NAME).orElse(null);
+        if (lease != null && !instanceId.equals(lease.getOwner()) && lease.getLeaseUntil().isAfter(now)) {
+            log.debug("📈 Trending refresh skipped: lease held by instance {}", lease.getOwner());
+            return 0;
+        }
+        if (lease == null) {
+            lease = JobLease.builder().name(JOB_NAME).build();
+        }
+        if (!instanceId.equals(lease.getOwner())) {
+            // Baselines from before another owner's runs would score their activity twice
+            baselines = new HashMap<>();
+        }
+
+        List<Object[]> rows = postRepository.findPublishedCounters();
+
+        if (lease.getLastRunAt() != null) {
+            double elapsedHours = Duration.between(lease.getLastRunAt(), now).toMillis() / 3_600_000.0;
+            postRepository.decayTrendingScores(decayFactor(elapsedHours, halfLifeHours));
+        }
+
+        Map<Long, long[]> nextBaselines = new HashMap<>(rows.size() * 2);
+        List<Object[]> increments = new ArrayList<>();
+        for (Object[] row : rows) {
+            Long postId = (Long) row[0];
+            long[] counters = {toLong(row[1]), toLong(row[2]), toLong(row[3]), toLong(row[4])};
+            nextBaselines.put(postId, counters);
+
+            // Posts seen for the first time (startup, newly published) only get a baseline
+            long[] previous = baselines.get(postId);
+            if (previous != null) {
+                double gained = activityScore(previous, counters);
+                if (gained > 0) {
+                    increments.add(new Object[]{gained, postId});
+                }
+            }
+        }
+
+        if (!increments.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_SCORE, increments);
+        }
+        postRepository.clearNegligibleTrendingScores(SCORE_FLOOR);
+
+        baselines = nextBaselines;
+        lease.setOwner(instanceId);
+        lease.setLeaseUntil(now.plus(Duration.ofMillis(leaseMs)));
+        lease.setLastRunAt(now);
+        jobLeaseRepository.save(lease);
+        log.info("📈 Trending scores refreshed: {} posts scanned, {} gained activity", rows.size(), increments.size());
+        return increments.size();
+    }
+
+    static double decayFactor(double elapsedHours, double halfLifeHours) {
+        return Math.exp(-Math.log(2) * elapsedHours / halfLifeHours);
+    }
+
+    /**
+     * Weighted growth of the counters. Decreases (unlikes) count as no activity
+     * rather than negative activity.
+     */
+    static double activityScore(long[] previous, long[] current) {
+        return VIEW_WEIGHT * Math.max(0, current[0] - previous[0])
+                + LIKE_WEIGHT * Math.max(0, current[1] - previous[1])
+                + COMMENT_WEIGHT * Math.max(0, current[2] - previous[2])
+                + BOOKING_WEIGHT * Math.max(0, current[3] - previous[3]);
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
@@ -0,0 +1,190 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.dtos.responses.post.UniqueVisitorCounts;
+import com.myapp.booking.models.PostVisitorSketch;
+import com.myapp.booking.repositories.PostVisitorSketchRepository;
+import com.myapp.booking.utils.HyperLogLog;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Counts distinct visitors per post and day with HyperLogLog sketches.
+ *
+ * Visits go into in-memory sketches holding only what has not been persisted yet; the
+ * scheduled flush merges them into the stored (post, day) row and into the post's
+ * all-time row. Because merging is a register-wise max, re-applying a sketch is harmless
+ * and range counts are just the union of the daily rows. Reads touch at most the last
+ * 30 daily rows plus the all-time row, however old the post is.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UniqueVisitorService {
+
+    /**
+     * visit_date of the rolled-up all-time row of each post.
+     */
+    static final LocalDate ALL_TIME = LocalDate.EPOCH;
+
+    private static final int WINDOW_DAYS = 30;
+
+    private final PostVisitorSketchRepository sketchRepository;
+
+    private final Map<SketchKey, HyperLogLog> pending = new ConcurrentHashMap<>();
+
+    private record SketchKey(Long postId, LocalDate day) {
+    }
+
+    /**
+     * Build the visitor identity: the user id when logged in, otherwise IP + User-Agent.
+     * The key is only ever hashed into a sketch, never stored.
+     */
+    public static String visitorKey(Long userId, String clientIp, String userAgent) {
+        if (userId != null) {
+            return "u:" + userId;
+        }
+        return "a:" + clientIp + "|" + userAgent;
+    }
+
+    public void recordVisit(Long postId, String visitorKey) {
+        // compute() runs atomically with the flush's remove(), so no visit lands in a detached sketch
+        pending.compute(new SketchKey(postId, LocalDate.now()), (key, sketch) -> {
+            HyperLogLog target = sketch != null ? sketch : new HyperLogLog();
+            target.offer(visitorKey);
+            return target;
+        });
+    }
+
+    public UniqueVisitorCounts getCounts(Long postId) {
+        LocalDate today = LocalDate.now();
+        HyperLogLog day = new HyperLogLog();
+        HyperLogLog week = new HyperLogLog();
+        HyperLogLog month = new HyperLogLog();
+        HyperLogLog allTime = new HyperLogLog();
+
+        List<PostVisitorSketch> rows = sketchRepository.findByPostIdAndVisitDateGreaterThanEqual(
+                postId, today.minusDays(WINDOW_DAYS - 1));
+        Optional<PostVisitorSketch> rollup = sketchRepository.findByPostIdAndVisitDate(postId, ALL_TIME);
+        if (rollup.isPresent()) {
+            allTime.merge(HyperLogLog.fromBytes(rollup.get().getRegisters()));
+        } else {
+            // Not flushed since the all-time row was introduced: union the full history once more
+            sketchRepository.findByPostId(postId)
+                    .forEach(row -> allTime.merge(HyperLogLog.fromBytes(row.getRegisters())));
+        }
+
+        List<Map.Entry<LocalDate, HyperLogLog>> sketches = new ArrayList<>(rows.size() + 2);
+        for (PostVisitorSketch row : rows) {
+            sketches.add(Map.entry(row.getVisitDate(), HyperLogLog.fromBytes(row.getRegisters())));
+        }
+        pending.forEach((key, sketch) -> {
+            if (key.postId().equals(postId)) {
+                sketches.add(Map.entry(key.day(), snapshot(key)));
+            }
+        });
+
+        for (Map.Entry<LocalDate, HyperLogLog> entry : sketches) {
+            LocalDate date = entry.getKey();
+            HyperLogLog sketch = entry.getValue();
+            allTime.merge(sketch);
+            if (date.isAfter(today.minusDays(WINDOW_DAYS))) {
+                month.merge(sketch);
+            }
+            if (date.isAfter(today.minusDays(7))) {
+                week.merge(sketch);
+            }
+            if (date.equals(today)) {
+                day.merge(sketch);
+            }
+        }
+
+        return UniqueVisitorCounts.builder()
+                .today(day.cardinality())
+                .last7Days(week.cardinality())
+                .last30Days(month.cardinality())
+                .allTime(allTime.cardinality())
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${app.unique-visitors.flush-interval-ms:60000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Merge the pending sketches into their stored day rows and all-time rows.
+     *
+     * @return number of (post, day) rows written
+     */
+    public synchronized int flush() {
+        int written = 0;
+        for (SketchKey key : new ArrayList<>(pending.keySet())) {
+            HyperLogLog sketch = pending.remove(key);
+            if (sketch == null || sketch.isEmpty()) {
+                continue;
+            }
+            try {
+                // A failure after the day row is written re-applies both merges next time, harmlessly
+                mergeInto(key.postId(), key.day(), sketch, List::of);
+                mergeInto(key.postId(), ALL_TIME, sketch, () -> sketchRepository.findByPostId(key.postId()));
+                written++;
+            } catch (Exception e) {
+                pending.merge(key, sketch, (current, failed) -> {
+                    current.merge(failed);
+                    return current;
+                });
+                log.error("❌ Failed to persist visitor sketch for post {} on {}: {}",
+                        key.postId(), key.day(), e.getMessage());
+            }
+        }
+        if (written > 0) {
+            log.debug("👥 Persisted {} visitor sketches", written);
+        }
+        return written;
+    }
+
+    /**
+     * @param seed rows to fold into the stored row when it does not exist yet
+     */
+    private void mergeInto(Long postId, LocalDate day, HyperLogLog sketch, Supplier<List<PostVisitorSketch>> seed) {
+        HyperLogLog merged = sketch.copy();
+        PostVisitorSketch row = sketchRepository.findByPostIdAndVisitDate(postId, day)
+                .orElseGet(() -> {
+                    seed.get().forEach(existing -> merged.merge(HyperLogLog.fromBytes(existing.getRegisters())));
+                    return PostVisitorSketch.builder()
+                            .postId(postId)
+                            .visitDate(day)
+                            .build();
+                });
+        if (row.getRegisters() != null) {
+            merged.merge(HyperLogLog.fromBytes(row.getRegisters()));
+        }
+        row.setRegisters(merged.toBytes());
+        sketchRepository.save(row);
+    }
+
+    private HyperLogLog snapshot(SketchKey key) {
+        HyperLogLog[] copy = new HyperLogLog[1];
+        pending.computeIfPresent(key, (k, sketch) -> {
+            copy[0] = sketch.copy();
+            return sketch;
+        });
+        return copy[0] != null ? copy[0] : new HyperLogLog();
+    }
+}
@@ -0,0 +1,267 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.dtos.responses.CommentResponse;
+import com.myapp.booking.dtos.responses.MenuResponse;
+import com.myapp.booking.dtos.responses.RatingSummaryResponse;
+import com.myapp.booking.dtos.responses.SlotAvailabilityResponse;
+import com.myapp.booking.dtos.responses.post.PostResponse;
+import com.myapp.booking.dtos.responses.post.VenueDetailResponse;
+import com.myapp.booking.events.MenuChangedEvent;
+import com.myapp.booking.events.PostChangedEvent;
+import com.myapp.booking.services.interfaces.IPostService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Assembles the venue screen (post, menus, newest comments, rating summary and the next
+ * two weeks of availability) with one request instead of five.
+ *
+ * The parts are fetched concurrently on the bounded {@code venueDetailExecutor}, each with
+ * its own timeout. The post is required; any other part that fails, times out or is rejected
+ * by a full pool is left out and reported in {@code missingParts}. A part that times out, or is no longer needed
+ * because the post failed, is cancelled: its worker is interrupted, or it never starts if
+ * it is still queued. Complete responses are kept for a few seconds
+ * so a burst of opens of the same venue is served from memory.
+ */
+@Slf4j
+@Service
+public class VenueDetailService {
+
+    static final String MENUS = "menus";
+    static final String COMMENTS = "latestComments";
+    static final String RATING = "rating";
+    static final String AVAILABILITY = "availability";
+
+    static final int AVAILABILITY_DAYS = 14;
+    static final int LATEST_COMMENTS = 5;
+
+    private static final int MAX_CACHED_VENUES = 1_000;
+
+    private final IPostService postService;
+    private final MenuService menuService;
+    private final CommentService commentService;
+    private final BookingService bookingService;
+    private final PostLikeService postLikeService;
+    private final Executor executor;
+
+    private final Map<Long, CachedDetail> cache = new ConcurrentHashMap<>();
+
+    @Value("${app.venue-detail.part-timeout-ms:800}")
+    private long partTimeoutMs = 800;
+
+    @Value("${app.venue-detail.cache-ttl-ms:10000}")
+    private long cacheTtlMs = 10_000;
+
+    public VenueDetailService(IPostService postService,
+                              MenuService menuService,
+                              CommentService commentService,
+                              BookingService bookingService,
+                              PostLikeService postLikeService,
+                              @Qualifier("venueDetailExecutor") Executor executor) {
+        this.postService = postService;
+        this.menuService = menuService;
+        this.commentService = commentService;
+        this.bookingService = bookingService;
+        this.postLikeService = postLikeService;
+        this.executor = executor;
+    }
+
+    public VenueDetailResponse getVenueDetail(Long postId, Long userId) {
+        VenueDetailResponse detail = cachedDetail(postId);
+        if (detail == null) {
+            detail = assemble(postId);
+            if (detail.getMissingParts().isEmpty()) {
+                cache(postId, detail);
+            }
+        }
+        return personalize(detail, postLikeService.isLikedBy(postId, userId));
+    }
+
+    public long getCacheTtlMs() {
+        return cacheTtlMs;
+    }
+
+    /**
+     * @return a copy of the post part of a live cached detail, without assembling one
+     */
+    public Optional<PostResponse> cachedPost(Long postId) {
+        VenueDetailResponse detail = cachedDetail(postId);
+        if (detail == null || detail.getPost() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(detail.getPost().toBuilder().build());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        cache.remove(event.getPostId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        cache.remove(event.getPostId());
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // FAN-OUT
+    // ═══════════════════════════════════════════════════════════════
+
+    private VenueDetailResponse assemble(Long postId) {
+        long start = System.nanoTime();
+        LocalDate today = LocalDate.now();
+
+        CompletableFuture<PostResponse> post = part(() -> postService.getPostById(postId));
+        CompletableFuture<List<MenuResponse>> menus = part(() -> menuService.getMenusByPost(postId));
+        CompletableFuture<List<CommentResponse>> comments =
+                part(() -> commentService.getLatestComments(postId, LATEST_COMMENTS));
+        CompletableFuture<RatingSummaryResponse> rating = part(() -> commentService.getRatingSummary(postId));
+        CompletableFuture<List<SlotAvailabilityResponse>> availability =
+                part(() -> bookingService.getSlotAvailabilityRange(postId, today, AVAILABILITY_DAYS));
+
+        // Without the post there is nothing to show: its failure (e.g. 404) is the response
+        PostResponse postResponse;
+        try {
+            postResponse = required(post);
+        } catch (RuntimeException e) {
+            List.of(menus, comments, rating, availability).forEach(part -> part.cancel(true));
+            throw e;
+        }
+
+        List<String> missing = new ArrayList<>();
+        VenueDetailResponse detail = VenueDetailResponse.builder()
+                .post(postResponse)
+                .menus(optional(menus, MENUS, postId, missing))
+                .latestComments(optional(comments, COMMENTS, postId, missing))
+                .rating(optional(rating, RATING, postId, missing))
+                .availability(optional(availability, AVAILABILITY, postId, missing))
+                .missingParts(missing)
+                .build();
+
+        log.info("🧩 Venue detail {} assembled in {} ms{}", postId,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                missing.isEmpty() ? "" : " (missing " + missing + ")");
+        return detail;
+    }
+
+    // supplyAsync cannot stop its task: cancelling or timing out the future would leave the
+    // query running on a pool thread. A FutureTask can be interrupted, so any exceptional
+    // completion of the result (timeout, cancel) is passed on to it
+    private <T> CompletableFuture<T> part(Supplier<T> supplier) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        FutureTask<T> task = new FutureTask<>(supplier::get) {
+            @Override
+            protected void done() {
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    result.complete(get());
+                } catch (ExecutionException e) {
+                    result.completeExceptionally(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    result.completeExceptionally(e);
+                }
+            }
+        };
+        result.whenComplete((value, error) -> {
+            if (error != null) {
+                task.cancel(true);
+            }
+        });
+        result.orTimeout(partTimeoutMs, TimeUnit.MILLISECONDS);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Pool and queue are full: fail the part now rather than run it on the request thread
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private static <T> T required(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static <T> T optional(CompletableFuture<T> future, String name, Long postId, List<String> missing) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                log.warn("⚠️ Venue detail {}: {} timed out", postId, name);
+            } else if (e.getCause() instanceof RejectedExecutionException) {
+                log.warn("⚠️ Venue detail {}: {} rejected, fan-out pool is full", postId, name);
+            } else {
+                log.warn("⚠️ Venue detail {}: {} failed: {}", postId, name, e.getCause().getMessage());
+            }
+            missing.add(name);
+            return null;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // SHORT-TTL CACHE
+    // ═══════════════════════════════════════════════════════════════
+
+    private VenueDetailResponse cachedDetail(Long postId) {
+        CachedDetail cached = cache.get(postId);
+        if (cached == null || cached.expiresAt() <= System.currentTimeMillis()) {
+            return null;
+        }
+        return cached.detail();
+    }
+
+    private void cache(Long postId, VenueDetailResponse detail) {
+        long now = System.currentTimeMillis();
+        if (cache.size() >= MAX_CACHED_VENUES) {
+            cache.values().removeIf(cached -> cached.expiresAt() <= now);
+            if (cache.size() >= MAX_CACHED_VENUES) {
+                return;
+            }
+        }
+        cache.put(postId, new CachedDetail(detail, now + cacheTtlMs));
+    }
+
+    // Cached responses are shared: the per-user flag goes on a copy
+    private static VenueDetailResponse personalize(VenueDetailResponse detail, boolean likedByMe) {
+        return VenueDetailResponse.builder()
+                .post(detail.getPost())
+                .menus(detail.getMenus())
+                .latestComments(detail.getLatestComments())
+                .rating(detail.getRating())
+                .availability(detail.getAvailability())
+                .likedByMe(likedByMe)
+                .missingParts(detail.getMissingParts())
+                .build();
+    }
+
+    private record CachedDetail(VenueDetailResponse detail, long expiresAt) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.events.BookingCompletedEvent;
+import com.myapp.booking.repositories.BookingRepository;
+import com.myapp.booking.utils.SortedLongSet;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Every (user, venue) pair with a COMPLETED booking, packed into one long per pair and
+ * held in a {@link SortedLongSet}: 8 bytes per pair and a binary search per lookup, so
+ * "has this user stayed here?" never reaches the database.
+ *
+ * COMPLETED is final (completed bookings cannot be cancelled or deleted), so the set only
+ * grows: loaded once at startup, then one pair added after each committed completion.
+ * Ids that do not fit in 32 bits, and lookups before the load finished, go to the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VerifiedBookingIndex {
+
+    private static final String COMPLETED = "COMPLETED";
+    private static final long ID_LIMIT = 1L << 32;
+
+    private final BookingRepository bookingRepository;
+
+    private volatile SortedLongSet pairs = SortedLongSet.empty();
+    private volatile boolean loaded;
+
+    public boolean hasCompletedBooking(Long userId, Long postId) {
+        if (userId == null || postId == null) {
+            return false;
+        }
+        if (!loaded || !packable(userId, postId)) {
+            return bookingRepository.existsByUserIdAndPostIdAndStatus(userId, postId, COMPLETED);
+        }
+        return pairs.contains(pack(userId, postId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            load();
+        } catch (Exception e) {
+            log.error("❌ Failed to load verified-booking index: {}", e.getMessage(), e);
+        }
+    }
+
+    public void load() {
+        long start = System.currentTimeMillis();
+        List<Object[]> rows = bookingRepository.findCompletedUserPostPairs();
+        long[] keys = new long[rows.size()];
+        int size = 0;
+        for (Object[] row : rows) {
+            Long userId = (Long) row[0];
+            Long postId = (Long) row[1];
+            if (userId != null && postId != null && packable(userId, postId)) {
+                keys[size++] = pack(userId, postId);
+            }
+        }
+        SortedLongSet fromDatabase = SortedLongSet.of(Arrays.copyOf(keys, size));
+
+        // Keep pairs added by completions that committed while the query ran
+        synchronized (this) {
+            SortedLongSet merged = fromDatabase;
+            for (long key : pairs.toArray()) {
+                merged = merged.with(key);
+            }
+            pairs = merged;
+            loaded = true;
+        }
+        log.info("✅ Verified-booking index loaded: {} pairs in {} ms", pairs.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookingCompleted(BookingCompletedEvent event) {
+        if (event.getUserId() == null || event.getPostId() == null
+                || !packable(event.getUserId(), event.getPostId())) {
+            return;
+        }
+        synchronized (this) {
+            pairs = pairs.with(pack(event.getUserId(), event.getPostId()));
+        }
+    }
+
+    int size() {
+        return pairs.size();
+    }
+
+    private static boolean packable(long userId, long postId) {
+        return userId >= 0 && userId < ID_LIMIT && postId >= 0 && postId < ID_LIMIT;
+    }
+
+    // User id in the high half, post id in the low half; both checked by packable first
+    private static long pack(long userId, long postId) {
+        return (userId << 32) | postId;
+    }
+}
@@ -7,11 +7,13 @@ import com.myapp.booking.dtos.responses.post.PostStatisticsResponse;
 import com.myapp.booking.dtos.responses.VendorStatisticsResponse;
 import com.myapp.booking.dtos.responses.post.PostResponse;
 import com.myapp.booking.dtos.responses.post.PostListResponse;
+import com.myapp.booking.dtos.responses.post.PostFeedResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 public interface IPostService {
@@ -28,12 +30,18 @@ public interface IPostService {
     // Get post by id
     PostResponse getPostById(Long postId);
 
+    // Get several posts in one round of queries; unknown or deleted ids are left out
+    List<PostResponse> getPostsByIds(Collection<Long> postIds);
+
     // Get all posts (for admin)
     Page<PostListResponse> getAllPosts(Pageable pageable);
 
     // Get published posts (for customers)
     Page<PostListResponse> getPublishedPosts(Pageable pageable);
 
+    // Cursor-paginated feed of published posts (keyset, no count query)
+    PostFeedResponse getFeed(String sortBy, String sortDir, String cursor, int size);
+
     // Get posts by vendor
     Page<PostListResponse> getPostsByVendor(Long vendorId, Pageable pageable);
 
@@ -55,15 +63,26 @@ public interface IPostService {
     // Filter posts by style
     Page<PostListResponse> filterByStyle(String style, Pageable pageable);
 
-    // Get popular posts
-    Page<PostListResponse> getPopularPosts(Pageable pageable);
+    // Get popular posts: the top `limit` by view count. Unpaged, with no total count
+    // (formerly Page<PostListResponse> getPopularPosts(Pageable))
+    List<PostListResponse> getPopularPosts(int limit);
+
+    // Get trending posts: the top `limit` by trending score. Unpaged, with no total count
+    // (formerly Page<PostListResponse> getTrendingPosts(Pageable))
+    List<PostListResponse> getTrendingPosts(int limit);
 
-    // Get trending posts
-    Page<PostListResponse> getTrendingPosts(Pageable pageable);
+    // Get newest published posts
+    List<PostListResponse> getLatestPosts(int limit);
+
+    // Get best rated posts
+    List<PostListResponse> getTopRatedPosts(int limit);
 
     // Increment view count
     void incrementViewCount(Long postId);
 
+    // Increment view count and record the visitor for unique-visitor statistics
+    void incrementViewCount(Long postId, String visitorKey);
+
     // Toggle like
     void toggleLike(Long postId, Long userId);
 
@@ -0,0 +1,56 @@
+package com.myapp.booking.utils;
+
+import com.myapp.booking.enums.CommentSort;
+import com.myapp.booking.exceptions.BadRequestException;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for a post's reviews: the post, the sort and the (value, id) of
+ * the last review served, encoded as URL-safe base64 like {@link FeedCursor}.
+ */
+@Getter
+public final class CommentCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final Long postId;
+    private final CommentSort sort;
+    private final Object lastValue;
+    private final Long lastId;
+
+    public CommentCursor(Long postId, CommentSort sort, Object lastValue, Long lastId) {
+        this.postId = postId;
+        this.sort = sort;
+        this.lastValue = lastValue;
+        this.lastId = lastId;
+    }
+
+    public String encode() {
+        String raw = postId + SEPARATOR + sort.name() + SEPARATOR + lastId + SEPARATOR + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CommentCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The value is the last part, so split at most four ways
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            CommentSort sort = CommentSort.valueOf(parts[1]);
+            return new CommentCursor(Long.valueOf(parts[0]), sort, sort.parseValue(parts[3]), Long.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid comment cursor", e);
+        }
+    }
+
+    /**
+     * Reject a cursor that was issued for another post or ordering than the one requested.
+     */
+    public void requireOrdering(Long expectedPostId, CommentSort expectedSort) {
+        if (!postId.equals(expectedPostId) || sort != expectedSort) {
+            throw new BadRequestException("Comment cursor does not match the requested post or ordering");
+        }
+    }
+}
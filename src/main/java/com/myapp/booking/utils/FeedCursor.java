@@ -0,0 +1,59 @@
+package com.myapp.booking.utils;
+
+import com.myapp.booking.enums.PostFeedSort;
+import com.myapp.booking.exceptions.BadRequestException;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor: the sort, its direction and the (value, id) of the last row
+ * served, encoded as URL-safe base64. Clients must treat it as a token.
+ */
+@Getter
+public final class FeedCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final PostFeedSort sort;
+    private final boolean ascending;
+    private final Object lastValue;
+    private final Long lastId;
+
+    public FeedCursor(PostFeedSort sort, boolean ascending, Object lastValue, Long lastId) {
+        this.sort = sort;
+        this.ascending = ascending;
+        this.lastValue = lastValue;
+        this.lastId = lastId;
+    }
+
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + (ascending ? "asc" : "desc") + SEPARATOR + lastId
+                + SEPARATOR + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static FeedCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The value is the last part, so split at most four ways
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            PostFeedSort sort = PostFeedSort.valueOf(parts[0]);
+            boolean ascending = "asc".equals(parts[1]);
+            Long lastId = Long.valueOf(parts[2]);
+            return new FeedCursor(sort, ascending, sort.parseValue(parts[3]), lastId);
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid feed cursor", e);
+        }
+    }
+
+    /**
+     * Reject a cursor that was issued for a different ordering than the one requested.
+     */
+    public void requireOrdering(PostFeedSort expectedSort, boolean expectedAscending) {
+        if (sort != expectedSort || ascending != expectedAscending) {
+            throw new BadRequestException("Feed cursor does not match the requested ordering");
+        }
+    }
+}
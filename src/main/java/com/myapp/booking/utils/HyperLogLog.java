@@ -0,0 +1,121 @@
+package com.myapp.booking.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * HyperLogLog cardinality sketch with 2^12 one-byte registers (4 KB, ~1.6% standard error).
+ *
+ * Not thread-safe; callers synchronize on the instance. Sketches with the same precision
+ * merge losslessly (register-wise max), so daily sketches can be rolled up into any range.
+ */
+public class HyperLogLog {
+
+    public static final int PRECISION = 12;
+    private static final int REGISTER_COUNT = 1 << PRECISION;
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this.registers = new byte[REGISTER_COUNT];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    public void offer(String value) {
+        offerHash(hash64(value));
+    }
+
+    public void offerHash(long hash) {
+        int index = (int) (hash >>> (64 - PRECISION));
+        // Leading zeros of the remaining bits, +1; the sentinel bit caps the rank at 64 - p + 1
+        long rest = (hash << PRECISION) | (1L << (PRECISION - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTER_COUNT; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public long cardinality() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+
+        double alpha = 0.7213 / (1 + 1.079 / REGISTER_COUNT);
+        double estimate = alpha * REGISTER_COUNT * REGISTER_COUNT / sum;
+
+        // Small-range correction (linear counting); 64-bit hashes need no large-range one
+        if (estimate <= 2.5 * REGISTER_COUNT && zeros > 0) {
+            estimate = REGISTER_COUNT * Math.log((double) REGISTER_COUNT / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public boolean isEmpty() {
+        for (byte register : registers) {
+            if (register != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public HyperLogLog copy() {
+        return new HyperLogLog(registers.clone());
+    }
+
+    public byte[] toBytes() {
+        return registers.clone();
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != REGISTER_COUNT) {
+            throw new IllegalArgumentException("Expected " + REGISTER_COUNT + " HyperLogLog registers, got "
+                    + (bytes == null ? "null" : bytes.length));
+        }
+        return new HyperLogLog(bytes.clone());
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 fmix64 avalanche
+     * so that both the register index (high bits) and the rank are well distributed.
+     */
+    static long hash64(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= (b & 0xff);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof HyperLogLog other && Arrays.equals(registers, other.registers);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(registers);
+    }
+}
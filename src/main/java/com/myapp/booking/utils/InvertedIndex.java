@@ -0,0 +1,181 @@
+package com.myapp.booking.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * In-memory full-text index over documents identified by a long id, ranked with BM25.
+ * Text goes through {@link TextAnalyzer}, so matching ignores case and accents.
+ *
+ * Each term keeps its postings as parallel sorted arrays (doc id, term frequency), so a
+ * multi-word query walks the rarest term's postings and binary-searches the others. Every
+ * query word must appear in a hit. Documents can be added, replaced and removed one at a
+ * time; all methods are synchronized.
+ */
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private long totalLength;
+
+    public record Hit(long docId, double score) {
+    }
+
+    public record Hits(List<Hit> hits, int total) {
+    }
+
+    /**
+     * Index {@code text} under {@code docId}, replacing whatever was indexed for it before.
+     */
+    public synchronized void put(long docId, String text) {
+        remove(docId);
+        List<String> tokens = TextAnalyzer.tokens(text);
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        String[] terms = new String[frequencies.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new Postings()).put(docId, entry.getValue());
+            terms[i++] = entry.getKey();
+        }
+        docs.put(docId, new Doc(terms, tokens.size()));
+        totalLength += tokens.size();
+    }
+
+    public synchronized void remove(long docId) {
+        Doc doc = docs.remove(docId);
+        if (doc == null) {
+            return;
+        }
+        for (String term : doc.terms()) {
+            Postings list = postings.get(term);
+            list.remove(docId);
+            if (list.size == 0) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= doc.length();
+    }
+
+    /**
+     * Documents containing every word of {@code query}, best first (ties: higher id first).
+     *
+     * @param offset hits to skip
+     * @param limit  hits to return
+     */
+    public synchronized Hits search(String query, int offset, int limit) {
+        List<String> terms = TextAnalyzer.tokens(query).stream().distinct().toList();
+        if (terms.isEmpty() || limit <= 0) {
+            return new Hits(List.of(), 0);
+        }
+        Postings[] lists = new Postings[terms.size()];
+        for (int t = 0; t < lists.length; t++) {
+            lists[t] = postings.get(terms.get(t));
+            if (lists[t] == null) {
+                return new Hits(List.of(), 0);
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+        int n = docs.size();
+        double averageLength = (double) totalLength / n;
+        double[] idf = new double[lists.length];
+        for (int t = 0; t < lists.length; t++) {
+            idf[t] = Math.log(1 + (n - lists[t].size + 0.5) / (lists[t].size + 0.5));
+        }
+
+        // Min-heap of the best offset + limit hits seen so far
+        Comparator<Hit> ranking = Comparator.comparingDouble(Hit::score).thenComparingLong(Hit::docId);
+        int keep = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        PriorityQueue<Hit> best = new PriorityQueue<>(Math.min(keep, 1024) + 1, ranking);
+        int total = 0;
+
+        Postings rarest = lists[0];
+        for (int i = 0; i < rarest.size; i++) {
+            long docId = rarest.ids[i];
+            double norm = K1 * (1 - B + B * docs.get(docId).length() / averageLength);
+            double score = idf[0] * termScore(rarest.tfs[i], norm);
+            boolean all = true;
+            for (int t = 1; t < lists.length && all; t++) {
+                int tf = lists[t].frequency(docId);
+                all = tf > 0;
+                score += idf[t] * termScore(tf, norm);
+            }
+            if (!all) {
+                continue;
+            }
+            total++;
+            best.offer(new Hit(docId, score));
+            if (best.size() > keep) {
+                best.poll();
+            }
+        }
+
+        List<Hit> ranked = new ArrayList<>(best);
+        ranked.sort(ranking.reversed());
+        List<Hit> page = offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size());
+        return new Hits(List.copyOf(page), total);
+    }
+
+    public synchronized int size() {
+        return docs.size();
+    }
+
+    private static double termScore(int tf, double norm) {
+        return tf * (K1 + 1) / (tf + norm);
+    }
+
+    private record Doc(String[] terms, int length) {
+    }
+
+    // Doc ids kept sorted; comment ids grow, so new documents are almost always appended
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int[] tfs = new int[4];
+        private int size;
+
+        void put(long docId, int tf) {
+            int index = Arrays.binarySearch(ids, 0, size, docId);
+            if (index >= 0) {
+                tfs[index] = tf;
+                return;
+            }
+            int insertAt = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                tfs = Arrays.copyOf(tfs, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(tfs, insertAt, tfs, insertAt + 1, size - insertAt);
+            ids[insertAt] = docId;
+            tfs[insertAt] = tf;
+            size++;
+        }
+
+        void remove(long docId) {
+            int index = Arrays.binarySearch(ids, 0, size, docId);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(tfs, index + 1, tfs, index, size - index - 1);
+            size--;
+        }
+
+        int frequency(long docId) {
+            int index = Arrays.binarySearch(ids, 0, size, docId);
+            return index >= 0 ? tfs[index] : 0;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.myapp.booking.utils;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Brings a managed list up to date with a target list by mutating it in place.
+ * For an {@code @OrderColumn} collection Hibernate then writes one UPDATE per changed
+ * position, one INSERT per added tail position and one DELETE per removed tail
+ * position, instead of deleting and reinserting every row as a replaced list would.
+ */
+public final class ListSync {
+
+    private ListSync() {
+    }
+
+    /**
+     * @return {@code false} when the lists were already equal and nothing was touched
+     */
+    public static <T> boolean syncInPlace(List<T> current, List<T> target) {
+        if (current.equals(target)) {
+            return false;
+        }
+        int common = Math.min(current.size(), target.size());
+        for (int i = 0; i < common; i++) {
+            T wanted = target.get(i);
+            if (!Objects.equals(current.get(i), wanted)) {
+                current.set(i, wanted);
+            }
+        }
+        if (target.size() > common) {
+            current.addAll(target.subList(common, target.size()));
+        } else {
+            current.subList(common, current.size()).clear();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,133 @@
+package com.myapp.booking.utils;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Least-recently-used map that loads missing entries outside its lock.
+ *
+ * A key being loaded has a version, kept only while a load for it is in flight. Every
+ * change to the key's source data ({@link #invalidate}, {@link #update}, {@link #changed})
+ * bumps it under the lock. A load records the version before it starts and stores its value
+ * only if the key did not change meanwhile, so a reader that saw the old data cannot put it
+ * back after a writer has evicted or patched the entry. Such a load is still returned to its
+ * own caller; changes to other keys never keep a load from being stored.
+ *
+ * The capacity is read on every insert, so it can come from a field injected after
+ * construction; zero or less keeps nothing.
+ */
+public class LoadingLruCache<K, V> {
+
+    private final IntSupplier capacity;
+    private final Map<K, V> entries;
+    private final Map<K, Load> loading = new HashMap<>();
+
+    public LoadingLruCache(IntSupplier capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > capacity.getAsInt();
+            }
+        };
+    }
+
+    /**
+     * @param loader called without the lock on a miss; its exceptions reach the caller
+     * @return the cached value, or the loaded one (which may not have been stored)
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Load load;
+        long seen;
+        synchronized (entries) {
+            V cached = entries.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            load = loading.computeIfAbsent(key, k -> new Load());
+            load.callers++;
+            seen = load.version;
+        }
+
+        V loaded;
+        try {
+            loaded = loader.apply(key);
+        } catch (RuntimeException | Error e) {
+            synchronized (entries) {
+                release(key, load);
+            }
+            throw e;
+        }
+        synchronized (entries) {
+            release(key, load);
+            // A concurrent load that was stored is the copy later changes are applied to
+            V raced = entries.get(key);
+            if (raced != null) {
+                return raced;
+            }
+            if (load.version == seen && capacity.getAsInt() > 0) {
+                entries.put(key, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            changing(key);
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Replaces a cached value with {@code patch} applied to it; absent keys stay absent.
+     */
+    public void update(K key, UnaryOperator<V> patch) {
+        synchronized (entries) {
+            changing(key);
+            entries.computeIfPresent(key, (k, value) -> patch.apply(value));
+        }
+    }
+
+    /**
+     * Records a change for a value that is patched in place by the caller.
+     *
+     * @return the cached value to patch, or null if there is none
+     */
+    public V changed(K key) {
+        synchronized (entries) {
+            changing(key);
+            return entries.get(key);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // Callers hold the lock on entries
+    private void changing(K key) {
+        Load load = loading.get(key);
+        if (load != null) {
+            load.version++;
+        }
+    }
+
+    private void release(K key, Load load) {
+        if (--load.callers == 0) {
+            loading.remove(key);
+        }
+    }
+
+    // Loads in flight for one key: the key's version and how many callers share it
+    private static final class Load {
+        long version;
+        int callers;
+    }
+}
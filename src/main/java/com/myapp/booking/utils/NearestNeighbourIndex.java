@@ -0,0 +1,249 @@
+package com.myapp.booking.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exact k-nearest-neighbour lists for a set of vectors, precomputed so a lookup is a map
+ * read. Neighbours are ordered by squared Euclidean distance, ties by id.
+ *
+ * A full build is O(n² · d). {@link #upsert} and {@link #remove} keep every list exact in
+ * O(n · d): the changed item is compared against each other item once, and a list is only
+ * recomputed from scratch when the item leaves its boundary (an unknown candidate outside
+ * the list could then take its place).
+ *
+ * Writers are serialized; readers never lock and see each neighbour list either before or
+ * after an update.
+ */
+public class NearestNeighbourIndex<T> {
+
+    private final int k;
+    private volatile Map<Long, Item<T>> items = new ConcurrentHashMap<>();
+    private volatile Map<Long, Neighbours> neighbours = new ConcurrentHashMap<>();
+
+    public NearestNeighbourIndex(int k) {
+        this.k = k;
+    }
+
+    public record Item<T>(long id, float[] vector, T payload) {
+    }
+
+    public synchronized void rebuild(Collection<Item<T>> all) {
+        Map<Long, Item<T>> nextItems = new ConcurrentHashMap<>(all.size() * 2);
+        all.forEach(item -> nextItems.put(item.id(), item));
+        Map<Long, Neighbours> nextNeighbours = new ConcurrentHashMap<>(all.size() * 2);
+        for (Item<T> item : nextItems.values()) {
+            nextNeighbours.put(item.id(), exactNeighbours(item, nextItems.values()));
+        }
+        items = nextItems;
+        neighbours = nextNeighbours;
+    }
+
+    public synchronized void upsert(long id, float[] vector, T payload) {
+        Item<T> item = new Item<>(id, vector, payload);
+        Item<T> previous = items.put(id, item);
+        if (previous != null && Arrays.equals(previous.vector(), vector)) {
+            return;
+        }
+
+        neighbours.put(id, exactNeighbours(item, items.values()));
+        for (Item<T> other : items.values()) {
+            if (other.id() == id) {
+                continue;
+            }
+            Neighbours current = neighbours.get(other.id());
+            Neighbours updated = current.reinsert(id, squaredDistance(other.vector(), vector), k);
+            if (updated == null) {
+                updated = exactNeighbours(other, items.values());
+            }
+            if (updated != current) {
+                neighbours.put(other.id(), updated);
+            }
+        }
+    }
+
+    public synchronized void remove(long id) {
+        if (items.remove(id) == null) {
+            return;
+        }
+        neighbours.remove(id);
+        for (Item<T> other : items.values()) {
+            Neighbours current = neighbours.get(other.id());
+            int position = current.indexOf(id);
+            if (position < 0) {
+                continue;
+            }
+            // A full list may have a candidate waiting outside it: recompute
+            neighbours.put(other.id(), current.ids.length == k
+                    ? exactNeighbours(other, items.values())
+                    : current.without(position));
+        }
+    }
+
+    /**
+     * Replace the payload of an item without re-ranking (its vector did not change).
+     * Locked like the other writers so it cannot land on a map {@link #rebuild} is replacing.
+     */
+    public synchronized void updatePayload(long id, T payload) {
+        items.computeIfPresent(id, (key, item) -> new Item<>(id, item.vector(), payload));
+    }
+
+    public List<T> nearest(long id, int limit) {
+        Neighbours list = neighbours.get(id);
+        if (list == null) {
+            return List.of();
+        }
+        List<T> result = new ArrayList<>(Math.min(limit, list.ids.length));
+        for (int i = 0; i < list.ids.length && result.size() < limit; i++) {
+            Item<T> item = items.get(list.ids[i]);
+            if (item != null) {
+                result.add(item.payload());
+            }
+        }
+        return result;
+    }
+
+    public boolean contains(long id) {
+        return items.containsKey(id);
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    long[] nearestIds(long id) {
+        Neighbours list = neighbours.get(id);
+        return list != null ? list.ids.clone() : new long[0];
+    }
+
+    /**
+     * Brute-force answer for the current items, bypassing the precomputed lists.
+     */
+    long[] exactNearestIds(long id) {
+        Item<T> item = items.get(id);
+        return item != null ? exactNeighbours(item, items.values()).ids : new long[0];
+    }
+
+    private Neighbours exactNeighbours(Item<T> target, Collection<Item<T>> all) {
+        // Max-heap on (distance, id): the root is the current worst of the best k
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(k + 1,
+                (a, b) -> compare(b.distance(), b.id(), a.distance(), a.id()));
+        for (Item<T> other : all) {
+            if (other.id() == target.id()) {
+                continue;
+            }
+            float distance = squaredDistance(target.vector(), other.vector());
+            if (heap.size() < k) {
+                heap.add(new Candidate(other.id(), distance));
+            } else if (compare(distance, other.id(), heap.peek().distance(), heap.peek().id()) < 0) {
+                heap.poll();
+                heap.add(new Candidate(other.id(), distance));
+            }
+        }
+
+        int size = heap.size();
+        long[] ids = new long[size];
+        float[] distances = new float[size];
+        for (int i = size - 1; i >= 0; i--) {
+            Candidate candidate = heap.poll();
+            ids[i] = candidate.id();
+            distances[i] = candidate.distance();
+        }
+        return new Neighbours(ids, distances);
+    }
+
+    static float squaredDistance(float[] a, float[] b) {
+        float sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            float diff = a[i] - b[i];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    private static int compare(float distanceA, long idA, float distanceB, long idB) {
+        int byDistance = Float.compare(distanceA, distanceB);
+        return byDistance != 0 ? byDistance : Long.compare(idA, idB);
+    }
+
+    private record Candidate(long id, float distance) {
+    }
+
+    /**
+     * Immutable neighbour list sorted by (distance, id).
+     */
+    private static final class Neighbours {
+
+        private final long[] ids;
+        private final float[] distances;
+
+        private Neighbours(long[] ids, float[] distances) {
+            this.ids = ids;
+            this.distances = distances;
+        }
+
+        private int indexOf(long id) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Place {@code id} at its new distance.
+         *
+         * @return the updated list, {@code this} if unchanged, or null if the list has to be recomputed
+         */
+        private Neighbours reinsert(long id, float distance, int k) {
+            int position = indexOf(id);
+            boolean full = ids.length == k;
+            int last = ids.length - 1;
+            boolean beyondBoundary = full && compare(distance, id, distances[last], ids[last]) > 0;
+
+            if (position >= 0) {
+                if (beyondBoundary) {
+                    return null;
+                }
+                return without(position).with(id, distance);
+            }
+            if (beyondBoundary || (full && compare(distance, id, distances[last], ids[last]) == 0)) {
+                return this;
+            }
+            Neighbours inserted = with(id, distance);
+            return full ? inserted.without(k) : inserted;
+        }
+
+        private Neighbours with(long id, float distance) {
+            int at = 0;
+            while (at < ids.length && compare(distances[at], ids[at], distance, id) < 0) {
+                at++;
+            }
+            long[] nextIds = new long[ids.length + 1];
+            float[] nextDistances = new float[ids.length + 1];
+            System.arraycopy(ids, 0, nextIds, 0, at);
+            System.arraycopy(distances, 0, nextDistances, 0, at);
+            nextIds[at] = id;
+            nextDistances[at] = distance;
+            System.arraycopy(ids, at, nextIds, at + 1, ids.length - at);
+            System.arraycopy(distances, at, nextDistances, at + 1, ids.length - at);
+            return new Neighbours(nextIds, nextDistances);
+        }
+
+        private Neighbours without(int position) {
+            long[] nextIds = new long[ids.length - 1];
+            float[] nextDistances = new float[ids.length - 1];
+            System.arraycopy(ids, 0, nextIds, 0, position);
+            System.arraycopy(distances, 0, nextDistances, 0, position);
+            System.arraycopy(ids, position + 1, nextIds, position, ids.length - position - 1);
+            System.arraycopy(distances, position + 1, nextDistances, position, ids.length - position - 1);
+            return new Neighbours(nextIds, nextDistances);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.myapp.booking.utils;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable set of longs backed by a sorted primitive array: 8 bytes per element,
+ * O(log n) membership via binary search, no boxing.
+ *
+ * Updates return a new instance, so a published set can be read by any number of
+ * threads without locking.
+ */
+public final class SortedLongSet {
+
+    private static final SortedLongSet EMPTY = new SortedLongSet(new long[0]);
+
+    private final long[] values;
+
+    private SortedLongSet(long[] values) {
+        this.values = values;
+    }
+
+    public static SortedLongSet empty() {
+        return EMPTY;
+    }
+
+    public static SortedLongSet of(Collection<Long> values) {
+        long[] array = new long[values.size()];
+        int i = 0;
+        for (Long value : values) {
+            array[i++] = value;
+        }
+        return of(array);
+    }
+
+    public static SortedLongSet of(long... values) {
+        long[] array = values.clone();
+        Arrays.sort(array);
+        // Drop duplicates in place
+        int size = 0;
+        for (int i = 0; i < array.length; i++) {
+            if (size == 0 || array[size - 1] != array[i]) {
+                array[size++] = array[i];
+            }
+        }
+        return new SortedLongSet(size == array.length ? array : Arrays.copyOf(array, size));
+    }
+
+    public boolean contains(long value) {
+        return Arrays.binarySearch(values, value) >= 0;
+    }
+
+    public SortedLongSet with(long value) {
+        int index = Arrays.binarySearch(values, value);
+        if (index >= 0) {
+            return this;
+        }
+        int insertAt = -index - 1;
+        long[] next = new long[values.length + 1];
+        System.arraycopy(values, 0, next, 0, insertAt);
+        next[insertAt] = value;
+        System.arraycopy(values, insertAt, next, insertAt + 1, values.length - insertAt);
+        return new SortedLongSet(next);
+    }
+
+    public SortedLongSet without(long value) {
+        int index = Arrays.binarySearch(values, value);
+        if (index < 0) {
+            return this;
+        }
+        long[] next = new long[values.length - 1];
+        System.arraycopy(values, 0, next, 0, index);
+        System.arraycopy(values, index + 1, next, index, values.length - index - 1);
+        return new SortedLongSet(next);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    public long[] toArray() {
+        return values.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SortedLongSet other && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(values);
+    }
+}
@@ -0,0 +1,45 @@
+package com.myapp.booking.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Accent-insensitive text normalisation shared by feature encoding and search, so
+ * "Âm thanh", "am thanh" and "ÂM THANH" all compare equal.
+ */
+public final class TextAnalyzer {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private TextAnalyzer() {
+    }
+
+    /**
+     * Lower-case and strip Vietnamese accents (đ becomes d), keeping spacing and punctuation.
+     */
+    public static String foldAccents(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value.replace('đ', 'd').replace('Đ', 'D'), Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Folded words in order, split on anything that is not a letter or digit. Vietnamese
+     * words are single syllables here, so "âm thanh" gives [am, thanh].
+     */
+    public static List<String> tokens(String value) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(foldAccents(value))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
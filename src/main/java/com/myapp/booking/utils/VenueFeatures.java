@@ -0,0 +1,121 @@
+package com.myapp.booking.utils;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+/**
+ * Encodes a venue into a fixed-length weighted vector so that "similar" is plain squared
+ * Euclidean distance.
+ *
+ * Numeric attributes are scaled to [0, 1] with fixed bounds (not corpus statistics), so
+ * one venue can be re-encoded without touching the others. Style, city and amenities are
+ * hashed into small one-hot blocks; the amenity block is normalized so a venue listing
+ * twenty amenities is not automatically far from one listing five.
+ */
+public final class VenueFeatures {
+
+    private static final int STYLE_BUCKETS = 8;
+    private static final int CITY_BUCKETS = 16;
+    private static final int AMENITY_BUCKETS = 16;
+
+    private static final int PRICE = 0;
+    private static final int CAPACITY = 1;
+    private static final int RATING = 2;
+    private static final int STYLE_OFFSET = 3;
+    private static final int CITY_OFFSET = STYLE_OFFSET + STYLE_BUCKETS;
+    private static final int AMENITY_OFFSET = CITY_OFFSET + CITY_BUCKETS;
+
+    public static final int DIMENSIONS = AMENITY_OFFSET + AMENITY_BUCKETS;
+
+    // Relative importance of each attribute; applied once at encoding time
+    private static final float PRICE_WEIGHT = 2.0f;
+    private static final float CAPACITY_WEIGHT = 2.0f;
+    private static final float RATING_WEIGHT = 0.5f;
+    private static final float STYLE_WEIGHT = 1.0f;
+    private static final float CITY_WEIGHT = 1.5f;
+    private static final float AMENITY_WEIGHT = 1.0f;
+
+    // Price in VND on a log scale: 1M -> 0, 1B -> 1. Capacity: 0 -> 0, 2000 guests -> 1
+    private static final double MIN_PRICE_LOG10 = 6;
+    private static final double PRICE_LOG10_RANGE = 3;
+    private static final double MAX_CAPACITY_LOG = Math.log1p(2000);
+
+    private VenueFeatures() {
+    }
+
+    public static float[] encode(BigDecimal price,
+                                 Integer capacity,
+                                 String style,
+                                 Collection<String> amenities,
+                                 String location,
+                                 BigDecimal rating) {
+        float[] vector = new float[DIMENSIONS];
+
+        if (price != null && price.signum() > 0) {
+            vector[PRICE] = PRICE_WEIGHT * clamp((Math.log10(price.doubleValue()) - MIN_PRICE_LOG10) / PRICE_LOG10_RANGE);
+        }
+        if (capacity != null && capacity > 0) {
+            vector[CAPACITY] = CAPACITY_WEIGHT * clamp(Math.log1p(capacity) / MAX_CAPACITY_LOG);
+        }
+        if (rating != null) {
+            vector[RATING] = RATING_WEIGHT * clamp(rating.doubleValue() / 5.0);
+        }
+
+        String styleKey = fold(style);
+        if (!styleKey.isEmpty()) {
+            vector[STYLE_OFFSET + bucket(styleKey, STYLE_BUCKETS)] = STYLE_WEIGHT;
+        }
+
+        String city = city(location);
+        if (!city.isEmpty()) {
+            vector[CITY_OFFSET + bucket(city, CITY_BUCKETS)] = CITY_WEIGHT;
+        }
+
+        if (amenities != null && !amenities.isEmpty()) {
+            float[] counts = new float[AMENITY_BUCKETS];
+            for (String amenity : amenities) {
+                String key = fold(amenity);
+                if (!key.isEmpty()) {
+                    counts[bucket(key, AMENITY_BUCKETS)] += 1;
+                }
+            }
+            double norm = 0;
+            for (float count : counts) {
+                norm += count * count;
+            }
+            if (norm > 0) {
+                float scale = (float) (AMENITY_WEIGHT / Math.sqrt(norm));
+                for (int i = 0; i < AMENITY_BUCKETS; i++) {
+                    vector[AMENITY_OFFSET + i] = counts[i] * scale;
+                }
+            }
+        }
+        return vector;
+    }
+
+    /**
+     * The city is the last comma-separated part of the address ("12 Ly Thuong Kiet, Hoan Kiem, Ha Noi").
+     */
+    static String city(String location) {
+        if (location == null) {
+            return "";
+        }
+        int comma = location.lastIndexOf(',');
+        return fold(comma >= 0 ? location.substring(comma + 1) : location);
+    }
+
+    /**
+     * Lower-case, strip Vietnamese accents and whitespace so "Hà Nội" and "ha noi" match.
+     */
+    static String fold(String value) {
+        return TextAnalyzer.foldAccents(value).replaceAll("\\s+", "");
+    }
+
+    private static int bucket(String key, int buckets) {
+        return Math.floorMod(key.hashCode(), buckets);
+    }
+
+    private static float clamp(double value) {
+        return (float) Math.max(0, Math.min(1, value));
+    }
+}
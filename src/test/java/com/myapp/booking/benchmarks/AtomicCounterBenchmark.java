@@ -0,0 +1,104 @@
+package com.myapp.booking.benchmarks;
+
+import com.myapp.booking.enums.RoleName;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.models.Role;
+import com.myapp.booking.models.User;
+import com.myapp.booking.repositories.PostRepository;
+import com.myapp.booking.repositories.RoleRepository;
+import com.myapp.booking.repositories.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking counter increments on one post from 8 threads against H2: the atomic
+ * single-column UPDATE versus the old load-increment-save. Entity saves no longer write
+ * the counter, so the old path is replayed as the statements it issued (a read of the row,
+ * then an UPDATE with the value computed in memory). Only the atomic path keeps every increment.
+ *
+ * Not part of the test run. After {@code mvn test-compile}:
+ * <pre>
+ * mvn -q dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp "target/test-classes:target/classes:$(cat target/cp.txt)" \
+ *     com.myapp.booking.benchmarks.AtomicCounterBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class AtomicCounterBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private PostRepository postRepository;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate tx;
+    private Long postId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkDatabase.start("countersbench");
+        postRepository = context.getBean(PostRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        postId = tx.execute(status -> {
+            Role role = roleRepository.save(Role.builder().roleName(RoleName.VENDOR).build());
+            User vendor = userRepository.save(User.builder()
+                    .email("vendor@example.com")
+                    .password("secret")
+                    .fullName("Vendor")
+                    .role(role)
+                    .isActive(true)
+                    .isLocked(false)
+                    .failedLoginAttempts(0)
+                    .build());
+            return postRepository.save(Post.builder()
+                    .title("Grand Hall")
+                    .description("Description")
+                    .price(BigDecimal.valueOf(1000000))
+                    .vendor(vendor)
+                    .status(Post.PostStatus.PUBLISHED)
+                    .build()).getId();
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Integer atomicIncrement() {
+        return tx.execute(status -> postRepository.incrementBookingCount(postId));
+    }
+
+    @Benchmark
+    public Integer loadIncrementSave() {
+        return tx.execute(status -> {
+            Long count = jdbcTemplate.queryForObject("SELECT booking_count FROM posts WHERE id = ?", Long.class, postId);
+            return jdbcTemplate.update("UPDATE posts SET booking_count = ? WHERE id = ?", count + 1, postId);
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(AtomicCounterBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
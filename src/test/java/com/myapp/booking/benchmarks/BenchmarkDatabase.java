@@ -0,0 +1,66 @@
+package com.myapp.booking.benchmarks;
+
+import com.myapp.booking.models.Post;
+import com.myapp.booking.repositories.PostRepository;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * The JPA repositories over an in-memory H2 database in MySQL mode, for benchmarks that
+ * measure database round trips. Same database settings as
+ * {@link com.myapp.booking.support.H2JpaTest}, without the statement capture; nothing but
+ * the persistence layer is started.
+ */
+final class BenchmarkDatabase {
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({
+            DataSourceAutoConfiguration.class,
+            DataSourceTransactionManagerAutoConfiguration.class,
+            HibernateJpaAutoConfiguration.class,
+            JdbcTemplateAutoConfiguration.class,
+            TransactionAutoConfiguration.class
+    })
+    @EntityScan(basePackageClasses = Post.class)
+    @EnableJpaRepositories(basePackageClasses = PostRepository.class)
+    static class Persistence {
+    }
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * @param name database name; each benchmark uses its own so forks never share a schema
+     */
+    static ConfigurableApplicationContext start(String name) {
+        // Command-line arguments, so they win over the MySQL settings in application.properties
+        return new SpringApplicationBuilder(Persistence.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=jdbc:h2:mem:" + name
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,DAY;LOCK_TIMEOUT=30000",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.hikari.maximum-pool-size=16",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.tool.schema=ERROR",
+                        // Logs an error for every empty JSON list it reads, e.g. each comment's images
+                        "--logging.level.com.myapp.booking.configurations.JsonListConverter=OFF");
+    }
+}
@@ -0,0 +1,84 @@
+package com.myapp.booking.benchmarks;
+
+import com.myapp.booking.services.PricingSnapshot;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quote computation on a warm {@link PricingSnapshot} (the per-request cost once the post's
+ * snapshot is cached), with a menu, without one, and building a snapshot of 30 menus.
+ *
+ * Not part of the test run. After {@code mvn test-compile}:
+ * <pre>
+ * mvn -q dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp "target/test-classes:target/classes:$(cat target/cp.txt)" \
+ *     com.myapp.booking.benchmarks.BookingQuoteBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingQuoteBenchmark {
+
+    private static final int MENUS = 30;
+
+    private long[] menuIds;
+    private long[] prices;
+    private int[] guestsPerTable;
+    private PricingSnapshot snapshot;
+
+    // Advanced per call so the quote cannot be constant-folded (cheaper than Level.Invocation setup)
+    private int request;
+
+    @Setup
+    public void setUp() {
+        menuIds = new long[MENUS];
+        prices = new long[MENUS];
+        guestsPerTable = new int[MENUS];
+        for (int i = 0; i < MENUS; i++) {
+            menuIds[i] = 1_000 + i * 7L;
+            prices[i] = PricingSnapshot.toMinor(BigDecimal.valueOf(3_500_000L + i * 250_000L));
+            guestsPerTable[i] = 8 + i % 5;
+        }
+        snapshot = new PricingSnapshot(1L, "VND", new BigDecimal("450000.00"), 800, true,
+                menuIds, prices, guestsPerTable);
+    }
+
+    @Benchmark
+    public PricingSnapshot.Quote quoteWithMenu() {
+        int guests = nextGuests();
+        return snapshot.quote(menuIds[guests % MENUS], null, guests, null, 1_000_000_00L, 5_000_000_00L);
+    }
+
+    @Benchmark
+    public PricingSnapshot.Quote quotePerGuest() {
+        return snapshot.quote(null, null, nextGuests(), null, 0, 1_000_000_00L);
+    }
+
+    @Benchmark
+    public PricingSnapshot buildSnapshot() {
+        return new PricingSnapshot(1L, "VND", new BigDecimal("450000.00"), 800, true,
+                menuIds, prices, guestsPerTable);
+    }
+
+    private int nextGuests() {
+        request = (request + 37) % 700;
+        return 50 + request;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BookingQuoteBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
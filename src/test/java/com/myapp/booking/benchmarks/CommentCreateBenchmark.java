@@ -0,0 +1,134 @@
+package com.myapp.booking.benchmarks;
+
+import com.myapp.booking.dtos.requests.CreateCommentRequest;
+import com.myapp.booking.dtos.responses.CommentResponse;
+import com.myapp.booking.enums.RoleName;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.models.Role;
+import com.myapp.booking.models.User;
+import com.myapp.booking.repositories.BookingRepository;
+import com.myapp.booking.repositories.CommentRepository;
+import com.myapp.booking.repositories.PostRepository;
+import com.myapp.booking.repositories.RoleRepository;
+import com.myapp.booking.repositories.UserRepository;
+import com.myapp.booking.services.CommentService;
+import com.myapp.booking.services.VerifiedBookingIndex;
+import com.myapp.booking.support.CommentServiceBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Review creation from 8 concurrent reviewers on one post against H2: the insert plus the
+ * atomic post update, all threads contending for the same post row. After every review the
+ * reviewer removes it outside the measurement, so the next submit is accepted by the unique key.
+ *
+ * Not part of the test run. After {@code mvn test-compile}:
+ * <pre>
+ * mvn -q dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp "target/test-classes:target/classes:$(cat target/cp.txt)" \
+ *     com.myapp.booking.benchmarks.CommentCreateBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class CommentCreateBenchmark {
+
+    private final AtomicInteger users = new AtomicInteger();
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate tx;
+    private UserRepository userRepository;
+    private CommentService commentService;
+    private Role role;
+    private Long postId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkDatabase.start("commentcreatebench");
+        PostRepository postRepository = context.getBean(PostRepository.class);
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        VerifiedBookingIndex verifiedBookingIndex = new VerifiedBookingIndex(context.getBean(BookingRepository.class));
+        verifiedBookingIndex.load();
+        // Only the write path is exercised
+        commentService = CommentServiceBuilder.commentService(context.getBean(CommentRepository.class),
+                        postRepository, userRepository)
+                .verifiedBookings(verifiedBookingIndex)
+                .build();
+        role = tx.execute(status -> roleRepository.save(Role.builder().roleName(RoleName.USER).build()));
+        postId = tx.execute(status -> postRepository.save(Post.builder()
+                .title("Grand Hall")
+                .description("Description")
+                .price(BigDecimal.valueOf(1000000))
+                .vendor(newUser())
+                .build()).getId());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Reviewer {
+        Long userId;
+        Long commentId;
+
+        @Setup
+        public void setUp(CommentCreateBenchmark venue) {
+            userId = venue.tx.execute(status -> venue.newUser().getId());
+        }
+
+        @TearDown(Level.Invocation)
+        public void removeReview(CommentCreateBenchmark venue) {
+            venue.tx.executeWithoutResult(status ->
+                    venue.commentService.deactivateComment(venue.postId, commentId, userId, false));
+        }
+    }
+
+    @Benchmark
+    public CommentResponse createReview(Reviewer reviewer) {
+        CommentResponse created = tx.execute(status -> commentService.createComment(CreateCommentRequest.builder()
+                .content("Lovely hall, friendly staff")
+                .rating(BigDecimal.valueOf(4))
+                .build(), postId, reviewer.userId));
+        reviewer.commentId = created.getId();
+        return created;
+    }
+
+    private User newUser() {
+        String name = "reviewer" + users.incrementAndGet();
+        return userRepository.save(User.builder()
+                .email(name + "@example.com")
+                .password("secret")
+                .fullName(name)
+                .role(role)
+                .isActive(true)
+                .isLocked(false)
+                .failedLoginAttempts(0)
+                .build());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CommentCreateBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,136 @@
+package com.myapp.booking.benchmarks;
+
+import com.myapp.booking.dtos.requests.CreateCommentRequest;
+import com.myapp.booking.dtos.responses.CommentsPageResponse;
+import com.myapp.booking.dtos.responses.RatingSummaryResponse;
+import com.myapp.booking.enums.RoleName;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.models.Role;
+import com.myapp.booking.models.User;
+import com.myapp.booking.repositories.BookingRepository;
+import com.myapp.booking.repositories.CommentRepository;
+import com.myapp.booking.repositories.PostRepository;
+import com.myapp.booking.repositories.RoleRepository;
+import com.myapp.booking.repositories.UserRepository;
+import com.myapp.booking.services.CommentService;
+import com.myapp.booking.services.CommentStatisticsService;
+import com.myapp.booking.services.VerifiedBookingIndex;
+import com.myapp.booking.support.CommentServiceBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one statistics request for a post with 200 reviews against H2: the old path (a
+ * one-comment page that carries the distribution), the statistics service on a miss, and
+ * the statistics service on a cached entry.
+ *
+ * Not part of the test run. After {@code mvn test-compile}:
+ * <pre>
+ * mvn -q dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp "target/test-classes:target/classes:$(cat target/cp.txt)" \
+ *     com.myapp.booking.benchmarks.CommentStatisticsBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommentStatisticsBenchmark {
+
+    private static final int COMMENTS = 200;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate tx;
+    private CommentStatisticsService statisticsService;
+    private CommentService pagePath;
+    private Long postId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkDatabase.start("statisticsbench");
+        PostRepository postRepository = context.getBean(PostRepository.class);
+        CommentRepository commentRepository = context.getBean(CommentRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        statisticsService = new CommentStatisticsService(postRepository);
+        // The old path: the page, with a statistics service that never keeps entries
+        pagePath = CommentServiceBuilder.commentService(commentRepository, postRepository, userRepository)
+                .statistics(new CommentStatisticsService(postRepository) {
+                    @Override
+                    public RatingSummaryResponse getStatistics(Long id) {
+                        evict(id);
+                        return super.getStatistics(id);
+                    }
+                })
+                .verifiedBookings(new VerifiedBookingIndex(context.getBean(BookingRepository.class)))
+                .build();
+
+        Role role = tx.execute(status -> roleRepository.save(Role.builder().roleName(RoleName.USER).build()));
+        postId = tx.execute(status -> postRepository.save(Post.builder()
+                .title("Grand Hall")
+                .description("Description")
+                .price(BigDecimal.valueOf(1000000))
+                .vendor(userRepository.save(user(role, "stats-vendor")))
+                .build()).getId());
+        for (int i = 0; i < COMMENTS; i++) {
+            int n = i;
+            Long reviewer = tx.execute(status -> userRepository.save(user(role, "stats-user" + n)).getId());
+            tx.execute(status -> pagePath.createComment(CreateCommentRequest.builder()
+                    .content("Review number " + n + " of the hall")
+                    .rating(BigDecimal.valueOf(1 + n % 5))
+                    .build(), postId, reviewer));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CommentsPageResponse.RatingDistribution commentPage() {
+        return tx.execute(status -> pagePath.getCommentsByPost(postId, 0, 1, "createdAt", false).getRatingDistribution());
+    }
+
+    @Benchmark
+    public RatingSummaryResponse statisticsMiss() {
+        statisticsService.evict(postId);
+        return statisticsService.getStatistics(postId);
+    }
+
+    @Benchmark
+    public RatingSummaryResponse statisticsCached() {
+        return statisticsService.getStatistics(postId);
+    }
+
+    private static User user(Role role, String name) {
+        return User.builder()
+                .email(name + "@example.com")
+                .password("secret")
+                .fullName(name)
+                .role(role)
+                .isActive(true)
+                .isLocked(false)
+                .failedLoginAttempts(0)
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CommentStatisticsBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
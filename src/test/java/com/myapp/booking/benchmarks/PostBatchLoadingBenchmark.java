@@ -0,0 +1,131 @@
+package com.myapp.booking.benchmarks;
+
+import com.myapp.booking.dtos.responses.post.PostResponse;
+import com.myapp.booking.enums.RoleName;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.models.Role;
+import com.myapp.booking.models.User;
+import com.myapp.booking.repositories.PostRepository;
+import com.myapp.booking.repositories.RoleRepository;
+import com.myapp.booking.repositories.UserRepository;
+import com.myapp.booking.services.PostService;
+import com.myapp.booking.services.ViewCountBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a favorites-style list of posts against H2: one batch call versus one
+ * {@code getPostById} per id, each single call in its own read-only transaction as the
+ * per-id endpoint runs it. Posts have three images, two amenities and a vendor, shared by
+ * every tenth post.
+ *
+ * Not part of the test run. After {@code mvn test-compile}:
+ * <pre>
+ * mvn -q dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp "target/test-classes:target/classes:$(cat target/cp.txt)" \
+ *     com.myapp.booking.benchmarks.PostBatchLoadingBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostBatchLoadingBenchmark {
+
+    private static final int POSTS = 150;
+    private static final int VENDORS = 15;
+
+    @Param({"10", "100"})
+    private int ids;
+
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+    private TransactionTemplate readOnly;
+    private List<Long> postIds;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkDatabase.start("postbatchbench");
+        PostRepository postRepository = context.getBean(PostRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        // Only the repository and the view buffer are used by the read paths
+        postService = new PostService(postRepository, userRepository, null, null,
+                new ViewCountBuffer(null), null, null, null);
+        TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        List<Long> created = tx.execute(status -> {
+            Role role = roleRepository.save(Role.builder().roleName(RoleName.VENDOR).build());
+            List<User> vendors = new ArrayList<>();
+            for (int v = 0; v < VENDORS; v++) {
+                vendors.add(userRepository.save(User.builder()
+                        .email("batch-vendor" + v + "@example.com")
+                        .password("secret")
+                        .fullName("Vendor " + v)
+                        .role(role)
+                        .isActive(true)
+                        .isLocked(false)
+                        .failedLoginAttempts(0)
+                        .build()));
+            }
+            List<Long> saved = new ArrayList<>();
+            for (int i = 0; i < POSTS; i++) {
+                saved.add(postRepository.save(Post.builder()
+                        .title("Grand Hall " + i)
+                        .description("Description")
+                        .content("Story of hall " + i)
+                        .price(BigDecimal.valueOf(1000000))
+                        .vendor(vendors.get(i % VENDORS))
+                        .images(new ArrayList<>(List.of(i + "-a.jpg", i + "-b.jpg", i + "-c.jpg")))
+                        .amenities(new HashSet<>(Set.of("Parking", "Stage")))
+                        .status(Post.PostStatus.PUBLISHED)
+                        .build()).getId());
+            }
+            return saved;
+        });
+        postIds = created.subList(0, ids);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<PostResponse> batch() {
+        return readOnly.execute(status -> postService.getPostsByIds(postIds));
+    }
+
+    @Benchmark
+    public List<PostResponse> singleCalls() {
+        List<PostResponse> posts = new ArrayList<>(postIds.size());
+        for (Long id : postIds) {
+            posts.add(readOnly.execute(status -> postService.getPostById(id)));
+        }
+        return posts;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PostBatchLoadingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
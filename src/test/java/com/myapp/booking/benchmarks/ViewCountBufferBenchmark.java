@@ -0,0 +1,61 @@
+package com.myapp.booking.benchmarks;
+
+import com.myapp.booking.services.ViewCountBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * View increments from 16 threads, all on one popular post and spread over 1,000 posts.
+ * Nothing is flushed; this is the per-view cost on the request thread.
+ *
+ * Not part of the test run. After {@code mvn test-compile}:
+ * <pre>
+ * mvn -q dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp "target/test-classes:target/classes:$(cat target/cp.txt)" \
+ *     com.myapp.booking.benchmarks.ViewCountBufferBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class ViewCountBufferBenchmark {
+
+    private ViewCountBuffer buffer;
+
+    @Setup
+    public void setUp() {
+        buffer = new ViewCountBuffer(null);
+    }
+
+    @State(Scope.Thread)
+    public static class Viewer {
+        long post;
+    }
+
+    @Benchmark
+    public void samePost() {
+        buffer.increment(42L);
+    }
+
+    @Benchmark
+    public void manyPosts(Viewer viewer) {
+        viewer.post = (viewer.post + 7) % 1_000;
+        buffer.increment(viewer.post);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ViewCountBufferBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
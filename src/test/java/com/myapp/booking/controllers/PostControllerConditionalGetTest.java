@@ -0,0 +1,198 @@
+package com.myapp.booking.controllers;
+
+import com.myapp.booking.dtos.responses.post.PostListResponse;
+import com.myapp.booking.dtos.responses.post.PostResponse;
+import com.myapp.booking.services.PostETagService;
+import com.myapp.booking.services.PostLikeService;
+import com.myapp.booking.services.interfaces.IPostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conditional GET on the post endpoints. The replay test runs a synthetic request mix
+ * (clients re-opening the same venues and the first list page) with and without
+ * If-None-Match.
+ */
+@ExtendWith(MockitoExtension.class)
+class PostControllerConditionalGetTest {
+
+    private static final String DETAIL_TAG = "\"d-1\"";
+    private static final String LIST_TAG = "\"l-1\"";
+
+    @Mock
+    private IPostService postService;
+
+    @Mock
+    private PostLikeService postLikeService;
+
+    @Mock
+    private PostETagService postETagService;
+
+    @InjectMocks
+    private PostController postController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(postController).build();
+    }
+
+    @Test
+    void getPostById_MatchingETag_ShouldReturn304WithoutLoadingPost() throws Exception {
+        // Given
+        when(postETagService.detailETag(1L, null)).thenReturn(Optional.of(DETAIL_TAG));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/posts/1").header(HttpHeaders.IF_NONE_MATCH, DETAIL_TAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, DETAIL_TAG))
+                .andReturn();
+
+        // Then: the view still counts, the post is never loaded
+        assertEquals(0, result.getResponse().getContentAsByteArray().length);
+        verify(postService, never()).getPostById(anyLong());
+        verify(postService).incrementViewCount(eq(1L), anyString());
+    }
+
+    @Test
+    void getPostById_StaleETag_ShouldReturnBodyWithCurrentETag() throws Exception {
+        // Given
+        when(postETagService.detailETag(1L, null)).thenReturn(Optional.of(DETAIL_TAG));
+        when(postService.getPostById(1L)).thenReturn(post(1L));
+
+        // When / Then
+        mockMvc.perform(get("/api/posts/1").header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, DETAIL_TAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+        verify(postService).getPostById(1L);
+    }
+
+    @Test
+    void getAllPublishedPosts_MatchingETag_ShouldReturn304WithoutQueryingPage() throws Exception {
+        // Given
+        when(postETagService.publishedListETag(any(Pageable.class), isNull())).thenReturn(LIST_TAG);
+
+        // When / Then
+        mockMvc.perform(get("/api/posts").header(HttpHeaders.IF_NONE_MATCH, LIST_TAG))
+                .andExpect(status().isNotModified());
+        verify(postService, never()).getPublishedPosts(any());
+    }
+
+    @Test
+    void replay_ConditionalRequests_ShouldAnswerEveryRepeatWith304() throws Exception {
+        // Given: 2,000 requests over 50 venues and the first list page, skewed towards a few hot venues
+        Random random = new Random(42);
+        List<String> sample = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            sample.add(random.nextInt(4) == 0 ? "/api/posts" : "/api/posts/" + (1 + (int) Math.abs(random.nextGaussian() * 10) % 50));
+        }
+        lenient().when(postService.getPostById(anyLong())).thenAnswer(inv -> post(inv.getArgument(0)));
+        lenient().when(postService.getPublishedPosts(any(Pageable.class))).thenAnswer(inv ->
+                new PageImpl<>(IntStream.rangeClosed(1, 20).mapToObj(i -> card((long) i)).toList(),
+                        (Pageable) inv.getArgument(0), 500));
+        lenient().when(postETagService.detailETag(anyLong(), isNull()))
+                .thenAnswer(inv -> Optional.of("\"d-" + inv.getArgument(0) + "\""));
+        lenient().when(postETagService.publishedListETag(any(Pageable.class), isNull())).thenReturn(LIST_TAG);
+
+        // When
+        long[] unconditional = replay(sample, false);
+        long[] conditional = replay(sample, true);
+
+        // Then: only the first request per URL carries a body, and only those load a post
+        long distinctUrls = sample.stream().distinct().count();
+        long detailRequests = sample.stream().filter(url -> !url.equals("/api/posts")).count();
+        long distinctDetails = sample.stream().filter(url -> !url.equals("/api/posts")).distinct().count();
+        assertEquals(0, unconditional[1]);
+        assertEquals(sample.size() - distinctUrls, conditional[1]);
+        assertTrue(conditional[0] < unconditional[0]);
+        verify(postService, times((int) (detailRequests + distinctDetails))).getPostById(anyLong());
+    }
+
+    /**
+     * Replays the sample; a conditional client sends back the last ETag it saw for the URL.
+     *
+     * @return total body bytes, number of 304s
+     */
+    private long[] replay(List<String> sample, boolean conditional) throws Exception {
+        Map<String, String> clientTags = new HashMap<>();
+        long bytes = 0;
+        long notModified = 0;
+        for (String url : sample) {
+            var request = get(url);
+            String known = clientTags.get(url);
+            if (conditional && known != null) {
+                request.header(HttpHeaders.IF_NONE_MATCH, known);
+            }
+            MvcResult result = mockMvc.perform(request).andReturn();
+            bytes += result.getResponse().getContentAsByteArray().length;
+            if (result.getResponse().getStatus() == 304) {
+                notModified++;
+            }
+            clientTags.put(url, result.getResponse().getHeader(HttpHeaders.ETAG));
+        }
+        return new long[]{bytes, notModified};
+    }
+
+    private static PostResponse post(Long id) {
+        return PostResponse.builder()
+                .id(id)
+                .title("Venue " + id)
+                .description("Spacious hall with garden, parking and in-house catering")
+                .content("Long-form description of the venue. ".repeat(40))
+                .location("Ha Noi")
+                .price(BigDecimal.valueOf(25_000_000))
+                .capacity(300)
+                .images(List.of("https://cdn.example.com/" + id + "/1.jpg", "https://cdn.example.com/" + id + "/2.jpg"))
+                .status("PUBLISHED")
+                .viewCount(1_000L)
+                .likeCount(40L)
+                .commentCount(12L)
+                .bookingCount(7L)
+                .createdAt(LocalDateTime.of(2025, 1, 1, 8, 0))
+                .updatedAt(LocalDateTime.of(2025, 2, 1, 8, 0))
+                .build();
+    }
+
+    private static PostListResponse card(Long id) {
+        return PostListResponse.builder()
+                .id(id)
+                .title("Venue " + id)
+                .description("Spacious hall with garden, parking and in-house catering")
+                .location("Ha Noi")
+                .price(BigDecimal.valueOf(25_000_000))
+                .capacity(300)
+                .status("PUBLISHED")
+                .viewCount(1_000L)
+                .likeCount(40L)
+                .build();
+    }
+}
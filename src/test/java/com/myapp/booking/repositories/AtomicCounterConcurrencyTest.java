@@ -0,0 +1,217 @@
+package com.myapp.booking.repositories;
+
+import com.myapp.booking.enums.RoleName;
+import com.myapp.booking.models.Comment;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.models.Role;
+import com.myapp.booking.models.User;
+import com.myapp.booking.support.H2JpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrent writers against a real database (H2 in MySQL mode): the atomic counter
+ * updates must not lose increments, and entity saves must not write the counters back.
+ * Throughput against the old load-increment-save is measured by AtomicCounterBenchmark.
+ */
+@H2JpaTest
+class AtomicCounterConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int INCREMENTS_PER_THREAD = 250;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private Post post;
+    private Comment comment;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Role role = roleRepository.findByRoleName(RoleName.VENDOR)
+                    .orElseGet(() -> roleRepository.save(Role.builder().roleName(RoleName.VENDOR).build()));
+            User vendor = userRepository.save(User.builder()
+                    .email("vendor" + System.nanoTime() + "@example.com")
+                    .password("secret")
+                    .fullName("Vendor")
+                    .role(role)
+                    .isActive(true)
+                    .isLocked(false)
+                    .failedLoginAttempts(0)
+                    .build());
+            post = postRepository.save(Post.builder()
+                    .title("Grand Hall")
+                    .description("Description")
+                    .content("Content")
+                    .price(BigDecimal.valueOf(1000000))
+                    .capacity(300)
+                    .location("Ha Noi")
+                    .vendor(vendor)
+                    .status(Post.PostStatus.PUBLISHED)
+                    .build());
+            comment = commentRepository.save(Comment.builder()
+                    .content("Great venue")
+                    .rating(BigDecimal.valueOf(5))
+                    .post(post)
+                    .user(vendor)
+                    .isActive(true)
+                    .build());
+        });
+    }
+
+    @Test
+    void incrementBookingCount_ConcurrentWriters_ShouldNotLoseUpdates() throws Exception {
+        // When
+        hammer(id -> tx.executeWithoutResult(s -> postRepository.incrementBookingCount(id)));
+
+        // Then
+        assertEquals(THREADS * INCREMENTS_PER_THREAD, reloadPost().getBookingCount());
+    }
+
+    @Test
+    void commentAndLikeCounters_ConcurrentWriters_ShouldNotLoseUpdates() throws Exception {
+        // When: comment and like counters move on the same row at the same time
+        hammer(id -> tx.executeWithoutResult(s -> {
+            postRepository.incrementCommentCount(id);
+            postRepository.incrementLikeCount(id);
+        }));
+
+        // Then
+        Post reloaded = reloadPost();
+        assertEquals(THREADS * INCREMENTS_PER_THREAD, reloaded.getCommentCount());
+        assertEquals(THREADS * INCREMENTS_PER_THREAD, reloaded.getLikeCount());
+    }
+
+    @Test
+    void helpfulCount_ConcurrentWriters_ShouldNotLoseUpdates() throws Exception {
+        // When
+        hammer(id -> tx.executeWithoutResult(s -> commentRepository.incrementHelpfulCount(comment.getId())));
+
+        // Then
+        Integer helpful = tx.execute(s -> commentRepository.findById(comment.getId()).orElseThrow().getHelpfulCount());
+        assertEquals(THREADS * INCREMENTS_PER_THREAD, helpful);
+    }
+
+    @Test
+    void decrement_ShouldNeverGoBelowZero() {
+        // When
+        int updated = tx.execute(s -> postRepository.decrementLikeCount(post.getId()));
+
+        // Then
+        assertEquals(0, updated);
+        assertEquals(0L, reloadPost().getLikeCount());
+    }
+
+    @Test
+    void atomicIncrement_AfterLoadAndSaveWriters_ShouldCountEveryUpdate() throws Exception {
+        // Given: the old approach (load the entity, increment in memory, save); the save no longer writes the counter
+        hammer(id -> tx.executeWithoutResult(s -> {
+            Post loaded = postRepository.findById(id).orElseThrow();
+            loaded.incrementBookingCount();
+            postRepository.save(loaded);
+        }));
+        long legacyCount = reloadPost().getBookingCount();
+
+        // When
+        hammer(id -> tx.executeWithoutResult(s -> postRepository.incrementBookingCount(id)));
+
+        // Then
+        int expected = THREADS * INCREMENTS_PER_THREAD;
+        assertEquals(expected, reloadPost().getBookingCount() - legacyCount);
+    }
+
+    @Test
+    void entitySave_BetweenAtomicIncrements_ShouldNotWriteBackTheLoadedCounters() {
+        // Given
+        tx.executeWithoutResult(s -> incrementAllCounters(post.getId()));
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // When: a vendor edit loads the post, the counters move in another transaction, the edit is saved
+        tx.executeWithoutResult(s -> {
+            Post loaded = postRepository.findById(post.getId()).orElseThrow();
+            concurrent.executeWithoutResult(c -> incrementAllCounters(post.getId()));
+            loaded.setTitle("Grand Hall Riverside");
+            postRepository.save(loaded);
+        });
+        tx.executeWithoutResult(s -> incrementAllCounters(post.getId()));
+
+        // Then
+        Post reloaded = reloadPost();
+        assertEquals("Grand Hall Riverside", reloaded.getTitle());
+        assertEquals(3L, reloaded.getViewCount());
+        assertEquals(3L, reloaded.getLikeCount());
+        assertEquals(3L, reloaded.getCommentCount());
+        assertEquals(3L, reloaded.getBookingCount());
+    }
+
+    private void incrementAllCounters(Long postId) {
+        // The same relative update the view count buffer flushes
+        jdbcTemplate.update("UPDATE posts SET view_count = COALESCE(view_count, 0) + ? WHERE id = ?", 1L, postId);
+        postRepository.incrementLikeCount(postId);
+        postRepository.incrementCommentCount(postId);
+        postRepository.incrementBookingCount(postId);
+    }
+
+    private void hammer(Consumer<Long> increment) throws Exception {
+        Long postId = post.getId();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit((Callable<Void>) () -> {
+                start.await();
+                for (int i = 0; i < INCREMENTS_PER_THREAD; i++) {
+                    increment.accept(postId);
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(120, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+    }
+
+    private Post reloadPost() {
+        return tx.execute(s -> postRepository.findById(post.getId()).orElseThrow());
+    }
+}
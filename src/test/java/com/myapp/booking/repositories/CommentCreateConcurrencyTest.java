@@ -0,0 +1,239 @@
+package com.myapp.booking.repositories;
+
+import com.myapp.booking.dtos.requests.CreateCommentRequest;
+import com.myapp.booking.enums.RoleName;
+import com.myapp.booking.exceptions.BadRequestException;
+import com.myapp.booking.exceptions.ResourceNotFoundException;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.models.Role;
+import com.myapp.booking.models.User;
+import com.myapp.booking.services.CommentService;
+import com.myapp.booking.services.VerifiedBookingIndex;
+import com.myapp.booking.support.CommentServiceBuilder;
+import com.myapp.booking.support.H2JpaTest;
+import com.myapp.booking.support.SqlStatementCapture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Review creation against a real database (H2 in MySQL mode): an insert plus one post
+ * UPDATE, with the one-review-per-user rule held by the unique key even when the same
+ * reviewer submits several times at once, and each violated constraint reported as its own error.
+ */
+@H2JpaTest
+@TestPropertySource(properties = "logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=OFF")
+class CommentCreateConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int REVIEWERS = 60;
+    private static final int SUBMITS_PER_REVIEWER = 3;
+
+    private final List<String> statements = SqlStatementCapture.statements();
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private CommentService commentService;
+    private Role role;
+    private Long postId;
+    private List<Long> reviewerIds;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        VerifiedBookingIndex verifiedBookingIndex = new VerifiedBookingIndex(bookingRepository);
+        verifiedBookingIndex.load();
+        // Only the write path is exercised
+        commentService = CommentServiceBuilder.commentService(commentRepository, postRepository, userRepository)
+                .verifiedBookings(verifiedBookingIndex)
+                .build();
+        tx.executeWithoutResult(status -> {
+            role = roleRepository.findByRoleName(RoleName.USER)
+                    .orElseGet(() -> roleRepository.save(Role.builder().roleName(RoleName.USER).build()));
+            User vendor = user();
+            postId = postRepository.save(Post.builder()
+                    .title("Grand Hall")
+                    .description("Description")
+                    .price(BigDecimal.valueOf(1000000))
+                    .vendor(vendor)
+                    .build()).getId();
+            reviewerIds = new ArrayList<>();
+            for (int i = 0; i < REVIEWERS; i++) {
+                reviewerIds.add(user().getId());
+            }
+        });
+    }
+
+    @Test
+    void createComment_ShouldIssueAnInsertAndOnePostUpdate() {
+        // When
+        statements.clear();
+        tx.execute(status -> commentService.createComment(request(4), postId, reviewerIds.get(0)));
+
+        // Then
+        assertEquals(2, statements.size(), String.join("\n", statements));
+        assertTrue(statements.get(0).startsWith("insert into comments"));
+        assertTrue(statements.get(1).startsWith("update posts"));
+        assertPostConsistent(1);
+    }
+
+    @Test
+    void createComment_ConcurrentRepeatedSubmits_ShouldKeepOneReviewPerReviewer() throws Exception {
+        // When: every reviewer submits several times, from several threads at once
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Runnable> submits = new ArrayList<>();
+        for (Long reviewer : reviewerIds) {
+            for (int s = 0; s < SUBMITS_PER_REVIEWER; s++) {
+                int stars = 1 + (int) (reviewer % 5);
+                submits.add(() -> {
+                    try {
+                        tx.execute(status -> commentService.createComment(request(stars), postId, reviewer));
+                        created.incrementAndGet();
+                    } catch (BadRequestException e) {
+                        rejected.incrementAndGet();
+                    }
+                });
+            }
+        }
+        runConcurrently(submits);
+
+        // Then
+        assertEquals(REVIEWERS, created.get());
+        assertEquals(REVIEWERS * (SUBMITS_PER_REVIEWER - 1), rejected.get());
+        assertPostConsistent(REVIEWERS);
+    }
+
+    @Test
+    void createComment_AfterDeactivating_ShouldAllowANewReview() {
+        // Given
+        Long reviewer = reviewerIds.get(0);
+        Long first = tx.execute(status -> commentService.createComment(request(2), postId, reviewer)).getId();
+        tx.executeWithoutResult(status -> commentService.deactivateComment(postId, first, reviewer, false));
+
+        // When
+        tx.execute(status -> commentService.createComment(request(5), postId, reviewer));
+
+        // Then
+        assertThrows(BadRequestException.class,
+                () -> tx.execute(status -> commentService.createComment(request(3), postId, reviewer)));
+        assertPostConsistent(1);
+    }
+
+    @Test
+    void createComment_UnknownPost_ShouldBeNotFound() {
+        ResourceNotFoundException e = assertThrows(ResourceNotFoundException.class,
+                () -> tx.execute(status -> commentService.createComment(request(5), Long.MAX_VALUE, reviewerIds.get(0))));
+        assertTrue(e.getMessage().startsWith("Post not found"), e.getMessage());
+    }
+
+    @Test
+    void createComment_UnknownUser_ShouldReportTheUser() {
+        ResourceNotFoundException e = assertThrows(ResourceNotFoundException.class,
+                () -> tx.execute(status -> commentService.createComment(request(5), postId, Long.MAX_VALUE)));
+        assertTrue(e.getMessage().startsWith("User not found"), e.getMessage());
+    }
+
+    @Test
+    void createComment_OtherConstraint_ShouldNotBeReportedAsNotFound() {
+        // Given: a constraint the service knows nothing about, and a reviewer without a review
+        Long reviewer = tx.execute(status -> user().getId());
+        jdbcTemplate.execute("ALTER TABLE comments ADD CONSTRAINT ck_comment_short CHECK (LENGTH(content) < 20) NOCHECK");
+        try {
+            // When / Then
+            assertThrows(DataIntegrityViolationException.class,
+                    () -> tx.execute(status -> commentService.createComment(request(5), postId, reviewer)));
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE comments DROP CONSTRAINT ck_comment_short");
+        }
+    }
+
+    private void assertPostConsistent(int expectedReviews) {
+        Integer active = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comments WHERE post_id = ? AND is_active = true",
+                Integer.class, postId);
+        Map<String, Object> post = jdbcTemplate.queryForMap(
+                "SELECT comment_count, rating_count, rating_sum FROM posts WHERE id = ?", postId);
+        BigDecimal sum = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(rating), 0) FROM comments WHERE post_id = ? AND is_active = true",
+                BigDecimal.class, postId);
+        assertEquals(expectedReviews, active);
+        assertEquals(expectedReviews, ((Number) post.get("comment_count")).intValue());
+        assertEquals(expectedReviews, ((Number) post.get("rating_count")).intValue());
+        assertEquals(0, sum.compareTo((BigDecimal) post.get("rating_sum")));
+    }
+
+    private static CreateCommentRequest request(int stars) {
+        return CreateCommentRequest.builder()
+                .content("Review with " + stars + " stars, nice venue")
+                .rating(BigDecimal.valueOf(stars))
+                .build();
+    }
+
+    private static void runConcurrently(List<Runnable> tasks) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Runnable task : tasks) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                task.run();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(120, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+    }
+
+    private User user() {
+        return userRepository.save(User.builder()
+                .email("reviewer" + System.nanoTime() + "@example.com")
+                .password("secret")
+                .fullName("Reviewer")
+                .role(role)
+                .isActive(true)
+                .isLocked(false)
+                .failedLoginAttempts(0)
+                .build());
+    }
+}
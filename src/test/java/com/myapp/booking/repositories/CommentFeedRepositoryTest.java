@@ -0,0 +1,286 @@
+package com.myapp.booking.repositories;
+
+import com.myapp.booking.dtos.responses.CommentFeedResponse;
+import com.myapp.booking.dtos.responses.CommentResponse;
+import com.myapp.booking.dtos.responses.CommentsPageResponse;
+import com.myapp.booking.enums.RoleName;
+import com.myapp.booking.models.Booking;
+import com.myapp.booking.models.Comment;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.models.Role;
+import com.myapp.booking.models.User;
+import com.myapp.booking.services.CommentHelpfulService;
+import com.myapp.booking.services.CommentService;
+import com.myapp.booking.utils.WilsonScore;
+import com.myapp.booking.support.CommentServiceBuilder;
+import com.myapp.booking.support.H2JpaTest;
+import com.myapp.booking.support.SqlStatementCapture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keyset review paging against a real database: every sort walks all active reviews once
+ * in (value, id) order, ties included, with one statement per slice at any depth.
+ */
+@H2JpaTest
+@Import(CommentFeedRepository.class)
+class CommentFeedRepositoryTest {
+
+    private static final int COMMENTS = 300;
+    private static final int PAGE_SIZE = 20;
+
+    private final List<String> statements = SqlStatementCapture.statements();
+
+    private static Long postId;
+    private static Role role;
+
+    @Autowired
+    private CommentFeedRepository commentFeedRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentHelpfulRepository commentHelpfulRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private CommentService commentService;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        // Only the read paths are exercised
+        commentService = CommentServiceBuilder.commentService(commentRepository, postRepository, userRepository)
+                .feed(commentFeedRepository)
+                .build();
+        if (postId != null) {
+            return;
+        }
+        tx.executeWithoutResult(status -> {
+            role = roleRepository.save(Role.builder().roleName(RoleName.USER).build());
+            User author = user("feed-author");
+            Post post = postRepository.save(Post.builder()
+                    .title("Grand Hall")
+                    .description("Description")
+                    .price(BigDecimal.valueOf(1000000))
+                    .vendor(author)
+                    .build());
+            postId = post.getId();
+            for (int i = 0; i < COMMENTS; i++) {
+                commentRepository.save(Comment.builder()
+                        .content("Review number " + i)
+                        .rating(BigDecimal.valueOf(10 + i % 41, 1))
+                        .isActive(i % 25 != 0)
+                        .post(post)
+                        .user(author)
+                        .build());
+            }
+        });
+        // Plenty of ties on every sort column
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM comments WHERE post_id = ? ORDER BY id",
+                Long.class, postId);
+        for (int i = 0; i < ids.size(); i++) {
+            int votes = (i * 7) % 13;
+            jdbcTemplate.update("UPDATE comments SET created_at = ?, helpful_count = ?, helpful_score = ?, "
+                            + "is_verified_booking = ? WHERE id = ?",
+                    Timestamp.valueOf(base.plusMinutes(i / 3)), votes, WilsonScore.lowerBound(votes, votes),
+                    i % 4 == 0, ids.get(i));
+        }
+    }
+
+    @Test
+    void getCommentFeed_WalkingAllCursors_ShouldReturnEveryActiveReviewOnceInOrder() {
+        assertWalk("createdAt", "SELECT id FROM comments WHERE post_id = ? AND is_active = true "
+                + "ORDER BY created_at DESC, id DESC");
+        assertWalk("rating", "SELECT id FROM comments WHERE post_id = ? AND is_active = true "
+                + "ORDER BY rating DESC, id DESC");
+        assertWalk("helpful", "SELECT id FROM comments WHERE post_id = ? AND is_active = true "
+                + "ORDER BY helpful_score DESC, id DESC");
+    }
+
+    @Test
+    void getCommentFeed_VerifiedOnly_ShouldWalkOnlyBadgedReviews() {
+        assertWalk("createdAt", true, "SELECT id FROM comments WHERE post_id = ? AND is_active = true "
+                + "AND is_verified_booking = true ORDER BY created_at DESC, id DESC");
+        assertWalk("helpful", true, "SELECT id FROM comments WHERE post_id = ? AND is_active = true "
+                + "AND is_verified_booking = true ORDER BY helpful_score DESC, id DESC");
+
+        CommentsPageResponse page = tx.execute(status -> commentService.getCommentsByPost(postId, 0, PAGE_SIZE,
+                "createdAt", true));
+        assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comments WHERE post_id = ? "
+                + "AND is_active = true AND is_verified_booking = true", Long.class, postId), page.getTotalElements());
+        assertTrue(page.getComments().stream().allMatch(CommentResponse::getIsVerifiedBooking));
+    }
+
+    @Test
+    void markVerifiedBookings_ShouldBadgeOnlyAuthorsWithCompletedBooking() {
+        // Given: two reviewers on a new venue, only the first has a completed stay
+        Long[] ids = tx.execute(status -> {
+            User guest = user("guest" + System.nanoTime());
+            User other = user("other" + System.nanoTime());
+            Post venue = postRepository.save(Post.builder()
+                    .title("Garden")
+                    .description("Description")
+                    .price(BigDecimal.valueOf(500000))
+                    .vendor(guest)
+                    .build());
+            for (User author : List.of(guest, other)) {
+                commentRepository.save(Comment.builder()
+                        .content("Stayed here, lovely place")
+                        .rating(BigDecimal.valueOf(5))
+                        .post(venue)
+                        .user(author)
+                        .build());
+            }
+            bookingRepository.save(booking(guest.getId(), venue.getId(), "COMPLETED"));
+            bookingRepository.save(booking(other.getId(), venue.getId(), "CONFIRMED"));
+            return new Long[]{guest.getId(), other.getId(), venue.getId()};
+        });
+
+        // When
+        tx.execute(status -> commentRepository.markAllVerifiedBookings());
+
+        // Then
+        assertTrue(isVerified(ids[0], ids[2]));
+        assertFalse(isVerified(ids[1], ids[2]));
+        assertEquals(0, (int) tx.execute(status -> commentRepository.markAllVerifiedBookings()));
+
+        // When: the second booking completes
+        assertEquals(1, (int) tx.execute(status -> commentRepository.markVerifiedBooking(ids[1], ids[2])));
+
+        // Then
+        assertTrue(isVerified(ids[1], ids[2]));
+    }
+
+    @Test
+    void getCommentFeed_DeepSlice_ShouldIssueOneStatementWithoutOffset() {
+        // Given: a cursor near the end
+        String cursor = null;
+        for (int i = 0; i < 12; i++) {
+            cursor = tx.execute(feed(cursor)).getNextCursor();
+        }
+
+        // When
+        statements.clear();
+        String deep = cursor;
+        CommentFeedResponse slice = tx.execute(feed(deep));
+
+        // Then
+        assertEquals(1, statements.size(), String.join("\n", statements));
+        assertFalse(statements.get(0).contains("offset"));
+        assertFalse(slice.getItems().isEmpty());
+    }
+
+    @Test
+    void markAsHelpful_ShouldRaiseTheScoreAndMoveTheReviewUp() {
+        // Given: an active review with no votes
+        Long target = jdbcTemplate.queryForObject("SELECT MIN(id) FROM comments WHERE post_id = ? "
+                + "AND is_active = true AND helpful_count = 0", Long.class, postId);
+        CommentHelpfulService helpfulService = new CommentHelpfulService(commentHelpfulRepository, commentRepository);
+
+        // When: more votes than any other review has
+        for (int i = 0; i < 15; i++) {
+            User voter = tx.execute(status -> user("voter" + System.nanoTime()));
+            tx.executeWithoutResult(status -> helpfulService.markAsHelpful(postId, target, voter.getId()));
+        }
+
+        // Then
+        Double score = jdbcTemplate.queryForObject("SELECT helpful_score FROM comments WHERE id = ?",
+                Double.class, target);
+        assertEquals(WilsonScore.lowerBound(15, 15), score, 1e-9);
+        assertEquals(target, tx.execute(status -> commentService.getCommentFeed(postId, "helpful", null, 1, false))
+                .getItems().get(0).getId());
+    }
+
+    private void assertWalk(String sortBy, String expectedSql) {
+        assertWalk(sortBy, false, expectedSql);
+    }
+
+    private void assertWalk(String sortBy, boolean verifiedOnly, String expectedSql) {
+        List<Long> expected = jdbcTemplate.queryForList(expectedSql, Long.class, postId);
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            String after = cursor;
+            CommentFeedResponse slice = tx.execute(status ->
+                    commentService.getCommentFeed(postId, sortBy, after, PAGE_SIZE, verifiedOnly));
+            slice.getItems().stream().map(CommentResponse::getId).forEach(walked::add);
+            cursor = slice.getNextCursor();
+            assertEquals(cursor != null, slice.getHasMore());
+        } while (cursor != null);
+        assertEquals(expected, walked, sortBy);
+    }
+
+    private boolean isVerified(Long userId, Long venueId) {
+        return jdbcTemplate.queryForObject("SELECT is_verified_booking FROM comments WHERE user_id = ? AND post_id = ?",
+                Boolean.class, userId, venueId);
+    }
+
+    private static Booking booking(Long userId, Long venueId, String status) {
+        return Booking.builder()
+                .bookingCode("BK" + System.nanoTime())
+                .userId(userId)
+                .customerName("Guest")
+                .customerPhone("0900000000")
+                .postId(venueId)
+                .vendorId(userId)
+                .venueId(venueId)
+                .bookingDate(java.sql.Date.valueOf("2025-06-01"))
+                .startTime(java.sql.Time.valueOf("10:00:00"))
+                .endTime(java.sql.Time.valueOf("14:00:00"))
+                .unitPrice(500000.0)
+                .totalAmount(500000.0)
+                .finalAmount(500000.0)
+                .status(status)
+                .build();
+    }
+
+    private TransactionCallback<CommentFeedResponse> feed(String cursor) {
+        return status -> commentService.getCommentFeed(postId, "helpful", cursor, PAGE_SIZE, false);
+    }
+
+    private User user(String name) {
+        return userRepository.save(User.builder()
+                .email(name + "@example.com")
+                .password("secret")
+                .fullName(name)
+                .role(role)
+                .isActive(true)
+                .isLocked(false)
+                .failedLoginAttempts(0)
+                .build());
+    }
+}
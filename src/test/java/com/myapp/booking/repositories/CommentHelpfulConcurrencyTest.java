@@ -0,0 +1,208 @@
+package com.myapp.booking.repositories;
+
+import com.myapp.booking.dtos.responses.CommentResponse;
+import com.myapp.booking.enums.RoleName;
+import com.myapp.booking.models.Comment;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.models.Role;
+import com.myapp.booking.models.User;
+import com.myapp.booking.services.CommentHelpfulService;
+import com.myapp.booking.utils.WilsonScore;
+import com.myapp.booking.support.H2JpaTest;
+import com.myapp.booking.support.SqlStatementCapture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Helpful votes under concurrent clicks against a real database (H2 in MySQL mode): repeated
+ * and simultaneous votes by the same user count once, the counter equals the vote rows, and
+ * "marked by me" for a page is a single query.
+ */
+@H2JpaTest
+class CommentHelpfulConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int VOTERS = 40;
+    private static final int CLICKS_PER_VOTER = 3;
+
+    private final List<String> statements = SqlStatementCapture.statements();
+
+    @Autowired
+    private CommentHelpfulRepository commentHelpfulRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private CommentHelpfulService helpfulService;
+    private Role role;
+    private Long postId;
+    private List<Long> commentIds;
+    private List<Long> voterIds;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        helpfulService = new CommentHelpfulService(commentHelpfulRepository, commentRepository);
+        tx.executeWithoutResult(status -> {
+            role = roleRepository.findByRoleName(RoleName.USER)
+                    .orElseGet(() -> roleRepository.save(Role.builder().roleName(RoleName.USER).build()));
+            User author = user();
+            Post post = postRepository.save(Post.builder()
+                    .title("Grand Hall")
+                    .description("Description")
+                    .price(BigDecimal.valueOf(1000000))
+                    .vendor(author)
+                    .build());
+            postId = post.getId();
+            commentIds = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                commentIds.add(commentRepository.save(Comment.builder()
+                        .content("Review number " + i)
+                        .rating(BigDecimal.valueOf(5))
+                        .post(post)
+                        .user(author)
+                        .build()).getId());
+            }
+            voterIds = new ArrayList<>();
+            for (int i = 0; i < VOTERS; i++) {
+                voterIds.add(user().getId());
+            }
+        });
+    }
+
+    @Test
+    void markAsHelpful_ConcurrentRepeatedClicks_ShouldCountEachVoterOnce() throws Exception {
+        // When: every voter clicks every comment several times, from several threads at once
+        List<Runnable> clicks = new ArrayList<>();
+        for (Long voter : voterIds) {
+            for (Long comment : commentIds) {
+                for (int c = 0; c < CLICKS_PER_VOTER; c++) {
+                    clicks.add(() -> tx.execute(s -> helpfulService.markAsHelpful(postId, comment, voter)));
+                }
+            }
+        }
+        runConcurrently(clicks);
+
+        // Then
+        for (Long comment : commentIds) {
+            assertVotesConsistent(comment, VOTERS);
+        }
+    }
+
+    @Test
+    void markAndUnmark_Interleaved_ShouldKeepCounterEqualToVoteRows() throws Exception {
+        // When: even voters end marked, odd voters end unmarked, with clicks racing
+        Long comment = commentIds.get(0);
+        List<Runnable> clicks = new ArrayList<>();
+        for (int v = 0; v < voterIds.size(); v++) {
+            Long voter = voterIds.get(v);
+            boolean keep = v % 2 == 0;
+            clicks.add(() -> {
+                for (int c = 0; c < CLICKS_PER_VOTER; c++) {
+                    tx.execute(s -> helpfulService.markAsHelpful(postId, comment, voter));
+                    tx.execute(s -> helpfulService.unmarkAsHelpful(postId, comment, voter));
+                }
+                if (keep) {
+                    tx.execute(s -> helpfulService.markAsHelpful(postId, comment, voter));
+                }
+            });
+        }
+        runConcurrently(clicks);
+
+        // Then
+        assertVotesConsistent(comment, VOTERS / 2);
+        assertTrue(helpfulService.isMarkedAsHelpful(comment, voterIds.get(0)));
+        assertFalse(helpfulService.isMarkedAsHelpful(comment, voterIds.get(1)));
+    }
+
+    @Test
+    void markHelpfulByMe_Page_ShouldUseOneQuery() {
+        // Given
+        Long voter = voterIds.get(0);
+        tx.execute(s -> helpfulService.markAsHelpful(postId, commentIds.get(1), voter));
+        List<CommentResponse> page = commentIds.stream()
+                .map(id -> CommentResponse.builder().id(id).build())
+                .toList();
+
+        // When
+        statements.clear();
+        tx.executeWithoutResult(s -> helpfulService.markHelpfulByMe(page, voter));
+
+        // Then
+        assertEquals(1, statements.size(), String.join("\n", statements));
+        assertEquals(List.of(false, true, false), page.stream().map(CommentResponse::getMarkedHelpfulByMe).toList());
+    }
+
+    private void assertVotesConsistent(Long commentId, int expectedVotes) {
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comment_helpful WHERE comment_id = ?",
+                Integer.class, commentId);
+        Integer counter = jdbcTemplate.queryForObject("SELECT helpful_count FROM comments WHERE id = ?",
+                Integer.class, commentId);
+        Double score = jdbcTemplate.queryForObject("SELECT helpful_score FROM comments WHERE id = ?",
+                Double.class, commentId);
+        assertEquals(expectedVotes, rows);
+        assertEquals(expectedVotes, counter);
+        assertEquals(WilsonScore.lowerBound(expectedVotes, expectedVotes), score, 1e-9);
+    }
+
+    private static void runConcurrently(List<Runnable> tasks) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Runnable task : tasks) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                task.run();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(120, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+    }
+
+    private User user() {
+        return userRepository.save(User.builder()
+                .email("voter" + System.nanoTime() + "@example.com")
+                .password("secret")
+                .fullName("Voter")
+                .role(role)
+                .isActive(true)
+                .isLocked(false)
+                .failedLoginAttempts(0)
+                .build());
+    }
+}
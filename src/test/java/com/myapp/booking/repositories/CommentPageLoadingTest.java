@@ -0,0 +1,156 @@
+package com.myapp.booking.repositories;
+
+import com.myapp.booking.dtos.responses.CommentResponse;
+import com.myapp.booking.dtos.responses.CommentsPageResponse;
+import com.myapp.booking.enums.RoleName;
+import com.myapp.booking.models.Comment;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.models.Role;
+import com.myapp.booking.models.User;
+import com.myapp.booking.services.CommentService;
+import com.myapp.booking.support.CommentServiceBuilder;
+import com.myapp.booking.support.H2JpaTest;
+import com.myapp.booking.support.SqlStatementCapture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comment page loading against a real database: the projection path issues a fixed number
+ * of statements regardless of page size, where walking entities costs one per lazy association.
+ */
+@H2JpaTest
+class CommentPageLoadingTest {
+
+    private static final int COMMENTS = 25;
+    private static final int PAGE_SIZE = 10;
+
+    private final List<String> statements = SqlStatementCapture.statements();
+
+    private static Long postId;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private CommentService commentService;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        commentService = CommentServiceBuilder.commentService(commentRepository, postRepository, userRepository).build();
+        if (postId != null) {
+            return;
+        }
+        Map<Long, List<String>> imageRows = new HashMap<>();
+        tx.executeWithoutResult(status -> {
+            Role role = roleRepository.save(Role.builder().roleName(RoleName.USER).build());
+            Post post = postRepository.save(Post.builder()
+                    .title("Grand Hall")
+                    .description("Description")
+                    .price(BigDecimal.valueOf(1000000))
+                    .vendor(user(role, "page-vendor"))
+                    .build());
+            postId = post.getId();
+            for (int i = 0; i < COMMENTS; i++) {
+                Long id = commentRepository.save(Comment.builder()
+                        .content("Review number " + i + " of the hall")
+                        .rating(BigDecimal.valueOf(1 + i % 5))
+                        .post(post)
+                        .user(user(role, "page-user" + i))
+                        .build()).getId();
+                if (i % 3 == 0) {
+                    imageRows.put(id, List.of(i + "-a.jpg", i + "-b.jpg"));
+                }
+            }
+        });
+        // H2 would store the converter's text as a JSON string; write real arrays as MySQL holds them
+        imageRows.forEach((id, images) -> jdbcTemplate.update("UPDATE comments SET images = ? FORMAT JSON WHERE id = ?",
+                "[\"" + String.join("\",\"", images) + "\"]", id));
+    }
+
+    @Test
+    void getCommentsByPost_ShouldUseFixedStatements() {
+        // When
+        statements.clear();
+        CommentsPageResponse page = tx.execute(status ->
+                commentService.getCommentsByPost(postId, 1, PAGE_SIZE, "createdAt", false));
+
+        // Then: statistics, page, count - no per-row user or post loads
+        assertEquals(3, statements.size(), String.join("\n", statements));
+        assertEquals(1, statements.stream().filter(sql -> sql.contains("join users")).count());
+        assertEquals(PAGE_SIZE, page.getComments().size());
+        assertEquals((long) COMMENTS, page.getTotalElements());
+        for (CommentResponse comment : page.getComments()) {
+            int n = Integer.parseInt(comment.getContent().split(" ")[2]);
+            assertEquals("page-user" + n, comment.getUserName());
+            assertEquals("page-user" + n + "@example.com", comment.getUserEmail());
+            assertEquals(postId, comment.getPostId());
+            assertNull(comment.getPostTitle());
+            assertEquals(n % 3 == 0 ? List.of(n + "-a.jpg", n + "-b.jpg") : List.of(), comment.getImages());
+        }
+    }
+
+    @Test
+    void getLatestComments_ShouldNotLoadEntities() {
+        // When
+        statements.clear();
+        List<CommentResponse> latest = tx.execute(status -> commentService.getLatestComments(postId, 5));
+
+        // Then: existence check, page, count
+        assertEquals(5, latest.size());
+        assertTrue(statements.size() <= 3, String.join("\n", statements));
+        assertTrue(statements.stream().noneMatch(sql -> sql.contains("from users")));
+    }
+
+    @Test
+    void entityPage_ForComparison_ShouldCostOneStatementPerLazyAssociation() {
+        // When: what the page used to do, reading the author of every row
+        statements.clear();
+        tx.executeWithoutResult(status -> commentRepository.findByPostIdAndIsActiveTrue(postId,
+                        PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt")))
+                .forEach(comment -> comment.getUser().getFullName()));
+
+        // Then
+        assertTrue(statements.size() > PAGE_SIZE, String.join("\n", statements));
+    }
+
+    private User user(Role role, String name) {
+        return userRepository.save(User.builder()
+                .email(name + "@example.com")
+                .password("secret")
+                .fullName(name)
+                .role(role)
+                .isActive(true)
+                .isLocked(false)
+                .failedLoginAttempts(0)
+                .build());
+    }
+}
@@ -0,0 +1,154 @@
+package com.myapp.booking.repositories;
+
+import com.myapp.booking.dtos.requests.CreateCommentRequest;
+import com.myapp.booking.dtos.responses.CommentsPageResponse;
+import com.myapp.booking.dtos.responses.RatingSummaryResponse;
+import com.myapp.booking.enums.RoleName;
+import com.myapp.booking.events.PostChangedEvent;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.models.Role;
+import com.myapp.booking.models.User;
+import com.myapp.booking.services.CommentService;
+import com.myapp.booking.services.CommentStatisticsService;
+import com.myapp.booking.services.VerifiedBookingIndex;
+import com.myapp.booking.support.CommentServiceBuilder;
+import com.myapp.booking.support.H2JpaTest;
+import com.myapp.booking.support.SqlStatementCapture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cost of one statistics request against a real database: the old path (a one-comment
+ * page that carries the distribution) versus the statistics service, cold and cached.
+ * Both must report the same distribution; statement counts are asserted.
+ */
+@H2JpaTest
+class CommentStatisticsCostTest {
+
+    private static final int COMMENTS = 200;
+
+    private final List<String> statements = SqlStatementCapture.statements();
+
+    private static Long postId;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private CommentStatisticsService statisticsService;
+    private CommentService commentService;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        statisticsService = new CommentStatisticsService(postRepository);
+        commentService = CommentServiceBuilder.commentService(commentRepository, postRepository, userRepository)
+                .statistics(statisticsService)
+                .verifiedBookings(new VerifiedBookingIndex(bookingRepository))
+                .build();
+        if (postId != null) {
+            return;
+        }
+        Role role = tx.execute(status -> roleRepository.save(Role.builder().roleName(RoleName.USER).build()));
+        postId = tx.execute(status -> postRepository.save(Post.builder()
+                .title("Grand Hall")
+                .description("Description")
+                .price(BigDecimal.valueOf(1000000))
+                .vendor(user(role, "stats-vendor"))
+                .build()).getId());
+        for (int i = 0; i < COMMENTS; i++) {
+            int n = i;
+            tx.execute(status -> commentService.createComment(CreateCommentRequest.builder()
+                    .content("Review number " + n + " of the hall")
+                    .rating(BigDecimal.valueOf(1 + n % 5))
+                    .build(), postId, user(role, "stats-user" + n).getId()));
+        }
+    }
+
+    @Test
+    void getStatistics_Cached_ShouldIssueNoStatements() {
+        // When
+        statements.clear();
+        CommentsPageResponse.RatingDistribution cold = statisticsService.getStatistics(postId).getRatingDistribution();
+        int coldStatements = statements.size();
+        statements.clear();
+        CommentsPageResponse.RatingDistribution warm = statisticsService.getStatistics(postId).getRatingDistribution();
+
+        // Then
+        assertEquals(1, coldStatements);
+        assertEquals(0, statements.size());
+        assertEquals(COMMENTS / 5, warm.getStar3());
+        assertEquals(cold, warm);
+
+        // A comment write evicts, the next read sees it
+        statisticsService.onPostChanged(new PostChangedEvent(postId, PostChangedEvent.ChangeType.REVIEWS));
+        statements.clear();
+        statisticsService.getStatistics(postId);
+        assertEquals(1, statements.size());
+    }
+
+    @Test
+    void getStatistics_ComparedWithCommentPage_ShouldAgreeInFewerStatements() {
+        // Given: the old path, the page with a statistics service that never keeps entries
+        CommentService pagePath = CommentServiceBuilder.commentService(commentRepository, postRepository, userRepository)
+                .statistics(new CommentStatisticsService(postRepository) {
+                    @Override
+                    public RatingSummaryResponse getStatistics(Long id) {
+                        evict(id);
+                        return super.getStatistics(id);
+                    }
+                })
+                .build();
+        statisticsService.evict(postId);
+
+        // When
+        statements.clear();
+        CommentsPageResponse.RatingDistribution page = tx.execute(status ->
+                pagePath.getCommentsByPost(postId, 0, 1, "createdAt", false).getRatingDistribution());
+        int pageStatements = statements.size();
+
+        statements.clear();
+        CommentsPageResponse.RatingDistribution cold = statisticsService.getStatistics(postId).getRatingDistribution();
+        int coldStatements = statements.size();
+
+        // Then
+        assertEquals(page, cold);
+        assertEquals(1, coldStatements);
+        assertTrue(coldStatements < pageStatements, "The page path issued " + pageStatements + " statements");
+    }
+
+    private User user(Role role, String name) {
+        return tx.execute(status -> userRepository.save(User.builder()
+                .email(name + "@example.com")
+                .password("secret")
+                .fullName(name)
+                .role(role)
+                .isActive(true)
+                .isLocked(false)
+                .failedLoginAttempts(0)
+                .build()));
+    }
+}
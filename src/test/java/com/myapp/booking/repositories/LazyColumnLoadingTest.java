@@ -0,0 +1,200 @@
+package com.myapp.booking.repositories;
+
+import com.myapp.booking.enums.RoleName;
+import com.myapp.booking.models.Booking;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.models.Role;
+import com.myapp.booking.models.User;
+import com.myapp.booking.support.H2JpaTest;
+import com.myapp.booking.support.SqlStatementCapture;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lazy basic columns need the build-time enhancement; these tests fail if the entities
+ * are not enhanced. Also prints the long-text bytes the hot queries no longer transfer.
+ */
+@H2JpaTest
+class LazyColumnLoadingTest {
+
+    private static final int POSTS = 200;
+    private static final String CONTENT = "Venue story, menus and policies. ".repeat(250);       // ~8 KB
+    private static final String WORKING_DAYS = "[\"MONDAY\",\"TUESDAY\",\"WEDNESDAY\",\"THURSDAY\",\"FRIDAY\",\"SATURDAY\",\"SUNDAY\"]";
+
+    private final List<String> statements = SqlStatementCapture.statements();
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static List<Long> postIds;
+    private static Long bookingId;
+
+    private TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        statements.clear();
+        if (postIds != null) {
+            return;
+        }
+        tx.executeWithoutResult(status -> {
+            Role role = roleRepository.findByRoleName(RoleName.VENDOR)
+                    .orElseGet(() -> roleRepository.save(Role.builder().roleName(RoleName.VENDOR).build()));
+            User vendor = userRepository.save(User.builder()
+                    .email("vendor" + System.nanoTime() + "@example.com")
+                    .password("secret")
+                    .fullName("Vendor")
+                    .role(role)
+                    .isActive(true)
+                    .isLocked(false)
+                    .failedLoginAttempts(0)
+                    .build());
+            postIds = new ArrayList<>();
+            for (int i = 0; i < POSTS; i++) {
+                postIds.add(postRepository.save(Post.builder()
+                        .title("Grand Hall " + i)
+                        .description("Description")
+                        .content(CONTENT)
+                        .workingDays(WORKING_DAYS)
+                        .price(BigDecimal.valueOf(1000000))
+                        .capacity(300)
+                        .vendor(vendor)
+                        .status(Post.PostStatus.PUBLISHED)
+                        .build()).getId());
+            }
+            bookingId = bookingRepository.save(Booking.builder()
+                    .userId(vendor.getId())
+                    .customerName("Customer")
+                    .customerPhone("0900000000")
+                    .postId(postIds.get(0))
+                    .vendorId(vendor.getId())
+                    .venueId(postIds.get(0))
+                    .bookingDate(Date.valueOf(LocalDate.now().plusDays(10)))
+                    .startTime(Time.valueOf("10:00:00"))
+                    .endTime(Time.valueOf("12:00:00"))
+                    .slotIndex(0)
+                    .unitPrice(1000000.0)
+                    .totalAmount(1000000.0)
+                    .finalAmount(1000000.0)
+                    .specialRequests("Vegetarian menu for 20 guests")
+                    .notes("Call before noon")
+                    .build()).getId();
+        });
+        statements.clear();
+    }
+
+    @Test
+    void findByIdAndIsDeletedFalse_ShouldNotSelectLongTextUntilAccessed() {
+        Long postId = postIds.get(0);
+        tx.executeWithoutResult(status -> {
+            // When
+            Post post = postRepository.findByIdAndIsDeletedFalse(postId).orElseThrow();
+
+            // Then
+            assertFalse(Hibernate.isPropertyInitialized(post, "content"));
+            assertFalse(Hibernate.isPropertyInitialized(post, "workingDays"));
+            assertFalse(statements.get(0).contains("content"), statements.get(0));
+            assertNotNull(post.getPrice());
+            assertEquals(1, statements.size());
+
+            // Both columns of the group arrive with one extra select
+            assertEquals(CONTENT, post.getContent());
+            assertTrue(Hibernate.isPropertyInitialized(post, "workingDays"));
+            assertEquals(WORKING_DAYS, post.getWorkingDays());
+            assertEquals(2, statements.size());
+        });
+    }
+
+    @Test
+    void booking_ShouldLoadFreeTextFieldsOnlyOnAccess() {
+        tx.executeWithoutResult(status -> {
+            // When
+            Booking booking = bookingRepository.findById(bookingId).orElseThrow();
+
+            // Then
+            assertFalse(Hibernate.isPropertyInitialized(booking, "specialRequests"));
+            assertEquals("Vegetarian menu for 20 guests", booking.getSpecialRequests());
+            assertEquals("Call before noon", booking.getNotes());
+            assertEquals(2, statements.size());
+        });
+    }
+
+    @Test
+    void findRequestTextByIds_ShouldReadLazyColumnsForAPageInOneQuery() {
+        // When
+        List<Object[]> rows = tx.execute(status -> bookingRepository.findRequestTextByIds(List.of(bookingId)));
+
+        // Then
+        assertEquals(1, statements.size());
+        assertEquals("Vegetarian menu for 20 guests", rows.get(0)[1]);
+        assertEquals("Call before noon", rows.get(0)[2]);
+    }
+
+    @Test
+    void updatingPostWithoutTouchingText_ShouldKeepText() {
+        Long postId = postIds.get(1);
+
+        // When
+        tx.executeWithoutResult(status -> {
+            Post post = postRepository.findByIdAndIsDeletedFalse(postId).orElseThrow();
+            post.setTitle("Renamed");
+            postRepository.save(post);
+        });
+
+        // Then
+        String content = jdbcTemplate.queryForObject("SELECT content FROM posts WHERE id = ?", String.class, postId);
+        assertEquals(CONTENT, content);
+    }
+
+    @Test
+    void hotPostQueries_ShouldNotSelectLongTextColumns() {
+        // When: the by-id load and the published page, as the list and detail paths run them
+        tx.executeWithoutResult(status -> {
+            for (Long id : postIds) {
+                postRepository.findByIdAndIsDeletedFalse(id).orElseThrow().getPrice();
+            }
+            postRepository.findAllPublishedPosts(PageRequest.of(0, 50)).getContent().forEach(Post::getPrice);
+            entityManager.clear();
+        });
+
+        // Then
+        assertFalse(statements.isEmpty());
+        assertTrue(statements.stream().noneMatch(sql -> sql.contains(".content") || sql.contains("working_days")),
+                () -> String.join("\n", statements));
+    }
+}
@@ -0,0 +1,160 @@
+package com.myapp.booking.repositories;
+
+import com.myapp.booking.dtos.requests.UpdateMenuRequest;
+import com.myapp.booking.dtos.responses.MenuResponse;
+import com.myapp.booking.enums.RoleName;
+import com.myapp.booking.events.MenuChangedEvent;
+import com.myapp.booking.exceptions.ResourceNotFoundException;
+import com.myapp.booking.models.Menu;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.models.Role;
+import com.myapp.booking.models.User;
+import com.myapp.booking.services.MenuCatalogCache;
+import com.myapp.booking.services.MenuService;
+import com.myapp.booking.support.H2JpaTest;
+import com.myapp.booking.support.SqlStatementCapture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Menu list against a real database (H2 in MySQL mode): a cold post is read with one
+ * fetch-join query, a warm one with none, and menu writes are visible once their event
+ * is delivered after commit.
+ */
+@H2JpaTest
+class MenuCatalogCacheTest {
+
+    private static final int MENUS = 6;
+
+    private final List<String> statements = SqlStatementCapture.statements();
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private MenuCatalogCache catalogCache;
+    private MenuService menuService;
+    private final List<Object> published = new ArrayList<>();
+    private User vendor;
+    private Long postId;
+    private List<Long> menuIds;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        catalogCache = new MenuCatalogCache();
+        ApplicationEventPublisher publisher = published::add;
+        menuService = new MenuService(menuRepository, postRepository, userRepository, catalogCache, publisher);
+        tx.executeWithoutResult(status -> {
+            Role role = roleRepository.findByRoleName(RoleName.VENDOR)
+                    .orElseGet(() -> roleRepository.save(Role.builder().roleName(RoleName.VENDOR).build()));
+            vendor = userRepository.save(User.builder()
+                    .email("vendor" + System.nanoTime() + "@example.com")
+                    .password("secret")
+                    .fullName("Vendor")
+                    .role(role)
+                    .isActive(true)
+                    .isLocked(false)
+                    .failedLoginAttempts(0)
+                    .build());
+            Post post = postRepository.save(Post.builder()
+                    .title("Grand Hall")
+                    .description("Description")
+                    .price(BigDecimal.valueOf(1000000))
+                    .vendor(vendor)
+                    .build());
+            postId = post.getId();
+            menuIds = new ArrayList<>();
+            for (int i = 0; i < MENUS; i++) {
+                menuIds.add(menuRepository.save(Menu.builder()
+                        .name("Menu " + i)
+                        .price(BigDecimal.valueOf(3000000 + i * 500000L))
+                        .items(new ArrayList<>(List.of("Soup " + i, "Duck " + i, "Dessert " + i)))
+                        .isActive(i != MENUS - 1)
+                        .post(post)
+                        .vendor(vendor)
+                        .build()).getId());
+            }
+        });
+    }
+
+    @Test
+    void getMenusByPost_Cold_ShouldIssueOneQuery() {
+        // When
+        statements.clear();
+        List<MenuResponse> menus = menuService.getMenusByPost(postId);
+
+        // Then: menus, post, vendor and items in one statement; the inactive menu left out
+        assertEquals(1, statements.size(), String.join("\n", statements));
+        assertEquals(MENUS - 1, menus.size());
+        assertEquals(List.of("Soup 0", "Duck 0", "Dessert 0"), menus.get(0).getItems());
+        assertEquals("Grand Hall", menus.get(0).getPostTitle());
+        assertEquals(vendor.getId(), menus.get(0).getVendorId());
+    }
+
+    @Test
+    void getMenusByPost_Warm_ShouldNotTouchTheDatabase() {
+        // Given
+        menuService.getMenusByPost(postId);
+
+        // When
+        statements.clear();
+        List<MenuResponse> menus = menuService.getMenusByPost(postId);
+        menus.get(0).setName("changed by caller");
+
+        // Then
+        assertEquals(0, statements.size(), String.join("\n", statements));
+        assertEquals(MENUS - 1, menus.size());
+        assertEquals("Menu 0", menuService.getMenusByPost(postId).get(0).getName());
+    }
+
+    @Test
+    void updateMenu_ShouldBeVisibleAfterTheEventIsDelivered() {
+        // Given
+        menuService.getMenusByPost(postId);
+        Long menuId = menuIds.get(0);
+
+        // When
+        published.clear();
+        tx.execute(status -> menuService.updateMenu(menuId, UpdateMenuRequest.builder()
+                .name("Wedding set")
+                .build(), vendor.getId()));
+        published.stream()
+                .filter(MenuChangedEvent.class::isInstance)
+                .map(MenuChangedEvent.class::cast)
+                .forEach(catalogCache::onMenuChanged);
+
+        // Then
+        statements.clear();
+        assertEquals("Wedding set", menuService.getMenusByPost(postId).get(0).getName());
+        assertEquals(1, statements.size(), String.join("\n", statements));
+    }
+
+    @Test
+    void getMenusByPost_UnknownPost_ShouldBeNotFoundAndNotCached() {
+        assertThrows(ResourceNotFoundException.class, () -> menuService.getMenusByPost(Long.MAX_VALUE));
+        assertThrows(ResourceNotFoundException.class, () -> menuService.getMenusByPost(Long.MAX_VALUE));
+    }
+}
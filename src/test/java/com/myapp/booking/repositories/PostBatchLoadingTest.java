@@ -0,0 +1,144 @@
+package com.myapp.booking.repositories;
+
+import com.myapp.booking.dtos.responses.post.PostResponse;
+import com.myapp.booking.enums.RoleName;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.models.Role;
+import com.myapp.booking.models.User;
+import com.myapp.booking.services.PostService;
+import com.myapp.booking.services.ViewCountBuffer;
+import com.myapp.booking.support.H2JpaTest;
+import com.myapp.booking.support.SqlStatementCapture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The batch loader against a real database: a fixed number of statements for 100 ids,
+ * and the same responses as loading the posts one call at a time.
+ */
+@H2JpaTest
+class PostBatchLoadingTest {
+
+    private static final int POSTS = 150;
+    private static final int VENDORS = 15;
+    private static final int BATCH = 100;
+
+    private final List<String> statements = SqlStatementCapture.statements();
+
+    private static List<Long> postIds;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private PostService postService;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        // Only the repository and the view buffer are used by the read paths under test
+        postService = new PostService(postRepository, userRepository, null, null,
+                mock(ViewCountBuffer.class), null, null, null);
+        if (postIds != null) {
+            return;
+        }
+        tx.executeWithoutResult(status -> {
+            Role role = roleRepository.save(Role.builder().roleName(RoleName.VENDOR).build());
+            List<User> vendors = new ArrayList<>();
+            for (int v = 0; v < VENDORS; v++) {
+                vendors.add(userRepository.save(User.builder()
+                        .email("batch-vendor" + v + "@example.com")
+                        .password("secret")
+                        .fullName("Vendor " + v)
+                        .role(role)
+                        .isActive(true)
+                        .isLocked(false)
+                        .failedLoginAttempts(0)
+                        .build()));
+            }
+            postIds = new ArrayList<>();
+            for (int i = 0; i < POSTS; i++) {
+                postIds.add(postRepository.save(Post.builder()
+                        .title("Grand Hall " + i)
+                        .description("Description")
+                        .content("Story of hall " + i)
+                        .price(BigDecimal.valueOf(1000000))
+                        .vendor(vendors.get(i % VENDORS))
+                        .images(new ArrayList<>(List.of(i + "-a.jpg", i + "-b.jpg", i + "-c.jpg")))
+                        .amenities(new HashSet<>(Set.of("Parking", "Stage")))
+                        .status(Post.PostStatus.PUBLISHED)
+                        .build()).getId());
+            }
+        });
+    }
+
+    @Test
+    void getPostsByIds_HundredIds_ShouldUseFourStatements() {
+        // Given: 90 existing posts in random order and 10 unknown ids
+        List<Long> ids = new ArrayList<>(postIds.subList(0, BATCH - 10));
+        for (long unknown = 1; unknown <= 10; unknown++) {
+            ids.add(1_000_000L + unknown);
+        }
+        Collections.shuffle(ids, new Random(7));
+
+        // When
+        statements.clear();
+        List<PostResponse> posts = tx.execute(status -> postService.getPostsByIds(ids));
+
+        // Then: posts + vendor, images, amenities, content
+        assertEquals(4, statements.size(), String.join("\n", statements));
+        assertEquals(BATCH - 10, posts.size());
+        for (PostResponse post : posts) {
+            int index = postIds.indexOf(post.getId());
+            assertEquals(List.of("/uploads/" + index + "-a.jpg", "/uploads/" + index + "-b.jpg",
+                    "/uploads/" + index + "-c.jpg"), post.getImages());
+            assertEquals("Story of hall " + index, post.getContent());
+            assertEquals("Vendor " + (index % VENDORS), post.getVendor().getFullName());
+            assertEquals(2, post.getAmenities().size());
+        }
+    }
+
+    @Test
+    void getPostsByIds_ShouldMatchSingleCallsWithFewerStatements() {
+        List<Long> ids = postIds.subList(0, BATCH);
+
+        // When
+        statements.clear();
+        List<PostResponse> batch = tx.execute(status -> postService.getPostsByIds(ids));
+        int batchStatements = statements.size();
+
+        statements.clear();
+        List<PostResponse> single = ids.stream()
+                .map(id -> tx.execute(status -> postService.getPostById(id)))
+                .toList();
+        int singleStatements = statements.size();
+
+        // Then: the same responses, in a constant number of statements instead of several per post
+        assertEquals(single, batch);
+        assertEquals(4, batchStatements);
+        assertTrue(singleStatements >= BATCH, "Single calls issued " + singleStatements + " statements");
+    }
+}
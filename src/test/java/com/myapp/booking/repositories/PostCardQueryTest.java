@@ -0,0 +1,113 @@
+package com.myapp.booking.repositories;
+
+import com.myapp.booking.dtos.responses.post.PostCardProjection;
+import com.myapp.booking.enums.RoleName;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.models.Role;
+import com.myapp.booking.models.User;
+import com.myapp.booking.support.H2JpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Card list queries: page totals come from a count over the same join and filters as the
+ * rows, so walking every page returns exactly totalElements cards.
+ */
+@H2JpaTest
+class PostCardQueryTest {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static Long vendorId;
+
+    @BeforeEach
+    void setUp() {
+        if (vendorId != null) {
+            return;
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Role role = roleRepository.save(Role.builder().roleName(RoleName.VENDOR).build());
+            User vendor = vendor(role, "card-vendor");
+            User other = vendor(role, "other-vendor");
+            vendorId = vendor.getId();
+            for (int i = 0; i < 7; i++) {
+                post(vendor, "Hall " + i, Post.PostStatus.PUBLISHED, false);
+            }
+            post(vendor, "Pending hall", Post.PostStatus.PENDING, false);
+            post(vendor, "Deleted hall", Post.PostStatus.PUBLISHED, true);
+            post(other, "Garden", Post.PostStatus.PUBLISHED, false);
+        });
+    }
+
+    @Test
+    void cardPages_TotalsShouldMatchTheRowsWalked() {
+        assertEquals(10, walk(postRepository::findAllCards));
+        assertEquals(8, walk(postRepository::findPublishedCards));
+        assertEquals(8, walk(page -> postRepository.findCardsByVendorId(vendorId, page)));
+        assertEquals(7, walk(page -> postRepository.searchCards("hall", page)));
+    }
+
+    // Walks every page of 3 and checks the total each page reports against the rows seen
+    private static long walk(Function<PageRequest, Page<PostCardProjection>> query) {
+        List<Long> seen = new ArrayList<>();
+        Page<PostCardProjection> page = query.apply(PageRequest.of(0, 3, Sort.by("id")));
+        long total = page.getTotalElements();
+        while (true) {
+            page.getContent().forEach(card -> seen.add(card.getId()));
+            assertEquals(total, page.getTotalElements());
+            if (!page.hasNext()) {
+                break;
+            }
+            page = query.apply(PageRequest.of(page.getNumber() + 1, 3, Sort.by("id")));
+        }
+        assertEquals(total, seen.size());
+        return total;
+    }
+
+    private User vendor(Role role, String name) {
+        return userRepository.save(User.builder()
+                .email(name + "@example.com")
+                .password("secret")
+                .fullName(name)
+                .role(role)
+                .isActive(true)
+                .isLocked(false)
+                .failedLoginAttempts(0)
+                .build());
+    }
+
+    private void post(User vendor, String title, Post.PostStatus status, boolean deleted) {
+        postRepository.save(Post.builder()
+                .title(title)
+                .description("Description")
+                .price(BigDecimal.valueOf(1000000))
+                .vendor(vendor)
+                .status(status)
+                .isActive(true)
+                .isDeleted(deleted)
+                .build());
+    }
+}
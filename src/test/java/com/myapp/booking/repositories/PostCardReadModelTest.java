@@ -0,0 +1,193 @@
+package com.myapp.booking.repositories;
+
+import com.myapp.booking.dtos.responses.post.PostListResponse;
+import com.myapp.booking.enums.RoleName;
+import com.myapp.booking.models.Booking;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.models.PostCard;
+import com.myapp.booking.models.Role;
+import com.myapp.booking.models.User;
+import com.myapp.booking.services.PostCardService;
+import com.myapp.booking.support.H2JpaTest;
+import com.myapp.booking.support.SqlStatementCapture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The post_cards read model against a real database (H2 in MySQL mode). Rebuilds are
+ * called without a surrounding transaction, as the nightly scheduler does.
+ */
+@H2JpaTest
+class PostCardReadModelTest {
+
+    private static final int POSTS = 250;
+
+    private final List<String> statements = SqlStatementCapture.statements();
+
+    @Autowired
+    private PostCardRepository postCardRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private PostCardService postCardService;
+    private User vendor;
+    private List<Long> postIds;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        postCardService = new PostCardService(postCardRepository, postRepository, bookingRepository, transactionManager);
+        tx.executeWithoutResult(status -> {
+            postCardRepository.deleteAll();
+            bookingRepository.deleteAll();
+            postRepository.deleteAll();
+            Role role = roleRepository.findByRoleName(RoleName.VENDOR)
+                    .orElseGet(() -> roleRepository.save(Role.builder().roleName(RoleName.VENDOR).build()));
+            vendor = userRepository.save(User.builder()
+                    .email("cards" + System.nanoTime() + "@example.com")
+                    .password("secret")
+                    .fullName("Card Vendor")
+                    .role(role)
+                    .isActive(true)
+                    .isLocked(false)
+                    .failedLoginAttempts(0)
+                    .build());
+            postIds = new ArrayList<>();
+            for (int i = 0; i < POSTS; i++) {
+                postIds.add(postRepository.save(Post.builder()
+                        .title("Hall " + i)
+                        .description("Description " + i)
+                        .price(BigDecimal.valueOf(1000000))
+                        .vendor(vendor)
+                        .status(i % 10 == 0 ? Post.PostStatus.PENDING : Post.PostStatus.PUBLISHED)
+                        .availableSlots(1)
+                        .images(new ArrayList<>(List.of("hall" + i + "-a.jpg", "hall" + i + "-b.jpg")))
+                        .build()).getId());
+            }
+        });
+    }
+
+    @Test
+    void rebuildAll_WithoutCallerTransaction_ShouldBuildEveryCard() {
+        // Given: the only slot of post 1 is booked today, and a card whose post is gone
+        tx.executeWithoutResult(status -> {
+            bookingRepository.save(booking(postIds.get(1), LocalDate.now()));
+            postCardRepository.save(PostCard.builder()
+                    .postId(Long.MAX_VALUE)
+                    .title("Gone")
+                    .isActive(true)
+                    .isDeleted(false)
+                    .build());
+        });
+
+        // When
+        int rebuilt = postCardService.rebuildAll();
+
+        // Then
+        assertEquals(POSTS, rebuilt);
+        assertEquals(POSTS, postCardRepository.count());
+        assertFalse(postCardRepository.existsById(Long.MAX_VALUE));
+        PostCard first = postCardRepository.findById(postIds.get(0)).orElseThrow();
+        assertEquals("hall0-a.jpg", first.getThumbnailImage());
+        assertEquals(2, first.getImageCount());
+        assertEquals("Card Vendor", first.getVendorName());
+        assertEquals(LocalDate.now(), first.getNextAvailableDate());
+        assertEquals(LocalDate.now().plusDays(1),
+                postCardRepository.findById(postIds.get(1)).orElseThrow().getNextAvailableDate());
+    }
+
+    @Test
+    void rebuildAll_ShouldReadEachBatchWithAFixedNumberOfQueries() {
+        // When
+        statements.clear();
+        postCardService.rebuildAll();
+
+        // Then: per batch of 100, posts with vendors, their images and their bookings
+        int batches = (POSTS + 99) / 100;
+        List<String> reads = statements.stream()
+                .filter(sql -> sql.startsWith("select") && !sql.contains("from post_cards"))
+                .toList();
+        assertEquals(batches, reads.stream().filter(sql -> sql.contains("from bookings")).count());
+        assertEquals(batches, reads.stream().filter(sql -> sql.contains("from post_images")).count());
+        assertTrue(reads.size() <= 1 + 3 * batches, String.join("\n", reads));
+    }
+
+    @Test
+    void refresh_ShouldRewriteOrRemoveOneCard() {
+        // Given
+        postCardService.rebuildAll();
+        Long postId = postIds.get(5);
+        tx.executeWithoutResult(status -> postRepository.findById(postId).orElseThrow().setTitle("Renamed hall"));
+
+        // When: refresh is REQUIRES_NEW behind the Spring proxy; this instance is unproxied
+        tx.executeWithoutResult(status -> postCardService.refresh(postId));
+
+        // Then
+        assertEquals("Renamed hall", postCardRepository.findById(postId).orElseThrow().getTitle());
+
+        // When: the post row is gone
+        tx.executeWithoutResult(status -> postRepository.deleteById(postId));
+        tx.executeWithoutResult(status -> postCardService.refresh(postId));
+
+        // Then
+        assertFalse(postCardRepository.existsById(postId));
+    }
+
+    @Test
+    void getListableCards_ShouldServeOnlyPublishedCards() {
+        // Given
+        postCardService.rebuildAll();
+
+        // When
+        Page<PostListResponse> page = tx.execute(status -> postCardService.getListableCards(PageRequest.of(0, 500)));
+
+        // Then
+        assertEquals(POSTS - POSTS / 10, page.getTotalElements());
+        assertTrue(page.getContent().stream().noneMatch(card -> card.getTitle().equals("Hall 0")));
+    }
+
+    private Booking booking(Long postId, LocalDate date) {
+        return Booking.builder()
+                .bookingCode("BK" + System.nanoTime())
+                .userId(vendor.getId())
+                .customerName("Guest")
+                .customerPhone("0900000000")
+                .postId(postId)
+                .vendorId(vendor.getId())
+                .venueId(postId)
+                .bookingDate(java.sql.Date.valueOf(date))
+                .startTime(java.sql.Time.valueOf("10:00:00"))
+                .endTime(java.sql.Time.valueOf("12:00:00"))
+                .unitPrice(500000.0)
+                .totalAmount(500000.0)
+                .finalAmount(500000.0)
+                .status("CONFIRMED")
+                .build();
+    }
+}
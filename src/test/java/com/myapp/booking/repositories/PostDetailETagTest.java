@@ -0,0 +1,179 @@
+package com.myapp.booking.repositories;
+
+import com.myapp.booking.dtos.requests.UpdateMenuRequest;
+import com.myapp.booking.dtos.requests.post.UpdatePostRequest;
+import com.myapp.booking.enums.RoleName;
+import com.myapp.booking.models.Menu;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.models.Role;
+import com.myapp.booking.models.User;
+import com.myapp.booking.services.LikedPostsCache;
+import com.myapp.booking.services.MenuCatalogCache;
+import com.myapp.booking.services.MenuService;
+import com.myapp.booking.services.PostCardService;
+import com.myapp.booking.services.PostETagService;
+import com.myapp.booking.services.PostLikeService;
+import com.myapp.booking.services.PostService;
+import com.myapp.booking.services.UniqueVisitorService;
+import com.myapp.booking.services.ViewCountBuffer;
+import com.myapp.booking.support.H2JpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Detail ETags against a real database (H2 in MySQL mode): a client revalidating after a
+ * gallery edit or a menu write must get the new representation, not a 304.
+ */
+@H2JpaTest
+@Import({PostService.class, MenuService.class, PostETagService.class, PostFeedRepository.class})
+class PostDetailETagTest {
+
+    @MockitoBean
+    private PostCardService postCardService;
+
+    @MockitoBean
+    private ViewCountBuffer viewCountBuffer;
+
+    @MockitoBean
+    private UniqueVisitorService uniqueVisitorService;
+
+    @MockitoBean
+    private PostLikeService postLikeService;
+
+    @MockitoBean
+    private LikedPostsCache likedPostsCache;
+
+    @MockitoBean
+    private MenuCatalogCache menuCatalogCache;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private MenuService menuService;
+
+    @Autowired
+    private PostETagService postETagService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private User vendor;
+    private Long postId;
+    private Long menuId;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Role role = roleRepository.findByRoleName(RoleName.VENDOR)
+                    .orElseGet(() -> roleRepository.save(Role.builder().roleName(RoleName.VENDOR).build()));
+            vendor = userRepository.save(User.builder()
+                    .email("vendor" + System.nanoTime() + "@example.com")
+                    .password("secret")
+                    .fullName("Vendor")
+                    .role(role)
+                    .isActive(true)
+                    .isLocked(false)
+                    .failedLoginAttempts(0)
+                    .build());
+            Post post = postRepository.save(Post.builder()
+                    .title("Grand Hall")
+                    .description("Description")
+                    .price(BigDecimal.valueOf(1000000))
+                    .vendor(vendor)
+                    .images(new ArrayList<>(List.of("a.jpg", "b.jpg", "c.jpg")))
+                    .build());
+            postId = post.getId();
+            menuId = menuRepository.save(Menu.builder()
+                    .name("Classic")
+                    .price(BigDecimal.valueOf(3000000))
+                    .items(new ArrayList<>(List.of("Soup", "Duck")))
+                    .post(post)
+                    .vendor(vendor)
+                    .build()).getId();
+        });
+    }
+
+    @Test
+    void galleryOnlyEdit_ShouldChangeTheDetailETag() {
+        // Given
+        String before = detailETag();
+
+        // When: the images are reordered, nothing else changes
+        tx.execute(status -> postService.updatePost(postId, UpdatePostRequest.builder()
+                .existingImages(List.of("c.jpg", "a.jpg", "b.jpg"))
+                .build(), null, vendor.getId()));
+
+        // Then
+        assertEquals(HttpStatus.OK.value(), revalidate(before));
+    }
+
+    @Test
+    void menuWrites_ShouldChangeTheDetailETag() {
+        // Given
+        String beforeUpdate = detailETag();
+
+        // When
+        tx.execute(status -> menuService.updateMenu(menuId, UpdateMenuRequest.builder()
+                .items(new ArrayList<>(List.of("Soup", "Duck", "Dessert")))
+                .build(), vendor.getId()));
+
+        // Then
+        assertEquals(HttpStatus.OK.value(), revalidate(beforeUpdate));
+
+        // When
+        String beforeDelete = detailETag();
+        tx.executeWithoutResult(status -> menuService.deleteMenu(menuId, vendor.getId()));
+
+        // Then
+        assertEquals(HttpStatus.OK.value(), revalidate(beforeDelete));
+    }
+
+    @Test
+    void unchangedPost_ShouldRevalidateWith304() {
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), revalidate(detailETag()));
+    }
+
+    private String detailETag() {
+        return postETagService.detailETag(postId, null).orElseThrow();
+    }
+
+    // The status PostController#getPostById answers a client holding the given tag with
+    private int revalidate(String clientTag) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts/" + postId);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, clientTag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean notModified = new ServletWebRequest(request, response).checkNotModified(detailETag());
+        return notModified ? HttpStatus.NOT_MODIFIED.value() : HttpStatus.OK.value();
+    }
+}
@@ -0,0 +1,198 @@
+package com.myapp.booking.repositories;
+
+import com.myapp.booking.dtos.responses.post.PostCardProjection;
+import com.myapp.booking.enums.PostFeedSort;
+import com.myapp.booking.enums.RoleName;
+import com.myapp.booking.models.Role;
+import com.myapp.booking.models.User;
+import com.myapp.booking.support.H2JpaTest;
+import com.myapp.booking.support.SqlStatementCapture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keyset feed against a real database (H2 in MySQL mode) seeded with enough posts that
+ * page 500 is meaningful.
+ */
+@H2JpaTest
+@Import(PostFeedRepository.class)
+class PostFeedRepositoryTest {
+
+    private static final int POSTS = 12_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_PAGE = 500;
+
+    private static boolean seeded;
+
+    private final List<String> statements = SqlStatementCapture.statements();
+
+    @Autowired
+    private PostFeedRepository postFeedRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        if (seeded) {
+            return;
+        }
+        Long vendorId = tx.execute(status -> {
+            Role role = roleRepository.save(Role.builder().roleName(RoleName.VENDOR).build());
+            return userRepository.save(User.builder()
+                    .email("feed-vendor@example.com")
+                    .password("secret")
+                    .fullName("Feed Vendor")
+                    .role(role)
+                    .isActive(true)
+                    .isLocked(false)
+                    .failedLoginAttempts(0)
+                    .build()).getId();
+        });
+
+        // Deliberate ties on every sort column so the id tie-breaker is exercised
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 8, 0);
+        List<Object[]> rows = new ArrayList<>(POSTS);
+        for (int i = 0; i < POSTS; i++) {
+            boolean published = i % 10 != 0;
+            rows.add(new Object[]{
+                    "Venue " + i, "Description", BigDecimal.valueOf(1_000_000L + (i % 50) * 100_000L),
+                    i % 7 == 0 ? null : 100 + (i % 30) * 10, BigDecimal.valueOf(i % 6, 0).add(BigDecimal.valueOf(i % 2, 1)),
+                    published ? "PUBLISHED" : "DRAFT", vendorId, Timestamp.valueOf(base.plusMinutes(i / 3))
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO posts (title, description, price, capacity, rating, status, vendor_id, "
+                + "created_at, currency, is_available, available_slots, allow_comments, enable_notifications, "
+                + "view_count, like_count, comment_count, booking_count, trending_score, is_active, is_deleted) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'VND', true, 4, true, true, 0, 0, 0, 0, 0, true, false)", rows);
+        seeded = true;
+    }
+
+    @Test
+    void findFeedPage_WalkingAllCursors_ShouldReturnEveryPublishedPostOnceInOrder() {
+        for (PostFeedSort sort : PostFeedSort.values()) {
+            for (boolean ascending : new boolean[]{true, false}) {
+                // When
+                List<PostCardProjection> walked = walk(sort, ascending, 500, Integer.MAX_VALUE);
+
+                // Then
+                Long expected = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts WHERE status = 'PUBLISHED'"
+                        + (sort.isNullable() ? " AND " + column(sort) + " IS NOT NULL" : ""), Long.class);
+                Set<Long> ids = new HashSet<>();
+                walked.forEach(card -> ids.add(card.getId()));
+                assertEquals(expected, walked.size(), sort + " " + ascending);
+                assertEquals(walked.size(), ids.size(), "Duplicate rows for " + sort + " " + ascending);
+                assertSorted(walked, sort, ascending);
+            }
+        }
+    }
+
+    @Test
+    void findFeedPage_DeepPage_ShouldMatchOffsetPageWithoutOffsetOrCount() {
+        // Given: the cursor a client would hold after scrolling 499 pages
+        List<PostCardProjection> head = walk(PostFeedSort.CREATED_AT, false, PAGE_SIZE, PAGE_SIZE * (DEEP_PAGE - 1));
+        PostCardProjection lastSeen = head.get(head.size() - 1);
+
+        PageRequest deepOffsetPage = PageRequest.of(DEEP_PAGE - 1, PAGE_SIZE,
+                Sort.by("createdAt").descending().and(Sort.by("id").descending()));
+
+        // When
+        statements.clear();
+        List<PostCardProjection> keysetDeep = tx.execute(s -> postFeedRepository.findFeedPage(
+                PostFeedSort.CREATED_AT, false, lastSeen.getCreatedAt(), lastSeen.getId(), PAGE_SIZE));
+        List<String> keysetStatements = List.copyOf(statements);
+        Page<PostCardProjection> offsetDeep = tx.execute(s -> postRepository.findPublishedCards(deepOffsetPage));
+
+        // Then: same rows, read by one seek on the index instead of skipping 9,980 rows and counting
+        assertEquals(ids(offsetDeep.getContent()), ids(keysetDeep));
+        assertEquals(1, keysetStatements.size(), String.join("\n", keysetStatements));
+        assertFalse(keysetStatements.get(0).contains("offset"), keysetStatements.get(0));
+        assertFalse(keysetStatements.get(0).contains("count("), keysetStatements.get(0));
+    }
+
+    private List<PostCardProjection> walk(PostFeedSort sort, boolean ascending, int pageSize, int maxRows) {
+        List<PostCardProjection> all = new ArrayList<>();
+        PostCardProjection last = null;
+        while (all.size() < maxRows) {
+            Object afterValue = last != null ? value(sort, last) : null;
+            Long afterId = last != null ? last.getId() : null;
+            int limit = Math.min(pageSize, maxRows - all.size());
+            List<PostCardProjection> page = tx.execute(s ->
+                    postFeedRepository.findFeedPage(sort, ascending, afterValue, afterId, limit));
+            if (page.isEmpty()) {
+                break;
+            }
+            all.addAll(page);
+            last = page.get(page.size() - 1);
+        }
+        return all;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void assertSorted(List<PostCardProjection> cards, PostFeedSort sort, boolean ascending) {
+        for (int i = 1; i < cards.size(); i++) {
+            Comparable previous = (Comparable) value(sort, cards.get(i - 1));
+            Comparable current = (Comparable) value(sort, cards.get(i));
+            int cmp = previous.compareTo(current);
+            if (cmp == 0) {
+                cmp = cards.get(i - 1).getId().compareTo(cards.get(i).getId());
+            }
+            assertTrue(ascending ? cmp < 0 : cmp > 0, "Out of order at " + i + " for " + sort);
+        }
+    }
+
+    private static Object value(PostFeedSort sort, PostCardProjection card) {
+        return switch (sort) {
+            case CREATED_AT -> card.getCreatedAt();
+            case PRICE -> card.getPrice();
+            case CAPACITY -> card.getCapacity();
+            case RATING -> card.getRating();
+        };
+    }
+
+    private static String column(PostFeedSort sort) {
+        return switch (sort) {
+            case CREATED_AT -> "created_at";
+            case PRICE -> "price";
+            case CAPACITY -> "capacity";
+            case RATING -> "rating";
+        };
+    }
+
+    private static List<Long> ids(List<PostCardProjection> cards) {
+        return cards.stream().map(PostCardProjection::getId).toList();
+    }
+}
@@ -0,0 +1,176 @@
+package com.myapp.booking.repositories;
+
+import com.myapp.booking.enums.RoleName;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.models.Role;
+import com.myapp.booking.models.User;
+import com.myapp.booking.utils.ListSync;
+import com.myapp.booking.support.H2JpaTest;
+import com.myapp.booking.support.SqlStatementCapture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the post_images statements each kind of gallery edit flushes, and checks the
+ * stored order survives a reload.
+ */
+@H2JpaTest
+class PostImageUpdateTest {
+
+    private static final List<String> GALLERY = List.of("a.jpg", "b.jpg", "c.jpg", "d.jpg", "e.jpg", "f.jpg");
+
+    private final List<String> statements = SqlStatementCapture.statements();
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private Long postId;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        postId = tx.execute(status -> {
+            Role role = roleRepository.findByRoleName(RoleName.VENDOR)
+                    .orElseGet(() -> roleRepository.save(Role.builder().roleName(RoleName.VENDOR).build()));
+            User vendor = userRepository.save(User.builder()
+                    .email("vendor" + System.nanoTime() + "@example.com")
+                    .password("secret")
+                    .fullName("Vendor")
+                    .role(role)
+                    .isActive(true)
+                    .isLocked(false)
+                    .failedLoginAttempts(0)
+                    .build());
+            return postRepository.save(Post.builder()
+                    .title("Grand Hall")
+                    .description("Description")
+                    .price(BigDecimal.valueOf(1000000))
+                    .vendor(vendor)
+                    .images(new ArrayList<>(GALLERY))
+                    .build()).getId();
+        });
+    }
+
+    @Test
+    void titleOnlyUpdate_ShouldNotTouchPostImages() {
+        // When
+        List<String> sql = flushed(post -> post.setTitle("Grand Hall Renamed"));
+
+        // Then
+        assertEquals(0, count(sql, "post_images"), sql.toString());
+        assertEquals(GALLERY, reloadImages());
+    }
+
+    @Test
+    void syncInPlace_UnchangedGallery_ShouldIssueNoImageWrites() {
+        // When
+        List<String> sql = flushed(post -> assertFalse(ListSync.syncInPlace(post.getImages(), GALLERY)));
+
+        // Then
+        assertEquals(0, writes(sql), sql.toString());
+    }
+
+    @Test
+    void syncInPlace_AppendOne_ShouldInsertOneRow() {
+        // Given
+        List<String> target = new ArrayList<>(GALLERY);
+        target.add("g.jpg");
+
+        // When
+        List<String> sql = flushed(post -> ListSync.syncInPlace(post.getImages(), target));
+
+        // Then
+        assertEquals(1, count(sql, "insert into post_images"), sql.toString());
+        assertEquals(1, writes(sql), sql.toString());
+        assertEquals(target, reloadImages());
+    }
+
+    @Test
+    void syncInPlace_RemoveLast_ShouldDeleteOneRow() {
+        // Given
+        List<String> target = GALLERY.subList(0, GALLERY.size() - 1);
+
+        // When
+        List<String> sql = flushed(post -> ListSync.syncInPlace(post.getImages(), target));
+
+        // Then
+        assertEquals(1, count(sql, "delete from post_images"), sql.toString());
+        assertEquals(1, writes(sql), sql.toString());
+        assertEquals(target, reloadImages());
+    }
+
+    @Test
+    void syncInPlace_SwapTwo_ShouldUpdateOnlyThoseRows() {
+        // Given
+        List<String> target = new ArrayList<>(GALLERY);
+        target.set(1, "e.jpg");
+        target.set(4, "b.jpg");
+
+        // When
+        List<String> sql = flushed(post -> ListSync.syncInPlace(post.getImages(), target));
+
+        // Then
+        assertEquals(2, count(sql, "update post_images"), sql.toString());
+        assertEquals(2, writes(sql), sql.toString());
+        assertEquals(target, reloadImages());
+    }
+
+    @Test
+    void replacingTheList_ShouldRewriteEveryRow() {
+        // Given: what updatePost used to do
+        List<String> target = new ArrayList<>(GALLERY);
+        target.add("g.jpg");
+
+        // When
+        List<String> replaced = flushed(post -> post.setImages(new ArrayList<>(target)));
+
+        // Then
+        assertEquals(1, count(replaced, "delete from post_images"), replaced.toString());
+        assertEquals(target.size(), count(replaced, "insert into post_images"), replaced.toString());
+        assertEquals(1 + target.size(), writes(replaced), replaced.toString());
+        assertEquals(target, reloadImages());
+    }
+
+    private List<String> flushed(Consumer<Post> change) {
+        tx.executeWithoutResult(status -> {
+            Post post = postRepository.findById(postId).orElseThrow();
+            post.getImages().size();
+            statements.clear();
+            change.accept(post);
+        });
+        return new ArrayList<>(statements);
+    }
+
+    private List<String> reloadImages() {
+        return tx.execute(status -> new ArrayList<>(postRepository.findById(postId).orElseThrow().getImages()));
+    }
+
+    private static long writes(List<String> sql) {
+        return count(sql, "insert into post_images") + count(sql, "update post_images")
+                + count(sql, "delete from post_images");
+    }
+
+    private static long count(List<String> sql, String fragment) {
+        return sql.stream().filter(statement -> statement.contains(fragment)).count();
+    }
+}
@@ -0,0 +1,253 @@
+package com.myapp.booking.repositories;
+
+import com.myapp.booking.dtos.requests.CreateCommentRequest;
+import com.myapp.booking.dtos.responses.CommentResponse;
+import com.myapp.booking.dtos.responses.RatingSummaryResponse;
+import com.myapp.booking.enums.RoleName;
+import com.myapp.booking.exceptions.BadRequestException;
+import com.myapp.booking.exceptions.ResourceNotFoundException;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.models.Role;
+import com.myapp.booking.models.User;
+import com.myapp.booking.services.CommentService;
+import com.myapp.booking.services.RatingReconciliationService;
+import com.myapp.booking.services.VerifiedBookingIndex;
+import com.myapp.booking.support.CommentServiceBuilder;
+import com.myapp.booking.support.H2JpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Rating aggregates on posts against a real database (H2 in MySQL mode): every comment
+ * write moves them, concurrent writers do not lose updates, and reconciliation repairs drift.
+ */
+@H2JpaTest
+class RatingAggregateTest {
+
+    private static final int THREADS = 8;
+    private static final int COMMENTS_PER_THREAD = 10;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private CommentService commentService;
+    private RatingReconciliationService reconciliationService;
+    private Role role;
+    private Long postId;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+        commentService = CommentServiceBuilder.commentService(commentRepository, postRepository, userRepository)
+                .verifiedBookings(new VerifiedBookingIndex(bookingRepository))
+                .events(publisher)
+                .build();
+        reconciliationService = new RatingReconciliationService(postRepository, commentRepository, publisher,
+                transactionManager);
+        postId = tx.execute(status -> {
+            role = roleRepository.findByRoleName(RoleName.USER)
+                    .orElseGet(() -> roleRepository.save(Role.builder().roleName(RoleName.USER).build()));
+            return postRepository.save(Post.builder()
+                    .title("Grand Hall")
+                    .description("Description")
+                    .price(BigDecimal.valueOf(1000000))
+                    .vendor(newUser())
+                    .build()).getId();
+        });
+    }
+
+    @Test
+    void createUpdateDeactivate_ShouldKeepAggregatesInStep() {
+        // Given
+        Long first = comment(newUserId(), "5.0").getId();
+        Long second = comment(newUserId(), "4.5").getId();
+        Long thirdAuthor = newUserId();
+        Long third = comment(thirdAuthor, "2.0").getId();
+
+        // Then
+        assertAggregates("11.5", 3, 0, 1, 0, 1, 1);
+        assertEquals(0, new BigDecimal("3.8").compareTo(storedRating()));
+
+        // When: 4.5 -> 1.0 moves one rating between buckets
+        Long secondAuthor = authorOf(second);
+        tx.execute(s -> commentService.updateComment(postId, second, null, new BigDecimal("1.0"), secondAuthor));
+
+        // Then
+        assertAggregates("8.0", 3, 1, 1, 0, 0, 1);
+
+        // When: content-only edit leaves the aggregates alone, deactivation removes the rating
+        tx.execute(s -> commentService.updateComment(postId, third, "Edited but same rating", null, thirdAuthor));
+        tx.executeWithoutResult(s -> commentService.deactivateComment(postId, first, 0L, true));
+
+        // Then
+        assertAggregates("3.0", 2, 1, 1, 0, 0, 0);
+        assertEquals(0, new BigDecimal("1.5").compareTo(storedRating()));
+        assertThrows(ResourceNotFoundException.class,
+                () -> tx.executeWithoutResult(s -> commentService.deactivateComment(postId, first, 0L, true)));
+        assertAggregates("3.0", 2, 1, 1, 0, 0, 0);
+    }
+
+    @Test
+    void updateIfRatingUnchanged_StaleOldRating_ShouldNotWrite() {
+        // Given
+        Long id = comment(newUserId(), "4.0").getId();
+
+        // When: a second editor still holding the original 4.0 loses the race
+        Integer first = tx.execute(s -> commentRepository.updateIfRatingUnchanged(id, new BigDecimal("4.0"),
+                new BigDecimal("3.0"), "First editor wins this"));
+        Integer second = tx.execute(s -> commentRepository.updateIfRatingUnchanged(id, new BigDecimal("4.0"),
+                new BigDecimal("5.0"), "Second editor is stale"));
+
+        // Then
+        assertEquals(1, first);
+        assertEquals(0, second);
+        Long author = authorOf(id);
+        assertThrows(BadRequestException.class,
+                () -> tx.execute(s -> commentService.updateComment(postId, id, "Too short", null, author)));
+        // The raw update above bypassed the aggregates; leave the shared database consistent
+        assertEquals(1, reconciliationService.reconcile());
+    }
+
+    @Test
+    void concurrentCreates_ShouldNotLoseRatings() throws Exception {
+        // Given
+        List<Long> authors = new ArrayList<>();
+        for (int i = 0; i < THREADS * COMMENTS_PER_THREAD; i++) {
+            authors.add(newUserId());
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < THREADS; t++) {
+            List<Long> mine = authors.subList(t * COMMENTS_PER_THREAD, (t + 1) * COMMENTS_PER_THREAD);
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < mine.size(); i++) {
+                    comment(mine.get(i), String.valueOf(1 + i % 5));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // Then: 2 of each star per thread, ratings 1..5
+        long perStar = THREADS * COMMENTS_PER_THREAD / 5;
+        assertAggregates(String.valueOf(perStar * 15), THREADS * COMMENTS_PER_THREAD,
+                perStar, perStar, perStar, perStar, perStar);
+        assertEquals(0, reconciliationService.reconcile());
+    }
+
+    @Test
+    void reconcile_DriftedAggregates_ShouldRepairFromComments() {
+        // Given
+        comment(newUserId(), "5.0");
+        comment(newUserId(), "3.5");
+        jdbcTemplate.update("UPDATE posts SET rating_sum = 99, rating_count = 7, star2 = 4 WHERE id = ?", postId);
+
+        // When
+        int repaired = reconciliationService.reconcile();
+
+        // Then
+        assertTrue(repaired >= 1);
+        assertAggregates("8.5", 2, 0, 0, 1, 0, 1);
+        assertEquals(0, reconciliationService.reconcile());
+    }
+
+    @Test
+    void getRatingSummary_ShouldReadStoredAggregates() {
+        // Given
+        comment(newUserId(), "4.0");
+        comment(newUserId(), "5.0");
+
+        // When
+        RatingSummaryResponse summary = tx.execute(s -> commentService.getRatingSummary(postId));
+
+        // Then
+        assertEquals(0, new BigDecimal("4.5").compareTo(summary.getAverageRating()));
+        assertEquals(2L, summary.getTotalComments());
+        assertEquals(1L, summary.getRatingDistribution().getStar4());
+        assertEquals(1L, summary.getRatingDistribution().getStar5());
+    }
+
+    private CommentResponse comment(Long userId, String rating) {
+        // The service is not proxied here, so the transaction is opened explicitly
+        return tx.execute(s -> commentService.createComment(CreateCommentRequest.builder()
+                .content("Lovely venue, great staff")
+                .rating(new BigDecimal(rating))
+                .build(), postId, userId));
+    }
+
+    private Long authorOf(Long commentId) {
+        return jdbcTemplate.queryForObject("SELECT user_id FROM comments WHERE id = ?", Long.class, commentId);
+    }
+
+    private BigDecimal storedRating() {
+        return jdbcTemplate.queryForObject("SELECT rating FROM posts WHERE id = ?", BigDecimal.class, postId);
+    }
+
+    private void assertAggregates(String sum, long count, long star1, long star2, long star3, long star4, long star5) {
+        Object[] row = tx.execute(s -> postRepository.findRatingAggregates(postId).get(0));
+        assertEquals(0, new BigDecimal(sum).compareTo((BigDecimal) row[0]), "sum " + row[0]);
+        assertArrayEquals(new long[]{count, star1, star2, star3, star4, star5},
+                new long[]{(Long) row[1], (Long) row[2], (Long) row[3], (Long) row[4], (Long) row[5], (Long) row[6]});
+    }
+
+    private Long newUserId() {
+        return tx.execute(status -> newUser().getId());
+    }
+
+    private User newUser() {
+        return userRepository.save(User.builder()
+                .email("user" + System.nanoTime() + "@example.com")
+                .password("secret")
+                .fullName("User")
+                .role(role)
+                .isActive(true)
+                .isLocked(false)
+                .failedLoginAttempts(0)
+                .build());
+    }
+}
@@ -0,0 +1,202 @@
+package com.myapp.booking.repositories;
+
+import com.myapp.booking.dtos.requests.CreateCommentRequest;
+import com.myapp.booking.dtos.responses.CommentResponse;
+import com.myapp.booking.dtos.responses.CommentSearchResponse;
+import com.myapp.booking.enums.RoleName;
+import com.myapp.booking.events.CommentChangedEvent;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.models.Role;
+import com.myapp.booking.models.User;
+import com.myapp.booking.services.CommentService;
+import com.myapp.booking.services.ReviewSearchService;
+import com.myapp.booking.services.VerifiedBookingIndex;
+import com.myapp.booking.support.CommentServiceBuilder;
+import com.myapp.booking.support.H2JpaTest;
+import com.myapp.booking.support.SqlStatementCapture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Review search against a real database (H2 in MySQL mode) on a post with 10k reviews:
+ * the index is built with one query, warm searches read only the page's rows, and review
+ * writes show up in results once committed.
+ */
+@H2JpaTest
+class ReviewSearchTest {
+
+    private static final int REVIEWS = 10_000;
+    private static final String[] PHRASES = {
+            "Âm thanh hơi nhỏ", "bãi đỗ xe rộng", "đồ ăn ngon", "nhân viên thân thiện", "parking was easy"
+    };
+
+    private final List<String> statements = SqlStatementCapture.statements();
+
+    private static Long postId;
+    private static Role role;
+    private static User author;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private ReviewSearchService searchService;
+    private CommentService commentService;
+    private final List<Object> published = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        searchService = new ReviewSearchService(commentRepository, postRepository);
+        ApplicationEventPublisher publisher = published::add;
+        commentService = CommentServiceBuilder.commentService(commentRepository, postRepository, userRepository)
+                .verifiedBookings(new VerifiedBookingIndex(bookingRepository))
+                .search(searchService)
+                .events(publisher)
+                .build();
+        if (postId != null) {
+            return;
+        }
+        tx.executeWithoutResult(status -> {
+            role = roleRepository.save(Role.builder().roleName(RoleName.USER).build());
+            author = user("search-author");
+            postId = postRepository.save(Post.builder()
+                    .title("Grand Hall")
+                    .description("Description")
+                    .price(BigDecimal.valueOf(1000000))
+                    .vendor(author)
+                    .build()).getId();
+        });
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < REVIEWS; i++) {
+            String content = "Review " + i + ": " + PHRASES[i % PHRASES.length] + ", " + PHRASES[(i / 7) % PHRASES.length];
+            rows.add(new Object[]{content, BigDecimal.valueOf(5), postId, author.getId(), i % 50 != 0, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO comments (content, rating, post_id, user_id, is_active, "
+                + "is_verified_booking, helpful_count, helpful_score, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, false, 0, 0, ?, ?)", rows);
+    }
+
+    @Test
+    void searchComments_ShouldMatchAccentInsensitivelyAndPageInRankOrder() {
+        // When
+        CommentSearchResponse first = tx.execute(status -> commentService.searchComments(postId, "am thanh", 0, 20));
+        CommentSearchResponse second = tx.execute(status -> commentService.searchComments(postId, "ÂM THANH", 1, 20));
+
+        // Then: every active review with the phrase, none inactive
+        Long expected = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comments WHERE post_id = ? "
+                + "AND is_active = true AND content LIKE '%Âm thanh%'", Long.class, postId);
+        assertEquals(expected, first.getTotalHits());
+        assertEquals(expected, second.getTotalHits());
+        assertTrue(first.getHasNext());
+        assertEquals(20, first.getItems().size());
+        assertTrue(first.getItems().stream().allMatch(c -> c.getContent().contains("Âm thanh")));
+        List<Long> firstIds = first.getItems().stream().map(CommentResponse::getId).toList();
+        assertTrue(second.getItems().stream().map(CommentResponse::getId).noneMatch(firstIds::contains));
+    }
+
+    @Test
+    void searchComments_Warm_ShouldReadOnlyThePageRows() {
+        // Given: the index is built
+        tx.execute(status -> commentService.searchComments(postId, "parking", 0, 20));
+
+        // When
+        statements.clear();
+        CommentSearchResponse page = tx.execute(status -> commentService.searchComments(postId, "bai do xe", 3, 20));
+
+        // Then
+        assertEquals(1, statements.size(), String.join("\n", statements));
+        assertTrue(statements.get(0).contains(" in "));
+        assertEquals(20, page.getItems().size());
+    }
+
+    @Test
+    void searchComments_PageBeyondIntRange_ShouldReturnAnEmptyPage() {
+        // When: page * size does not fit an int
+        CommentSearchResponse page = tx.execute(status ->
+                commentService.searchComments(postId, "parking", Integer.MAX_VALUE, 50));
+
+        // Then
+        assertTrue(page.getItems().isEmpty());
+        assertFalse(page.getHasNext());
+        assertTrue(page.getTotalHits() > 0);
+    }
+
+    @Test
+    void createAndDeactivate_ShouldUpdateTheIndexAfterCommit() {
+        // Given
+        User reviewer = tx.execute(status -> user("reviewer" + System.nanoTime()));
+        assertEquals(0, tx.execute(status -> commentService.searchComments(postId, "karaoke", 0, 20)).getTotalHits());
+
+        // When: a review is written and its events are delivered after commit
+        published.clear();
+        CommentResponse created = tx.execute(status -> commentService.createComment(CreateCommentRequest.builder()
+                .content("Phòng karaoke cách âm tốt")
+                .rating(BigDecimal.valueOf(4))
+                .build(), postId, reviewer.getId()));
+        deliverCommentEvents();
+
+        // Then
+        CommentSearchResponse found = tx.execute(status -> commentService.searchComments(postId, "karaoke cach am", 0, 20));
+        assertEquals(List.of(created.getId()), found.getItems().stream().map(CommentResponse::getId).toList());
+
+        // When: deactivated
+        published.clear();
+        tx.executeWithoutResult(status -> commentService.deactivateComment(postId, created.getId(), reviewer.getId(), false));
+        deliverCommentEvents();
+
+        // Then
+        assertEquals(0, tx.execute(status -> commentService.searchComments(postId, "karaoke", 0, 20)).getTotalHits());
+    }
+
+    private void deliverCommentEvents() {
+        published.stream()
+                .filter(CommentChangedEvent.class::isInstance)
+                .map(CommentChangedEvent.class::cast)
+                .forEach(searchService::onCommentChanged);
+    }
+
+    private User user(String name) {
+        return userRepository.save(User.builder()
+                .email(name + "@example.com")
+                .password("secret")
+                .fullName(name)
+                .role(role)
+                .isActive(true)
+                .isLocked(false)
+                .failedLoginAttempts(0)
+                .build());
+    }
+}
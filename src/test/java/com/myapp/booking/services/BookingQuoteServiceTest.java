@@ -0,0 +1,172 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.dtos.requests.BookingQuoteRequest;
+import com.myapp.booking.dtos.responses.BookingQuoteResponse;
+import com.myapp.booking.events.MenuChangedEvent;
+import com.myapp.booking.exceptions.BadRequestException;
+import com.myapp.booking.exceptions.ResourceNotFoundException;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.repositories.MenuRepository;
+import com.myapp.booking.repositories.PostRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingQuoteServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private MenuRepository menuRepository;
+
+    @InjectMocks
+    private BookingQuoteService bookingQuoteService;
+
+    @Test
+    void quote_WithMenu_ShouldPricePerTableExactly() {
+        // Given: 3,333,333.33 per table of 10; a double sum of three drifts off the cent
+        givenPost(1L, "450000.00", 300, true);
+        givenMenus(1L, menu(7L, "3333333.33", 10), menu(8L, "5000000.00", 12));
+
+        // When: 25 guests need 3 tables
+        BookingQuoteResponse quote = bookingQuoteService.quote(BookingQuoteRequest.builder()
+                .postId(1L)
+                .menuId(7L)
+                .numberOfGuests(25)
+                .discountAmount(new BigDecimal("0.99"))
+                .depositAmount(new BigDecimal("2000000"))
+                .build());
+
+        // Then
+        assertEquals(3, quote.getNumberOfTables());
+        assertEquals(25, quote.getNumberOfGuests());
+        assertEquals(new BigDecimal("3333333.33"), quote.getUnitPrice());
+        assertEquals(new BigDecimal("9999999.99"), quote.getTotalAmount());
+        assertEquals(new BigDecimal("9999999.00"), quote.getFinalAmount());
+        assertEquals(new BigDecimal("7999999.00"), quote.getRemainingAmount());
+        assertEquals("VND", quote.getCurrency());
+    }
+
+    @Test
+    void quote_WithoutMenu_ShouldPriceVenuePerGuest() {
+        // Given
+        givenPost(1L, "0.10", null, true);
+        givenMenus(1L);
+
+        // When
+        BookingQuoteResponse quote = bookingQuoteService.quote(BookingQuoteRequest.builder()
+                .postId(1L)
+                .numberOfGuests(3)
+                .build());
+
+        // Then: 0.1 * 3 in doubles is 0.30000000000000004
+        assertEquals(new BigDecimal("0.30"), quote.getTotalAmount());
+        assertNull(quote.getNumberOfTables());
+    }
+
+    @Test
+    void quote_InvalidRequests_ShouldBeRejected() {
+        // Given
+        givenPost(1L, "450000.00", 100, true);
+        givenMenus(1L, menu(7L, "3000000.00", 10));
+
+        // When / Then
+        assertThrows(BadRequestException.class, () -> quote(99L, null, 20, null, null));
+        assertThrows(BadRequestException.class, () -> quote(7L, 2, 25, null, null));
+        assertThrows(BadRequestException.class, () -> quote(7L, null, 120, null, null));
+        assertThrows(BadRequestException.class, () -> quote(7L, null, null, null, null));
+        assertThrows(BadRequestException.class, () -> quote(7L, 2, null, "6000000.01", null));
+        assertThrows(BadRequestException.class, () -> quote(7L, 2, null, "1000000", "5000000.01"));
+        assertEquals(new BigDecimal("5000000.00"), quote(7L, 2, null, "1000000", "5000000").getFinalAmount());
+    }
+
+    @Test
+    void quote_UnpublishedVenue_ShouldBeRejected() {
+        // Given
+        givenPost(1L, "450000.00", 100, false);
+        givenMenus(1L);
+
+        // When / Then
+        assertThrows(BadRequestException.class, () -> quote(null, null, 10, null, null));
+    }
+
+    @Test
+    void quote_UnknownPost_ShouldBeNotFound() {
+        when(postRepository.findPricingById(1L)).thenReturn(List.of());
+
+        assertThrows(ResourceNotFoundException.class, () -> quote(null, null, 10, null, null));
+    }
+
+    @Test
+    void getSnapshot_RepeatedQuotes_ShouldLoadOnceUntilAMenuChanges() {
+        // Given
+        givenPost(1L, "450000.00", 300, true);
+        givenMenus(1L, menu(7L, "3000000.00", 10));
+
+        // When
+        quote(7L, 3, null, null, null);
+        quote(null, null, 40, null, null);
+        bookingQuoteService.onMenuChanged(new MenuChangedEvent(1L, 7L));
+        givenMenus(1L, menu(7L, "3500000.00", 10));
+        BookingQuoteResponse afterChange = quote(7L, 3, null, null, null);
+
+        // Then
+        verify(postRepository, times(2)).findPricingById(1L);
+        verify(menuRepository, times(2)).findActivePricesByPostId(1L);
+        assertEquals(new BigDecimal("10500000.00"), afterChange.getTotalAmount());
+    }
+
+    @Test
+    void loadSnapshot_ShouldReadCurrentPricesWithoutTheCache() {
+        // Given: a snapshot cached before a price change the eviction has not reached yet
+        givenPost(1L, "450000.00", 300, true);
+        givenMenus(1L, menu(7L, "3000000.00", 10));
+        quote(7L, 1, null, null, null);
+        givenMenus(1L, menu(7L, "3500000.00", 10));
+
+        // When
+        PricingSnapshot fresh = bookingQuoteService.loadSnapshot(1L);
+
+        // Then
+        assertEquals(350_000_000L, fresh.quote(7L, 1, null, null, 0, 0).totalMinor());
+        assertEquals(new BigDecimal("3000000.00"), quote(7L, 1, null, null, null).getTotalAmount());
+        verify(menuRepository, times(2)).findActivePricesByPostId(1L);
+    }
+
+    private BookingQuoteResponse quote(Long menuId, Integer tables, Integer guests, String discount, String deposit) {
+        return bookingQuoteService.quote(BookingQuoteRequest.builder()
+                .postId(1L)
+                .menuId(menuId)
+                .numberOfTables(tables)
+                .numberOfGuests(guests)
+                .discountAmount(discount != null ? new BigDecimal(discount) : null)
+                .depositAmount(deposit != null ? new BigDecimal(deposit) : null)
+                .build());
+    }
+
+    private void givenPost(Long postId, String price, Integer capacity, boolean published) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{new BigDecimal(price), capacity, "VND", true,
+                published ? Post.PostStatus.PUBLISHED : Post.PostStatus.PENDING});
+        when(postRepository.findPricingById(postId)).thenReturn(rows);
+    }
+
+    private void givenMenus(Long postId, Object[]... menus) {
+        when(menuRepository.findActivePricesByPostId(postId)).thenReturn(List.of(menus));
+    }
+
+    private static Object[] menu(Long id, String price, int guestsPerTable) {
+        return new Object[]{id, new BigDecimal(price), guestsPerTable};
+    }
+}
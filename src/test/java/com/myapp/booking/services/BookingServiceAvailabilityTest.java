@@ -1,5 +1,6 @@
 package com.myapp.booking.services;
 
+import com.myapp.booking.dtos.responses.SlotAvailabilityResponse;
 import com.myapp.booking.models.Post;
 import com.myapp.booking.repositories.BookingRepository;
 import com.myapp.booking.repositories.PostRepository;
@@ -291,5 +292,32 @@ class BookingServiceAvailabilityTest {
         // Then
         assertTrue(isAvailable, "Should be available when 3 out of 4 (default) slots are booked");
     }
-}
 
+    /**
+     * The single-date screen reads taken slots with the range query the venue calendar uses
+     */
+    @Test
+    void testGetSlotAvailability_SingleDate_ShouldUseTheRangeQuery() {
+        // Given
+        Long postId = 8L;
+        java.sql.Date date = java.sql.Date.valueOf(LocalDate.of(2025, 11, 20));
+        Post mockPost = Post.builder()
+                .id(postId)
+                .title("Test Venue")
+                .availableSlots(4)
+                .build();
+        when(postRepository.findByIdAndIsDeletedFalse(postId)).thenReturn(Optional.of(mockPost));
+        when(bookingRepository.findActiveSlotsInRange(postId, date, date))
+                .thenReturn(java.util.List.<Object[]>of(new Object[]{date, 1}));
+
+        // When
+        SlotAvailabilityResponse availability = bookingService.getSlotAvailability(postId, date);
+
+        // Then
+        assertEquals("2025-11-20", availability.getBookingDate());
+        assertEquals(1, availability.getBookedSlots());
+        assertEquals(3, availability.getAvailableSlots());
+        assertFalse(availability.getSlots().get(1).isAvailable());
+        verify(bookingRepository, never()).findByPostIdAndBookingDateAndStatusNotIn(any(), any(), anyList());
+    }
+}
@@ -0,0 +1,138 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.dtos.requests.BookingRequest;
+import com.myapp.booking.dtos.responses.BookingResponse;
+import com.myapp.booking.events.PostChangedEvent;
+import com.myapp.booking.exceptions.BadRequestException;
+import com.myapp.booking.models.Booking;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.repositories.BookingRepository;
+import com.myapp.booking.repositories.PostRepository;
+import com.myapp.booking.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Booking creation prices the request with the quote rules on prices read for the booking
+ * itself, and stores what it priced.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingServiceCreateTest {
+
+    private static final Long POST_ID = 1L;
+    private static final Long MENU_ID = 7L;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private BookingQuoteService bookingQuoteService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private BookingService bookingService;
+
+    private final UserPrincipal customer = new UserPrincipal();
+
+    @BeforeEach
+    void setUp() {
+        customer.setId(42L);
+        Post venue = Post.builder()
+                .id(POST_ID)
+                .title("Grand Hall")
+                .isActive(true)
+                .status(Post.PostStatus.PUBLISHED)
+                .build();
+        when(postRepository.findByIdAndIsDeletedFalse(POST_ID)).thenReturn(Optional.of(venue));
+        // 3,500,000.00 per table of 10; 450,000.00 per guest without a menu
+        when(bookingQuoteService.loadSnapshot(POST_ID)).thenReturn(new PricingSnapshot(POST_ID, "VND",
+                new BigDecimal("450000.00"), 300, true,
+                new long[]{MENU_ID}, new long[]{350_000_000L}, new int[]{10}));
+    }
+
+    @Test
+    void createBooking_WithMenu_ShouldStoreTheQuotedMenuTablesAndCurrency() {
+        // Given
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        BookingRequest request = request();
+        request.setMenuId(MENU_ID);
+        request.setNumberOfGuests(25);
+        request.setDiscountAmount(500000.0);
+        request.setDepositAmount(2000000.0);
+
+        // When
+        BookingResponse response = bookingService.createBooking(request, customer);
+
+        // Then: 25 guests need 3 tables
+        ArgumentCaptor<Booking> saved = ArgumentCaptor.forClass(Booking.class);
+        verify(bookingRepository).save(saved.capture());
+        Booking booking = saved.getValue();
+        assertEquals(MENU_ID, booking.getMenuId());
+        assertEquals(3, booking.getNumberOfTables());
+        assertEquals(25, booking.getNumberOfGuests());
+        assertEquals("VND", booking.getCurrency());
+        assertEquals(3500000.0, booking.getUnitPrice());
+        assertEquals(10500000.0, booking.getTotalAmount());
+        assertEquals(10000000.0, booking.getFinalAmount());
+        assertEquals(2000000.0, booking.getDepositAmount());
+        assertEquals(POST_ID, response.getPostId());
+        verify(bookingQuoteService, never()).getSnapshot(any());
+        verify(postRepository).incrementBookingCount(POST_ID);
+        verify(eventPublisher).publishEvent(any(PostChangedEvent.class));
+    }
+
+    @Test
+    void createBooking_DiscountAboveTotal_ShouldBeRejected() {
+        // Given: 2 guests at 450,000.00
+        BookingRequest request = request();
+        request.setNumberOfGuests(2);
+        request.setDiscountAmount(900000.01);
+
+        // When / Then
+        assertThrows(BadRequestException.class, () -> bookingService.createBooking(request, customer));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void createBooking_DepositAboveFinalAmount_ShouldBeRejected() {
+        // Given
+        BookingRequest request = request();
+        request.setNumberOfGuests(2);
+        request.setDiscountAmount(100000.0);
+        request.setDepositAmount(800000.01);
+
+        // When / Then
+        assertThrows(BadRequestException.class, () -> bookingService.createBooking(request, customer));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    private static BookingRequest request() {
+        BookingRequest request = new BookingRequest();
+        request.setPostId(POST_ID);
+        request.setBookingDate(Date.valueOf(LocalDate.of(2030, 6, 1)));
+        request.setSlotIndex(1);
+        request.setCustomerName("Lan");
+        request.setCustomerPhone("0900000000");
+        return request;
+    }
+}
@@ -0,0 +1,118 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.dtos.responses.RatingSummaryResponse;
+import com.myapp.booking.events.PostChangedEvent;
+import com.myapp.booking.exceptions.ResourceNotFoundException;
+import com.myapp.booking.repositories.PostRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CommentStatisticsServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @InjectMocks
+    private CommentStatisticsService commentStatisticsService;
+
+    @Test
+    void getStatistics_RepeatedReads_ShouldQueryOnce() {
+        // Given
+        when(postRepository.findRatingAggregates(1L)).thenReturn(aggregates("9.5", 2, 0, 0, 0, 1, 1));
+
+        // When
+        RatingSummaryResponse first = commentStatisticsService.getStatistics(1L);
+        first.getRatingDistribution().setStar5(99L);
+        RatingSummaryResponse second = commentStatisticsService.getStatistics(1L);
+
+        // Then: callers get their own copies
+        verify(postRepository, times(1)).findRatingAggregates(1L);
+        assertEquals(0, new BigDecimal("4.8").compareTo(second.getAverageRating()));
+        assertEquals(2L, second.getTotalComments());
+        assertEquals(1L, second.getRatingDistribution().getStar5());
+    }
+
+    @Test
+    void onPostChanged_ReviewsOnly_ShouldEvict() {
+        // Given
+        when(postRepository.findRatingAggregates(1L))
+                .thenReturn(aggregates("4.0", 1, 0, 0, 0, 1, 0))
+                .thenReturn(aggregates("9.0", 2, 0, 0, 0, 1, 1));
+        commentStatisticsService.getStatistics(1L);
+
+        // When
+        commentStatisticsService.onPostChanged(new PostChangedEvent(1L, PostChangedEvent.ChangeType.COUNTERS));
+        commentStatisticsService.getStatistics(1L);
+        commentStatisticsService.onPostChanged(new PostChangedEvent(1L, PostChangedEvent.ChangeType.REVIEWS));
+        RatingSummaryResponse after = commentStatisticsService.getStatistics(1L);
+
+        // Then
+        verify(postRepository, times(2)).findRatingAggregates(1L);
+        assertEquals(2L, after.getTotalComments());
+    }
+
+    @Test
+    void getStatistics_LoadRacingWithWrite_ShouldNotCacheStaleValues() {
+        // Given: a comment write commits while the aggregates are being read
+        when(postRepository.findRatingAggregates(1L)).thenAnswer(invocation -> {
+            commentStatisticsService.evict(1L);
+            return aggregates("4.0", 1, 0, 0, 0, 1, 0);
+        }).thenReturn(aggregates("9.0", 2, 0, 0, 0, 1, 1));
+
+        // When
+        commentStatisticsService.getStatistics(1L);
+        RatingSummaryResponse next = commentStatisticsService.getStatistics(1L);
+
+        // Then
+        assertEquals(2L, next.getTotalComments());
+        verify(postRepository, times(2)).findRatingAggregates(1L);
+    }
+
+    @Test
+    void getStatistics_BeyondCapacity_ShouldDropLeastRecentlyRead() {
+        // Given
+        ReflectionTestUtils.setField(commentStatisticsService, "maxPosts", 2);
+        when(postRepository.findRatingAggregates(anyLong())).thenReturn(aggregates("0", 0, 0, 0, 0, 0, 0));
+
+        // When
+        commentStatisticsService.getStatistics(1L);
+        commentStatisticsService.getStatistics(2L);
+        commentStatisticsService.getStatistics(1L);
+        commentStatisticsService.getStatistics(3L);
+        commentStatisticsService.getStatistics(1L);
+        commentStatisticsService.getStatistics(2L);
+
+        // Then: 2 was the eldest when 3 arrived
+        assertEquals(2, commentStatisticsService.cachedPosts());
+        verify(postRepository, times(1)).findRatingAggregates(1L);
+        verify(postRepository, times(2)).findRatingAggregates(2L);
+    }
+
+    @Test
+    void getStatistics_UnknownPost_ShouldThrowAndNotCache() {
+        when(postRepository.findRatingAggregates(9L)).thenReturn(List.of());
+
+        assertThrows(ResourceNotFoundException.class, () -> commentStatisticsService.getStatistics(9L));
+        assertEquals(0, commentStatisticsService.cachedPosts());
+    }
+
+    private static List<Object[]> aggregates(String sum, long count, long star1, long star2, long star3,
+                                             long star4, long star5) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{new BigDecimal(sum), count, star1, star2, star3, star4, star5});
+        return rows;
+    }
+}
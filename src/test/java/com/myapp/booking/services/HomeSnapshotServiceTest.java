@@ -0,0 +1,132 @@
+package com.myapp.booking.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myapp.booking.dtos.responses.post.PostListResponse;
+import com.myapp.booking.events.PostChangedEvent;
+import com.myapp.booking.services.interfaces.IPostService;
+import com.myapp.booking.utils.SortedLongSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HomeSnapshotServiceTest {
+
+    @Mock
+    private IPostService postService;
+
+    @Mock
+    private LikedPostsCache likedPostsCache;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private HomeSnapshotService homeSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        homeSnapshotService = new HomeSnapshotService(postService, likedPostsCache, objectMapper);
+        when(postService.getLatestPosts(anyInt())).thenAnswer(invocation -> cards(1L, 2L));
+        when(postService.getPopularPosts(anyInt())).thenAnswer(invocation -> cards(2L, 3L));
+        when(postService.getTrendingPosts(anyInt())).thenAnswer(invocation -> cards(3L));
+        when(postService.getTopRatedPosts(anyInt())).thenAnswer(invocation -> cards(4L));
+    }
+
+    @Test
+    void render_RepeatedRequests_ShouldServeSameBytesWithoutQueryingAgain() throws Exception {
+        // When
+        HomeSnapshotService.Rendered first = homeSnapshotService.render(null);
+        for (int i = 0; i < 1000; i++) {
+            assertSame(first.body(), homeSnapshotService.render(null).body());
+        }
+
+        // Then
+        verify(postService, times(1)).getLatestPosts(anyInt());
+        verify(postService, times(1)).getTopRatedPosts(anyInt());
+        JsonNode data = objectMapper.readTree(first.body()).get("data");
+        assertEquals(2, data.get("latest").size());
+        assertEquals(3L, data.get("trending").get(0).get("id").asLong());
+        assertFalse(data.get("popular").get(0).get("likedByMe").asBoolean());
+        assertTrue(first.etag().startsWith("\""));
+    }
+
+    @Test
+    void refreshIfStale_ShouldRebuildOnlyAfterAPostChange() {
+        // Given
+        homeSnapshotService.rebuild();
+
+        // When / Then
+        assertFalse(homeSnapshotService.refreshIfStale());
+        homeSnapshotService.onPostChanged(new PostChangedEvent(2L, PostChangedEvent.ChangeType.COUNTERS));
+        homeSnapshotService.onPostChanged(new PostChangedEvent(3L, PostChangedEvent.ChangeType.CONTENT));
+        assertTrue(homeSnapshotService.refreshIfStale());
+        assertFalse(homeSnapshotService.refreshIfStale());
+        verify(postService, times(2)).getLatestPosts(anyInt());
+    }
+
+    @Test
+    void rebuild_UnchangedSections_ShouldKeepETagAndBytes() {
+        // Given
+        HomeSnapshotService.Rendered before = homeSnapshotService.render(null);
+
+        // When
+        homeSnapshotService.rebuild();
+        HomeSnapshotService.Rendered unchanged = homeSnapshotService.render(null);
+        when(postService.getTrendingPosts(anyInt())).thenAnswer(invocation -> cards(4L));
+        homeSnapshotService.rebuild();
+        HomeSnapshotService.Rendered changed = homeSnapshotService.render(null);
+
+        // Then
+        assertEquals(before.etag(), unchanged.etag());
+        assertSame(before.body(), unchanged.body());
+        assertNotEquals(before.etag(), changed.etag());
+    }
+
+    @Test
+    void render_UserWhoLikedAShownVenue_ShouldGetPersonalizedCopy() throws Exception {
+        // Given
+        when(likedPostsCache.likedPostIds(7L)).thenReturn(SortedLongSet.of(3L, 99L));
+        when(likedPostsCache.likedPostIds(8L)).thenReturn(SortedLongSet.of(99L));
+
+        // When
+        HomeSnapshotService.Rendered shared = homeSnapshotService.render(null);
+        HomeSnapshotService.Rendered liker = homeSnapshotService.render(7L);
+        HomeSnapshotService.Rendered other = homeSnapshotService.render(8L);
+
+        // Then
+        assertTrue(liker.personalized());
+        assertNotEquals(shared.etag(), liker.etag());
+        JsonNode data = objectMapper.readTree(liker.body()).get("data");
+        assertTrue(data.get("popular").get(1).get("likedByMe").asBoolean());
+        assertTrue(data.get("trending").get(0).get("likedByMe").asBoolean());
+        assertFalse(data.get("popular").get(0).get("likedByMe").asBoolean());
+
+        assertFalse(other.personalized());
+        assertSame(shared.body(), other.body());
+        // The shared snapshot is never mutated by personalization
+        assertFalse(objectMapper.readTree(homeSnapshotService.render(null).body())
+                .get("data").get("trending").get(0).get("likedByMe").asBoolean());
+    }
+
+    private static List<PostListResponse> cards(Long... ids) {
+        List<PostListResponse> cards = new ArrayList<>();
+        for (Long id : ids) {
+            cards.add(PostListResponse.builder()
+                    .id(id)
+                    .title("Venue " + id)
+                    .price(BigDecimal.valueOf(1000000))
+                    .build());
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,57 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.events.PostLikeChangedEvent;
+import com.myapp.booking.repositories.PostLikeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LikedPostsCacheTest {
+
+    @Mock
+    private PostLikeRepository postLikeRepository;
+
+    @InjectMocks
+    private LikedPostsCache likedPostsCache;
+
+    @Test
+    void likedPostIds_ShouldLoadOnceAndPatchOnLikeChanges() {
+        // Given
+        when(postLikeRepository.findPostIdsByUserId(1L)).thenReturn(List.of(10L, 20L));
+        likedPostsCache.likedPostIds(1L);
+
+        // When
+        likedPostsCache.onLikeChanged(new PostLikeChangedEvent(30L, 1L, true));
+        likedPostsCache.onLikeChanged(new PostLikeChangedEvent(10L, 1L, false));
+
+        // Then
+        assertArrayEquals(new long[]{20L, 30L}, likedPostsCache.likedPostIds(1L).toArray());
+        verify(postLikeRepository, times(1)).findPostIdsByUserId(1L);
+    }
+
+    @Test
+    void likedPostIds_LikeCommittedDuringLoad_ShouldNotCacheTheStaleSet() {
+        // Given: the load reads the likes, then a like commits before the result is stored
+        when(postLikeRepository.findPostIdsByUserId(1L))
+                .thenAnswer(invocation -> {
+                    likedPostsCache.onLikeChanged(new PostLikeChangedEvent(30L, 1L, true));
+                    return List.of(10L);
+                })
+                .thenReturn(List.of(10L, 30L));
+
+        // When
+        likedPostsCache.likedPostIds(1L);
+
+        // Then: the next read reloads instead of serving the set without post 30
+        assertTrue(likedPostsCache.likedPostIds(1L).contains(30L));
+        verify(postLikeRepository, times(2)).findPostIdsByUserId(1L);
+    }
+}
@@ -0,0 +1,113 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.dtos.responses.post.PostBatchResponse;
+import com.myapp.booking.dtos.responses.post.PostResponse;
+import com.myapp.booking.exceptions.BadRequestException;
+import com.myapp.booking.services.interfaces.IPostService;
+import com.myapp.booking.utils.SortedLongSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostBatchServiceTest {
+
+    @Mock
+    private IPostService postService;
+
+    @Mock
+    private VenueDetailService venueDetailService;
+
+    @Mock
+    private LikedPostsCache likedPostsCache;
+
+    @InjectMocks
+    private PostBatchService postBatchService;
+
+    @Test
+    void getPosts_ShouldKeepRequestOrderAndReportMissingIds() {
+        // Given: the loader returns rows in its own order
+        when(venueDetailService.cachedPost(anyLong())).thenReturn(Optional.empty());
+        when(postService.getPostsByIds(anyCollection())).thenReturn(posts(1L, 3L, 5L));
+
+        // When
+        PostBatchResponse response = postBatchService.getPosts(List.of(5L, 4L, 1L, 5L, 3L, 9L), null);
+
+        // Then
+        assertEquals(List.of(5L, 1L, 3L), response.getPosts().stream().map(PostResponse::getId).toList());
+        assertEquals(List.of(4L, 9L), response.getMissingIds());
+        verify(postService).getPostsByIds(List.of(5L, 4L, 1L, 3L, 9L));
+    }
+
+    @Test
+    void getPosts_CachedPosts_ShouldOnlyLoadTheRest() {
+        // Given
+        when(venueDetailService.cachedPost(anyLong())).thenReturn(Optional.empty());
+        when(venueDetailService.cachedPost(2L)).thenReturn(Optional.of(post(2L)));
+        when(postService.getPostsByIds(anyCollection())).thenReturn(posts(1L));
+        when(likedPostsCache.likedPostIds(7L)).thenReturn(SortedLongSet.of(2L));
+
+        // When
+        PostBatchResponse response = postBatchService.getPosts(List.of(1L, 2L), 7L);
+
+        // Then
+        verify(postService).getPostsByIds(List.of(1L));
+        assertEquals(List.of(1L, 2L), response.getPosts().stream().map(PostResponse::getId).toList());
+        assertFalse(response.getPosts().get(0).getLikedByMe());
+        assertTrue(response.getPosts().get(1).getLikedByMe());
+        assertTrue(response.getMissingIds().isEmpty());
+    }
+
+    @Test
+    void getPosts_MaxDistinctIds_ShouldLoadThemInOneCall() {
+        // Given: the maximum, plus repeats that do not count against it
+        List<Long> ids = new ArrayList<>(LongStream.rangeClosed(1, PostBatchService.MAX_BATCH_IDS).boxed().toList());
+        ids.addAll(ids.subList(0, 50));
+        when(venueDetailService.cachedPost(anyLong())).thenReturn(Optional.empty());
+        when(postService.getPostsByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> requested = invocation.getArgument(0);
+            return requested.stream().filter(id -> id % 10 != 0).map(PostBatchServiceTest::post).toList();
+        });
+
+        // When
+        PostBatchResponse response = postBatchService.getPosts(ids, null);
+
+        // Then
+        verify(postService, times(1)).getPostsByIds(anyCollection());
+        assertEquals(90, response.getPosts().size());
+        assertEquals(10, response.getMissingIds().size());
+    }
+
+    @Test
+    void getPosts_TooManyOrNoIds_ShouldThrow() {
+        List<Long> tooMany = LongStream.rangeClosed(1, PostBatchService.MAX_BATCH_IDS + 1).boxed().toList();
+
+        assertThrows(BadRequestException.class, () -> postBatchService.getPosts(tooMany, null));
+        assertThrows(BadRequestException.class, () -> postBatchService.getPosts(List.of(), null));
+        verifyNoInteractions(postService);
+    }
+
+    private static List<PostResponse> posts(Long... ids) {
+        List<PostResponse> posts = new ArrayList<>();
+        for (Long id : ids) {
+            posts.add(post(id));
+        }
+        return posts;
+    }
+
+    private static PostResponse post(Long id) {
+        return PostResponse.builder().id(id).title("Venue " + id).build();
+    }
+}
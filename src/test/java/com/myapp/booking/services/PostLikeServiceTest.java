@@ -0,0 +1,116 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.dtos.responses.post.PostLikeResponse;
+import com.myapp.booking.dtos.responses.post.PostListResponse;
+import com.myapp.booking.events.PostLikeChangedEvent;
+import com.myapp.booking.exceptions.ResourceNotFoundException;
+import com.myapp.booking.repositories.PostLikeRepository;
+import com.myapp.booking.repositories.PostRepository;
+import com.myapp.booking.utils.SortedLongSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostLikeServiceTest {
+
+    @Mock
+    private PostLikeRepository postLikeRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private LikedPostsCache likedPostsCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private PostLikeService postLikeService;
+
+    @Test
+    void like_FirstTime_ShouldInsertAndIncrementCounter() {
+        // Given
+        when(postRepository.existsByIdAndIsDeletedFalse(1L)).thenReturn(true);
+        when(postLikeRepository.insertIgnore(1L, 9L)).thenReturn(1);
+        when(postRepository.findLikeCountById(1L)).thenReturn(5L);
+
+        // When
+        PostLikeResponse response = postLikeService.like(1L, 9L);
+
+        // Then
+        assertTrue(response.getLiked());
+        assertEquals(5L, response.getLikeCount());
+        verify(postRepository).incrementLikeCount(1L);
+        verify(eventPublisher).publishEvent(any(PostLikeChangedEvent.class));
+    }
+
+    @Test
+    void like_AlreadyLiked_ShouldNotTouchCounter() {
+        // Given
+        when(postRepository.existsByIdAndIsDeletedFalse(1L)).thenReturn(true);
+        when(postLikeRepository.insertIgnore(1L, 9L)).thenReturn(0);
+        when(postRepository.findLikeCountById(1L)).thenReturn(5L);
+
+        // When
+        PostLikeResponse response = postLikeService.like(1L, 9L);
+
+        // Then
+        assertTrue(response.getLiked());
+        verify(postRepository, never()).incrementLikeCount(anyLong());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void unlike_NotLiked_ShouldNotTouchCounter() {
+        // Given
+        when(postRepository.existsByIdAndIsDeletedFalse(1L)).thenReturn(true);
+        when(postLikeRepository.deleteByPostIdAndUserId(1L, 9L)).thenReturn(0);
+
+        // When
+        PostLikeResponse response = postLikeService.unlike(1L, 9L);
+
+        // Then
+        assertFalse(response.getLiked());
+        assertEquals(0L, response.getLikeCount());
+        verify(postRepository, never()).decrementLikeCount(anyLong());
+    }
+
+    @Test
+    void like_MissingPost_ShouldThrow() {
+        when(postRepository.existsByIdAndIsDeletedFalse(404L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> postLikeService.like(404L, 9L));
+        verifyNoInteractions(postLikeRepository);
+    }
+
+    @Test
+    void markLikedByMe_ShouldUseCachedSetWithoutPerCardQueries() {
+        // Given
+        List<PostListResponse> page = List.of(
+                PostListResponse.builder().id(1L).build(),
+                PostListResponse.builder().id(2L).build(),
+                PostListResponse.builder().id(3L).build());
+        when(likedPostsCache.likedPostIds(9L)).thenReturn(SortedLongSet.of(2L, 3L));
+
+        // When
+        postLikeService.markLikedByMe(page, 9L);
+
+        // Then
+        assertFalse(page.get(0).getLikedByMe());
+        assertTrue(page.get(1).getLikedByMe());
+        assertTrue(page.get(2).getLikedByMe());
+        verify(likedPostsCache, times(1)).likedPostIds(9L);
+        verifyNoInteractions(postLikeRepository);
+    }
+}
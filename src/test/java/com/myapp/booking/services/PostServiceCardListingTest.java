@@ -0,0 +1,133 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.dtos.responses.post.PostCardProjection;
+import com.myapp.booking.dtos.responses.post.PostListResponse;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.repositories.PostRepository;
+import com.myapp.booking.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Listing endpoints must issue a constant number of repository queries per page,
+ * no matter how many cards the page holds.
+ */
+@ExtendWith(MockitoExtension.class)
+class PostServiceCardListingTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PostCardService postCardService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private PostService postService;
+
+    private static PostCardProjection card(long id) {
+        return new PostCardProjection(id, "Venue " + id, "Description", "Ha Noi",
+                BigDecimal.valueOf(1000000), 200, "Modern", Post.PostStatus.PUBLISHED,
+                10L, 2L, 3L, 1L, BigDecimal.valueOf(4.5), "Vendor " + id, "avatar.png",
+                LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    private static Page<PostCardProjection> pageOf(int size, Pageable pageable) {
+        List<PostCardProjection> cards = new ArrayList<>();
+        for (long id = 1; id <= size; id++) {
+            cards.add(card(id));
+        }
+        return new PageImpl<>(cards, pageable, size);
+    }
+
+    @Test
+    void getPostsByStatus_LargePage_ShouldUseOneCardQueryAndOneImageQuery() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 50);
+        when(postRepository.findCardsByStatus(Post.PostStatus.PUBLISHED, pageable)).thenReturn(pageOf(50, pageable));
+        when(postRepository.findImagesByPostIds(anyCollection())).thenReturn(List.of(
+                new Object[]{1L, "a.jpg"},
+                new Object[]{1L, "b.jpg"},
+                new Object[]{2L, "https://cdn.example.com/c.jpg"}
+        ));
+
+        // When
+        Page<PostListResponse> result = postService.getPostsByStatus(Post.PostStatus.PUBLISHED, pageable);
+
+        // Then
+        assertEquals(50, result.getContent().size());
+
+        PostListResponse first = result.getContent().get(0);
+        assertEquals("/uploads/a.jpg", first.getThumbnailImage());
+        assertEquals(2, first.getImageCount());
+        assertEquals("Vendor 1", first.getVendorName());
+
+        PostListResponse second = result.getContent().get(1);
+        assertEquals("https://cdn.example.com/c.jpg", second.getThumbnailImage());
+
+        PostListResponse withoutImages = result.getContent().get(2);
+        assertNull(withoutImages.getThumbnailImage());
+        assertEquals(0, withoutImages.getImageCount());
+
+        verify(postRepository, times(1)).findCardsByStatus(Post.PostStatus.PUBLISHED, pageable);
+        verify(postRepository, times(1)).findImagesByPostIds(anyCollection());
+        verifyNoMoreInteractions(postRepository);
+    }
+
+    @Test
+    void filterByStyle_EmptyPage_ShouldSkipImageQuery() {
+        // Given
+        Pageable pageable = PageRequest.of(3, 10);
+        when(postRepository.findCardsByStyle("Garden", pageable)).thenReturn(Page.empty(pageable));
+
+        // When
+        Page<PostListResponse> result = postService.filterByStyle("Garden", pageable);
+
+        // Then
+        assertTrue(result.getContent().isEmpty());
+        verify(postRepository, times(1)).findCardsByStyle("Garden", pageable);
+        verifyNoMoreInteractions(postRepository);
+    }
+
+    @Test
+    void getPostsByVendor_ShouldNotLoadVendorEntity() {
+        // Given
+        Long vendorId = 7L;
+        Pageable pageable = PageRequest.of(0, 10);
+        when(userRepository.existsById(vendorId)).thenReturn(true);
+        when(postRepository.findCardsByVendorId(vendorId, pageable)).thenReturn(pageOf(10, pageable));
+        when(postRepository.findImagesByPostIds(anyCollection())).thenReturn(List.of());
+
+        // When
+        Page<PostListResponse> result = postService.getPostsByVendor(vendorId, pageable);
+
+        // Then
+        assertEquals(10, result.getContent().size());
+        verify(userRepository, never()).findById(anyLong());
+        verify(postRepository, times(1)).findCardsByVendorId(vendorId, pageable);
+        verify(postRepository, times(1)).findImagesByPostIds(anyCollection());
+        verifyNoMoreInteractions(postRepository);
+    }
+}
@@ -0,0 +1,110 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.dtos.responses.post.PostListResponse;
+import com.myapp.booking.events.PostChangedEvent;
+import com.myapp.booking.models.Post;
+import com.myapp.booking.models.PostCard;
+import com.myapp.booking.repositories.PostCardRepository;
+import com.myapp.booking.repositories.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SimilarVenueServiceTest {
+
+    @Mock
+    private PostCardRepository postCardRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimilarVenueService similarVenueService;
+
+    @BeforeEach
+    void setUp() {
+        similarVenueService = new SimilarVenueService(postCardRepository, postRepository, transactionManager);
+    }
+
+    @Test
+    void rebuild_ShouldRunInOneReadOnlyTransaction() {
+        // Given
+        when(postCardRepository.findAllListable()).thenReturn(List.of(card(1L, "Grand Hall"), card(2L, "Riverside")));
+
+        // When
+        int size = similarVenueService.rebuild();
+
+        // Then
+        assertEquals(2, size);
+        assertEquals(List.of("Riverside"), titles(similarVenueService.getSimilar(1L, 5)));
+        verify(transactionManager).getTransaction(argThat(definition -> definition.isReadOnly()));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void rebuild_PostChangedWhileReading_ShouldKeepTheChange() {
+        // Given: the rebuild reads the old card, the post is renamed before the new index is swapped in
+        when(postCardRepository.findAllListable()).thenAnswer(invocation -> {
+            List<PostCard> snapshot = List.of(card(1L, "Grand Hall"), card(2L, "Riverside"));
+            when(postCardRepository.findById(2L)).thenReturn(Optional.of(card(2L, "Riverside Garden")));
+            similarVenueService.onPostChanged(new PostChangedEvent(2L, PostChangedEvent.ChangeType.CONTENT));
+            return snapshot;
+        });
+
+        // When
+        similarVenueService.rebuild();
+
+        // Then
+        assertEquals(List.of("Riverside Garden"), titles(similarVenueService.getSimilar(1L, 5)));
+        verify(postCardRepository, times(2)).findById(2L);
+    }
+
+    @Test
+    void onPostChanged_CounterChange_ShouldReplaceTheCardWithoutReranking() {
+        // Given
+        when(postCardRepository.findAllListable()).thenReturn(List.of(card(1L, "Grand Hall"), card(2L, "Riverside")));
+        similarVenueService.rebuild();
+        PostCard liked = card(2L, "Riverside");
+        liked.setLikeCount(42L);
+        when(postCardRepository.findById(2L)).thenReturn(Optional.of(liked));
+
+        // When
+        similarVenueService.onPostChanged(new PostChangedEvent(2L, PostChangedEvent.ChangeType.COUNTERS));
+
+        // Then
+        assertEquals(42L, similarVenueService.getSimilar(1L, 5).get(0).getLikeCount());
+        verify(postRepository, never()).findAmenitiesByPostId(any());
+    }
+
+    private static List<String> titles(List<PostListResponse> cards) {
+        return cards.stream().map(PostListResponse::getTitle).toList();
+    }
+
+    private static PostCard card(Long postId, String title) {
+        return PostCard.builder()
+                .postId(postId)
+                .title(title)
+                .location("District 1, Ho Chi Minh")
+                .price(BigDecimal.valueOf(50_000_000L))
+                .capacity(300)
+                .style("Ballroom")
+                .status(Post.PostStatus.PUBLISHED)
+                .isActive(true)
+                .isDeleted(false)
+                .rating(BigDecimal.valueOf(4.5))
+                .build();
+    }
+}
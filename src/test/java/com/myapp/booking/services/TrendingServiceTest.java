@@ -0,0 +1,152 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.models.JobLease;
+import com.myapp.booking.repositories.JobLeaseRepository;
+import com.myapp.booking.repositories.PostRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrendingServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private TrendingService trendingService;
+
+    @Test
+    void decayFactor_ShouldHalveScoreEveryHalfLife() {
+        assertEquals(0.5, TrendingService.decayFactor(48, 48), 1e-9);
+        assertEquals(0.25, TrendingService.decayFactor(96, 48), 1e-9);
+        assertEquals(1.0, TrendingService.decayFactor(0, 48), 1e-9);
+    }
+
+    @Test
+    void activityScore_ShouldWeightBookingsHighestAndIgnoreDecreases() {
+        long[] before = {100, 10, 5, 2};
+
+        // one booking outweighs a comment, a comment outweighs a like, a like outweighs a view
+        assertTrue(TrendingService.activityScore(before, new long[]{100, 10, 5, 3})
+                > TrendingService.activityScore(before, new long[]{100, 10, 6, 2}));
+        assertTrue(TrendingService.activityScore(before, new long[]{100, 10, 6, 2})
+                > TrendingService.activityScore(before, new long[]{100, 11, 5, 2}));
+        assertTrue(TrendingService.activityScore(before, new long[]{100, 11, 5, 2})
+                > TrendingService.activityScore(before, new long[]{101, 10, 5, 2}));
+
+        // unlikes do not produce negative activity
+        assertEquals(0.0, TrendingService.activityScore(before, new long[]{100, 8, 5, 2}));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refresh_FirstRunRecordsBaselineThenScoresOnlyGrowth() {
+        // Given
+        ReflectionTestUtils.setField(trendingService, "halfLifeHours", 48.0);
+        storeLeases();
+        when(postRepository.findPublishedCounters()).thenReturn(
+                List.<Object[]>of(new Object[]{1L, 100L, 10L, 5L, 2L}, new Object[]{2L, 50L, 1L, 0L, 0L}),
+                List.<Object[]>of(new Object[]{1L, 100L, 10L, 5L, 3L}, new Object[]{2L, 50L, 1L, 0L, 0L},
+                        new Object[]{3L, 999L, 99L, 9L, 9L}));
+
+        // When: first run only records baselines
+        int firstGrown = trendingService.refresh();
+
+        // Then
+        assertEquals(0, firstGrown);
+        verify(postRepository, never()).decayTrendingScores(anyDouble());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+
+        // When: second run sees one new booking on post 1 and a newly published post 3
+        int secondGrown = trendingService.refresh();
+
+        // Then
+        assertEquals(1, secondGrown);
+        verify(postRepository).decayTrendingScores(anyDouble());
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertEquals(1, batch.getValue().size());
+        assertEquals(1L, batch.getValue().get(0)[1]);
+        assertEquals(10.0, (Double) batch.getValue().get(0)[0], 1e-9);
+    }
+
+    @Test
+    void refresh_LeaseHeldByAnotherInstance_ShouldSkipTheRun() {
+        // Given
+        when(jobLeaseRepository.findByNameForUpdate(TrendingService.JOB_NAME)).thenReturn(Optional.of(
+                lease("other-instance", LocalDateTime.now().plusMinutes(30), LocalDateTime.now().minusMinutes(5))));
+
+        // When
+        int grown = trendingService.refresh();
+
+        // Then
+        assertEquals(0, grown);
+        verifyNoInteractions(postRepository, jdbcTemplate);
+        verify(jobLeaseRepository, never()).save(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refresh_ExpiredLease_ShouldTakeOverDecayAndRecordBaselines() {
+        // Given: the previous owner last ran 48h ago and stopped renewing
+        ReflectionTestUtils.setField(trendingService, "halfLifeHours", 48.0);
+        JobLease expired = lease("other-instance", LocalDateTime.now().minusHours(47),
+                LocalDateTime.now().minusHours(48));
+        when(jobLeaseRepository.findByNameForUpdate(TrendingService.JOB_NAME)).thenReturn(Optional.of(expired));
+        when(postRepository.findPublishedCounters())
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 100L, 10L, 5L, 2L}));
+
+        // When
+        int grown = trendingService.refresh();
+
+        // Then: scores decay for the time since the last run by anyone; no activity is scored yet
+        assertEquals(0, grown);
+        ArgumentCaptor<Double> factor = ArgumentCaptor.forClass(Double.class);
+        verify(postRepository).decayTrendingScores(factor.capture());
+        assertEquals(0.5, factor.getValue(), 0.01);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        assertNotEquals("other-instance", expired.getOwner());
+        assertTrue(expired.getLeaseUntil().isAfter(LocalDateTime.now()));
+        verify(jobLeaseRepository).save(expired);
+    }
+
+    // The lease row as the database would hold it between runs
+    private void storeLeases() {
+        JobLease[] stored = new JobLease[1];
+        when(jobLeaseRepository.findByNameForUpdate(TrendingService.JOB_NAME))
+                .thenAnswer(invocation -> Optional.ofNullable(stored[0]));
+        when(jobLeaseRepository.save(any(JobLease.class))).thenAnswer(invocation -> {
+            stored[0] = invocation.getArgument(0);
+            return stored[0];
+        });
+    }
+
+    private static JobLease lease(String owner, LocalDateTime leaseUntil, LocalDateTime lastRunAt) {
+        return JobLease.builder()
+                .name(TrendingService.JOB_NAME)
+                .owner(owner)
+                .leaseUntil(leaseUntil)
+                .lastRunAt(lastRunAt)
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.dtos.responses.post.UniqueVisitorCounts;
+import com.myapp.booking.models.PostVisitorSketch;
+import com.myapp.booking.repositories.PostVisitorSketchRepository;
+import com.myapp.booking.utils.HyperLogLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UniqueVisitorServiceTest {
+
+    @Mock
+    private PostVisitorSketchRepository sketchRepository;
+
+    @InjectMocks
+    private UniqueVisitorService uniqueVisitorService;
+
+    @Test
+    void flush_NewPost_ShouldWriteDayRowAndSeedAllTimeRowFromHistory() {
+        // Given: 3 visitors today; an older day with 2 others, from before the all-time row
+        LocalDate today = LocalDate.now();
+        PostVisitorSketch lastYear = row(1L, today.minusYears(1), "u:100", "u:101");
+        when(sketchRepository.findByPostIdAndVisitDate(eq(1L), any())).thenReturn(Optional.empty());
+        when(sketchRepository.findByPostId(1L)).thenReturn(List.of(lastYear));
+        for (String visitor : List.of("u:1", "u:2", "u:3", "u:1")) {
+            uniqueVisitorService.recordVisit(1L, visitor);
+        }
+
+        // When
+        int written = uniqueVisitorService.flush();
+
+        // Then
+        assertEquals(1, written);
+        ArgumentCaptor<PostVisitorSketch> saved = ArgumentCaptor.forClass(PostVisitorSketch.class);
+        verify(sketchRepository, times(2)).save(saved.capture());
+        PostVisitorSketch day = saved.getAllValues().get(0);
+        PostVisitorSketch allTime = saved.getAllValues().get(1);
+        assertEquals(today, day.getVisitDate());
+        assertEquals(3, HyperLogLog.fromBytes(day.getRegisters()).cardinality());
+        assertEquals(UniqueVisitorService.ALL_TIME, allTime.getVisitDate());
+        assertEquals(5, HyperLogLog.fromBytes(allTime.getRegisters()).cardinality());
+    }
+
+    @Test
+    void getCounts_WithAllTimeRow_ShouldReadOnlyTheLast30Days() {
+        // Given
+        LocalDate today = LocalDate.now();
+        when(sketchRepository.findByPostIdAndVisitDateGreaterThanEqual(1L, today.minusDays(29)))
+                .thenReturn(List.of(
+                        row(1L, today, "u:1", "u:2"),
+                        row(1L, today.minusDays(3), "u:2", "u:3"),
+                        row(1L, today.minusDays(20), "u:4")));
+        when(sketchRepository.findByPostIdAndVisitDate(1L, UniqueVisitorService.ALL_TIME))
+                .thenReturn(Optional.of(row(1L, UniqueVisitorService.ALL_TIME,
+                        "u:1", "u:2", "u:3", "u:4", "u:5", "u:6")));
+        uniqueVisitorService.recordVisit(1L, "u:7");
+
+        // When
+        UniqueVisitorCounts counts = uniqueVisitorService.getCounts(1L);
+
+        // Then: the pending visit counts everywhere until it is flushed
+        assertEquals(3, counts.getToday());
+        assertEquals(4, counts.getLast7Days());
+        assertEquals(5, counts.getLast30Days());
+        assertEquals(7, counts.getAllTime());
+        verify(sketchRepository, never()).findByPostId(anyLong());
+    }
+
+    @Test
+    void getCounts_WithoutAllTimeRow_ShouldFallBackToTheFullHistory() {
+        // Given
+        LocalDate today = LocalDate.now();
+        when(sketchRepository.findByPostIdAndVisitDateGreaterThanEqual(eq(1L), any())).thenReturn(List.of());
+        when(sketchRepository.findByPostIdAndVisitDate(1L, UniqueVisitorService.ALL_TIME))
+                .thenReturn(Optional.empty());
+        when(sketchRepository.findByPostId(1L)).thenReturn(List.of(
+                row(1L, today.minusDays(90), "u:1", "u:2"),
+                row(1L, today.minusDays(400), "u:2", "u:3")));
+
+        // When
+        UniqueVisitorCounts counts = uniqueVisitorService.getCounts(1L);
+
+        // Then
+        assertEquals(0, counts.getLast30Days());
+        assertEquals(3, counts.getAllTime());
+    }
+
+    private static PostVisitorSketch row(Long postId, LocalDate day, String... visitors) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (String visitor : visitors) {
+            sketch.offer(visitor);
+        }
+        return PostVisitorSketch.builder()
+                .postId(postId)
+                .visitDate(day)
+                .registers(sketch.toBytes())
+                .build();
+    }
+}
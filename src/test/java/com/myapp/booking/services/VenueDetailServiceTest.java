@@ -0,0 +1,301 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.configurations.ExecutorConfig;
+import com.myapp.booking.dtos.responses.CommentResponse;
+import com.myapp.booking.dtos.responses.MenuResponse;
+import com.myapp.booking.dtos.responses.RatingSummaryResponse;
+import com.myapp.booking.dtos.responses.SlotAvailabilityResponse;
+import com.myapp.booking.dtos.responses.post.PostResponse;
+import com.myapp.booking.dtos.responses.post.VenueDetailResponse;
+import com.myapp.booking.events.PostChangedEvent;
+import com.myapp.booking.exceptions.ResourceNotFoundException;
+import com.myapp.booking.services.interfaces.IPostService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VenueDetailServiceTest {
+
+    @Mock
+    private IPostService postService;
+
+    @Mock
+    private MenuService menuService;
+
+    @Mock
+    private CommentService commentService;
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private PostLikeService postLikeService;
+
+    private ExecutorService executor;
+    private VenueDetailService venueDetailService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(8);
+        venueDetailService = new VenueDetailService(
+                postService, menuService, commentService, bookingService, postLikeService, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getVenueDetail_AllPartsAvailable_ShouldAssembleCompleteResponse() {
+        // Given
+        stubParts(0, 0, 0, 0, 0);
+        when(postLikeService.isLikedBy(1L, 9L)).thenReturn(true);
+
+        // When
+        VenueDetailResponse detail = venueDetailService.getVenueDetail(1L, 9L);
+
+        // Then
+        assertEquals(1L, detail.getPost().getId());
+        assertEquals(1, detail.getMenus().size());
+        assertEquals(1, detail.getLatestComments().size());
+        assertEquals(BigDecimal.valueOf(4.5), detail.getRating().getAverageRating());
+        assertEquals(VenueDetailService.AVAILABILITY_DAYS, detail.getAvailability().size());
+        assertTrue(detail.getLikedByMe());
+        assertTrue(detail.getMissingParts().isEmpty());
+        verify(bookingService).getSlotAvailabilityRange(eq(1L), any(LocalDate.class), eq(VenueDetailService.AVAILABILITY_DAYS));
+    }
+
+    @Test
+    void getVenueDetail_SlowPart_ShouldReturnPartialResponseWithinTimeout() {
+        // Given: availability takes far longer than the part budget
+        ReflectionTestUtils.setField(venueDetailService, "partTimeoutMs", 100L);
+        stubParts(0, 0, 0, 0, 2_000);
+
+        // When
+        long start = System.nanoTime();
+        VenueDetailResponse detail = venueDetailService.getVenueDetail(1L, null);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertNull(detail.getAvailability());
+        assertEquals(List.of(VenueDetailService.AVAILABILITY), detail.getMissingParts());
+        assertNotNull(detail.getMenus());
+        assertTrue(elapsedMs < 1_000, "Took " + elapsedMs + " ms");
+
+        // Partial responses are not cached
+        venueDetailService.getVenueDetail(1L, null);
+        verify(postService, times(2)).getPostById(1L);
+    }
+
+    @Test
+    void getVenueDetail_FailingPart_ShouldReportItMissing() {
+        // Given
+        stubParts(0, 0, 0, 0, 0);
+        when(commentService.getRatingSummary(1L)).thenThrow(new IllegalStateException("boom"));
+
+        // When
+        VenueDetailResponse detail = venueDetailService.getVenueDetail(1L, null);
+
+        // Then
+        assertNull(detail.getRating());
+        assertEquals(List.of(VenueDetailService.RATING), detail.getMissingParts());
+    }
+
+    @Test
+    void getVenueDetail_PostNotFound_ShouldThrow() {
+        // Given
+        when(postService.getPostById(1L)).thenThrow(new ResourceNotFoundException("Post not found"));
+
+        // When / Then
+        assertThrows(ResourceNotFoundException.class, () -> venueDetailService.getVenueDetail(1L, null));
+    }
+
+    @Test
+    void getVenueDetail_SecondCallWithinTtl_ShouldBeServedFromCacheUntilPostChanges() {
+        // Given
+        stubParts(0, 0, 0, 0, 0);
+
+        // When
+        venueDetailService.getVenueDetail(1L, null);
+        venueDetailService.getVenueDetail(1L, 9L);
+        venueDetailService.onPostChanged(new PostChangedEvent(1L, PostChangedEvent.ChangeType.CONTENT));
+        venueDetailService.getVenueDetail(1L, null);
+
+        // Then
+        verify(postService, times(2)).getPostById(1L);
+        verify(menuService, times(2)).getMenusByPost(1L);
+    }
+
+    @Test
+    void getVenueDetail_Parts_ShouldRunConcurrently() {
+        // Given: every part waits until all five have started, which only a fan-out satisfies
+        ReflectionTestUtils.setField(venueDetailService, "partTimeoutMs", 5_000L);
+        CountDownLatch started = new CountDownLatch(5);
+        stubParts(rendezvous(started));
+
+        // When
+        VenueDetailResponse detail = venueDetailService.getVenueDetail(1L, null);
+
+        // Then
+        assertEquals(0, started.getCount());
+        assertTrue(detail.getMissingParts().isEmpty());
+    }
+
+    @Test
+    void getVenueDetail_TimedOutPart_ShouldInterruptItsWorker() throws InterruptedException {
+        // Given
+        ReflectionTestUtils.setField(venueDetailService, "partTimeoutMs", 100L);
+        stubParts(0, 0, 0, 0, 0);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        doAnswer(untilInterrupted(interrupted))
+                .when(bookingService).getSlotAvailabilityRange(eq(1L), any(LocalDate.class), anyInt());
+
+        // When
+        VenueDetailResponse detail = venueDetailService.getVenueDetail(1L, null);
+
+        // Then: the query is not left running on the pool
+        assertEquals(List.of(VenueDetailService.AVAILABILITY), detail.getMissingParts());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void getVenueDetail_PostNotFound_ShouldCancelTheOtherParts() throws InterruptedException {
+        // Given: the post fails only once the rating query is running
+        ReflectionTestUtils.setField(venueDetailService, "partTimeoutMs", 5_000L);
+        stubParts(0, 0, 0, 0, 0);
+        CountDownLatch ratingStarted = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            ratingStarted.countDown();
+            return untilInterrupted(interrupted).answer(invocation);
+        }).when(commentService).getRatingSummary(1L);
+        doAnswer(invocation -> {
+            ratingStarted.await();
+            throw new ResourceNotFoundException("Post not found");
+        }).when(postService).getPostById(1L);
+
+        // When
+        assertThrows(ResourceNotFoundException.class, () -> venueDetailService.getVenueDetail(1L, null));
+
+        // Then
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void getVenueDetail_PoolFull_ShouldReportRejectedPartsMissingWithoutRunningThem() {
+        // Given: two threads and one queue slot for five parts; the running parts hold their
+        // threads until every part has been submitted
+        ThreadPoolTaskExecutor pool = new ExecutorConfig().venueDetailExecutor(2, 1);
+        CountDownLatch submitted = new CountDownLatch(5);
+        Executor submitting = task -> {
+            try {
+                pool.execute(task);
+            } finally {
+                submitted.countDown();
+            }
+        };
+        venueDetailService = new VenueDetailService(
+                postService, menuService, commentService, bookingService, postLikeService, submitting);
+        ReflectionTestUtils.setField(venueDetailService, "partTimeoutMs", 5_000L);
+        Delay untilSubmitted = submitted::await;
+        stubParts(untilSubmitted, untilSubmitted, delayed(0), delayed(0), delayed(0));
+
+        try {
+            // When
+            VenueDetailResponse detail = venueDetailService.getVenueDetail(1L, null);
+
+            // Then: the queued part still ran, the rejected ones never ran on the request thread
+            assertNotNull(detail.getLatestComments());
+            assertEquals(List.of(VenueDetailService.RATING, VenueDetailService.AVAILABILITY), detail.getMissingParts());
+            verify(commentService, never()).getRatingSummary(any());
+            verify(bookingService, never()).getSlotAvailabilityRange(any(), any(), anyInt());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void stubParts(long... latencies) {
+        stubParts(Arrays.stream(latencies).mapToObj(VenueDetailServiceTest::delayed).toArray(Delay[]::new));
+    }
+
+    private void stubParts(Delay... delays) {
+        lenient().when(postService.getPostById(1L))
+                .thenAnswer(answer(delays[0], PostResponse.builder().id(1L).title("Grand Hall").build()));
+        lenient().when(menuService.getMenusByPost(1L))
+                .thenAnswer(answer(delays[1], List.of(new MenuResponse())));
+        lenient().when(commentService.getLatestComments(1L, VenueDetailService.LATEST_COMMENTS))
+                .thenAnswer(answer(delays[2], List.of(new CommentResponse())));
+        lenient().when(commentService.getRatingSummary(1L))
+                .thenAnswer(answer(delays[3], RatingSummaryResponse.builder()
+                        .averageRating(BigDecimal.valueOf(4.5)).totalComments(2L).build()));
+        List<SlotAvailabilityResponse> calendar = new ArrayList<>();
+        for (int i = 0; i < VenueDetailService.AVAILABILITY_DAYS; i++) {
+            calendar.add(SlotAvailabilityResponse.builder().postId(1L).build());
+        }
+        lenient().when(bookingService.getSlotAvailabilityRange(eq(1L), any(LocalDate.class), anyInt()))
+                .thenAnswer(answer(delays[4], calendar));
+    }
+
+    @FunctionalInterface
+    private interface Delay {
+        void await() throws InterruptedException;
+    }
+
+    private static Delay delayed(long millis) {
+        return () -> {
+            if (millis > 0) {
+                Thread.sleep(millis);
+            }
+        };
+    }
+
+    private static Delay[] rendezvous(CountDownLatch started) {
+        Delay delay = () -> {
+            started.countDown();
+            started.await();
+        };
+        return new Delay[]{delay, delay, delay, delay, delay};
+    }
+
+    private static Answer<Object> answer(Delay delay, Object value) {
+        return invocation -> {
+            delay.await();
+            return value;
+        };
+    }
+
+    private static Answer<Object> untilInterrupted(CountDownLatch interrupted) {
+        return invocation -> {
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return null;
+        };
+    }
+}
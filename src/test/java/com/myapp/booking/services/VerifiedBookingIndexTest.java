@@ -0,0 +1,89 @@
+package com.myapp.booking.services;
+
+import com.myapp.booking.events.BookingCompletedEvent;
+import com.myapp.booking.repositories.BookingRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedBookingIndexTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private VerifiedBookingIndex index;
+
+    @Test
+    void hasCompletedBooking_AfterLoad_ShouldAnswerFromMemory() {
+        // Given: duplicate pairs (two stays) collapse into one entry
+        when(bookingRepository.findCompletedUserPostPairs()).thenReturn(List.of(
+                new Object[]{7L, 100L}, new Object[]{7L, 100L}, new Object[]{8L, 100L}, new Object[]{7L, 101L}));
+        index.load();
+
+        // When / Then
+        assertTrue(index.hasCompletedBooking(7L, 100L));
+        assertTrue(index.hasCompletedBooking(7L, 101L));
+        assertTrue(index.hasCompletedBooking(8L, 100L));
+        assertFalse(index.hasCompletedBooking(8L, 101L));
+        assertFalse(index.hasCompletedBooking(100L, 7L));
+        assertEquals(3, index.size());
+        verify(bookingRepository, never()).existsByUserIdAndPostIdAndStatus(anyLong(), anyLong(), anyString());
+    }
+
+    @Test
+    void onBookingCompleted_ShouldAddThePair() {
+        // Given
+        when(bookingRepository.findCompletedUserPostPairs()).thenReturn(List.of());
+        index.load();
+
+        // When
+        index.onBookingCompleted(new BookingCompletedEvent(1L, 7L, 100L));
+
+        // Then
+        assertTrue(index.hasCompletedBooking(7L, 100L));
+        assertFalse(index.hasCompletedBooking(7L, 101L));
+    }
+
+    @Test
+    void load_ShouldKeepCompletionsThatArrivedWhileLoading() {
+        // Given: a completion committed before the startup query returned
+        index.onBookingCompleted(new BookingCompletedEvent(1L, 9L, 200L));
+        when(bookingRepository.findCompletedUserPostPairs()).thenReturn(List.<Object[]>of(new Object[]{7L, 100L}));
+
+        // When
+        index.load();
+
+        // Then
+        assertTrue(index.hasCompletedBooking(9L, 200L));
+        assertTrue(index.hasCompletedBooking(7L, 100L));
+    }
+
+    @Test
+    void hasCompletedBooking_BeforeLoadOrWideIds_ShouldAskTheDatabase() {
+        // Given
+        when(bookingRepository.existsByUserIdAndPostIdAndStatus(7L, 100L, "COMPLETED")).thenReturn(true);
+
+        // When / Then: not loaded yet
+        assertTrue(index.hasCompletedBooking(7L, 100L));
+
+        // Given: loaded, but the id does not fit the packed key
+        when(bookingRepository.findCompletedUserPostPairs()).thenReturn(List.of());
+        index.load();
+        long wide = 1L << 33;
+
+        // When / Then
+        assertFalse(index.hasCompletedBooking(wide, 100L));
+        verify(bookingRepository).existsByUserIdAndPostIdAndStatus(wide, 100L, "COMPLETED");
+        assertFalse(index.hasCompletedBooking(null, 100L));
+    }
+}
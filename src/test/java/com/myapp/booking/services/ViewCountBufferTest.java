@@ -0,0 +1,128 @@
+package com.myapp.booking.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ViewCountBufferTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ViewCountBuffer viewCountBuffer;
+
+    @Test
+    void flush_ShouldWriteOneBatchedRelativeUpdatePerPost() {
+        // Given
+        viewCountBuffer.increment(1L);
+        viewCountBuffer.increment(1L);
+        viewCountBuffer.increment(2L);
+
+        // When
+        int flushed = viewCountBuffer.flush();
+
+        // Then
+        assertEquals(2, flushed);
+        List<Object[]> rows = capturePostsBatches().get(0);
+        assertEquals(2, rows.size());
+        for (Object[] row : rows) {
+            assertEquals(row[1].equals(1L) ? 2L : 1L, row[0]);
+        }
+        assertEquals(0, viewCountBuffer.pendingFor(1L));
+        assertEquals(0, viewCountBuffer.pendingPosts(), "Flushed posts should leave the buffer");
+        assertEquals(0, viewCountBuffer.flush(), "Drained buffer should not write again");
+    }
+
+    @Test
+    void flush_WhenDatabaseFails_ShouldKeepViewsForNextFlush() {
+        // Given
+        viewCountBuffer.increment(5L);
+        viewCountBuffer.increment(5L);
+        when(jdbcTemplate.batchUpdate(contains("UPDATE posts"), anyList()))
+                .thenThrow(new QueryTimeoutException("lock wait timeout"));
+
+        // When
+        int flushed = viewCountBuffer.flush();
+
+        // Then
+        assertEquals(0, flushed);
+        assertEquals(2, viewCountBuffer.pendingFor(5L));
+        verify(jdbcTemplate, never()).batchUpdate(contains("post_cards"), anyList());
+    }
+
+    @Test
+    void increment_ConcurrentViewersOfSamePost_ShouldNotLoseViews() throws Exception {
+        // Given
+        int threads = 16;
+        int viewsPerThread = 200_000;
+        long expected = (long) threads * viewsPerThread;
+        AtomicLong written = new AtomicLong();
+        when(jdbcTemplate.batchUpdate(contains("UPDATE posts"), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            rows.forEach(row -> written.addAndGet((Long) row[0]));
+            return new int[rows.size()];
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicBoolean viewing = new AtomicBoolean(true);
+
+        // When: viewers hammer one post while the scheduler keeps flushing
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < viewsPerThread; i++) {
+                    viewCountBuffer.increment(42L);
+                }
+                done.countDown();
+                return null;
+            });
+        }
+        pool.submit(() -> {
+            while (viewing.get()) {
+                viewCountBuffer.flush();
+                Thread.sleep(1);
+            }
+            return null;
+        });
+
+        start.countDown();
+        assertTrue(done.await(60, TimeUnit.SECONDS));
+        viewing.set(false);
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        viewCountBuffer.flush();
+
+        // Then
+        assertEquals(expected, written.get());
+        assertEquals(0, viewCountBuffer.pendingPosts());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Object[]>> capturePostsBatches() {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass((Class) List.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(contains("UPDATE posts"), captor.capture());
+        return new ArrayList<>(captor.getAllValues());
+    }
+}
@@ -0,0 +1,82 @@
+package com.myapp.booking.support;
+
+import com.myapp.booking.repositories.CommentFeedRepository;
+import com.myapp.booking.repositories.CommentRepository;
+import com.myapp.booking.repositories.PostRepository;
+import com.myapp.booking.repositories.UserRepository;
+import com.myapp.booking.services.CommentService;
+import com.myapp.booking.services.CommentStatisticsService;
+import com.myapp.booking.services.ReviewSearchService;
+import com.myapp.booking.services.VerifiedBookingIndex;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Builds a {@link CommentService} over the slice's repositories, naming each collaborator
+ * a test wires in. Statistics default to a real service over the post repository and events
+ * to a mock publisher; the feed repository, verified-booking index and search service are left
+ * out unless the test exercises them.
+ */
+public final class CommentServiceBuilder {
+
+    private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private CommentFeedRepository commentFeedRepository;
+    private CommentStatisticsService commentStatisticsService;
+    private VerifiedBookingIndex verifiedBookingIndex;
+    private ReviewSearchService reviewSearchService;
+    private ApplicationEventPublisher eventPublisher;
+
+    private CommentServiceBuilder(CommentRepository commentRepository,
+                                  PostRepository postRepository,
+                                  UserRepository userRepository) {
+        this.commentRepository = commentRepository;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+    }
+
+    public static CommentServiceBuilder commentService(CommentRepository commentRepository,
+                                                       PostRepository postRepository,
+                                                       UserRepository userRepository) {
+        return new CommentServiceBuilder(commentRepository, postRepository, userRepository);
+    }
+
+    public CommentServiceBuilder feed(CommentFeedRepository commentFeedRepository) {
+        this.commentFeedRepository = commentFeedRepository;
+        return this;
+    }
+
+    public CommentServiceBuilder statistics(CommentStatisticsService commentStatisticsService) {
+        this.commentStatisticsService = commentStatisticsService;
+        return this;
+    }
+
+    public CommentServiceBuilder verifiedBookings(VerifiedBookingIndex verifiedBookingIndex) {
+        this.verifiedBookingIndex = verifiedBookingIndex;
+        return this;
+    }
+
+    public CommentServiceBuilder search(ReviewSearchService reviewSearchService) {
+        this.reviewSearchService = reviewSearchService;
+        return this;
+    }
+
+    public CommentServiceBuilder events(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+        return this;
+    }
+
+    public CommentService build() {
+        return new CommentService(
+                commentRepository,
+                commentFeedRepository,
+                postRepository,
+                userRepository,
+                commentStatisticsService != null ? commentStatisticsService : new CommentStatisticsService(postRepository),
+                verifiedBookingIndex,
+                reviewSearchService,
+                eventPublisher != null ? eventPublisher : mock(ApplicationEventPublisher.class));
+    }
+}
@@ -0,0 +1,28 @@
+package com.myapp.booking.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records every SQL statement Hibernate prepares, lower-cased, so tests can assert how many
+ * round trips an operation costs. Registered by {@link H2JpaTest}.
+ */
+public class SqlStatementCapture implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    /**
+     * @return the live list; clear it right before the operation under test
+     */
+    public static List<String> statements() {
+        return STATEMENTS;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql.toLowerCase());
+        return sql;
+    }
+}
@@ -0,0 +1,96 @@
+package com.myapp.booking.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    private static void assertWithin(long expected, long actual, double tolerance) {
+        double error = Math.abs(actual - expected) / (double) expected;
+        assertTrue(error <= tolerance,
+                "Expected ~" + expected + " but estimated " + actual + " (error " + error + ")");
+    }
+
+    @Test
+    void cardinality_ShouldEstimateDistinctVisitorsWithinFewPercent() {
+        // Given
+        HyperLogLog sketch = new HyperLogLog();
+
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            sketch.offer("u:" + i);
+        }
+
+        // Then
+        assertWithin(100_000, sketch.cardinality(), 0.05);
+    }
+
+    @Test
+    void cardinality_RepeatedVisits_ShouldNotInflateCount() {
+        // Given
+        HyperLogLog sketch = new HyperLogLog();
+
+        // When: 50 visitors refreshing 200 times each
+        for (int refresh = 0; refresh < 200; refresh++) {
+            for (int visitor = 0; visitor < 50; visitor++) {
+                sketch.offer("a:10.0.0." + visitor + "|Mozilla/5.0");
+            }
+        }
+
+        // Then: small range is exact enough to compare directly
+        assertEquals(50, sketch.cardinality(), 1);
+    }
+
+    @Test
+    void merge_ShouldEqualSketchOfUnion() {
+        // Given: two overlapping days
+        HyperLogLog monday = new HyperLogLog();
+        HyperLogLog tuesday = new HyperLogLog();
+        HyperLogLog union = new HyperLogLog();
+        for (int i = 0; i < 30_000; i++) {
+            monday.offer("u:" + i);
+            union.offer("u:" + i);
+        }
+        for (int i = 20_000; i < 50_000; i++) {
+            tuesday.offer("u:" + i);
+            union.offer("u:" + i);
+        }
+
+        // When
+        HyperLogLog week = monday.copy();
+        week.merge(tuesday);
+
+        // Then
+        assertEquals(union, week);
+        assertWithin(50_000, week.cardinality(), 0.05);
+        assertWithin(30_000, monday.cardinality(), 0.05);
+    }
+
+    @Test
+    void toBytes_ShouldRoundTripInFixedFewKilobytes() {
+        // Given
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 1_000_000; i++) {
+            sketch.offer("u:" + i);
+        }
+
+        // When
+        byte[] bytes = sketch.toBytes();
+        HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+
+        // Then
+        assertEquals(1 << HyperLogLog.PRECISION, bytes.length);
+        assertEquals(sketch, restored);
+        assertEquals(sketch.cardinality(), restored.cardinality());
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[10]));
+    }
+
+    @Test
+    void isEmpty_NewSketch_ShouldReportZero() {
+        HyperLogLog sketch = new HyperLogLog();
+
+        assertTrue(sketch.isEmpty());
+        assertEquals(0, sketch.cardinality());
+    }
+}
@@ -0,0 +1,136 @@
+package com.myapp.booking.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    @Test
+    void tokens_ShouldFoldAccentsAndSplitOnPunctuation() {
+        assertEquals(List.of("am", "thanh", "to", "qua"), TextAnalyzer.tokens("Âm thanh TO quá!!"));
+        assertEquals(List.of("bai", "do", "xe", "rong"), TextAnalyzer.tokens("Bãi đỗ xe: rộng"));
+        assertEquals(List.of(), TextAnalyzer.tokens("  ...  "));
+    }
+
+    @Test
+    void search_ShouldRequireEveryWordIgnoringAccents() {
+        // Given
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "Âm thanh rất tốt, bãi đỗ xe rộng");
+        index.put(2, "Am thanh hoi nho");
+        index.put(3, "Parking was easy, great sound");
+
+        // When / Then
+        assertEquals(List.of(2L, 1L), ids(index.search("âm thanh", 0, 10)));
+        assertEquals(List.of(1L), ids(index.search("AM THANH bai do", 0, 10)));
+        assertEquals(List.of(3L), ids(index.search("parking", 0, 10)));
+        assertEquals(0, index.search("parking thanh", 0, 10).total());
+        assertEquals(0, index.search("   ", 0, 10).total());
+    }
+
+    @Test
+    void search_ShouldRankFocusedShortReviewsHigher() {
+        // Given
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "parking parking parking, the parking is huge");
+        index.put(2, "parking available, food was fine, staff friendly, decoration pretty, music loud enough");
+        index.put(3, "noisy parking");
+        index.put(4, "noisy music");
+
+        // When
+        List<InvertedIndex.Hit> hits = index.search("parking", 0, 10).hits();
+
+        // Then: term frequency and length normalization
+        assertEquals(List.of(1L, 3L, 2L), hits.stream().map(InvertedIndex.Hit::docId).toList());
+        assertEquals(List.of(4L), ids(index.search("noisy music", 0, 10)));
+    }
+
+    @Test
+    void putAndRemove_ShouldUpdateIncrementally() {
+        // Given
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "great parking");
+        index.put(2, "great food");
+
+        // When: edit and deactivate
+        index.put(1, "great music");
+        index.remove(2);
+
+        // Then
+        assertEquals(0, index.search("parking", 0, 10).total());
+        assertEquals(List.of(1L), ids(index.search("great", 0, 10)));
+        assertEquals(1, index.size());
+        index.remove(1);
+        assertEquals(0, index.search("great", 0, 10).total());
+    }
+
+    @Test
+    void search_Pages_ShouldCoverEveryHitOnceInRankOrder() {
+        // Given
+        InvertedIndex index = new InvertedIndex();
+        for (int i = 1; i <= 95; i++) {
+            index.put(i, "parking " + "nice ".repeat(i % 7));
+        }
+
+        // When
+        InvertedIndex.Hits all = index.search("parking", 0, 200);
+        List<Long> paged = new ArrayList<>();
+        for (int page = 0; page * 20 < all.total(); page++) {
+            paged.addAll(ids(index.search("parking", page * 20, 20)));
+        }
+
+        // Then
+        assertEquals(95, all.total());
+        assertEquals(ids(all), paged);
+    }
+
+    @Test
+    void search_TenThousandReviews_ShouldCountEveryMatch() {
+        // Given: 10k reviews of ~40 words from a 2k-word vocabulary, plus common words
+        InvertedIndex index = new InvertedIndex();
+        Random random = new Random(42);
+        for (int doc = 1; doc <= 10_000; doc++) {
+            StringBuilder text = new StringBuilder("nha hang ");
+            for (int w = 0; w < 40; w++) {
+                text.append("tu").append(random.nextInt(2_000)).append(' ');
+            }
+            if (doc % 3 == 0) {
+                text.append("âm thanh");
+            }
+            index.put(doc, text.toString());
+        }
+
+        // When
+        InvertedIndex.Hits widest = index.search("nha hang", 0, 20);
+        InvertedIndex.Hits phrase = index.search("âm thanh", 0, 20);
+
+        // Then: the widest query matches every review
+        assertEquals(10_000, widest.total());
+        assertEquals(20, widest.hits().size());
+        assertEquals(3_333, phrase.total());
+        assertTrue(ids(phrase).stream().allMatch(id -> id % 3 == 0));
+    }
+
+    @Test
+    void search_OffsetNearIntMax_ShouldReturnNoHits() {
+        // Given
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "parking");
+
+        // When
+        InvertedIndex.Hits hits = index.search("parking", Integer.MAX_VALUE - 5, 20);
+
+        // Then
+        assertTrue(hits.hits().isEmpty());
+        assertEquals(1, hits.total());
+    }
+
+    private static List<Long> ids(InvertedIndex.Hits hits) {
+        return hits.hits().stream().map(InvertedIndex.Hit::docId).toList();
+    }
+}
@@ -0,0 +1,131 @@
+package com.myapp.booking.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadingLruCacheTest {
+
+    @Test
+    void get_ShouldLoadOnceAndDropTheLeastRecentlyUsed() {
+        // Given
+        LoadingLruCache<Long, String> cache = new LoadingLruCache<>(() -> 2);
+        List<Long> loads = new ArrayList<>();
+
+        // When: 1 is read again before 3 arrives, so 2 is the eldest
+        cache.get(1L, key -> load(loads, key));
+        cache.get(2L, key -> load(loads, key));
+        cache.get(1L, key -> load(loads, key));
+        cache.get(3L, key -> load(loads, key));
+        cache.get(2L, key -> load(loads, key));
+
+        // Then
+        assertEquals(List.of(1L, 2L, 3L, 2L), loads);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void get_LoadRacingWithAChange_ShouldBeReturnedButNotStored() {
+        // Given
+        LoadingLruCache<Long, String> cache = new LoadingLruCache<>(() -> 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When: the key changes while its old value is being read
+        String stale = cache.get(1L, key -> {
+            cache.invalidate(key);
+            return "v" + loads.incrementAndGet();
+        });
+        String fresh = cache.get(1L, key -> "v" + loads.incrementAndGet());
+
+        // Then
+        assertEquals("v1", stale);
+        assertEquals("v2", fresh);
+        assertEquals("v2", cache.get(1L, key -> "v" + loads.incrementAndGet()));
+    }
+
+    @Test
+    void get_ChangeToAnotherKey_ShouldStillStoreTheLoad() {
+        // Given
+        LoadingLruCache<Long, String> cache = new LoadingLruCache<>(() -> 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When: other keys change while 1 is being read
+        cache.get(1L, key -> {
+            cache.invalidate(2L);
+            cache.update(3L, value -> value + "b");
+            cache.changed(4L);
+            return "v" + loads.incrementAndGet();
+        });
+
+        // Then
+        assertEquals("v1", cache.get(1L, key -> "v" + loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_LoaderFailed_ShouldLoadAndStoreOnTheNextCall() {
+        // Given
+        LoadingLruCache<Long, String> cache = new LoadingLruCache<>(() -> 10);
+        assertThrows(IllegalStateException.class, () -> cache.get(1L, key -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        // When
+        cache.get(1L, key -> "a");
+
+        // Then
+        assertEquals("a", cache.get(1L, key -> "reloaded"));
+    }
+
+    @Test
+    void get_ConcurrentLoadAlreadyStored_ShouldReturnTheStoredValue() {
+        // Given
+        LoadingLruCache<Long, String> cache = new LoadingLruCache<>(() -> 10);
+
+        // When: another caller stores its load while this one is loading
+        String value = cache.get(1L, key -> {
+            cache.get(key, other -> "first");
+            return "second";
+        });
+
+        // Then
+        assertEquals("first", value);
+    }
+
+    @Test
+    void update_ShouldPatchOnlyCachedKeys() {
+        // Given
+        LoadingLruCache<Long, String> cache = new LoadingLruCache<>(() -> 10);
+        cache.get(1L, key -> "a");
+
+        // When
+        cache.update(1L, value -> value + "b");
+        cache.update(2L, value -> value + "b");
+
+        // Then
+        assertEquals("ab", cache.get(1L, key -> "reloaded"));
+        assertEquals(1, cache.size());
+        assertNull(cache.changed(2L));
+    }
+
+    @Test
+    void get_ZeroCapacity_ShouldNeverStore() {
+        // Given
+        LoadingLruCache<Long, String> cache = new LoadingLruCache<>(() -> 0);
+
+        // When
+        cache.get(1L, key -> "a");
+
+        // Then
+        assertEquals(0, cache.size());
+    }
+
+    private static String load(List<Long> loads, Long key) {
+        loads.add(key);
+        return "v" + key;
+    }
+}
@@ -0,0 +1,121 @@
+package com.myapp.booking.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NearestNeighbourIndexTest {
+
+    private static final int K = 20;
+    private static final String[] STYLES = {"Garden", "Ballroom", "Rooftop", "Beach", "Classic", "Modern"};
+    private static final String[] CITIES = {"Ha Noi", "Ho Chi Minh", "Da Nang", "Hai Phong", "Can Tho", "Hue", "Nha Trang"};
+    private static final String[] AMENITIES = {"Parking", "Catering", "Stage", "Sound system", "LED screen",
+            "Bridal room", "Pool", "Garden", "Air conditioning", "Valet", "Decoration", "Photography"};
+
+    @Test
+    void nearest_ShouldOrderByDistanceAndExcludeSelf() {
+        // Given
+        NearestNeighbourIndex<String> index = new NearestNeighbourIndex<>(2);
+        index.rebuild(List.of(
+                new NearestNeighbourIndex.Item<>(1, new float[]{0f}, "a"),
+                new NearestNeighbourIndex.Item<>(2, new float[]{1f}, "b"),
+                new NearestNeighbourIndex.Item<>(3, new float[]{3f}, "c"),
+                new NearestNeighbourIndex.Item<>(4, new float[]{10f}, "d")));
+
+        // When / Then
+        assertEquals(List.of("b", "c"), index.nearest(1, 5));
+        assertEquals(List.of("b"), index.nearest(1, 1));
+        assertEquals(List.of(), index.nearest(99, 5));
+    }
+
+    @Test
+    void upsertAndRemove_ShouldKeepListsExact() {
+        // Given
+        NearestNeighbourIndex<String> index = new NearestNeighbourIndex<>(2);
+        index.rebuild(List.of(
+                new NearestNeighbourIndex.Item<>(1, new float[]{0f}, "a"),
+                new NearestNeighbourIndex.Item<>(2, new float[]{1f}, "b"),
+                new NearestNeighbourIndex.Item<>(3, new float[]{3f}, "c"),
+                new NearestNeighbourIndex.Item<>(4, new float[]{10f}, "d")));
+
+        // When: b moves far away, then c disappears
+        index.upsert(2, new float[]{20f}, "b");
+        assertEquals(List.of("c", "d"), index.nearest(1, 5));
+        index.remove(3);
+
+        // Then
+        assertEquals(List.of("d", "b"), index.nearest(1, 5));
+        assertFalse(index.contains(3));
+    }
+
+    @Test
+    void incrementalUpdates_ShouldMatchBruteForce() {
+        // Given: 3,000 venues, then 500 random edits, publishes and unpublishes
+        Random random = new Random(7);
+        NearestNeighbourIndex<Long> index = new NearestNeighbourIndex<>(K);
+        List<NearestNeighbourIndex.Item<Long>> items = new ArrayList<>();
+        for (long id = 1; id <= 3_000; id++) {
+            items.add(new NearestNeighbourIndex.Item<>(id, randomVenue(random), id));
+        }
+        index.rebuild(items);
+
+        long nextId = 3_001;
+        for (int i = 0; i < 500; i++) {
+            int action = random.nextInt(10);
+            if (action < 7) {
+                long id = 1 + random.nextInt(3_000);
+                index.upsert(id, randomVenue(random), id);
+            } else if (action < 9) {
+                index.upsert(nextId, randomVenue(random), nextId);
+                nextId++;
+            } else {
+                index.remove(1 + random.nextInt(3_000));
+            }
+        }
+
+        // When / Then: every precomputed list is exactly the brute-force answer
+        for (long id = 1; id < nextId; id++) {
+            if (index.contains(id)) {
+                assertArrayEquals(index.exactNearestIds(id), index.nearestIds(id), "Neighbours of " + id);
+            }
+        }
+    }
+
+    @Test
+    void updatePayload_ShouldReplaceThePayloadOnly() {
+        // Given
+        NearestNeighbourIndex<String> index = new NearestNeighbourIndex<>(2);
+        index.rebuild(List.of(
+                new NearestNeighbourIndex.Item<>(1, new float[]{0f}, "a"),
+                new NearestNeighbourIndex.Item<>(2, new float[]{1f}, "b")));
+
+        // When
+        index.updatePayload(2, "b2");
+        index.updatePayload(99, "x");
+
+        // Then
+        assertEquals(List.of("b2"), index.nearest(1, 5));
+        assertFalse(index.contains(99));
+    }
+
+    private static float[] randomVenue(Random random) {
+        Set<String> amenities = new HashSet<>();
+        for (int i = 0, n = 2 + random.nextInt(6); i < n; i++) {
+            amenities.add(AMENITIES[random.nextInt(AMENITIES.length)]);
+        }
+        return VenueFeatures.encode(
+                BigDecimal.valueOf(5_000_000L + random.nextInt(300) * 1_000_000L),
+                50 + random.nextInt(100) * 10,
+                STYLES[random.nextInt(STYLES.length)],
+                amenities,
+                "District " + random.nextInt(12) + ", " + CITIES[random.nextInt(CITIES.length)],
+                BigDecimal.valueOf(random.nextInt(51), 1));
+    }
+}
@@ -0,0 +1,43 @@
+package com.myapp.booking.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedLongSetTest {
+
+    @Test
+    void of_ShouldSortAndDropDuplicates() {
+        SortedLongSet set = SortedLongSet.of(List.of(42L, 7L, 42L, 19L));
+
+        assertArrayEquals(new long[]{7L, 19L, 42L}, set.toArray());
+        assertTrue(set.contains(19L));
+        assertFalse(set.contains(20L));
+    }
+
+    @Test
+    void withAndWithout_ShouldReturnNewSetAndLeaveOriginalUntouched() {
+        // Given
+        SortedLongSet original = SortedLongSet.of(10L, 30L);
+
+        // When
+        SortedLongSet added = original.with(20L);
+        SortedLongSet removed = added.without(10L);
+
+        // Then
+        assertArrayEquals(new long[]{10L, 30L}, original.toArray());
+        assertArrayEquals(new long[]{10L, 20L, 30L}, added.toArray());
+        assertArrayEquals(new long[]{20L, 30L}, removed.toArray());
+    }
+
+    @Test
+    void withAndWithout_NoChange_ShouldReturnSameInstance() {
+        SortedLongSet set = SortedLongSet.of(1L, 2L);
+
+        assertSame(set, set.with(2L));
+        assertSame(set, set.without(3L));
+        assertTrue(SortedLongSet.empty().without(1L).isEmpty());
+    }
+}
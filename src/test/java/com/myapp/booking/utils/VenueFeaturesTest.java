@@ -0,0 +1,44 @@
+package com.myapp.booking.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VenueFeaturesTest {
+
+    @Test
+    void fold_ShouldIgnoreAccentsCaseAndSpaces() {
+        assertEquals("hanoi", VenueFeatures.fold("Hà Nội"));
+        assertEquals("danang", VenueFeatures.fold("Đà Nẵng"));
+        assertEquals("hanoi", VenueFeatures.city("12 Ly Thuong Kiet, Hoan Kiem, ha noi"));
+    }
+
+    @Test
+    void encode_SameCityAndStyle_ShouldBeCloserThanDifferentOnes() {
+        // Given
+        float[] venue = VenueFeatures.encode(BigDecimal.valueOf(50_000_000), 300, "Garden",
+                Set.of("Parking", "Catering"), "Hoan Kiem, Hà Nội", BigDecimal.valueOf(4.5));
+        float[] sameCity = VenueFeatures.encode(BigDecimal.valueOf(60_000_000), 350, "garden",
+                List.of("parking", "catering"), "Cau Giay, Ha Noi", BigDecimal.valueOf(4.2));
+        float[] otherCity = VenueFeatures.encode(BigDecimal.valueOf(60_000_000), 350, "Ballroom",
+                List.of("Pool"), "District 1, Ho Chi Minh", BigDecimal.valueOf(4.2));
+
+        // When / Then
+        assertTrue(NearestNeighbourIndex.squaredDistance(venue, sameCity)
+                < NearestNeighbourIndex.squaredDistance(venue, otherCity));
+    }
+
+    @Test
+    void encode_MissingAttributes_ShouldStillProduceFixedLengthVector() {
+        float[] vector = VenueFeatures.encode(null, null, null, null, null, null);
+
+        assertEquals(VenueFeatures.DIMENSIONS, vector.length);
+        for (float component : vector) {
+            assertEquals(0f, component);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.myapp.booking.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WilsonScoreTest {
+
+    @Test
+    void lowerBound_NoVotes_ShouldBeZero() {
+        assertEquals(0.0, WilsonScore.lowerBound(0, 0));
+        assertEquals(0.0, WilsonScore.lowerBound(0, 10));
+    }
+
+    @Test
+    void lowerBound_ShouldMatchKnownValues() {
+        assertEquals(0.2065, WilsonScore.lowerBound(1, 1), 1e-4);
+        assertEquals(0.2366, WilsonScore.lowerBound(5, 10), 1e-4);
+        assertEquals(0.4038, WilsonScore.lowerBound(50, 100), 1e-4);
+    }
+
+    @Test
+    void lowerBound_SameRatio_ShouldTrustLargerSamples() {
+        // Given / When / Then
+        assertTrue(WilsonScore.lowerBound(50, 100) > WilsonScore.lowerBound(5, 10));
+        assertTrue(WilsonScore.lowerBound(20, 20) > WilsonScore.lowerBound(3, 3));
+        assertTrue(WilsonScore.lowerBound(3, 3) > WilsonScore.lowerBound(1, 1));
+        assertTrue(WilsonScore.lowerBound(1000, 1000) < 1.0);
+    }
+}